@@ -3,13 +3,27 @@ package rms;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.ComponentScan.Filter;
+import org.springframework.context.annotation.FilterType;
 
 /**
- * SpringWebApplicationクラス
+ * SpringWebApplicationクラス<br>
+ * バッチ（SpringBatchApplication・rms.batchパッケージ）はスキャン対象外とし、
+ * Spring Batchの設定（JobRepository・BATCH_*テーブルの初期化）を読み込まない
  * @author
  */
-@SpringBootApplication
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ComponentScan(excludeFilters = {
+        @Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+        @Filter(type = FilterType.CUSTOM, classes = AutoConfigurationExcludeFilter.class),
+        @Filter(type = FilterType.ASSIGNABLE_TYPE, classes = SpringBatchApplication.class),
+        @Filter(type = FilterType.REGEX, pattern = "rms\\.batch\\..*") })
 public class SpringWebApplication {
 
     /** logger */
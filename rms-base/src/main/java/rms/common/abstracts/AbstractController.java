@@ -1,16 +1,22 @@
 package rms.common.abstracts;
 
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import javax.servlet.http.HttpSession;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ModelAttribute;
 
 import rms.common.utils.MessageSourceEnumAccessor;
+import rms.common.utils.PageKey;
 import rms.common.utils.ProjectProperties;
 import rms.common.utils.RmsSessionInfo;
 import rms.common.utils.RmsSessionUtils;
+import rms.common.utils.SearchResultDto;
 import rms.common.utils.UrlCreateHelper;
 
 /**
@@ -23,6 +29,9 @@ public abstract class AbstractController {
     @SuppressWarnings("unused")
     private static final Logger logger = LoggerFactory.getLogger(AbstractController.class);
 
+    /** 一覧画面の検索結果（Model属性名）：セッションに保持せず、リクエスト毎に格納する */
+    protected static final String RESULT_LIST = "resultList";
+
     /** MessageSource */
     @Autowired
     protected MessageSourceEnumAccessor message;
@@ -61,4 +70,24 @@ public abstract class AbstractController {
             rmsSessionInfo.setPreScreenId(screenId);
         }
     }
+
+    /**
+     * 検索結果をフォームに反映<br>
+     * 検索結果は表示用にModel（{@link #RESULT_LIST}）へ格納し、セッション（フォーム）には表示中ページのキーのみ保持する
+     * @param form 一覧画面のフォーム
+     * @param resultDto 検索結果
+     * @param keyMapper 検索結果行のキーの取得
+     * @param model
+     */
+    protected <T> void setSearchResult(AbstractListForm form,
+                                       SearchResultDto<T> resultDto,
+                                       Function<? super T, PageKey> keyMapper,
+                                       Model model) {
+        model.addAttribute(RESULT_LIST, resultDto.getResultList());
+        form.setResultKeyList(resultDto.getResultList()
+                                       .stream()
+                                       .map(keyMapper)
+                                       .collect(Collectors.toList()));
+        form.getPageInfo().setTotalSize(resultDto.getCount());
+    }
 }
@@ -1,5 +1,7 @@
 package rms.common.abstracts;
 
+import java.io.Serializable;
+
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
@@ -7,10 +9,15 @@ import rms.common.auth.UserInfo;
 import rms.common.auth.UserInfoAccessor;
 
 /**
- * AbstractForm
+ * AbstractForm<br>
+ * フォームは@SessionAttributesでセッションに保持する為、シリアライズ可能とする
+ * （セッションの永続化・レプリケーション時）
  * @author
  */
-public abstract class AbstractForm {
+public abstract class AbstractForm implements Serializable {
+
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
 
     /**
      * 認証ユーザ情報の取得
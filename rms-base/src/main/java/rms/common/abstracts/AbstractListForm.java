@@ -0,0 +1,58 @@
+package rms.common.abstracts;
+
+import java.util.List;
+
+import rms.common.utils.PageInfo;
+import rms.common.utils.PageKey;
+
+/**
+ * AbstractListForm<br>
+ * 一覧画面のフォーム。ページ情報・表示中ページの検索結果キー・検索実行時の検索条件を保持する
+ * （検索結果はセッションに保持せず、検索実行時の検索条件とページ情報から再取得する）
+ * @author
+ */
+public abstract class AbstractListForm extends AbstractForm {
+
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
+
+    /** ページ情報 */
+    private PageInfo pageInfo;
+    /** 表示中ページの検索結果キーリスト */
+    private List<PageKey> resultKeyList;
+    /** 検索実行時の検索条件（入力チェックエラー後も直前の検索結果を再表示する為、入力中の検索条件とは別に保持） */
+    private AbstractForm searchCondition;
+
+    /**
+     * コンストラクタ
+     * @param pageInfo ページ情報の初期値
+     */
+    protected AbstractListForm(PageInfo pageInfo) {
+        this.pageInfo = pageInfo;
+    }
+
+    public PageInfo getPageInfo() {
+        return pageInfo;
+    }
+
+    public void setPageInfo(PageInfo pageInfo) {
+        this.pageInfo = pageInfo;
+    }
+
+    public List<PageKey> getResultKeyList() {
+        return resultKeyList;
+    }
+
+    public void setResultKeyList(List<PageKey> resultKeyList) {
+        this.resultKeyList = resultKeyList;
+    }
+
+    public AbstractForm getSearchCondition() {
+        return searchCondition;
+    }
+
+    public void setSearchCondition(AbstractForm searchCondition) {
+        this.searchCondition = searchCondition;
+    }
+
+}
@@ -2,8 +2,11 @@ package rms.common.auth;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
+import javax.annotation.PostConstruct;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -13,13 +16,17 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import rms.common.cache.RmsCache;
+import rms.common.cache.RmsCacheStats;
 import rms.common.dao.MUserDao;
 import rms.common.dao.MUserRoleDao;
 import rms.common.entity.MUser;
 import rms.common.entity.MUserRole;
+import rms.common.utils.ProjectProperties;
 
 /**
- * 独自認証処理
+ * 独自認証処理<br>
+ * ユーザ情報・役割情報はユーザID単位でキャッシュする
  * @author
  */
 @Service
@@ -32,13 +39,62 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Autowired
     MUserRoleDao mUserRoleDao;
 
+    @Autowired
+    ProjectProperties properties;
+
+    /** 認証ユーザ情報キャッシュ（キー：ユーザID） */
+    private RmsCache<String, CachedUser> cache;
+
+    /**
+     * キャッシュの初期化
+     */
+    @PostConstruct
+    public void init() {
+        cache = new RmsCache<>(properties.getCacheUserMaxSize(), properties.getCacheUserTtlSeconds());
+    }
+
     @Override
     public UserDetails loadUserByUsername(String id) throws UsernameNotFoundException {
 
+        // ユーザ情報・ユーザ役割情報の取得（キャッシュ）
+        CachedUser cachedUser = cache.get(id, this::loadUser);
+        if (cachedUser == null) {
+            throw new UsernameNotFoundException("ログイン失敗");
+        }
+
+        // 認証ユーザ情報の返却
+        // 認証後にパスワードが消去されるため、UserInfoは毎回生成する
+        return new UserInfo(cachedUser.user, new ArrayList<>(cachedUser.authorities));
+    }
+
+    /**
+     * 指定されたユーザのキャッシュを破棄<br>
+     * （ユーザマスタ・ユーザ役割マスタの更新時に呼び出すこと）
+     * @param userId
+     */
+    public void invalidate(String userId) {
+        cache.invalidateOnCompletion(userId);
+    }
+
+    /**
+     * 統計情報を取得
+     * @return
+     */
+    public RmsCacheStats getStats() {
+        return cache.getStats();
+    }
+
+    /**
+     * ユーザ情報・ユーザ役割情報の取得
+     * @param id
+     * @return 存在しない場合はnull
+     */
+    CachedUser loadUser(String id) {
+
         // ユーザ情報の取得
         MUser mUser = mUserDao.selectById(id);
         if (mUser == null) {
-            throw new UsernameNotFoundException("ログイン失敗");
+            return null;
         }
 
         // ユーザ役割情報の取得
@@ -48,7 +104,24 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             authorities.add(new SimpleGrantedAuthority(mUserRole.getRole()));
         }
 
-        // 認証ユーザ情報の返却
-        return new UserInfo(mUser, authorities);
+        return new CachedUser(mUser, authorities);
+    }
+
+    /**
+     * キャッシュ用ユーザ情報
+     */
+    static class CachedUser {
+
+        /** ユーザ情報 */
+        final MUser user;
+
+        /** ユーザ役割一覧 */
+        final Collection<GrantedAuthority> authorities;
+
+        CachedUser(MUser user,
+                   Collection<GrantedAuthority> authorities) {
+            this.user = user;
+            this.authorities = Collections.unmodifiableCollection(authorities);
+        }
     }
 }
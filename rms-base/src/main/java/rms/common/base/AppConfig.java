@@ -1,10 +1,22 @@
 package rms.common.base;
 
+import java.nio.file.Paths;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.seasar.doma.boot.autoconfigure.DomaConfigBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.thymeleaf.extras.java8time.dialect.Java8TimeDialect;
 
+import rms.common.metrics.RmsSqlCommandImplementors;
+import rms.common.metrics.RmsSqlMetrics;
+import rms.common.storage.LocalReportStorage;
+import rms.common.storage.ReportStorage;
+import rms.common.storage.S3ReportStorage;
+import rms.common.storage.ShardedReportStorage;
 import rms.common.utils.MessageSourceEnumAccessor;
+import rms.common.utils.ProjectProperties;
 
 @Configuration
 public class AppConfig {
@@ -27,4 +39,104 @@ public class AppConfig {
         return new MessageSourceEnumAccessor();
     }
 
+    /**
+     * Doma設定の拡張<br>
+     * DaoメソッドごとにSQL実行時間を集計する
+     * @param sqlMetrics
+     * @return
+     */
+    @Bean
+    public DomaConfigBuilder domaConfigBuilder(RmsSqlMetrics sqlMetrics) {
+        return new DomaConfigBuilder().commandImplementors(new RmsSqlCommandImplementors(sqlMetrics));
+    }
+
+    /**
+     * 月報ファイル保存用スレッドプール<br>
+     * 月報一括承認時のファイル保存を並列で行う。待ち行列が溢れた場合は呼び出し元スレッドで実行する
+     * @param properties
+     * @return
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reportFileCopyExecutor(ProjectProperties properties) {
+        int threads = properties.getReportApproveBulkCopyThreads();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 16);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("report-copy-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * メール送信用スレッドプール<br>
+     * 送信待ちメールを送信単位ごとに並列で送信する。待ち行列が溢れた場合は呼び出し元スレッドで実行する
+     * @param properties
+     * @return
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mailSendExecutor(ProjectProperties properties) {
+        int threads = properties.getMailOutboxThreads();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 4);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("mail-send-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Slack通知用スレッド<br>
+     * Slackへの接続を保持し、送信待ちの通知を順に送信する1スレッドのみ。<br>
+     * 停止直後の再開で前回の送信処理のスレッドが解放される前に登録されても拒否しないよう、1件のみ待機できる
+     * @return
+     */
+    @Bean
+    public ThreadPoolTaskExecutor slackSendExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("slack-send-");
+        return executor;
+    }
+
+    /**
+     * 月報ファイル格納先（内容のハッシュ値で格納）<br>
+     * {@code app.report.blob.storage.type}に従い、ディレクトリ・S3互換オブジェクトストレージのいずれかに格納する
+     * @param properties
+     * @return
+     */
+    @Bean
+    public ReportStorage reportBlobStorage(ProjectProperties properties) {
+        switch (properties.getReportBlobStorageType()) {
+        case LOCAL:
+            return new LocalReportStorage(Paths.get(properties.getReportBlobStorage()));
+        case S3:
+            return new S3ReportStorage(properties.getReportS3Endpoint(),
+                                       properties.getReportS3Bucket(),
+                                       properties.getReportS3Region(),
+                                       properties.getReportS3AccessKey(),
+                                       properties.getReportS3SecretKey(),
+                                       Paths.get(properties.getTemporaryStorage()));
+        case SHARDED:
+        default:
+            return new ShardedReportStorage(Paths.get(properties.getReportBlobStorage()));
+        }
+    }
+
+    /**
+     * 月報ファイル格納先（履歴管理前の月報ファイル）<br>
+     * 月報格納フォルダ直下の「yyyymm_userId.xlsx」を参照する
+     * @param properties
+     * @return
+     */
+    @Bean
+    public ReportStorage reportLegacyStorage(ProjectProperties properties) {
+        return new LocalReportStorage(Paths.get(properties.getReportStorage()));
+    }
+
 }
\ No newline at end of file
@@ -1,19 +1,42 @@
 package rms.common.base;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
 
 import rms.common.interceptor.HandlerInterceptorImpl;
+import rms.common.interceptor.StaticResourceCacheFilter;
+import rms.common.metrics.RmsRequestMetrics;
+import rms.common.utils.ProjectProperties;
 
 @Configuration
 public class WebMvcConfig extends WebMvcConfigurerAdapter {
 
+    /** リクエスト処理時間集計 */
+    @Autowired
+    RmsRequestMetrics requestMetrics;
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new HandlerInterceptorImpl()) // 独自HandlerInterceptorの追加
+        registry.addInterceptor(new HandlerInterceptorImpl(requestMetrics)) // 独自HandlerInterceptorの追加
                 .addPathPatterns("/**") // 適用対象のパス(パターン)を指定する
                 .excludePathPatterns("/static/**"); // 除外するパス(パターン)を指定する
     }
 
+    /**
+     * 静的リソースのキャッシュ制御フィルタ<br>
+     * 対象はSpring Securityの対象外とした静的リソースのパス（WebSecurityConfig参照）
+     * @param properties
+     * @return
+     */
+    @Bean
+    public FilterRegistrationBean staticResourceCacheFilter(ProjectProperties properties) {
+        FilterRegistrationBean registration = new FilterRegistrationBean(new StaticResourceCacheFilter(properties.getStaticCacheMaxAgeSeconds()));
+        registration.addUrlPatterns("/fw/*", "/js/*", "/css/*");
+        return registration;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package rms.common.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import rms.common.consts.MCodeConst;
+import rms.common.dao.MCodeDao;
+import rms.common.entity.MCode;
+import rms.common.utils.ProjectProperties;
+import rms.common.utils.SelectOptionEntity;
+
+/**
+ * コードマスタキャッシュクラス<br>
+ * コード区分単位でコードマスタ一覧を保持する。MCodeDaoの挿入・更新・削除時に該当コード区分を破棄する<br>
+ * （返却する一覧は共有されるため、呼び出し側で要素を変更しないこと）
+ * @author
+ */
+@Component
+public class MCodeCache {
+
+    /** logger */
+    private static final Logger logger = LoggerFactory.getLogger(MCodeCache.class);
+
+    /** MCodeDao */
+    @Autowired
+    MCodeDao mCodeDao;
+
+    /** ProjectProperties */
+    @Autowired
+    ProjectProperties properties;
+
+    /** キャッシュ本体（キー：コード区分） */
+    private RmsCache<String, List<MCode>> cache;
+
+    /**
+     * キャッシュの初期化
+     */
+    @PostConstruct
+    public void init() {
+        cache = new RmsCache<>(properties.getCacheMCodeMaxSize(), properties.getCacheMCodeTtlSeconds());
+    }
+
+    /**
+     * 指定されたコード区分に紐付く一覧を取得<br>
+     * （ソート順はコードの昇順）
+     * @param codeKbn
+     * @return
+     */
+    public List<MCode> getListByCodeKbn(String codeKbn) {
+        return cache.get(codeKbn, k -> Collections.unmodifiableList(mCodeDao.selectListByCodeKbn(k)));
+    }
+
+    /**
+     * 部署略称一覧を取得（selectbox専用）<br>
+     * （ソート順はコードの昇順）
+     * @return
+     */
+    public List<SelectOptionEntity> getSelectboxDepartmentRnm() {
+        List<MCode> codeList = getListByCodeKbn(MCodeConst.D001);
+        List<SelectOptionEntity> optionList = new ArrayList<>(codeList.size());
+        for (MCode code : codeList) {
+            SelectOptionEntity option = new SelectOptionEntity();
+            option.setKey(code.getCode());
+            option.setValue(code.getAttr1());
+            optionList.add(option);
+        }
+        return optionList;
+    }
+
+    /**
+     * 指定されたコード区分を破棄
+     * @param codeKbn
+     */
+    public void invalidate(String codeKbn) {
+        logger.debug("invalidate m_code cache -> {}", codeKbn);
+        cache.invalidateOnCompletion(codeKbn);
+    }
+
+    /**
+     * 全件破棄
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 統計情報を取得
+     * @return
+     */
+    public RmsCacheStats getStats() {
+        return cache.getStats();
+    }
+
+}
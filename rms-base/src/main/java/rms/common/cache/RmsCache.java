@@ -0,0 +1,206 @@
+package rms.common.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * プロセス内キャッシュクラス<br>
+ * 件数上限(LRU)と有効期限を持つ簡易キャッシュ。ヒット／ミス件数を統計情報として保持する
+ * @author
+ * @param <K> キー
+ * @param <V> 値
+ */
+public class RmsCache<K, V> {
+
+    /** 保持件数上限 */
+    private final int maxSize;
+
+    /** 有効期限(ミリ秒) */
+    private final long ttlMillis;
+
+    /** 現在時刻(ミリ秒)の取得元 */
+    private final LongSupplier clock;
+
+    /** キャッシュ本体（アクセス順） */
+    private final LinkedHashMap<K, CacheEntry<V>> map;
+
+    /** ヒット件数 */
+    private long hitCount;
+
+    /** ミス件数 */
+    private long missCount;
+
+    /** 追い出し件数（件数上限・有効期限切れ） */
+    private long evictionCount;
+
+    /** 世代（破棄のたびに加算） */
+    private long generation;
+
+    /**
+     * コンストラクタ
+     * @param maxSize 保持件数上限
+     * @param ttlSeconds 有効期限(秒)
+     */
+    public RmsCache(int maxSize,
+                    long ttlSeconds) {
+        this(maxSize, ttlSeconds * 1000L, System::currentTimeMillis);
+    }
+
+    /**
+     * コンストラクタ
+     * @param maxSize 保持件数上限
+     * @param ttlMillis 有効期限(ミリ秒)
+     * @param clock 現在時刻(ミリ秒)の取得元
+     */
+    RmsCache(int maxSize,
+             long ttlMillis,
+             LongSupplier clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.map = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                if (size() > RmsCache.this.maxSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 値を取得<br>
+     * キャッシュに存在しない、または有効期限切れの場合はloaderで読み込んだ値を保持して返却する。<br>
+     * loaderがnullを返却した場合、読込中に破棄（{@link #invalidate}等）された場合は保持しない
+     * @param key
+     * @param loader
+     * @return
+     */
+    public V get(K key,
+                 Function<? super K, ? extends V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            CacheEntry<V> entry = map.get(key);
+            if (entry != null && !isExpired(entry)) {
+                hitCount++;
+                return entry.value;
+            }
+            if (entry != null) {
+                map.remove(key);
+                evictionCount++;
+            }
+            missCount++;
+            loadGeneration = generation;
+        }
+
+        // DBアクセスはロック外で行う（同時ミス時は後勝ち）
+        V value = loader.apply(key);
+        if (value != null) {
+            synchronized (this) {
+                // 読込中に破棄された場合は破棄前のデータの可能性がある為、保持しない
+                if (loadGeneration == generation) {
+                    map.put(key, new CacheEntry<>(value, clock.getAsLong()));
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 指定されたキーを破棄
+     * @param key
+     */
+    public synchronized void invalidate(K key) {
+        map.remove(key);
+        generation++;
+    }
+
+    /**
+     * 全件破棄
+     */
+    public synchronized void invalidateAll() {
+        map.clear();
+        generation++;
+    }
+
+    /**
+     * 指定されたキーを破棄（トランザクション完了時にも再度破棄）<br>
+     * 更新がコミットされるまでの間に他スレッドが旧データを再読込した場合に備え、
+     * トランザクション内で呼ばれた場合は完了時にもう一度破棄する
+     * @param key
+     */
+    public void invalidateOnCompletion(K key) {
+        invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(key);
+                }
+            });
+        }
+    }
+
+    /**
+     * 有効期限切れのエントリを削除
+     */
+    public synchronized void cleanUp() {
+        Iterator<CacheEntry<V>> it = map.values().iterator();
+        while (it.hasNext()) {
+            if (isExpired(it.next())) {
+                it.remove();
+                evictionCount++;
+            }
+        }
+    }
+
+    /**
+     * 統計情報を取得
+     * @return
+     */
+    public synchronized RmsCacheStats getStats() {
+        return new RmsCacheStats(hitCount, missCount, evictionCount, map.size());
+    }
+
+    /**
+     * 有効期限切れ判定
+     * @param entry
+     * @return
+     */
+    private boolean isExpired(CacheEntry<V> entry) {
+        return ttlMillis > 0 && clock.getAsLong() - entry.loadedAt >= ttlMillis;
+    }
+
+    /**
+     * キャッシュエントリ
+     * @param <V>
+     */
+    private static class CacheEntry<V> {
+
+        /** 値 */
+        final V value;
+
+        /** 読込時刻(ミリ秒) */
+        final long loadedAt;
+
+        CacheEntry(V value,
+                   long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package rms.common.cache;
+
+/**
+ * キャッシュ統計情報クラス
+ * @author
+ */
+public class RmsCacheStats {
+
+    /** ヒット件数 */
+    private final long hitCount;
+
+    /** ミス件数 */
+    private final long missCount;
+
+    /** 追い出し件数 */
+    private final long evictionCount;
+
+    /** 保持件数 */
+    private final int size;
+
+    /**
+     * コンストラクタ
+     * @param hitCount
+     * @param missCount
+     * @param evictionCount
+     * @param size
+     */
+    public RmsCacheStats(long hitCount,
+                         long missCount,
+                         long evictionCount,
+                         int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * ヒット率を取得（アクセスが無い場合は0）
+     * @return
+     */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0d : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hit=%d, miss=%d, eviction=%d, size=%d, hitRate=%.3f",
+                             hitCount, missCount, evictionCount, size, getHitRate());
+    }
+
+}
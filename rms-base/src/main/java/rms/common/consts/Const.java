@@ -32,6 +32,18 @@ public class Const {
     /** システムユーザーID */
     public static final String SYSTEM_USER_ID = "system";
 
+    /*
+     * メール送信状況
+     */
+    /** メール送信状況：未送信 */
+    public static final String MAIL_STATUS_WAIT = "0";
+    /** メール送信状況：送信中 */
+    public static final String MAIL_STATUS_SENDING = "1";
+    /** メール送信状況：送信済み */
+    public static final String MAIL_STATUS_SENT = "2";
+    /** メール送信状況：送信エラー（再送上限超過） */
+    public static final String MAIL_STATUS_ERROR = "9";
+
     /**
      * 承認状況処理区分
      */
@@ -56,4 +68,40 @@ public class Const {
         SUBMIT
     }
 
+    /**
+     * 月報初期データ登録方式
+     */
+    public enum ReportInitMode {
+        /** Spring Batchジョブ（チャンク単位コミット・リスタート可） */
+        JOB,
+        /** INSERT ... SELECTによる一括登録 */
+        BULK,
+        /** 1件ずつ登録 */
+        SINGLE
+    }
+
+    /**
+     * Slack通知の送信待ちが溢れた場合の動作
+     */
+    public enum SlackQueueOverflow {
+        /** 空きが出るまで待機（待機時間を過ぎた場合は破棄） */
+        BLOCK,
+        /** 新しい通知を破棄 */
+        DROP_NEWEST,
+        /** 最も古い通知を破棄して登録 */
+        DROP_OLDEST
+    }
+
+    /**
+     * 月報ファイル格納先の種類
+     */
+    public enum ReportStorageType {
+        /** ディレクトリ直下に格納 */
+        LOCAL,
+        /** ディレクトリを階層分割して格納 */
+        SHARDED,
+        /** S3互換オブジェクトストレージに格納 */
+        S3
+    }
+
 }
@@ -37,4 +37,10 @@ public class MCodeConst {
     public static final String B001_1 = "1";
     /** 月報公開有無：非公開 */
     public static final String B001_0 = "0";
+
+    /*
+     * 部署：D001
+     */
+    /** コード区分：部署 */
+    public static final String D001 = "D001";
 }
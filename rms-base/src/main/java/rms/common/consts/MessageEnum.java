@@ -62,5 +62,13 @@ public enum MessageEnum {
     error016,
     /** {}の月報初期データは{}以降に作成可能です */
     error017,
+    /** ジョブの実行に失敗しました [ ジョブ名：{0}　状態：{1} ] */
+    error018,
+    /** zipファイルの内容が上限を超えています [ {0}：{1} ] */
+    error019,
+    /** 一時フォルダの容量が不足しています。時間をおいて再度実行してください [ {0}：{1}　{2}：{3} ] */
+    error020,
+    /** zipファイル内に同じ名前のファイルが含まれています [ ファイル名：{0} ] */
+    error021,
 
 }
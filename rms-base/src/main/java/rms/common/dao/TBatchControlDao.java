@@ -0,0 +1,116 @@
+package rms.common.dao;
+
+import org.seasar.doma.Dao;
+import org.seasar.doma.Delete;
+import org.seasar.doma.Insert;
+import org.seasar.doma.Select;
+import org.seasar.doma.Update;
+import org.seasar.doma.boot.ConfigAutowireable;
+import org.seasar.doma.jdbc.NoResultException;
+import org.seasar.doma.jdbc.OptimisticLockException;
+import org.seasar.doma.jdbc.SelectOptions;
+
+import rms.common.entity.TBatchControl;
+
+/**
+ * TBatchControlDaoクラス
+ */
+@Dao
+@ConfigAutowireable
+public interface TBatchControlDao {
+
+    /* 自動生成メソッド ------------------------------------------------------------- */
+
+    /**
+     * 1件取得
+     * @param batchId
+     * @return the TBatchControl entity
+     */
+    @Select
+    TBatchControl selectById(String batchId);
+
+    /**
+     * 1件取得
+     * @param batchId
+     * @param options
+     * @return the TBatchControl entity
+     */
+    @Select
+    TBatchControl selectById(String batchId,
+                             SelectOptions options);
+
+    /**
+     * 1件取得
+     * @param batchId
+     * @param version
+     * @throws NoResultException
+     * @return the TBatchControl entity
+     */
+    @Select(ensureResult = true)
+    TBatchControl selectByIdAndVersion(String batchId,
+                                       Integer version) throws NoResultException;
+
+    /**
+     * 存在チェック
+     * @param batchId
+     * @return
+     */
+    @Select
+    boolean existsById(String batchId);
+
+    /**
+     * 挿入
+     * @param entity
+     * @return affected rows
+     */
+    @Insert(excludeNull = true)
+    int insert(TBatchControl entity);
+
+    /**
+     * 更新（楽観的排他制御）
+     * @param entity
+     * @return affected rows
+     * @throws OptimisticLockException
+     */
+    @Update(excludeNull = true)
+    int update(TBatchControl entity) throws OptimisticLockException;
+
+    /**
+     * 更新
+     * @param entity
+     * @return affected rows
+     */
+    @Update(excludeNull = true, ignoreVersion = true)
+    int updateNoOptimisticLockException(TBatchControl entity);
+
+    /**
+     * 削除（楽観的排他制御）
+     * @param entity
+     * @return affected rows
+     * @throws OptimisticLockException
+     */
+    @Delete
+    int delete(TBatchControl entity) throws OptimisticLockException;
+
+    /**
+     * 削除
+     * @param entity
+     * @return affected rows
+     * @throws OptimisticLockException
+     */
+    @Delete(ignoreVersion = true)
+    int deleteNoOptimisticLockException(TBatchControl entity);
+
+    /* 独自メソッド ------------------------------------------------------------- */
+
+    /**
+     * 更新（楽観的排他制御）<br>
+     * 処理完了時に処理中の項目をクリアするため、nullの項目も更新する
+     * @param entity
+     * @return affected rows
+     * @throws OptimisticLockException
+     */
+    @Update
+    int updateIncludeNull(TBatchControl entity) throws OptimisticLockException;
+
+}
\ No newline at end of file
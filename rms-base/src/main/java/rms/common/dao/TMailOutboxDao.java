@@ -0,0 +1,178 @@
+package rms.common.dao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.seasar.doma.BatchInsert;
+import org.seasar.doma.BatchUpdate;
+import org.seasar.doma.Dao;
+import org.seasar.doma.Delete;
+import org.seasar.doma.Insert;
+import org.seasar.doma.Select;
+import org.seasar.doma.Update;
+import org.seasar.doma.boot.ConfigAutowireable;
+import org.seasar.doma.jdbc.NoResultException;
+import org.seasar.doma.jdbc.OptimisticLockException;
+import org.seasar.doma.jdbc.SelectOptions;
+
+import rms.common.entity.TMailOutbox;
+
+/**
+ * TMailOutboxDaoクラス
+ */
+@Dao
+@ConfigAutowireable
+public interface TMailOutboxDao {
+
+    /* 自動生成メソッド ------------------------------------------------------------- */
+
+    /**
+     * 1件取得
+     * @param mailId
+     * @return the TMailOutbox entity
+     */
+    @Select
+    TMailOutbox selectById(Long mailId);
+
+    /**
+     * 1件取得
+     * @param mailId
+     * @param options
+     * @return the TMailOutbox entity
+     */
+    @Select
+    TMailOutbox selectById(Long mailId,
+                           SelectOptions options);
+
+    /**
+     * 1件取得
+     * @param mailId
+     * @param version
+     * @throws NoResultException
+     * @return the TMailOutbox entity
+     */
+    @Select(ensureResult = true)
+    TMailOutbox selectByIdAndVersion(Long mailId,
+                                     Integer version) throws NoResultException;
+
+    /**
+     * 存在チェック
+     * @param mailId
+     * @return
+     */
+    @Select
+    boolean existsById(Long mailId);
+
+    /**
+     * 挿入
+     * @param entity
+     * @return affected rows
+     */
+    @Insert(excludeNull = true)
+    int insert(TMailOutbox entity);
+
+    /**
+     * 更新（楽観的排他制御）
+     * @param entity
+     * @return affected rows
+     * @throws OptimisticLockException
+     */
+    @Update(excludeNull = true)
+    int update(TMailOutbox entity) throws OptimisticLockException;
+
+    /**
+     * 更新
+     * @param entity
+     * @return affected rows
+     */
+    @Update(excludeNull = true, ignoreVersion = true)
+    int updateNoOptimisticLockException(TMailOutbox entity);
+
+    /**
+     * 削除（楽観的排他制御）
+     * @param entity
+     * @return affected rows
+     * @throws OptimisticLockException
+     */
+    @Delete
+    int delete(TMailOutbox entity) throws OptimisticLockException;
+
+    /**
+     * 削除
+     * @param entity
+     * @return affected rows
+     * @throws OptimisticLockException
+     */
+    @Delete(ignoreVersion = true)
+    int deleteNoOptimisticLockException(TMailOutbox entity);
+
+    /* 独自メソッド ------------------------------------------------------------- */
+
+    /**
+     * 一括挿入
+     * @param entityList
+     * @return affected rows
+     */
+    @BatchInsert
+    int[] insertBatch(List<TMailOutbox> entityList);
+
+    /**
+     * 一括更新（排他制御なし）
+     * @param entityList
+     * @return affected rows
+     */
+    @BatchUpdate(ignoreVersion = true)
+    int[] updateBatchNoOptimisticLockException(List<TMailOutbox> entityList);
+
+    /**
+     * 送信対象の確保<br>
+     * 送信日時を過ぎた未送信メールを次回送信日時順に上限件数まで送信中とし、送信トークンを設定する
+     * @param sendToken 送信トークン
+     * @param now 現在日時
+     * @param limit 上限件数
+     * @return affected rows
+     */
+    @Update(sqlFile = true)
+    int updateSendToken(String sendToken,
+                        LocalDateTime now,
+                        int limit);
+
+    /**
+     * 送信トークンによる一覧取得
+     * @param sendToken 送信トークン
+     * @return
+     */
+    @Select
+    List<TMailOutbox> selectBySendToken(String sendToken);
+
+    /**
+     * 送信中のまま放置されたメールを未送信に戻す<br>
+     * 送信処理中のプロセス停止などで送信結果が記録されなかったメールが対象
+     * @param sendingLimitDate この日時より前に送信中となったメールを対象とする
+     * @param now 現在日時
+     * @return affected rows
+     */
+    @Update(sqlFile = true)
+    int updateSendingToWait(LocalDateTime sendingLimitDate,
+                            LocalDateTime now);
+
+    /**
+     * 保持日数を過ぎた送信済みメールの削除<br>
+     * 1回の削除件数を上限件数までとし、ロック範囲を抑える
+     * @param sentLimitDate この日時より前に送信済みとなったメールを対象とする
+     * @param limit 上限件数
+     * @return affected rows
+     */
+    @Delete(sqlFile = true)
+    int deleteSent(LocalDateTime sentLimitDate,
+                   int limit);
+
+    /**
+     * 送信状況ごとの件数取得
+     * @param sendStatus 送信状況
+     * @return
+     */
+    @Select
+    long countBySendStatus(String sendStatus);
+
+}
\ No newline at end of file
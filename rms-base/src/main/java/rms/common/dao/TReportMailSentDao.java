@@ -0,0 +1,63 @@
+package rms.common.dao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.seasar.doma.BatchInsert;
+import org.seasar.doma.Dao;
+import org.seasar.doma.Delete;
+import org.seasar.doma.Insert;
+import org.seasar.doma.Select;
+import org.seasar.doma.boot.ConfigAutowireable;
+
+import rms.common.entity.TReportMailSent;
+
+/**
+ * TReportMailSentDaoクラス
+ */
+@Dao
+@ConfigAutowireable
+public interface TReportMailSentDao {
+
+    /* 自動生成メソッド ------------------------------------------------------------- */
+
+    /**
+     * 1件取得
+     * @param applyUserId
+     * @param targetYm
+     * @param reportVersion
+     * @return the TReportMailSent entity
+     */
+    @Select
+    TReportMailSent selectById(String applyUserId,
+                               Integer targetYm,
+                               Integer reportVersion);
+
+    /**
+     * 挿入
+     * @param entity
+     * @return affected rows
+     */
+    @Insert(excludeNull = true)
+    int insert(TReportMailSent entity);
+
+    /* 独自メソッド ------------------------------------------------------------- */
+
+    /**
+     * 一括挿入
+     * @param entityList
+     * @return affected rows
+     */
+    @BatchInsert
+    int[] insertBatch(List<TReportMailSent> entityList);
+
+    /**
+     * 月報更新日時が基準日時以前の送信済み記録の削除<br>
+     * 以降の処理対象期間に含まれないため、重複送信の判定に不要となったものが対象
+     * @param reportUpdDate 基準日時
+     * @return affected rows
+     */
+    @Delete(sqlFile = true)
+    int deleteByReportUpdDate(LocalDateTime reportUpdDate);
+
+}
@@ -0,0 +1,136 @@
+package rms.common.dao;
+
+import java.util.List;
+
+import org.seasar.doma.Dao;
+import org.seasar.doma.Delete;
+import org.seasar.doma.Insert;
+import org.seasar.doma.Select;
+import org.seasar.doma.Update;
+import org.seasar.doma.boot.ConfigAutowireable;
+import org.seasar.doma.jdbc.NoResultException;
+import org.seasar.doma.jdbc.OptimisticLockException;
+import org.seasar.doma.jdbc.SelectOptions;
+
+import rms.common.entity.TReportRevision;
+
+/**
+ * TReportRevisionDaoクラス
+ */
+@Dao
+@ConfigAutowireable
+public interface TReportRevisionDao {
+
+    /* 自動生成メソッド ------------------------------------------------------------- */
+
+    /**
+     * 1件取得
+     * @param revisionId
+     * @return the TReportRevision entity
+     */
+    @Select
+    TReportRevision selectById(Long revisionId);
+
+    /**
+     * 1件取得
+     * @param revisionId
+     * @param options
+     * @return the TReportRevision entity
+     */
+    @Select
+    TReportRevision selectById(Long revisionId,
+                               SelectOptions options);
+
+    /**
+     * 1件取得
+     * @param revisionId
+     * @param version
+     * @throws NoResultException
+     * @return the TReportRevision entity
+     */
+    @Select(ensureResult = true)
+    TReportRevision selectByIdAndVersion(Long revisionId,
+                                         Integer version) throws NoResultException;
+
+    /**
+     * 存在チェック
+     * @param revisionId
+     * @return
+     */
+    @Select
+    boolean existsById(Long revisionId);
+
+    /**
+     * 挿入
+     * @param entity
+     * @return affected rows
+     */
+    @Insert(excludeNull = true)
+    int insert(TReportRevision entity);
+
+    /**
+     * 更新（楽観的排他制御）
+     * @param entity
+     * @return affected rows
+     * @throws OptimisticLockException
+     */
+    @Update(excludeNull = true)
+    int update(TReportRevision entity) throws OptimisticLockException;
+
+    /**
+     * 更新
+     * @param entity
+     * @return affected rows
+     */
+    @Update(excludeNull = true, ignoreVersion = true)
+    int updateNoOptimisticLockException(TReportRevision entity);
+
+    /**
+     * 削除（楽観的排他制御）
+     * @param entity
+     * @return affected rows
+     * @throws OptimisticLockException
+     */
+    @Delete
+    int delete(TReportRevision entity) throws OptimisticLockException;
+
+    /**
+     * 削除
+     * @param entity
+     * @return affected rows
+     * @throws OptimisticLockException
+     */
+    @Delete(ignoreVersion = true)
+    int deleteNoOptimisticLockException(TReportRevision entity);
+
+    /* 独自メソッド ------------------------------------------------------------- */
+
+    /**
+     * 月報ファイル履歴の一覧取得（新しい順）
+     * @param applyUserId 申請者ID
+     * @param targetYm 対象年月
+     * @return
+     */
+    @Select
+    List<TReportRevision> selectListByReport(String applyUserId,
+                                             Integer targetYm);
+
+    /**
+     * 最新の月報ファイル履歴の取得
+     * @param applyUserId 申請者ID
+     * @param targetYm 対象年月
+     * @return 履歴が無い場合はnull
+     */
+    @Select
+    TReportRevision selectLatestByReport(String applyUserId,
+                                         Integer targetYm);
+
+    /**
+     * 最新の月報ファイル履歴の一括取得
+     * @param reportList 取得対象の月報（申請者ID・対象年月のみ参照）
+     * @return 履歴が無い月報は含まない
+     */
+    @Select
+    List<TReportRevision> selectLatestListByReportList(List<TReportRevision> reportList);
+
+}
\ No newline at end of file
@@ -1,5 +1,7 @@
 package rms.common.dao;
 
+import java.util.List;
+
 import org.seasar.doma.Dao;
 import org.seasar.doma.Select;
 import org.seasar.doma.boot.ConfigAutowireable;
@@ -36,4 +38,13 @@ public interface VMUserDao {
 
     /* 独自メソッド ------------------------------------------------------------- */
 
+    /**
+     * 複数件取得（ユーザ名・メールアドレス・部署情報のみ）<br>
+     * 承認者名は取得しない為、ユーザID・ユーザ名・メールアドレス・部署ID・部署名・部署略称以外の項目はnullとなる
+     * @param userIdList
+     * @return the VMUser entity list
+     */
+    @Select
+    List<VMUser> selectSimpleByIdList(List<String> userIdList);
+
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package rms.common.entity;
+
+import java.time.LocalDateTime;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.seasar.doma.Column;
+import org.seasar.doma.Entity;
+import org.seasar.doma.Id;
+import org.seasar.doma.Table;
+import org.seasar.doma.Version;
+
+/**
+ * TBatchControlクラス
+ */
+@Entity(listener = TBatchControlListener.class)
+@Table(name = "t_batch_control")
+public class TBatchControl {
+    /** バッチID */
+    @Id
+    @Column(name = "batch_id")
+    private String batchId;
+    /** 前回処理基準日時（前回完了時の処理対象終了日時） */
+    @Column(name = "last_exec_date")
+    private LocalDateTime lastExecDate;
+    /** 処理対象終了日時（処理中のみ設定） */
+    @Column(name = "exec_to_date")
+    private LocalDateTime execToDate;
+    /** 処理済みキー（処理中のみ設定） */
+    @Column(name = "exec_key")
+    private String execKey;
+    /** バージョン */
+    @Version
+    @Column(name = "version")
+    private Integer version;
+    /** 削除フラグ */
+    @Column(name = "del_flg")
+    private Integer delFlg;
+    /** 登録日時 */
+    @Column(name = "ins_date")
+    private LocalDateTime insDate;
+    /** 登録ID */
+    @Column(name = "ins_id")
+    private String insId;
+    /** 更新日時 */
+    @Column(name = "upd_date")
+    private LocalDateTime updDate;
+    /** 更新ID */
+    @Column(name = "upd_id")
+    private String updId;
+
+    public String getBatchId() {
+        return batchId;
+    }
+
+    public void setBatchId(String batchId) {
+        this.batchId = batchId;
+    }
+
+    public LocalDateTime getLastExecDate() {
+        return lastExecDate;
+    }
+
+    public void setLastExecDate(LocalDateTime lastExecDate) {
+        this.lastExecDate = lastExecDate;
+    }
+
+    public LocalDateTime getExecToDate() {
+        return execToDate;
+    }
+
+    public void setExecToDate(LocalDateTime execToDate) {
+        this.execToDate = execToDate;
+    }
+
+    public String getExecKey() {
+        return execKey;
+    }
+
+    public void setExecKey(String execKey) {
+        this.execKey = execKey;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public Integer getDelFlg() {
+        return delFlg;
+    }
+
+    public void setDelFlg(Integer delFlg) {
+        this.delFlg = delFlg;
+    }
+
+    public LocalDateTime getInsDate() {
+        return insDate;
+    }
+
+    public void setInsDate(LocalDateTime insDate) {
+        this.insDate = insDate;
+    }
+
+    public String getInsId() {
+        return insId;
+    }
+
+    public void setInsId(String insId) {
+        this.insId = insId;
+    }
+
+    public LocalDateTime getUpdDate() {
+        return updDate;
+    }
+
+    public void setUpdDate(LocalDateTime updDate) {
+        this.updDate = updDate;
+    }
+
+    public String getUpdId() {
+        return updId;
+    }
+
+    public void setUpdId(String updId) {
+        this.updId = updId;
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, ToStringStyle.MULTI_LINE_STYLE);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package rms.common.entity;
+
+import java.time.LocalDateTime;
+
+import org.seasar.doma.jdbc.entity.EntityListener;
+import org.seasar.doma.jdbc.entity.PostDeleteContext;
+import org.seasar.doma.jdbc.entity.PostInsertContext;
+import org.seasar.doma.jdbc.entity.PostUpdateContext;
+import org.seasar.doma.jdbc.entity.PreDeleteContext;
+import org.seasar.doma.jdbc.entity.PreInsertContext;
+import org.seasar.doma.jdbc.entity.PreUpdateContext;
+
+import rms.common.auth.UserInfo;
+import rms.common.auth.UserInfoAccessor;
+import rms.common.consts.Const;
+
+/**
+ * TBatchControlListenerクラス
+ */
+public class TBatchControlListener implements EntityListener<TBatchControl> {
+
+    @Override
+    public void preInsert(TBatchControl entity,
+                          PreInsertContext<TBatchControl> context) {
+        //@formatter:off
+        String userId = getUserId();
+        LocalDateTime now = LocalDateTime.now();
+        if (entity.getVersion() == null) entity.setVersion(0);
+        if (entity.getDelFlg() == null)  entity.setDelFlg(0);
+        if (entity.getInsId() == null)   entity.setInsId(userId);
+        if (entity.getInsDate() == null) entity.setInsDate(now);
+        if (entity.getUpdId() == null)   entity.setUpdId(userId);
+        if (entity.getUpdDate() == null) entity.setUpdDate(now);
+        //@formatter:on
+    }
+
+    @Override
+    public void preUpdate(TBatchControl entity,
+                          PreUpdateContext<TBatchControl> context) {
+        //@formatter:off
+        String userId = getUserId();
+        LocalDateTime now = LocalDateTime.now();
+        if (entity.getUpdId() == null)   entity.setUpdId(userId);
+        if (entity.getUpdDate() == null) entity.setUpdDate(now);
+        //@formatter:on
+    }
+
+    /**
+     * 登録・更新ユーザIDの取得<br>
+     * バッチなどログインユーザが存在しない場合はシステムユーザとする
+     * @return
+     */
+    private String getUserId() {
+        UserInfo userInfo = UserInfoAccessor.getPrincipal();
+        return userInfo != null ? userInfo.getUserId() : Const.SYSTEM_USER_ID;
+    }
+
+    @Override
+    public void preDelete(TBatchControl entity,
+                          PreDeleteContext<TBatchControl> context) {
+    }
+
+    @Override
+    public void postInsert(TBatchControl entity,
+                           PostInsertContext<TBatchControl> context) {
+    }
+
+    @Override
+    public void postUpdate(TBatchControl entity,
+                           PostUpdateContext<TBatchControl> context) {
+    }
+
+    @Override
+    public void postDelete(TBatchControl entity,
+                           PostDeleteContext<TBatchControl> context) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,260 @@
+package rms.common.entity;
+
+import java.time.LocalDateTime;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.seasar.doma.Column;
+import org.seasar.doma.Entity;
+import org.seasar.doma.GeneratedValue;
+import org.seasar.doma.GenerationType;
+import org.seasar.doma.Id;
+import org.seasar.doma.Table;
+import org.seasar.doma.Version;
+
+/**
+ * TMailOutboxクラス
+ */
+@Entity(listener = TMailOutboxListener.class)
+@Table(name = "t_mail_outbox")
+public class TMailOutbox {
+    /** メールID */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "mail_id")
+    private Long mailId;
+    /** 送信元アドレス */
+    @Column(name = "from_addr")
+    private String fromAddr;
+    /** 宛先アドレス（カンマ区切り） */
+    @Column(name = "to_addrs")
+    private String toAddrs;
+    /** CCアドレス（カンマ区切り） */
+    @Column(name = "cc_addrs")
+    private String ccAddrs;
+    /** BCCアドレス（カンマ区切り） */
+    @Column(name = "bcc_addrs")
+    private String bccAddrs;
+    /** 件名 */
+    @Column(name = "subject")
+    private String subject;
+    /** 本文 */
+    @Column(name = "body")
+    private String body;
+    /** 添付ファイル名 */
+    @Column(name = "file_nm")
+    private String fileNm;
+    /** 添付ファイルパス */
+    @Column(name = "file_path")
+    private String filePath;
+    /** 送信状況 */
+    @Column(name = "send_status")
+    private String sendStatus;
+    /** 再送回数 */
+    @Column(name = "retry_count")
+    private Integer retryCount;
+    /** 次回送信日時 */
+    @Column(name = "next_send_date")
+    private LocalDateTime nextSendDate;
+    /** 送信日時 */
+    @Column(name = "sent_date")
+    private LocalDateTime sentDate;
+    /** 送信トークン */
+    @Column(name = "send_token")
+    private String sendToken;
+    /** 最終エラー内容 */
+    @Column(name = "last_error")
+    private String lastError;
+    /** バージョン */
+    @Version
+    @Column(name = "version")
+    private Integer version;
+    /** 削除フラグ */
+    @Column(name = "del_flg")
+    private Integer delFlg;
+    /** 登録日時 */
+    @Column(name = "ins_date")
+    private LocalDateTime insDate;
+    /** 登録ID */
+    @Column(name = "ins_id")
+    private String insId;
+    /** 更新日時 */
+    @Column(name = "upd_date")
+    private LocalDateTime updDate;
+    /** 更新ID */
+    @Column(name = "upd_id")
+    private String updId;
+
+    public Long getMailId() {
+        return mailId;
+    }
+
+    public void setMailId(Long mailId) {
+        this.mailId = mailId;
+    }
+
+    public String getFromAddr() {
+        return fromAddr;
+    }
+
+    public void setFromAddr(String fromAddr) {
+        this.fromAddr = fromAddr;
+    }
+
+    public String getToAddrs() {
+        return toAddrs;
+    }
+
+    public void setToAddrs(String toAddrs) {
+        this.toAddrs = toAddrs;
+    }
+
+    public String getCcAddrs() {
+        return ccAddrs;
+    }
+
+    public void setCcAddrs(String ccAddrs) {
+        this.ccAddrs = ccAddrs;
+    }
+
+    public String getBccAddrs() {
+        return bccAddrs;
+    }
+
+    public void setBccAddrs(String bccAddrs) {
+        this.bccAddrs = bccAddrs;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public String getFileNm() {
+        return fileNm;
+    }
+
+    public void setFileNm(String fileNm) {
+        this.fileNm = fileNm;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public String getSendStatus() {
+        return sendStatus;
+    }
+
+    public void setSendStatus(String sendStatus) {
+        this.sendStatus = sendStatus;
+    }
+
+    public Integer getRetryCount() {
+        return retryCount;
+    }
+
+    public void setRetryCount(Integer retryCount) {
+        this.retryCount = retryCount;
+    }
+
+    public LocalDateTime getNextSendDate() {
+        return nextSendDate;
+    }
+
+    public void setNextSendDate(LocalDateTime nextSendDate) {
+        this.nextSendDate = nextSendDate;
+    }
+
+    public LocalDateTime getSentDate() {
+        return sentDate;
+    }
+
+    public void setSentDate(LocalDateTime sentDate) {
+        this.sentDate = sentDate;
+    }
+
+    public String getSendToken() {
+        return sendToken;
+    }
+
+    public void setSendToken(String sendToken) {
+        this.sendToken = sendToken;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public Integer getDelFlg() {
+        return delFlg;
+    }
+
+    public void setDelFlg(Integer delFlg) {
+        this.delFlg = delFlg;
+    }
+
+    public LocalDateTime getInsDate() {
+        return insDate;
+    }
+
+    public void setInsDate(LocalDateTime insDate) {
+        this.insDate = insDate;
+    }
+
+    public String getInsId() {
+        return insId;
+    }
+
+    public void setInsId(String insId) {
+        this.insId = insId;
+    }
+
+    public LocalDateTime getUpdDate() {
+        return updDate;
+    }
+
+    public void setUpdDate(LocalDateTime updDate) {
+        this.updDate = updDate;
+    }
+
+    public String getUpdId() {
+        return updId;
+    }
+
+    public void setUpdId(String updId) {
+        this.updId = updId;
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, ToStringStyle.MULTI_LINE_STYLE);
+    }
+}
\ No newline at end of file
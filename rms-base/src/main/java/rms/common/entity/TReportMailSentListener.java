@@ -0,0 +1,77 @@
+package rms.common.entity;
+
+import java.time.LocalDateTime;
+
+import org.seasar.doma.jdbc.entity.EntityListener;
+import org.seasar.doma.jdbc.entity.PostDeleteContext;
+import org.seasar.doma.jdbc.entity.PostInsertContext;
+import org.seasar.doma.jdbc.entity.PostUpdateContext;
+import org.seasar.doma.jdbc.entity.PreDeleteContext;
+import org.seasar.doma.jdbc.entity.PreInsertContext;
+import org.seasar.doma.jdbc.entity.PreUpdateContext;
+
+import rms.common.auth.UserInfo;
+import rms.common.auth.UserInfoAccessor;
+import rms.common.consts.Const;
+
+/**
+ * TReportMailSentListenerクラス
+ */
+public class TReportMailSentListener implements EntityListener<TReportMailSent> {
+
+    @Override
+    public void preInsert(TReportMailSent entity,
+                          PreInsertContext<TReportMailSent> context) {
+        //@formatter:off
+        String userId = getUserId();
+        LocalDateTime now = LocalDateTime.now();
+        if (entity.getVersion() == null) entity.setVersion(0);
+        if (entity.getDelFlg() == null)  entity.setDelFlg(0);
+        if (entity.getInsId() == null)   entity.setInsId(userId);
+        if (entity.getInsDate() == null) entity.setInsDate(now);
+        if (entity.getUpdId() == null)   entity.setUpdId(userId);
+        if (entity.getUpdDate() == null) entity.setUpdDate(now);
+        //@formatter:on
+    }
+
+    @Override
+    public void preUpdate(TReportMailSent entity,
+                          PreUpdateContext<TReportMailSent> context) {
+        //@formatter:off
+        String userId = getUserId();
+        LocalDateTime now = LocalDateTime.now();
+        if (entity.getUpdId() == null)   entity.setUpdId(userId);
+        if (entity.getUpdDate() == null) entity.setUpdDate(now);
+        //@formatter:on
+    }
+
+    /**
+     * 登録・更新ユーザIDの取得<br>
+     * バッチなどログインユーザが存在しない場合はシステムユーザとする
+     * @return
+     */
+    private String getUserId() {
+        UserInfo userInfo = UserInfoAccessor.getPrincipal();
+        return userInfo != null ? userInfo.getUserId() : Const.SYSTEM_USER_ID;
+    }
+
+    @Override
+    public void preDelete(TReportMailSent entity,
+                          PreDeleteContext<TReportMailSent> context) {
+    }
+
+    @Override
+    public void postInsert(TReportMailSent entity,
+                           PostInsertContext<TReportMailSent> context) {
+    }
+
+    @Override
+    public void postUpdate(TReportMailSent entity,
+                           PostUpdateContext<TReportMailSent> context) {
+    }
+
+    @Override
+    public void postDelete(TReportMailSent entity,
+                           PostDeleteContext<TReportMailSent> context) {
+    }
+}
\ No newline at end of file
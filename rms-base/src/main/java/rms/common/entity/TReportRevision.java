@@ -0,0 +1,150 @@
+package rms.common.entity;
+
+import java.time.LocalDateTime;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.seasar.doma.Column;
+import org.seasar.doma.Entity;
+import org.seasar.doma.GeneratedValue;
+import org.seasar.doma.GenerationType;
+import org.seasar.doma.Id;
+import org.seasar.doma.Table;
+import org.seasar.doma.Version;
+
+/**
+ * TReportRevisionクラス
+ */
+@Entity(listener = TReportRevisionListener.class)
+@Table(name = "t_report_revision")
+public class TReportRevision {
+    /** 履歴ID */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "revision_id")
+    private Long revisionId;
+    /** 申請者ID */
+    @Column(name = "apply_user_id")
+    private String applyUserId;
+    /** 対象年月 */
+    @Column(name = "target_ym")
+    private Integer targetYm;
+    /** ファイルハッシュ値（SHA-256の16進数 格納先のファイル名） */
+    @Column(name = "content_hash")
+    private String contentHash;
+    /** ファイルサイズ */
+    @Column(name = "file_size")
+    private Long fileSize;
+    /** バージョン */
+    @Version
+    @Column(name = "version")
+    private Integer version;
+    /** 削除フラグ */
+    @Column(name = "del_flg")
+    private Integer delFlg;
+    /** 登録日時 */
+    @Column(name = "ins_date")
+    private LocalDateTime insDate;
+    /** 登録ID */
+    @Column(name = "ins_id")
+    private String insId;
+    /** 更新日時 */
+    @Column(name = "upd_date")
+    private LocalDateTime updDate;
+    /** 更新ID */
+    @Column(name = "upd_id")
+    private String updId;
+
+    public Long getRevisionId() {
+        return revisionId;
+    }
+
+    public void setRevisionId(Long revisionId) {
+        this.revisionId = revisionId;
+    }
+
+    public String getApplyUserId() {
+        return applyUserId;
+    }
+
+    public void setApplyUserId(String applyUserId) {
+        this.applyUserId = applyUserId;
+    }
+
+    public Integer getTargetYm() {
+        return targetYm;
+    }
+
+    public void setTargetYm(Integer targetYm) {
+        this.targetYm = targetYm;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public Integer getDelFlg() {
+        return delFlg;
+    }
+
+    public void setDelFlg(Integer delFlg) {
+        this.delFlg = delFlg;
+    }
+
+    public LocalDateTime getInsDate() {
+        return insDate;
+    }
+
+    public void setInsDate(LocalDateTime insDate) {
+        this.insDate = insDate;
+    }
+
+    public String getInsId() {
+        return insId;
+    }
+
+    public void setInsId(String insId) {
+        this.insId = insId;
+    }
+
+    public LocalDateTime getUpdDate() {
+        return updDate;
+    }
+
+    public void setUpdDate(LocalDateTime updDate) {
+        this.updDate = updDate;
+    }
+
+    public String getUpdId() {
+        return updId;
+    }
+
+    public void setUpdId(String updId) {
+        this.updId = updId;
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, ToStringStyle.MULTI_LINE_STYLE);
+    }
+}
\ No newline at end of file
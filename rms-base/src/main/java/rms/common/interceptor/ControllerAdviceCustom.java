@@ -52,6 +52,8 @@ public class ControllerAdviceCustom {
     public void initBinder(WebDataBinder dataBinder) {
         // Stringクラスのフィールドに対して値にtrimを掛ける
         dataBinder.registerCustomEditor(String.class, new StringTrimmerEditor(false));
+        // 一覧画面の検索結果キー・検索実行時の検索条件（セッション保持）はリクエストパラメータからの変更を禁止
+        dataBinder.setDisallowedFields("resultKeyList*", "searchCondition*");
     }
 
     @InitBinder
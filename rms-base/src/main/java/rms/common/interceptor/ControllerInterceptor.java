@@ -6,6 +6,8 @@ import org.aspectj.lang.annotation.Aspect;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 /**
  * ControllerInterceptorクラス
@@ -22,6 +24,9 @@ public class ControllerInterceptor {
     // XXX システム独自仕様
     private static final String controllerClassPath = "rms.web..*Controller*";
 
+    /** 処理失敗（リクエスト属性名） 例外ハンドラでエラー画面に遷移した場合も処理時間集計でエラーとして扱う */
+    public static final String ATTR_ERROR = ControllerInterceptor.class.getName() + ".error";
+
     /**
      * Controllerクラス内のメソッド開始時にログを出力
      * @param joinPoint
@@ -48,6 +53,10 @@ public class ControllerInterceptor {
             retVal = joinPoint.proceed();
         } catch (Exception e) {
             logger.error("called fail -> {}#{}", classNm, methodNm);
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes != null) {
+                attributes.setAttribute(ATTR_ERROR, e.getClass().getName(), RequestAttributes.SCOPE_REQUEST);
+            }
             throw e;
         }
 
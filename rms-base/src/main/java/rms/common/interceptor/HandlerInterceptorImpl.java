@@ -1,23 +1,56 @@
 package rms.common.interceptor;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Formatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 
+import rms.common.metrics.RmsLatencyHistogram;
+import rms.common.metrics.RmsRequestMetrics;
+
 /**
- * HandlerInterceptorImplクラス
+ * HandlerInterceptorImplクラス<br>
+ * リクエストの処理時間を画面ID（コントローラーのSCREEN_ID）・処理（リクエストマッピングのparams）ごとに集計する
  * @author
  */
 public class HandlerInterceptorImpl implements HandlerInterceptor {
     /** logger */
     private static Logger logger = LoggerFactory.getLogger(HandlerInterceptorImpl.class);
 
+    /** 処理時間ヒストグラム（リクエスト属性名） */
+    private static final String ATTR_HISTOGRAM = HandlerInterceptorImpl.class.getName() + ".histogram";
+
+    /** 処理開始時刻（リクエスト属性名） */
+    private static final String ATTR_START_NANOS = HandlerInterceptorImpl.class.getName() + ".startNanos";
+
+    /** リクエスト処理時間集計 */
+    private final RmsRequestMetrics requestMetrics;
+
+    /** ハンドラーメソッドごとの画面ID・処理 */
+    private final Map<Method, String[]> handlerKeyMap = new ConcurrentHashMap<>();
+
+    /**
+     * コンストラクタ
+     * @param requestMetrics
+     */
+    public HandlerInterceptorImpl(RmsRequestMetrics requestMetrics) {
+        this.requestMetrics = requestMetrics;
+    }
+
     @Override
     public boolean preHandle(HttpServletRequest request,
                              HttpServletResponse response,
@@ -31,6 +64,15 @@ public class HandlerInterceptorImpl implements HandlerInterceptor {
         }
         logger.info("request uri  -> {}", uri);
 
+        // 処理時間の計測開始
+        if (handler instanceof HandlerMethod) {
+            String[] key = getHandlerKey((HandlerMethod) handler);
+            RmsLatencyHistogram histogram = requestMetrics.getHistogram(key[0], key[1]);
+            histogram.begin();
+            request.setAttribute(ATTR_HISTOGRAM, histogram);
+            request.setAttribute(ATTR_START_NANOS, System.nanoTime());
+        }
+
         // リクエストパラメータのログ表示
         // 負荷軽減の為に事前に判定
         if (logger.isDebugEnabled()) {
@@ -62,6 +104,46 @@ public class HandlerInterceptorImpl implements HandlerInterceptor {
                                 HttpServletResponse response,
                                 Object handler,
                                 Exception ex) throws Exception {
+        // 処理時間の記録
+        RmsLatencyHistogram histogram = (RmsLatencyHistogram) request.getAttribute(ATTR_HISTOGRAM);
+        if (histogram == null) {
+            return;
+        }
+        request.removeAttribute(ATTR_HISTOGRAM);
+        long elapsed = System.nanoTime() - (Long) request.getAttribute(ATTR_START_NANOS);
+        boolean error = ex != null //
+                || response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR //
+                || request.getAttribute(ControllerInterceptor.ATTR_ERROR) != null;
+        histogram.end(elapsed, error);
+    }
+
+    /**
+     * ハンドラーメソッドの画面ID・処理の取得<br>
+     * 画面IDはコントローラーのSCREEN_ID（未定義の場合はクラス名）、処理はリクエストマッピングのparams（未指定の場合はメソッド名）
+     * @param handlerMethod
+     * @return [画面ID, 処理]
+     */
+    String[] getHandlerKey(HandlerMethod handlerMethod) {
+        return handlerKeyMap.computeIfAbsent(handlerMethod.getMethod(), method -> {
+            String screenId = handlerMethod.getBeanType().getSimpleName();
+            Field field = ReflectionUtils.findField(handlerMethod.getBeanType(), "SCREEN_ID", String.class);
+            if (field != null && Modifier.isStatic(field.getModifiers())) {
+                ReflectionUtils.makeAccessible(field);
+                screenId = (String) ReflectionUtils.getField(field, null);
+            }
+
+            String action = method.getName();
+            RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+            if (mapping != null) {
+                for (String param : mapping.params()) {
+                    if (!param.startsWith("!") && !param.contains("=")) {
+                        action = param;
+                        break;
+                    }
+                }
+            }
+            return new String[] { screenId, action };
+        });
     }
 
 }
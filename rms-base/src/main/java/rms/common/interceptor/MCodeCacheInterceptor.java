@@ -0,0 +1,42 @@
+package rms.common.interceptor;
+
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import rms.common.cache.MCodeCache;
+import rms.common.entity.MCode;
+
+/**
+ * MCodeCacheInterceptorクラス<br>
+ * MCodeDaoの挿入・更新・削除後にコードマスタキャッシュを破棄する
+ * @author
+ */
+@Aspect
+@Component
+public class MCodeCacheInterceptor {
+
+    /** MCodeDao 更新系メソッド */
+    private static final String mCodeDaoWriteMethod = "execution(* rms.common.dao.MCodeDao.insert*(..))"
+            + " || execution(* rms.common.dao.MCodeDao.update*(..))"
+            + " || execution(* rms.common.dao.MCodeDao.delete*(..))";
+
+    /** コードマスタキャッシュ */
+    @Autowired
+    MCodeCache mCodeCache;
+
+    /**
+     * 更新されたコード区分のキャッシュを破棄
+     * @param entity
+     */
+    @AfterReturning("(" + mCodeDaoWriteMethod + ") && args(entity)")
+    public void invalidateAfterWrite(MCode entity) {
+        if (entity.getCodeKbn() == null) {
+            mCodeCache.invalidateAll();
+        } else {
+            mCodeCache.invalidate(entity.getCodeKbn());
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package rms.common.interceptor;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * 静的リソースのキャッシュ制御フィルタ<br>
+ * ファイル名にコンテンツハッシュを含むURL（Thymeleafの{@code @{...}}で出力したURL）は内容が変わらないため長期間キャッシュさせる。<br>
+ * ハッシュを含まないURL（JavaScriptから直接参照するテーマCSS等）は毎回更新確認させる
+ * @author
+ */
+public class StaticResourceCacheFilter extends OncePerRequestFilter {
+
+    /** ハッシュを含まないURLのCache-Control */
+    private static final String NO_CACHE = "no-cache";
+
+    /** コンテンツハッシュ（ContentVersionStrategyが付与するMD5）を含むファイル名 例：rms-0123456789abcdef0123456789abcdef.js */
+    private static final Pattern VERSIONED = Pattern.compile("-[0-9a-f]{32}\\.[^/]+$");
+
+    /** ハッシュを含むURLのCache-Control */
+    private final String immutable;
+
+    /**
+     * コンストラクタ
+     * @param maxAgeSeconds ハッシュを含むURLのキャッシュ有効期間（秒）
+     */
+    public StaticResourceCacheFilter(long maxAgeSeconds) {
+        this.immutable = "public, max-age=" + maxAgeSeconds + ", immutable";
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, VERSIONED.matcher(path).find() ? immutable : NO_CACHE);
+        filterChain.doFilter(request, response);
+    }
+
+}
@@ -0,0 +1,227 @@
+package rms.common.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 処理時間ヒストグラムクラス<br>
+ * 処理時間を対数間隔（約20%刻み）のバケットに集計し、パーセンタイルを近似値で返却する。<br>
+ * 起動後の累計と、前回{@link #drainWindowStats()}以降の区間集計を保持する。<br>
+ * 集計はロックを取らずに行うため、統計情報は各値が厳密に同一時点のものとは限らない
+ * @author
+ */
+public class RmsLatencyHistogram {
+
+    /** バケット上限（マイクロ秒） 0.1ms～約2分 */
+    private static final long[] BOUNDS;
+
+    static {
+        long[] bounds = new long[128];
+        int size = 0;
+        for (long bound = 100L; bound < 120_000_000L; bound = Math.max(bound + 1, bound * 6 / 5)) {
+            bounds[size++] = bound;
+        }
+        bounds[size++] = Long.MAX_VALUE;
+        BOUNDS = new long[size];
+        System.arraycopy(bounds, 0, BOUNDS, 0, size);
+    }
+
+    /** バケットごとの件数 */
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS.length);
+
+    /** 件数 */
+    private final AtomicLong count = new AtomicLong();
+
+    /** 処理時間合計（マイクロ秒） */
+    private final AtomicLong totalMicros = new AtomicLong();
+
+    /** 最大処理時間（マイクロ秒） */
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /** エラー件数 */
+    private final AtomicLong errorCount = new AtomicLong();
+
+    /** 処理中件数 */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /** 区間のバケットごとの件数 */
+    private final AtomicLongArray windowCounts = new AtomicLongArray(BOUNDS.length);
+
+    /** 区間の処理時間合計（マイクロ秒） */
+    private final AtomicLong windowTotalMicros = new AtomicLong();
+
+    /** 区間の最大処理時間（マイクロ秒） */
+    private final AtomicLong windowMaxMicros = new AtomicLong();
+
+    /** 区間のエラー件数 */
+    private final AtomicLong windowErrorCount = new AtomicLong();
+
+    /**
+     * 処理開始
+     */
+    public void begin() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * 処理終了
+     * @param elapsedNanos 処理時間（ナノ秒）
+     * @param error エラー有無
+     */
+    public void end(long elapsedNanos,
+                    boolean error) {
+        inFlight.decrementAndGet();
+        record(elapsedNanos, error);
+    }
+
+    /**
+     * 処理時間の記録
+     * @param elapsedNanos 処理時間（ナノ秒）
+     * @param error エラー有無
+     */
+    public void record(long elapsedNanos,
+                       boolean error) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(Math.max(elapsedNanos, 0L));
+        int index = indexOf(micros);
+        counts.incrementAndGet(index);
+        count.incrementAndGet();
+        totalMicros.addAndGet(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+        windowCounts.incrementAndGet(index);
+        windowTotalMicros.addAndGet(micros);
+        windowMaxMicros.accumulateAndGet(micros, Math::max);
+        if (error) {
+            errorCount.incrementAndGet();
+            windowErrorCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * 統計情報の取得（起動後の累計）
+     * @return
+     */
+    public RmsLatencyStats getStats() {
+        long[] snapshot = new long[BOUNDS.length];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return toStats(snapshot, errorCount.get(), totalMicros.get(), maxMicros.get());
+    }
+
+    /**
+     * 区間の統計情報の取得（前回{@link #drainWindowStats()}以降の集計。区間はリセットしない）
+     * @return
+     */
+    public RmsLatencyStats getWindowStats() {
+        long[] snapshot = new long[BOUNDS.length];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = windowCounts.get(i);
+        }
+        return toStats(snapshot, windowErrorCount.get(), windowTotalMicros.get(), windowMaxMicros.get());
+    }
+
+    /**
+     * 区間の統計情報の取得と区間のリセット<br>
+     * 各値を取得と同時に0に戻すため、記録中の処理時間は今回・次回のいずれかの区間に集計される
+     * @return
+     */
+    public RmsLatencyStats drainWindowStats() {
+        long[] snapshot = new long[BOUNDS.length];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = windowCounts.getAndSet(i, 0L);
+        }
+        return toStats(snapshot, windowErrorCount.getAndSet(0L), windowTotalMicros.getAndSet(0L),
+                       windowMaxMicros.getAndSet(0L));
+    }
+
+    /**
+     * 件数の取得
+     * @return
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * 統計情報の生成
+     * @param snapshot バケットごとの件数
+     * @param errors エラー件数
+     * @param totalMicros 処理時間合計（マイクロ秒）
+     * @param max 最大処理時間（マイクロ秒）
+     * @return
+     */
+    private RmsLatencyStats toStats(long[] snapshot,
+                                    long errors,
+                                    long totalMicros,
+                                    long max) {
+        long total = 0;
+        for (long c : snapshot) {
+            total += c;
+        }
+        return new RmsLatencyStats(total,
+                                   errors,
+                                   inFlight.get(),
+                                   total == 0 ? 0d : toMillis(totalMicros / total),
+                                   toMillis(percentile(snapshot, total, 0.50, max)),
+                                   toMillis(percentile(snapshot, total, 0.95, max)),
+                                   toMillis(percentile(snapshot, total, 0.99, max)),
+                                   toMillis(max));
+    }
+
+    /**
+     * パーセンタイル（該当バケットの上限値。最大処理時間を超えない）
+     * @param snapshot
+     * @param total
+     * @param rate
+     * @param max
+     * @return マイクロ秒
+     */
+    private static long percentile(long[] snapshot,
+                                   long total,
+                                   double rate,
+                                   long max) {
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = (long) Math.ceil(total * rate);
+        long cumulative = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= rank) {
+                return Math.min(BOUNDS[i], max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 処理時間に該当するバケットの位置
+     * @param micros
+     * @return
+     */
+    private static int indexOf(long micros) {
+        int low = 0;
+        int high = BOUNDS.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (BOUNDS[mid] < micros) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * マイクロ秒からミリ秒（小数点以下1桁）への変換
+     * @param micros
+     * @return
+     */
+    private static double toMillis(long micros) {
+        return Math.round(micros / 100d) / 10d;
+    }
+
+}
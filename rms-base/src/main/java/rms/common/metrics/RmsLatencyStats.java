@@ -0,0 +1,101 @@
+package rms.common.metrics;
+
+/**
+ * 処理時間統計情報クラス<br>
+ * 処理時間はミリ秒、パーセンタイルは近似値
+ * @author
+ */
+public class RmsLatencyStats {
+
+    /** 件数 */
+    private final long count;
+
+    /** エラー件数 */
+    private final long errorCount;
+
+    /** 処理中件数 */
+    private final int inFlight;
+
+    /** 平均処理時間 */
+    private final double mean;
+
+    /** 50パーセンタイル */
+    private final double p50;
+
+    /** 95パーセンタイル */
+    private final double p95;
+
+    /** 99パーセンタイル */
+    private final double p99;
+
+    /** 最大処理時間 */
+    private final double max;
+
+    /**
+     * コンストラクタ
+     * @param count
+     * @param errorCount
+     * @param inFlight
+     * @param mean
+     * @param p50
+     * @param p95
+     * @param p99
+     * @param max
+     */
+    public RmsLatencyStats(long count,
+                           long errorCount,
+                           int inFlight,
+                           double mean,
+                           double p50,
+                           double p95,
+                           double p99,
+                           double max) {
+        this.count = count;
+        this.errorCount = errorCount;
+        this.inFlight = inFlight;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p95 = p95;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP95() {
+        return p95;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, error=%d, inFlight=%d, mean=%.1fms, p50=%.1fms, p95=%.1fms, p99=%.1fms, max=%.1fms",
+                             count, errorCount, inFlight, mean, p50, p95, p99, max);
+    }
+
+}
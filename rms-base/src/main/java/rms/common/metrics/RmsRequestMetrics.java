@@ -0,0 +1,167 @@
+package rms.common.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import rms.common.utils.ProjectProperties;
+
+/**
+ * リクエスト処理時間集計クラス<br>
+ * 画面ID・処理ごとに処理時間ヒストグラムを保持し、{@code app.metrics.log.interval.seconds}ごとにログへ出力する。<br>
+ * ログ出力時に区間（前回出力以降）の集計をリセットし、区間と起動後の累計を出力する
+ * @author
+ */
+@Component
+public class RmsRequestMetrics {
+
+    /** logger */
+    private static Logger logger = LoggerFactory.getLogger(RmsRequestMetrics.class);
+
+    @Autowired
+    ProjectProperties properties;
+
+    /** 画面ID・処理ごとのヒストグラム */
+    private final Map<Key, RmsLatencyHistogram> histogramMap = new ConcurrentHashMap<>();
+
+    /** 区間の開始日時（エポックミリ秒） */
+    private volatile long windowStartTime = System.currentTimeMillis();
+
+    /** ログ出力の定期実行スレッド */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * ログ出力の開始
+     */
+    @PostConstruct
+    public void start() {
+        long interval = properties.getMetricsLogIntervalSeconds();
+        if (interval <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::logSummary, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * ログ出力の停止
+     */
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * ヒストグラムの取得（存在しない場合は生成）
+     * @param screenId 画面ID
+     * @param action 処理
+     * @return
+     */
+    public RmsLatencyHistogram getHistogram(String screenId,
+                                            String action) {
+        return histogramMap.computeIfAbsent(new Key(screenId, action), k -> new RmsLatencyHistogram());
+    }
+
+    /**
+     * 統計情報の取得（画面ID・処理順）<br>
+     * 区間の集計はリセットしない
+     * @return
+     */
+    public List<RmsRequestStats> getStatsList() {
+        List<RmsRequestStats> statsList = new ArrayList<>();
+        histogramMap.forEach((key, histogram) -> statsList.add(new RmsRequestStats(key.screenId, key.action, histogram.getStats(),
+                                                                                   histogram.getWindowStats())));
+        statsList.sort(Comparator.comparing(RmsRequestStats::getScreenId).thenComparing(RmsRequestStats::getAction));
+        return statsList;
+    }
+
+    /**
+     * 区間の開始日時の取得
+     * @return エポックミリ秒
+     */
+    public long getWindowStartTime() {
+        return windowStartTime;
+    }
+
+    /**
+     * 集計のクリア
+     */
+    public void reset() {
+        histogramMap.clear();
+        windowStartTime = System.currentTimeMillis();
+    }
+
+    /**
+     * 統計情報のログ出力<br>
+     * 区間の集計を取得してリセットし、区間内にリクエストがあった画面・処理のみ区間と累計を出力する
+     */
+    void logSummary() {
+        try {
+            long now = System.currentTimeMillis();
+            long windowSeconds = (now - windowStartTime) / 1000L;
+            windowStartTime = now;
+            histogramMap.forEach((key, histogram) -> {
+                RmsLatencyStats window = histogram.drainWindowStats();
+                if (window.getCount() > 0) {
+                    logger.info("request metrics -> {}#{} window({}s)[{}] total[{}]", key.screenId, key.action,
+                                windowSeconds, window, histogram.getStats());
+                }
+            });
+        } catch (RuntimeException e) {
+            // 定期実行を止めないため例外は送出しない
+            logger.warn("request metrics log error", e);
+        }
+    }
+
+    /**
+     * 集計キー
+     */
+    private static class Key {
+
+        /** 画面ID */
+        final String screenId;
+
+        /** 処理 */
+        final String action;
+
+        Key(String screenId,
+            String action) {
+            this.screenId = screenId;
+            this.action = action;
+        }
+
+        @Override
+        public int hashCode() {
+            return screenId.hashCode() * 31 + action.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return screenId.equals(other.screenId) && action.equals(other.action);
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+package rms.common.metrics;
+
+/**
+ * リクエスト処理時間統計情報クラス<br>
+ * 処理時間はミリ秒、パーセンタイルは近似値。件数・処理時間は起動後の累計、{@link #getWindow()}は区間の集計
+ * @author
+ */
+public class RmsRequestStats {
+
+    /** 画面ID */
+    private final String screenId;
+
+    /** 処理（リクエストパラメータ） */
+    private final String action;
+
+    /** 処理時間（起動後の累計） */
+    private final RmsLatencyStats latency;
+
+    /** 処理時間（区間） */
+    private final RmsLatencyStats window;
+
+    /**
+     * コンストラクタ
+     * @param screenId
+     * @param action
+     * @param latency
+     * @param window
+     */
+    public RmsRequestStats(String screenId,
+                           String action,
+                           RmsLatencyStats latency,
+                           RmsLatencyStats window) {
+        this.screenId = screenId;
+        this.action = action;
+        this.latency = latency;
+        this.window = window;
+    }
+
+    public String getScreenId() {
+        return screenId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    public long getErrorCount() {
+        return latency.getErrorCount();
+    }
+
+    public int getInFlight() {
+        return latency.getInFlight();
+    }
+
+    public double getMean() {
+        return latency.getMean();
+    }
+
+    public double getP50() {
+        return latency.getP50();
+    }
+
+    public double getP95() {
+        return latency.getP95();
+    }
+
+    public double getP99() {
+        return latency.getP99();
+    }
+
+    public double getMax() {
+        return latency.getMax();
+    }
+
+    public RmsLatencyStats getWindow() {
+        return window;
+    }
+
+    @Override
+    public String toString() {
+        return screenId + "#" + action + " window[" + window + "] total[" + latency + "]";
+    }
+
+}
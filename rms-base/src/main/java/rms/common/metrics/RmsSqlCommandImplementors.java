@@ -0,0 +1,183 @@
+package rms.common.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import org.seasar.doma.jdbc.CommandImplementors;
+import org.seasar.doma.jdbc.Sql;
+import org.seasar.doma.jdbc.command.BatchDeleteCommand;
+import org.seasar.doma.jdbc.command.BatchInsertCommand;
+import org.seasar.doma.jdbc.command.BatchUpdateCommand;
+import org.seasar.doma.jdbc.command.DeleteCommand;
+import org.seasar.doma.jdbc.command.InsertCommand;
+import org.seasar.doma.jdbc.command.ResultSetHandler;
+import org.seasar.doma.jdbc.command.SelectCommand;
+import org.seasar.doma.jdbc.command.UpdateCommand;
+import org.seasar.doma.jdbc.query.BatchDeleteQuery;
+import org.seasar.doma.jdbc.query.BatchInsertQuery;
+import org.seasar.doma.jdbc.query.BatchUpdateQuery;
+import org.seasar.doma.jdbc.query.DeleteQuery;
+import org.seasar.doma.jdbc.query.InsertQuery;
+import org.seasar.doma.jdbc.query.SelectQuery;
+import org.seasar.doma.jdbc.query.UpdateQuery;
+
+/**
+ * SQL実行時間計測用コマンド生成クラス<br>
+ * 検索・更新（バッチ更新を含む）のDaoメソッド呼び出しごとに実行時間・処理件数を{@link RmsSqlMetrics}に記録する
+ * @author
+ */
+public class RmsSqlCommandImplementors implements CommandImplementors {
+
+    /** SQL実行時間集計 */
+    private final RmsSqlMetrics sqlMetrics;
+
+    /**
+     * コンストラクタ
+     * @param sqlMetrics
+     */
+    public RmsSqlCommandImplementors(RmsSqlMetrics sqlMetrics) {
+        this.sqlMetrics = sqlMetrics;
+    }
+
+    @Override
+    public <RESULT> SelectCommand<RESULT> createSelectCommand(Method method,
+                                                              SelectQuery query,
+                                                              ResultSetHandler<RESULT> resultSetHandler) {
+        return new SelectCommand<RESULT>(query, resultSetHandler) {
+            @Override
+            public RESULT execute() {
+                return measure(method, query.getSql(), super::execute, RmsSqlCommandImplementors::countRows);
+            }
+        };
+    }
+
+    @Override
+    public InsertCommand createInsertCommand(Method method,
+                                             InsertQuery query) {
+        return new InsertCommand(query) {
+            @Override
+            public Integer execute() {
+                return measure(method, query.isExecutable() ? query.getSql() : null, super::execute, Integer::longValue);
+            }
+        };
+    }
+
+    @Override
+    public UpdateCommand createUpdateCommand(Method method,
+                                             UpdateQuery query) {
+        return new UpdateCommand(query) {
+            @Override
+            public Integer execute() {
+                return measure(method, query.isExecutable() ? query.getSql() : null, super::execute, Integer::longValue);
+            }
+        };
+    }
+
+    @Override
+    public DeleteCommand createDeleteCommand(Method method,
+                                             DeleteQuery query) {
+        return new DeleteCommand(query) {
+            @Override
+            public Integer execute() {
+                return measure(method, query.isExecutable() ? query.getSql() : null, super::execute, Integer::longValue);
+            }
+        };
+    }
+
+    @Override
+    public BatchInsertCommand createBatchInsertCommand(Method method,
+                                                       BatchInsertQuery query) {
+        return new BatchInsertCommand(query) {
+            @Override
+            public int[] execute() {
+                return measure(method, query.isExecutable() ? query.getSql() : null, super::execute, RmsSqlCommandImplementors::sumRows);
+            }
+        };
+    }
+
+    @Override
+    public BatchUpdateCommand createBatchUpdateCommand(Method method,
+                                                       BatchUpdateQuery query) {
+        return new BatchUpdateCommand(query) {
+            @Override
+            public int[] execute() {
+                return measure(method, query.isExecutable() ? query.getSql() : null, super::execute, RmsSqlCommandImplementors::sumRows);
+            }
+        };
+    }
+
+    @Override
+    public BatchDeleteCommand createBatchDeleteCommand(Method method,
+                                                       BatchDeleteQuery query) {
+        return new BatchDeleteCommand(query) {
+            @Override
+            public int[] execute() {
+                return measure(method, query.isExecutable() ? query.getSql() : null, super::execute, RmsSqlCommandImplementors::sumRows);
+            }
+        };
+    }
+
+    /**
+     * 実行時間の計測<br>
+     * SQLが実行されない場合（更新対象の項目なし・バッチ更新の対象なし）は計測しない
+     * @param method Daoメソッド
+     * @param sql SQL
+     * @param command コマンドの実行
+     * @param rows 処理件数の取得
+     * @return 実行結果
+     */
+    private <R> R measure(Method method,
+                          Sql<?> sql,
+                          Supplier<R> command,
+                          ToLongFunction<R> rows) {
+        if (sql == null) {
+            return command.get();
+        }
+        RmsSqlMetrics.Entry entry = sqlMetrics.begin(method, sql);
+        long start = System.nanoTime();
+        R result = null;
+        boolean success = false;
+        try {
+            result = command.get();
+            success = true;
+            return result;
+        } finally {
+            sqlMetrics.end(entry, sql, System.nanoTime() - start, success ? rows.applyAsLong(result) : 0L, !success);
+        }
+    }
+
+    /**
+     * 検索件数（リストは件数、それ以外は1件）
+     * @param result
+     * @return
+     */
+    private static long countRows(Object result) {
+        if (result == null) {
+            return 0L;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1L : 0L;
+        }
+        return 1L;
+    }
+
+    /**
+     * バッチ更新件数（件数不明の場合は0件として扱う）
+     * @param result
+     * @return
+     */
+    private static long sumRows(int[] result) {
+        long sum = 0;
+        for (int rows : result) {
+            sum += Math.max(rows, 0);
+        }
+        return sum;
+    }
+
+}
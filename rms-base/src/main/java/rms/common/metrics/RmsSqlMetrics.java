@@ -0,0 +1,148 @@
+package rms.common.metrics;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.seasar.doma.jdbc.Sql;
+import org.seasar.doma.jdbc.SqlLogType;
+import org.seasar.doma.jdbc.SqlParameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import rms.common.utils.ProjectProperties;
+
+/**
+ * SQL実行時間集計クラス<br>
+ * Daoメソッドごとに実行時間・処理件数を集計し、{@code app.metrics.sql.slow.threshold.millis}以上かかったSQLをログに出力する。<br>
+ * ログのバインド変数は値を出力せず型のみ出力する
+ * @author
+ */
+@Component
+public class RmsSqlMetrics {
+
+    /** logger */
+    private static Logger logger = LoggerFactory.getLogger(RmsSqlMetrics.class);
+
+    @Autowired
+    ProjectProperties properties;
+
+    /** Daoメソッドごとの集計 */
+    private final Map<Method, Entry> entryMap = new ConcurrentHashMap<>();
+
+    /**
+     * 実行開始
+     * @param method Daoメソッド
+     * @param sql SQL
+     * @return 集計
+     */
+    Entry begin(Method method,
+                Sql<?> sql) {
+        Entry entry = entryMap.computeIfAbsent(method, m -> new Entry(m.getDeclaringClass().getSimpleName() + "." + m.getName(),
+                                                                      sql.getSqlFilePath()));
+        entry.histogram.begin();
+        return entry;
+    }
+
+    /**
+     * 実行終了
+     * @param entry 集計
+     * @param sql SQL
+     * @param elapsedNanos 実行時間（ナノ秒）
+     * @param rows 処理件数
+     * @param error エラー有無
+     */
+    void end(Entry entry,
+             Sql<?> sql,
+             long elapsedNanos,
+             long rows,
+             boolean error) {
+        entry.histogram.end(elapsedNanos, error);
+        entry.rows.addAndGet(rows);
+
+        long threshold = properties.getMetricsSqlSlowThresholdMillis();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (threshold >= 0 && elapsedMillis >= threshold) {
+            logger.warn("slow sql -> {} {}ms rows={} file={} sql=[{}] params={}",
+                        entry.daoMethod, elapsedMillis, rows, entry.sqlFilePath, toLogSql(sql), maskParameters(sql));
+        }
+    }
+
+    /**
+     * 統計情報の取得（合計実行時間の降順）
+     * @return
+     */
+    public List<RmsSqlStats> getStatsList() {
+        List<RmsSqlStats> statsList = new ArrayList<>();
+        for (Entry entry : entryMap.values()) {
+            statsList.add(new RmsSqlStats(entry.daoMethod, entry.sqlFilePath, entry.rows.get(), entry.histogram.getStats()));
+        }
+        statsList.sort(Comparator.comparing(RmsSqlStats::getTotal).reversed().thenComparing(RmsSqlStats::getDaoMethod));
+        return statsList;
+    }
+
+    /**
+     * 集計のクリア
+     */
+    public void reset() {
+        entryMap.clear();
+    }
+
+    /**
+     * ログ出力用SQL（バインド変数は?のまま、改行・連続する空白は1つの空白にまとめる）
+     * @param sql
+     * @return
+     */
+    private String toLogSql(Sql<?> sql) {
+        if (sql.getSqlLogType() == SqlLogType.NONE) {
+            return "-";
+        }
+        return sql.getRawSql().replaceAll("\\s+", " ").trim();
+    }
+
+    /**
+     * バインド変数のマスク（値の型のみ）
+     * @param sql
+     * @return
+     */
+    private List<String> maskParameters(Sql<?> sql) {
+        List<String> list = new ArrayList<>();
+        for (SqlParameter parameter : sql.getParameters()) {
+            Object value = parameter.getValue();
+            list.add(value == null ? "null" : value.getClass().getSimpleName());
+        }
+        return list;
+    }
+
+    /**
+     * Daoメソッドごとの集計
+     */
+    static class Entry {
+
+        /** Daoメソッド */
+        final String daoMethod;
+
+        /** SQLファイルパス */
+        final String sqlFilePath;
+
+        /** 実行時間 */
+        final RmsLatencyHistogram histogram = new RmsLatencyHistogram();
+
+        /** 処理件数 */
+        final AtomicLong rows = new AtomicLong();
+
+        Entry(String daoMethod,
+              String sqlFilePath) {
+            this.daoMethod = daoMethod;
+            this.sqlFilePath = sqlFilePath;
+        }
+    }
+
+}
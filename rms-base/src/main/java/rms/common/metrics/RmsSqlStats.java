@@ -0,0 +1,96 @@
+package rms.common.metrics;
+
+/**
+ * SQL実行時間統計情報クラス<br>
+ * 処理時間はミリ秒、パーセンタイルは近似値
+ * @author
+ */
+public class RmsSqlStats {
+
+    /** Daoメソッド（Dao名.メソッド名） */
+    private final String daoMethod;
+
+    /** SQLファイルパス（自動生成SQLの場合はnull） */
+    private final String sqlFilePath;
+
+    /** 処理件数（検索件数・更新件数の累計） */
+    private final long rows;
+
+    /** 実行時間 */
+    private final RmsLatencyStats latency;
+
+    /**
+     * コンストラクタ
+     * @param daoMethod
+     * @param sqlFilePath
+     * @param rows
+     * @param latency
+     */
+    public RmsSqlStats(String daoMethod,
+                       String sqlFilePath,
+                       long rows,
+                       RmsLatencyStats latency) {
+        this.daoMethod = daoMethod;
+        this.sqlFilePath = sqlFilePath;
+        this.rows = rows;
+        this.latency = latency;
+    }
+
+    public String getDaoMethod() {
+        return daoMethod;
+    }
+
+    public String getSqlFilePath() {
+        return sqlFilePath;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    public long getErrorCount() {
+        return latency.getErrorCount();
+    }
+
+    public int getInFlight() {
+        return latency.getInFlight();
+    }
+
+    public double getMean() {
+        return latency.getMean();
+    }
+
+    public double getP50() {
+        return latency.getP50();
+    }
+
+    public double getP95() {
+        return latency.getP95();
+    }
+
+    public double getP99() {
+        return latency.getP99();
+    }
+
+    public double getMax() {
+        return latency.getMax();
+    }
+
+    /**
+     * 合計実行時間（平均×件数）
+     * @return ミリ秒
+     */
+    public double getTotal() {
+        return latency.getMean() * latency.getCount();
+    }
+
+    @Override
+    public String toString() {
+        return daoMethod + " rows=" + rows + ", " + latency;
+    }
+
+}
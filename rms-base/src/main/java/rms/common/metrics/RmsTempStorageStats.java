@@ -0,0 +1,112 @@
+package rms.common.metrics;
+
+/**
+ * 一時フォルダ統計情報クラス<br>
+ * サイズはバイト、件数は起動後の累計
+ * @author
+ */
+public class RmsTempStorageStats {
+
+    /** 使用量 */
+    private final long usedSize;
+
+    /** ファイル・ディレクトリ数（一時フォルダ直下） */
+    private final long entryCount;
+
+    /** リクエスト処理中のファイル・ディレクトリ数 */
+    private final int ownedCount;
+
+    /** 使用量の上限 */
+    private final long quotaSize;
+
+    /** 作成件数 */
+    private final long createdCount;
+
+    /** リクエスト終了・明示的な削除件数 */
+    private final long deletedCount;
+
+    /** 期限切れによる削除件数 */
+    private final long sweptCount;
+
+    /** 容量不足による処理拒否件数 */
+    private final long rejectedCount;
+
+    /** 前回の期限切れ削除日時（エポックミリ秒、未実行の場合は0） */
+    private final long lastSweepTime;
+
+    /**
+     * コンストラクタ
+     * @param usedSize
+     * @param entryCount
+     * @param ownedCount
+     * @param quotaSize
+     * @param createdCount
+     * @param deletedCount
+     * @param sweptCount
+     * @param rejectedCount
+     * @param lastSweepTime
+     */
+    public RmsTempStorageStats(long usedSize,
+                               long entryCount,
+                               int ownedCount,
+                               long quotaSize,
+                               long createdCount,
+                               long deletedCount,
+                               long sweptCount,
+                               long rejectedCount,
+                               long lastSweepTime) {
+        this.usedSize = usedSize;
+        this.entryCount = entryCount;
+        this.ownedCount = ownedCount;
+        this.quotaSize = quotaSize;
+        this.createdCount = createdCount;
+        this.deletedCount = deletedCount;
+        this.sweptCount = sweptCount;
+        this.rejectedCount = rejectedCount;
+        this.lastSweepTime = lastSweepTime;
+    }
+
+    public long getUsedSize() {
+        return usedSize;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public int getOwnedCount() {
+        return ownedCount;
+    }
+
+    public long getQuotaSize() {
+        return quotaSize;
+    }
+
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    public long getDeletedCount() {
+        return deletedCount;
+    }
+
+    public long getSweptCount() {
+        return sweptCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public long getLastSweepTime() {
+        return lastSweepTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("used=%d, entries=%d, owned=%d, quota=%d, created=%d, deleted=%d, swept=%d, rejected=%d",
+                             usedSize, entryCount, ownedCount, quotaSize, createdCount, deletedCount, sweptCount,
+                             rejectedCount);
+    }
+
+}
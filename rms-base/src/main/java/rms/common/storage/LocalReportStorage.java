@@ -0,0 +1,128 @@
+package rms.common.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import rms.common.utils.RmsFileUtils;
+
+/**
+ * 月報ファイル格納先（ディレクトリ）<br>
+ * キーをファイル名として格納ディレクトリ直下に格納する。
+ * 書き込みは同じディレクトリの一時ファイルに書き込んでから置き換える（{@link RmsFileUtils#moveAtomic}）
+ * @author
+ */
+public class LocalReportStorage implements ReportStorage {
+
+    /** logger */
+    private static final Logger logger = LoggerFactory.getLogger(LocalReportStorage.class);
+
+    /** 格納ディレクトリ */
+    private final Path root;
+
+    /**
+     * コンストラクタ
+     * @param root 格納ディレクトリ
+     */
+    public LocalReportStorage(Path root) {
+        this.root = root;
+    }
+
+    @Override
+    public void write(String key,
+                      InputStream inputStream,
+                      long size) throws IOException {
+        Path filePath = resolve(key);
+        Path dir = filePath.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+
+        Path tmpPath = RmsFileUtils.writeTempFile(inputStream, dir, "." + key);
+        try {
+            RmsFileUtils.moveAtomic(tmpPath, filePath);
+        } finally {
+            Files.deleteIfExists(tmpPath);
+        }
+        logger.debug("ファイル書き込み -> {}", filePath);
+    }
+
+    @Override
+    public InputStream read(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public InputStream read(String key,
+                            long offset,
+                            long length) throws IOException {
+        FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ);
+        try {
+            channel.position(offset);
+            return new RangeInputStream(Channels.newInputStream(channel), length);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public ReportStorageObject stat(String key) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(resolve(key), BasicFileAttributes.class);
+            long size = attributes.size();
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            return new ReportStorageObject(key, size, lastModified, ReportStorageObject.createETag(size, lastModified));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public Path getLocalPath(String key) {
+        return resolve(key);
+    }
+
+    /**
+     * 格納ディレクトリの取得
+     * @return
+     */
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * キーに対応するファイルパスの取得
+     * @param key
+     * @return
+     */
+    public Path resolve(String key) {
+        checkKey(key);
+        return root.resolve(key);
+    }
+
+    /**
+     * キーの確認<br>
+     * 格納ディレクトリ外のファイルを参照させない為、区切り文字・相対パスを含むキーは不可とする
+     * @param key
+     */
+    static void checkKey(String key) {
+        if (key == null || key.isEmpty() || key.equals(".") || key.equals("..")
+                || key.indexOf('/') >= 0 || key.indexOf('\\') >= 0) {
+            throw new IllegalArgumentException("invalid key : " + key);
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package rms.common.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 読み込みサイズ指定ストリーム<br>
+ * 指定サイズまで読み込んだ時点で終端とする。クローズ時は元のストリームもクローズする
+ * @author
+ */
+class RangeInputStream extends FilterInputStream {
+
+    /** 残りサイズ */
+    private long remaining;
+
+    RangeInputStream(InputStream in,
+                     long length) {
+        super(in);
+        this.remaining = length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (remaining <= 0) {
+            return -1;
+        }
+        int b = super.read();
+        if (b >= 0) {
+            remaining--;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b,
+                    int off,
+                    int len) throws IOException {
+        if (remaining <= 0) {
+            return -1;
+        }
+        int size = super.read(b, off, (int) Math.min(len, remaining));
+        if (size > 0) {
+            remaining -= size;
+        }
+        return size;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long size = super.skip(Math.min(n, remaining));
+        remaining -= size;
+        return size;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(super.available(), remaining);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+}
@@ -0,0 +1,79 @@
+package rms.common.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * 月報ファイル格納先インタフェース<br>
+ * キー（ファイル名）単位でファイルを読み書きする。読み込み・書き込みともストリームで逐次処理し、
+ * ファイル全体をメモリに保持しない。<br>
+ * 書き込みは完了するまで読み込み側から見えない（途中まで書き込んだファイルを読み込まない）こと
+ * @author
+ */
+public interface ReportStorage {
+
+    /** サイズ不明 */
+    public static final long UNKNOWN_SIZE = -1L;
+
+    /**
+     * ファイルの書き込み<br>
+     * 同じキーのファイルが存在する場合は置き換える。入力ストリームはクローズしない
+     * @param key
+     * @param inputStream
+     * @param size サイズ（不明な場合は{@link #UNKNOWN_SIZE}）
+     * @throws IOException
+     */
+    public void write(String key,
+                      InputStream inputStream,
+                      long size) throws IOException;
+
+    /**
+     * ファイルの読み込み<br>
+     * ※読み込み後、呼び出し元でクローズすること
+     * @param key
+     * @return 入力ストリーム
+     * @throws java.nio.file.NoSuchFileException ファイルが存在しない場合
+     * @throws IOException
+     */
+    public InputStream read(String key) throws IOException;
+
+    /**
+     * ファイルの読み込み（範囲指定）<br>
+     * ※読み込み後、呼び出し元でクローズすること
+     * @param key
+     * @param offset 開始位置
+     * @param length 読み込みサイズ（ファイルサイズ内であること）
+     * @return 入力ストリーム
+     * @throws java.nio.file.NoSuchFileException ファイルが存在しない場合
+     * @throws IOException
+     */
+    public InputStream read(String key,
+                            long offset,
+                            long length) throws IOException;
+
+    /**
+     * ファイル情報の取得
+     * @param key
+     * @return ファイル情報（存在しない場合はnull）
+     * @throws IOException
+     */
+    public ReportStorageObject stat(String key) throws IOException;
+
+    /**
+     * ファイルの削除<br>
+     * 存在しない場合は何もしない
+     * @param key
+     * @throws IOException
+     */
+    public void delete(String key) throws IOException;
+
+    /**
+     * ローカルファイルパスの取得<br>
+     * ファイルを直接送信（sendfile）する場合に使用する
+     * @param key
+     * @return ファイルパス（ローカルファイルに格納しない場合はnull）
+     */
+    public Path getLocalPath(String key);
+
+}
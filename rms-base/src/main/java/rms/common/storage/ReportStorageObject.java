@@ -0,0 +1,58 @@
+package rms.common.storage;
+
+/**
+ * 月報ファイル格納先のファイル情報
+ * @author
+ */
+public class ReportStorageObject {
+
+    /** キー */
+    private final String key;
+
+    /** サイズ */
+    private final long size;
+
+    /** 最終更新日時（エポックミリ秒） */
+    private final long lastModified;
+
+    /** エンティティタグ（内容が変わると変わる値、ダブルクォートを含む） */
+    private final String eTag;
+
+    public ReportStorageObject(String key,
+                               long size,
+                               long lastModified,
+                               String eTag) {
+        this.key = key;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.eTag = eTag;
+    }
+
+    /**
+     * サイズ・最終更新日時によるエンティティタグの生成
+     * @param size
+     * @param lastModified
+     * @return
+     */
+    public static String createETag(long size,
+                                    long lastModified) {
+        return "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+}
@@ -0,0 +1,390 @@
+package rms.common.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StreamUtils;
+
+import rms.common.utils.RmsDigestUtils;
+
+/**
+ * 月報ファイル格納先（S3互換オブジェクトストレージ）<br>
+ * キーをオブジェクト名としてバケットに格納する。複数のWebサーバから同じ格納先を参照できる。<br>
+ * 接続はパス形式（{@code endpoint/bucket/key}）、認証は署名バージョン4（ペイロードは署名対象外）で行う。
+ * S3・MinIO等、S3互換APIのPUT/GET/HEAD/DELETEのみ使用する
+ * @author
+ */
+public class S3ReportStorage implements ReportStorage {
+
+    /** logger */
+    private static final Logger logger = LoggerFactory.getLogger(S3ReportStorage.class);
+
+    /** 接続タイムアウト（ミリ秒） */
+    private static final int CONNECT_TIMEOUT_MILLIS = 10000;
+
+    /** 読み込みタイムアウト（ミリ秒） */
+    private static final int READ_TIMEOUT_MILLIS = 60000;
+
+    /** 署名アルゴリズム */
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+
+    /** ペイロードのハッシュ値（署名対象外） */
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+
+    /** 署名日時の形式 */
+    private static final DateTimeFormatter AMZ_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+                                                                              .withZone(ZoneOffset.UTC);
+
+    /** エラー応答の読み込み上限 */
+    private static final int ERROR_BODY_LIMIT = 1024;
+
+    /** エンドポイント（例：http://localhost:9000） */
+    private final String endpoint;
+
+    /** バケット */
+    private final String bucket;
+
+    /** リージョン */
+    private final String region;
+
+    /** アクセスキー */
+    private final String accessKey;
+
+    /** シークレットキー */
+    private final String secretKey;
+
+    /** 一時フォルダ（サイズ不明のファイルの書き込み時に使用） */
+    private final Path tmpDir;
+
+    /**
+     * コンストラクタ
+     * @param endpoint
+     * @param bucket
+     * @param region
+     * @param accessKey
+     * @param secretKey
+     * @param tmpDir
+     */
+    public S3ReportStorage(String endpoint,
+                           String bucket,
+                           String region,
+                           String accessKey,
+                           String secretKey,
+                           Path tmpDir) {
+        this.endpoint = endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint;
+        this.bucket = bucket;
+        this.region = region;
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.tmpDir = tmpDir;
+    }
+
+    @Override
+    public void write(String key,
+                      InputStream inputStream,
+                      long size) throws IOException {
+        if (size >= 0) {
+            put(key, inputStream, size);
+            return;
+        }
+
+        // サイズ不明の場合は一時ファイルに書き込んでサイズを確定する（PUTはContent-Lengthが必須）
+        Files.createDirectories(tmpDir);
+        Path tmpPath = Files.createTempFile(tmpDir, "s3", ".tmp");
+        try {
+            Files.copy(inputStream, tmpPath, StandardCopyOption.REPLACE_EXISTING);
+            try (InputStream tmpStream = Files.newInputStream(tmpPath)) {
+                put(key, tmpStream, Files.size(tmpPath));
+            }
+        } finally {
+            Files.deleteIfExists(tmpPath);
+        }
+    }
+
+    @Override
+    public InputStream read(String key) throws IOException {
+        return get(key, null);
+    }
+
+    @Override
+    public InputStream read(String key,
+                            long offset,
+                            long length) throws IOException {
+        if (length <= 0) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        HttpURLConnection conn = open("GET", key);
+        conn.setRequestProperty("Range", "bytes=" + offset + "-" + (offset + length - 1));
+        InputStream inputStream = get(key, conn);
+
+        // Rangeに未対応（全体を返却）の場合は読み飛ばす
+        if (conn.getResponseCode() != HttpURLConnection.HTTP_PARTIAL) {
+            long skipped = 0;
+            while (skipped < offset) {
+                long size = inputStream.skip(offset - skipped);
+                if (size <= 0) {
+                    inputStream.close();
+                    throw new IOException("GET " + bucket + "/" + key + " range out of bounds : " + offset);
+                }
+                skipped += size;
+            }
+        }
+        return new RangeInputStream(inputStream, length);
+    }
+
+    @Override
+    public ReportStorageObject stat(String key) throws IOException {
+        HttpURLConnection conn = open("HEAD", key);
+        try {
+            if (conn.getResponseCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+                return null;
+            }
+            checkStatus(conn, "HEAD", key);
+            long size = conn.getContentLengthLong();
+            long lastModified = conn.getLastModified();
+            String eTag = conn.getHeaderField("ETag");
+            return new ReportStorageObject(key,
+                                           size,
+                                           lastModified,
+                                           eTag != null ? eTag : ReportStorageObject.createETag(size, lastModified));
+        } finally {
+            release(conn);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        HttpURLConnection conn = open("DELETE", key);
+        try {
+            // 存在しない場合も正常（204）
+            if (conn.getResponseCode() != HttpURLConnection.HTTP_NOT_FOUND) {
+                checkStatus(conn, "DELETE", key);
+            }
+        } finally {
+            release(conn);
+        }
+    }
+
+    @Override
+    public Path getLocalPath(String key) {
+        return null;
+    }
+
+    /**
+     * オブジェクトの読み込み（GET）<br>
+     * ※クローズ時に接続を再利用可能とする
+     * @param key
+     * @param conn 接続（null:新規に接続）
+     * @return 入力ストリーム
+     * @throws IOException
+     */
+    private InputStream get(String key,
+                            HttpURLConnection conn) throws IOException {
+        HttpURLConnection getConn = conn != null ? conn : open("GET", key);
+        if (getConn.getResponseCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+            release(getConn);
+            throw new NoSuchFileException(key);
+        }
+        checkStatus(getConn, "GET", key);
+        return getConn.getInputStream();
+    }
+
+    /**
+     * オブジェクトの書き込み（PUT）<br>
+     * 入力ストリームを読み込みながら送信する
+     * @param key
+     * @param inputStream
+     * @param size
+     * @throws IOException
+     */
+    private void put(String key,
+                     InputStream inputStream,
+                     long size) throws IOException {
+        HttpURLConnection conn = open("PUT", key);
+        try {
+            conn.setDoOutput(true);
+            conn.setFixedLengthStreamingMode(size);
+            try (OutputStream os = conn.getOutputStream()) {
+                StreamUtils.copy(inputStream, os);
+            }
+            checkStatus(conn, "PUT", key);
+            logger.debug("オブジェクト書き込み -> {}/{}", bucket, key);
+        } finally {
+            release(conn);
+        }
+    }
+
+    /**
+     * 接続の解放<br>
+     * 応答を読み切ってクローズし、接続を再利用可能とする（切断はしない）
+     * @param conn
+     */
+    private void release(HttpURLConnection conn) {
+        try (InputStream inputStream = conn.getResponseCode() / 100 == 2 ? conn.getInputStream()
+                : conn.getErrorStream()) {
+            if (inputStream != null) {
+                StreamUtils.drain(inputStream);
+            }
+        } catch (IOException e) {
+            logger.debug("接続の解放に失敗 -> {}", e.toString());
+            conn.disconnect();
+        }
+    }
+
+    /**
+     * 署名済みの接続を生成
+     * @param method
+     * @param key
+     * @return
+     * @throws IOException
+     */
+    private HttpURLConnection open(String method,
+                                   String key) throws IOException {
+        LocalReportStorage.checkKey(key);
+        String canonicalUri = "/" + encode(bucket) + "/" + encode(key);
+        URL url = new URL(endpoint + canonicalUri);
+
+        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+        conn.setRequestMethod(method);
+        conn.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+        conn.setReadTimeout(READ_TIMEOUT_MILLIS);
+        conn.setUseCaches(false);
+
+        // 署名対象ヘッダ（HostはHttpURLConnectionが設定する値と合わせる）
+        String amzDate = AMZ_DATE_FORMAT.format(Instant.now());
+        SortedMap<String, String> headers = new TreeMap<>();
+        headers.put("host", createHostHeader(url));
+        headers.put("x-amz-content-sha256", UNSIGNED_PAYLOAD);
+        headers.put("x-amz-date", amzDate);
+
+        conn.setRequestProperty("x-amz-content-sha256", UNSIGNED_PAYLOAD);
+        conn.setRequestProperty("x-amz-date", amzDate);
+        conn.setRequestProperty("Authorization",
+                                createAuthorization(method, canonicalUri, "", headers, UNSIGNED_PAYLOAD, amzDate));
+        return conn;
+    }
+
+    /**
+     * 署名バージョン4のAuthorizationヘッダを生成
+     * @param method
+     * @param canonicalUri URIエンコード済みのパス
+     * @param canonicalQuery URIエンコード済みのクエリ（キー順）
+     * @param headers 署名対象ヘッダ[key:小文字のヘッダ名]
+     * @param payloadHash
+     * @param amzDate 署名日時（yyyyMMdd'T'HHmmss'Z'）
+     * @return
+     */
+    String createAuthorization(String method,
+                               String canonicalUri,
+                               String canonicalQuery,
+                               SortedMap<String, String> headers,
+                               String payloadHash,
+                               String amzDate) {
+        // 正規リクエスト
+        StringBuilder canonicalHeaders = new StringBuilder();
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            canonicalHeaders.append(header.getKey()).append(':').append(header.getValue().trim()).append('\n');
+        }
+        String signedHeaders = String.join(";", headers.keySet());
+        String canonicalRequest = method + "\n" + canonicalUri + "\n" + canonicalQuery + "\n" + canonicalHeaders + "\n"
+                + signedHeaders + "\n" + payloadHash;
+
+        // 署名対象文字列
+        String dateStamp = amzDate.substring(0, 8);
+        String scope = dateStamp + "/" + region + "/s3/aws4_request";
+        String stringToSign = ALGORITHM + "\n" + amzDate + "\n" + scope + "\n"
+                + RmsDigestUtils.sha256Hex(canonicalRequest);
+
+        // 署名キー・署名
+        byte[] signingKey = RmsDigestUtils.hmacSha256(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), dateStamp);
+        signingKey = RmsDigestUtils.hmacSha256(signingKey, region);
+        signingKey = RmsDigestUtils.hmacSha256(signingKey, "s3");
+        signingKey = RmsDigestUtils.hmacSha256(signingKey, "aws4_request");
+        String signature = RmsDigestUtils.toHex(RmsDigestUtils.hmacSha256(signingKey, stringToSign));
+
+        return ALGORITHM + " Credential=" + accessKey + "/" + scope + ", SignedHeaders=" + signedHeaders
+                + ", Signature=" + signature;
+    }
+
+    /**
+     * Hostヘッダの値を生成（既定のポートは省略）
+     * @param url
+     * @return
+     */
+    private String createHostHeader(URL url) {
+        int port = url.getPort();
+        if (port == -1 || port == url.getDefaultPort()) {
+            return url.getHost();
+        }
+        return url.getHost() + ":" + port;
+    }
+
+    /**
+     * 応答ステータスの確認<br>
+     * 2xx以外の場合は応答内容（先頭のみ）を含めてIOExceptionを発生させる
+     * @param conn
+     * @param method
+     * @param key
+     * @throws IOException
+     */
+    private void checkStatus(HttpURLConnection conn,
+                             String method,
+                             String key) throws IOException {
+        int status = conn.getResponseCode();
+        if (status / 100 == 2) {
+            return;
+        }
+
+        String body = "";
+        try (InputStream errorStream = conn.getErrorStream()) {
+            if (errorStream != null) {
+                ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                byte[] buf = new byte[ERROR_BODY_LIMIT];
+                int size;
+                while (bos.size() < ERROR_BODY_LIMIT && (size = errorStream.read(buf)) > 0) {
+                    bos.write(buf, 0, Math.min(size, ERROR_BODY_LIMIT - bos.size()));
+                }
+                body = new String(bos.toByteArray(), StandardCharsets.UTF_8);
+            }
+        }
+        throw new IOException(method + " " + bucket + "/" + key + " failed : " + status + " " + body);
+    }
+
+    /**
+     * URIエンコード（RFC 3986の非予約文字以外を%XXに変換）
+     * @param value
+     * @return
+     */
+    static String encode(String value) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xff);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~') {
+                sb.append(c);
+            } else {
+                sb.append('%').append(String.format("%02X", b & 0xff));
+            }
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,36 @@
+package rms.common.storage;
+
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+import rms.common.utils.RmsDigestUtils;
+
+/**
+ * 月報ファイル格納先（ディレクトリ・階層分割）<br>
+ * 1ディレクトリのファイル数が上限に達しないよう、キーのSHA-256（16進数）の先頭2文字・次の2文字で
+ * 2階層（256×256ディレクトリ）に分割して格納する（例：キー「201701_user01.xlsx」→ 69/e7/201701_user01.xlsx）。<br>
+ * キーがファイル内容のハッシュ値（SHA-256 16進数）の場合は、キー自体の先頭2文字・次の2文字で分割する
+ * （例：キー「2cf24dba…」→ 2c/f2/2cf24dba…）。バックアップ（backup.sh）の整合性確認もこの階層を前提とする
+ * @author
+ */
+public class ShardedReportStorage extends LocalReportStorage {
+
+    /** ファイル内容のハッシュ値（SHA-256 16進数）のキー */
+    private static final Pattern CONTENT_HASH_KEY = Pattern.compile("[0-9a-f]{64}");
+
+    /**
+     * コンストラクタ
+     * @param root 格納ディレクトリ
+     */
+    public ShardedReportStorage(Path root) {
+        super(root);
+    }
+
+    @Override
+    public Path resolve(String key) {
+        checkKey(key);
+        String hash = CONTENT_HASH_KEY.matcher(key).matches() ? key : RmsDigestUtils.sha256Hex(key);
+        return getRoot().resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(key);
+    }
+
+}
@@ -1,6 +1,9 @@
 package rms.common.utils;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
@@ -8,10 +11,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * ページ情報
+ * ページ情報<br>
+ * 一覧画面のフォームと共にセッションに保持する為、シリアライズ可能とする
  * @author
  */
-public class PageInfo {
+public class PageInfo implements Serializable {
+
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
+
     /** logger */
     private static Logger logger = LoggerFactory.getLogger(PageInfo.class);
 
@@ -30,6 +38,16 @@ public class PageInfo {
     /** 1ページ表示件数（無制限） */
     public static final int LIMIT_MAX = Integer.MAX_VALUE;
 
+    /**
+     * ページング方式
+     */
+    public enum PagingMode {
+        /** offset/limit方式（ページ毎に総件数を取得） */
+        OFFSET,
+        /** キーセット方式（直前ページの最終行からシーク。総件数は初回検索時のみ取得） */
+        KEYSET
+    }
+
     /** 1ページ表示件数 */
     private int limit = PageInfo.LIMIT_DEFAULT;
 
@@ -39,6 +57,21 @@ public class PageInfo {
     /** 合計表示件数 */
     private int totalSize = 0;
 
+    /** ページング方式 */
+    private PagingMode pagingMode = PagingMode.OFFSET;
+
+    /** 各ページの開始キー（キーセット方式：index＝ページ－1、1ページ目はnull） */
+    private List<PageKey> pageKeyList = new ArrayList<>();
+
+    /** 表示中ページの件数（キーセット方式） */
+    private int pageSize = 0;
+
+    /** 次ページ有無（キーセット方式） */
+    private boolean hasNextPage = false;
+
+    /** 総件数の取得要否（キーセット方式） */
+    private boolean countRequired = true;
+
     /*-----------------------------------------------------------------------*/
     /**
      * コンストラクタ
@@ -54,6 +87,17 @@ public class PageInfo {
         setLimit(limit);
     }
 
+    /**
+     * コンストラクタ
+     * @param limit
+     * @param pagingMode
+     */
+    public PageInfo(int limit,
+                    PagingMode pagingMode) {
+        setLimit(limit);
+        this.pagingMode = pagingMode;
+    }
+
     /*-----------------------------------------------------------------------*/
     /**
      * 1ページ表示件数を設定します。
@@ -107,6 +151,10 @@ public class PageInfo {
     public void clear() {
         setPage(1);
         setTotalSize(0);
+        pageKeyList.clear();
+        pageSize = 0;
+        hasNextPage = false;
+        countRequired = true;
     }
 
     /**
@@ -120,9 +168,32 @@ public class PageInfo {
      * 次ページに移動します。
      */
     public void next() {
+        if (isKeyset() && !hasNextPage) {
+            // 次ページの開始キーが無い場合は移動しない
+            return;
+        }
         setPage(this.page + 1);
     }
 
+    /**
+     * キーセット方式の検索結果を設定します。<br>
+     * 検索結果は1ページ表示件数＋1件まで取得し、超過分は次ページ有無の判定に使用します。
+     * @param resultSize 検索結果件数（1ページ表示件数＋1件まで）
+     * @param lastKey 表示中ページの最終行のキー
+     */
+    public void setKeysetResult(int resultSize,
+                                PageKey lastKey) {
+        this.hasNextPage = resultSize > limit;
+        this.pageSize = Math.min(resultSize, limit);
+        this.countRequired = false;
+
+        // 次ページの開始キーを保持
+        while (pageKeyList.size() <= page) {
+            pageKeyList.add(null);
+        }
+        pageKeyList.set(page, hasNextPage ? lastKey : null);
+    }
+
     /*-----------------------------------------------------------------------*/
 
     /**
@@ -138,6 +209,13 @@ public class PageInfo {
      * @return 表示ページ
      */
     public int getPage() {
+        if (isKeyset()) {
+            // キーセット方式：開始キーを保持しているページのみ表示可能
+            if (page > 1 && (page > pageKeyList.size() || pageKeyList.get(page - 1) == null)) {
+                return 1;
+            }
+            return page;
+        }
         if (totalSize <= 0) {
             // データ件数が0件の場合
             return 1;
@@ -165,6 +243,9 @@ public class PageInfo {
      * @return 表示開始Index
      */
     public int getStartIndex() {
+        if (isKeyset()) {
+            return pageSize <= 0 ? 0 : (getPage() - 1) * limit + 1;
+        }
         if (totalSize <= 0) {
             return 0;
         }
@@ -176,6 +257,9 @@ public class PageInfo {
      * @return 表示終了Index
      */
     public int getEndIndex() {
+        if (isKeyset()) {
+            return pageSize <= 0 ? 0 : (getPage() - 1) * limit + pageSize;
+        }
         if (totalSize < (getPage() * limit)) {
             return totalSize;
         }
@@ -206,12 +290,50 @@ public class PageInfo {
      * @return 次ページ有無
      */
     public boolean getHasNext() {
+        if (isKeyset()) {
+            return hasNextPage;
+        }
         if (getPage() >= getTotalPage()) {
             return false;
         }
         return true;
     }
 
+    /**
+     * ページング方式を取得します。
+     * @return ページング方式
+     */
+    public PagingMode getPagingMode() {
+        return pagingMode;
+    }
+
+    /**
+     * キーセット方式？
+     * @return
+     */
+    public boolean isKeyset() {
+        return pagingMode == PagingMode.KEYSET;
+    }
+
+    /**
+     * 表示ページの開始キーを取得します。（キーセット方式以外、1ページ目は{@link PageKey#FIRST_PAGE}）
+     * @return 表示ページの開始キー
+     */
+    public PageKey getPageKey() {
+        if (!isKeyset() || getPage() <= 1) {
+            return PageKey.FIRST_PAGE;
+        }
+        return pageKeyList.get(getPage() - 1);
+    }
+
+    /**
+     * 総件数の取得要否を取得します。（キーセット方式は初回検索時のみ取得）
+     * @return 総件数の取得要否
+     */
+    public boolean isCountRequired() {
+        return !isKeyset() || countRequired;
+    }
+
     @Override
     public String toString() {
         return ToStringBuilder.reflectionToString(this, ToStringStyle.MULTI_LINE_STYLE);
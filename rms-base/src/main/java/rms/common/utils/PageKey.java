@@ -0,0 +1,86 @@
+package rms.common.utils;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * ページ開始キー（キーセット方式のページング用）<br>
+ * 直前ページの最終行の並び替えキーを保持する。<br>
+ * 月報一覧：(対象年月 降順, ユーザID 昇順)、ユーザ一覧：(ユーザID 昇順)<br>
+ * 一覧画面の検索結果行のキー（セッション保持用）としても使用する。
+ * @author
+ */
+public class PageKey implements Serializable {
+
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
+
+    /** 1ページ目（開始キーなし） */
+    public static final PageKey FIRST_PAGE = new PageKey(null, null);
+
+    /** 対象年月 */
+    private final Integer targetYm;
+
+    /** ユーザID */
+    private final String userId;
+
+    /**
+     * コンストラクタ
+     * @param targetYm
+     * @param userId
+     */
+    public PageKey(Integer targetYm,
+                   String userId) {
+        this.targetYm = targetYm;
+        this.userId = userId;
+    }
+
+    /**
+     * 対象年月を取得します。
+     * @return 対象年月
+     */
+    public Integer getTargetYm() {
+        return targetYm;
+    }
+
+    /**
+     * ユーザIDを取得します。
+     * @return ユーザID
+     */
+    public String getUserId() {
+        return userId;
+    }
+
+    /**
+     * 1ページ目（開始キーなし）？
+     * @return
+     */
+    public boolean isFirstPage() {
+        return userId == null;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof PageKey)) {
+            return false;
+        }
+        PageKey other = (PageKey) obj;
+        return Objects.equals(targetYm, other.targetYm) && Objects.equals(userId, other.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(targetYm, userId);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, ToStringStyle.SHORT_PREFIX_STYLE);
+    }
+}
@@ -5,6 +5,10 @@ import java.time.LocalDate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import rms.common.consts.Const.ReportInitMode;
+import rms.common.consts.Const.ReportStorageType;
+import rms.common.consts.Const.SlackQueueOverflow;
+
 /**
  * application.propertiesクラス<br>
  */
@@ -17,9 +21,42 @@ public class ProjectProperties {
     /** 一時フォルダパス */
     @Value("${app.temporary.storage}")
     private String temporaryStorage;
+    /** 一時ファイルの保持期間（秒） 期限切れの一時ファイルは定期削除の対象とする */
+    @Value("${app.temporary.storage.ttl.seconds}")
+    private Long temporaryStorageTtlSeconds;
+    /** 一時ファイルの定期削除間隔（秒） 0以下の場合は削除しない */
+    @Value("${app.temporary.storage.sweep.interval.seconds}")
+    private Long temporaryStorageSweepIntervalSeconds;
+    /** 一時フォルダの使用量の上限（バイト） 0以下の場合は確認しない */
+    @Value("${app.temporary.storage.quota.size}")
+    private Long temporaryStorageQuotaSize;
+    /** 一時フォルダのディスクの空き容量の下限（バイト） 0以下の場合は確認しない */
+    @Value("${app.temporary.storage.min.free.size}")
+    private Long temporaryStorageMinFreeSize;
     /** 月報格納フォルダパス */
     @Value("${app.report.storage}")
     private String reportStorage;
+    /** 月報ファイル格納フォルダパス（内容のハッシュ値で格納） */
+    @Value("${app.report.blob.storage}")
+    private String reportBlobStorage;
+    /** 月報ファイル格納先の種類[LOCAL:ディレクトリ SHARDED:ディレクトリ（階層分割） S3:S3互換オブジェクトストレージ] */
+    @Value("${app.report.blob.storage.type}")
+    private ReportStorageType reportBlobStorageType;
+    /** S3互換オブジェクトストレージのエンドポイント S3時のみ */
+    @Value("${app.report.s3.endpoint}")
+    private String reportS3Endpoint;
+    /** S3互換オブジェクトストレージのバケット S3時のみ */
+    @Value("${app.report.s3.bucket}")
+    private String reportS3Bucket;
+    /** S3互換オブジェクトストレージのリージョン S3時のみ */
+    @Value("${app.report.s3.region}")
+    private String reportS3Region;
+    /** S3互換オブジェクトストレージのアクセスキー S3時のみ */
+    @Value("${app.report.s3.access.key}")
+    private String reportS3AccessKey;
+    /** S3互換オブジェクトストレージのシークレットキー S3時のみ */
+    @Value("${app.report.s3.secret.key}")
+    private String reportS3SecretKey;
     /** 月度切替基準日 */
     @Value("${app.switch.month.reference.day}")
     private Integer switchMonthReferenceDay;
@@ -35,6 +72,114 @@ public class ProjectProperties {
     /** SlackToken */
     @Value("${app.slack.token}")
     private String slackToken;
+    /** Slack通知の送信待ち件数上限 */
+    @Value("${app.slack.queue.capacity}")
+    private Integer slackQueueCapacity;
+    /** Slack通知の送信待ちが溢れた場合の動作[BLOCK:待機 DROP_NEWEST:新しい通知を破棄 DROP_OLDEST:古い通知を破棄] */
+    @Value("${app.slack.queue.overflow}")
+    private SlackQueueOverflow slackQueueOverflow;
+    /** Slack通知の送信待ちが溢れた場合の最大待機時間（ミリ秒） BLOCK時のみ */
+    @Value("${app.slack.queue.offer.timeout.millis}")
+    private Long slackQueueOfferTimeoutMillis;
+    /** Slack未送信状態が続いた場合に切断するまでの時間（秒） */
+    @Value("${app.slack.idle.timeout.seconds}")
+    private Long slackIdleTimeoutSeconds;
+    /** Slack接続失敗後に再接続を試みるまでの時間（秒） */
+    @Value("${app.slack.reconnect.interval.seconds}")
+    private Long slackReconnectIntervalSeconds;
+    /** Slackユーザーキャッシュの保持件数上限 */
+    @Value("${app.slack.cache.user.max.size}")
+    private Integer slackCacheUserMaxSize;
+    /** Slackユーザーキャッシュの有効期限（秒） */
+    @Value("${app.slack.cache.user.ttl.seconds}")
+    private Long slackCacheUserTtlSeconds;
+    /** 月報初期データ登録方式[JOB:ジョブ BULK:一括登録 SINGLE:1件ずつ登録] */
+    @Value("${app.batch.report.init.mode}")
+    private ReportInitMode reportInitMode;
+    /** 月報初期データ登録のコミット単位（ユーザ数） */
+    @Value("${app.batch.report.init.chunk.size}")
+    private Integer reportInitChunkSize;
+    /** 承認完了メール配信のコミット単位（宛先数） */
+    @Value("${app.batch.report.mail.chunk.size}")
+    private Integer reportMailChunkSize;
+    /** 承認完了メール配信の対象外とする直近の時間（秒） 処理中のトランザクションは次回に回す */
+    @Value("${app.batch.report.mail.delay.seconds}")
+    private Long reportMailDelaySeconds;
+    /** 承認完了メール配信で前回の処理対象期間と重複させる時間（秒） 前回以前の日時でコミットされた承認を拾う */
+    @Value("${app.batch.report.mail.overlap.seconds}")
+    private Long reportMailOverlapSeconds;
+    /** 月報一括承認時の月報ファイル保存スレッド数 */
+    @Value("${app.report.approve.bulk.copy.threads}")
+    private Integer reportApproveBulkCopyThreads;
+    /** 月報zipファイル解凍時のファイル数上限 */
+    @Value("${app.report.unzip.max.entries}")
+    private Integer reportUnzipMaxEntries;
+    /** 月報zipファイル解凍時の1ファイルあたりのサイズ上限（byte） */
+    @Value("${app.report.unzip.max.entry.size}")
+    private Long reportUnzipMaxEntrySize;
+    /** 月報zipファイル解凍時の合計サイズ上限（byte） */
+    @Value("${app.report.unzip.max.total.size}")
+    private Long reportUnzipMaxTotalSize;
+    /** コードマスタキャッシュの保持件数上限（コード区分数） 超過時は最も古く参照されたコード区分から破棄する */
+    @Value("${app.cache.mcode.max.size}")
+    private Integer cacheMCodeMaxSize;
+    /** コードマスタキャッシュの有効期間（秒） 0以下の場合は期限なし（更新時の破棄のみ） */
+    @Value("${app.cache.mcode.ttl.seconds}")
+    private Long cacheMCodeTtlSeconds;
+    /** セレクトボックス（承認者）キャッシュの有効期間（秒） 0以下の場合は期限なし（ユーザ登録・更新時の破棄のみ） */
+    @Value("${app.cache.selectbox.ttl.seconds}")
+    private Long cacheSelectboxTtlSeconds;
+    /** ログインユーザキャッシュの保持件数上限（ユーザ数） 超過時は最も古く参照されたユーザから破棄する */
+    @Value("${app.cache.user.max.size}")
+    private Integer cacheUserMaxSize;
+    /** ログインユーザキャッシュの有効期間（秒） 0以下の場合は期限なし（ユーザ更新時の破棄のみ） */
+    @Value("${app.cache.user.ttl.seconds}")
+    private Long cacheUserTtlSeconds;
+    /** 静的リソース（コンテンツハッシュ付きURL）のキャッシュ有効期間（秒） */
+    @Value("${app.static.cache.max.age.seconds}")
+    private Long staticCacheMaxAgeSeconds;
+    /** リクエスト処理時間のログ出力間隔（秒） 0以下の場合は出力しない */
+    @Value("${app.metrics.log.interval.seconds}")
+    private Long metricsLogIntervalSeconds;
+    /** SQL実行時間のログ出力閾値（ミリ秒） 閾値以上かかったSQLを出力する。負の場合は出力しない */
+    @Value("${app.metrics.sql.slow.threshold.millis}")
+    private Long metricsSqlSlowThresholdMillis;
+    /** メール送信元アドレス */
+    @Value("${app.mail.from}")
+    private String mailFrom;
+    /** メール送信処理の有効有無[true:有効 false:無効] */
+    @Value("${app.mail.outbox.dispatcher.enabled}")
+    private Boolean mailOutboxDispatcherEnabled;
+    /** メール送信スレッド数 */
+    @Value("${app.mail.outbox.threads}")
+    private Integer mailOutboxThreads;
+    /** メール送信処理1回あたりの取得件数 */
+    @Value("${app.mail.outbox.fetch.size}")
+    private Integer mailOutboxFetchSize;
+    /** 1回のSMTP接続で送信するメール件数 */
+    @Value("${app.mail.outbox.batch.size}")
+    private Integer mailOutboxBatchSize;
+    /** メール送信処理の実行間隔（ミリ秒） */
+    @Value("${app.mail.outbox.poll.interval.millis}")
+    private Long mailOutboxPollIntervalMillis;
+    /** メール再送回数上限 */
+    @Value("${app.mail.outbox.retry.max}")
+    private Integer mailOutboxRetryMax;
+    /** メール再送間隔の初期値（秒） 再送のたびに倍にする */
+    @Value("${app.mail.outbox.retry.backoff.seconds}")
+    private Long mailOutboxRetryBackoffSeconds;
+    /** メール再送間隔の上限（秒） */
+    @Value("${app.mail.outbox.retry.backoff.max.seconds}")
+    private Long mailOutboxRetryBackoffMaxSeconds;
+    /** 送信中のまま放置されたメールを未送信に戻すまでの時間（秒） */
+    @Value("${app.mail.outbox.sending.timeout.seconds}")
+    private Long mailOutboxSendingTimeoutSeconds;
+    /** 送信済みメールの保持日数（0以下の場合は削除しない） */
+    @Value("${app.mail.outbox.sent.retention.days}")
+    private Integer mailOutboxSentRetentionDays;
+    /** 保持日数を過ぎた送信済みメールの削除間隔（ミリ秒） */
+    @Value("${app.mail.outbox.purge.interval.millis}")
+    private Long mailOutboxPurgeIntervalMillis;
 
     public Boolean getHtml5Novalidate() {
         return html5Novalidate;
@@ -44,10 +189,54 @@ public class ProjectProperties {
         return temporaryStorage;
     }
 
+    public Long getTemporaryStorageTtlSeconds() {
+        return temporaryStorageTtlSeconds;
+    }
+
+    public Long getTemporaryStorageSweepIntervalSeconds() {
+        return temporaryStorageSweepIntervalSeconds;
+    }
+
+    public Long getTemporaryStorageQuotaSize() {
+        return temporaryStorageQuotaSize;
+    }
+
+    public Long getTemporaryStorageMinFreeSize() {
+        return temporaryStorageMinFreeSize;
+    }
+
     public String getReportStorage() {
         return reportStorage;
     }
 
+    public String getReportBlobStorage() {
+        return reportBlobStorage;
+    }
+
+    public ReportStorageType getReportBlobStorageType() {
+        return reportBlobStorageType;
+    }
+
+    public String getReportS3Endpoint() {
+        return reportS3Endpoint;
+    }
+
+    public String getReportS3Bucket() {
+        return reportS3Bucket;
+    }
+
+    public String getReportS3Region() {
+        return reportS3Region;
+    }
+
+    public String getReportS3AccessKey() {
+        return reportS3AccessKey;
+    }
+
+    public String getReportS3SecretKey() {
+        return reportS3SecretKey;
+    }
+
     public Integer getSwitchMonthReferenceDay() {
         return switchMonthReferenceDay;
     }
@@ -70,4 +259,149 @@ public class ProjectProperties {
     public String getSlackToken() {
         return slackToken;
     }
-}
\ No newline at end of file
+
+    public Integer getSlackQueueCapacity() {
+        return slackQueueCapacity;
+    }
+
+    public SlackQueueOverflow getSlackQueueOverflow() {
+        return slackQueueOverflow;
+    }
+
+    public Long getSlackQueueOfferTimeoutMillis() {
+        return slackQueueOfferTimeoutMillis;
+    }
+
+    public Long getSlackIdleTimeoutSeconds() {
+        return slackIdleTimeoutSeconds;
+    }
+
+    public Long getSlackReconnectIntervalSeconds() {
+        return slackReconnectIntervalSeconds;
+    }
+
+    public Integer getSlackCacheUserMaxSize() {
+        return slackCacheUserMaxSize;
+    }
+
+    public Long getSlackCacheUserTtlSeconds() {
+        return slackCacheUserTtlSeconds;
+    }
+
+    public ReportInitMode getReportInitMode() {
+        return reportInitMode;
+    }
+
+    public Integer getReportInitChunkSize() {
+        return reportInitChunkSize;
+    }
+
+    public Integer getReportMailChunkSize() {
+        return reportMailChunkSize;
+    }
+
+    public Long getReportMailDelaySeconds() {
+        return reportMailDelaySeconds;
+    }
+
+    public Long getReportMailOverlapSeconds() {
+        return reportMailOverlapSeconds;
+    }
+
+    public Integer getReportApproveBulkCopyThreads() {
+        return reportApproveBulkCopyThreads;
+    }
+
+    public Integer getReportUnzipMaxEntries() {
+        return reportUnzipMaxEntries;
+    }
+
+    public Long getReportUnzipMaxEntrySize() {
+        return reportUnzipMaxEntrySize;
+    }
+
+    public Long getReportUnzipMaxTotalSize() {
+        return reportUnzipMaxTotalSize;
+    }
+
+    public Integer getCacheMCodeMaxSize() {
+        return cacheMCodeMaxSize;
+    }
+
+    public Long getCacheMCodeTtlSeconds() {
+        return cacheMCodeTtlSeconds;
+    }
+
+    public Long getCacheSelectboxTtlSeconds() {
+        return cacheSelectboxTtlSeconds;
+    }
+
+    public Integer getCacheUserMaxSize() {
+        return cacheUserMaxSize;
+    }
+
+    public Long getCacheUserTtlSeconds() {
+        return cacheUserTtlSeconds;
+    }
+
+    public Long getStaticCacheMaxAgeSeconds() {
+        return staticCacheMaxAgeSeconds;
+    }
+
+    public Long getMetricsLogIntervalSeconds() {
+        return metricsLogIntervalSeconds;
+    }
+
+    public Long getMetricsSqlSlowThresholdMillis() {
+        return metricsSqlSlowThresholdMillis;
+    }
+
+    public String getMailFrom() {
+        return mailFrom;
+    }
+
+    public Boolean getMailOutboxDispatcherEnabled() {
+        return mailOutboxDispatcherEnabled;
+    }
+
+    public Integer getMailOutboxThreads() {
+        return mailOutboxThreads;
+    }
+
+    public Integer getMailOutboxFetchSize() {
+        return mailOutboxFetchSize;
+    }
+
+    public Integer getMailOutboxBatchSize() {
+        return mailOutboxBatchSize;
+    }
+
+    public Long getMailOutboxPollIntervalMillis() {
+        return mailOutboxPollIntervalMillis;
+    }
+
+    public Integer getMailOutboxRetryMax() {
+        return mailOutboxRetryMax;
+    }
+
+    public Long getMailOutboxRetryBackoffSeconds() {
+        return mailOutboxRetryBackoffSeconds;
+    }
+
+    public Long getMailOutboxRetryBackoffMaxSeconds() {
+        return mailOutboxRetryBackoffMaxSeconds;
+    }
+
+    public Long getMailOutboxSendingTimeoutSeconds() {
+        return mailOutboxSendingTimeoutSeconds;
+    }
+
+    public Integer getMailOutboxSentRetentionDays() {
+        return mailOutboxSentRetentionDays;
+    }
+
+    public Long getMailOutboxPurgeIntervalMillis() {
+        return mailOutboxPurgeIntervalMillis;
+    }
+
+}
@@ -0,0 +1,156 @@
+package rms.common.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import rms.common.storage.ReportStorage;
+import rms.common.storage.ReportStorageObject;
+
+/**
+ * ファイル内容のハッシュ値による格納クラス<br>
+ * ファイルはSHA-256（16進数）をキーとして月報ファイル格納先（{@code app.report.blob.storage.type}）に格納する。<br>
+ * 同じ内容のファイルは1つのみ格納し、格納済みのファイルは変更・削除しない
+ * @author
+ */
+@Component
+public class RmsContentStore {
+
+    /** logger */
+    private static final Logger logger = LoggerFactory.getLogger(RmsContentStore.class);
+
+    /** ハッシュ値の形式 */
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    /** 月報ファイル格納先 */
+    @Autowired
+    ReportStorage reportBlobStorage;
+
+    /** 一時フォルダ */
+    @Autowired
+    RmsTempStorage tempStorage;
+
+    /** 格納件数 */
+    private final AtomicLong storedCount = new AtomicLong();
+
+    /** 重複による格納省略件数 */
+    private final AtomicLong dedupCount = new AtomicLong();
+
+    /**
+     * ファイルの格納<br>
+     * ハッシュ値を計算する為、一時フォルダに書き込んでから格納する。
+     * 格納済みの内容と同じ場合は格納せず、格納済みのファイルを共有する
+     * @param inputStream
+     * @return ハッシュ値
+     * @throws IOException
+     */
+    public String put(InputStream inputStream) throws IOException {
+        // ハッシュ値を計算しながら一時ファイルに書き込む
+        Path tmpPath = tempStorage.createFile("content", ".tmp");
+        try {
+            MessageDigest digest = RmsDigestUtils.createSha256();
+            Files.copy(new DigestInputStream(inputStream, digest), tmpPath, StandardCopyOption.REPLACE_EXISTING);
+            return store(RmsDigestUtils.toHex(digest.digest()), tmpPath);
+        } finally {
+            tempStorage.delete(tmpPath);
+        }
+    }
+
+    /**
+     * ファイルの格納<br>
+     * ハッシュ値を計算してから格納する（一時ファイルは作成しない）
+     * @param filePath
+     * @return ハッシュ値
+     * @throws IOException
+     */
+    public String put(Path filePath) throws IOException {
+        MessageDigest digest = RmsDigestUtils.createSha256();
+        try (InputStream inputStream = new DigestInputStream(Files.newInputStream(filePath), digest)) {
+            StreamUtils.drain(inputStream);
+        }
+        return store(RmsDigestUtils.toHex(digest.digest()), filePath);
+    }
+
+    /**
+     * 格納済みファイル情報の取得
+     * @param hash
+     * @return ファイル情報（存在しない場合はnull）
+     * @throws IOException
+     */
+    public ReportStorageObject stat(String hash) throws IOException {
+        checkHash(hash);
+        return reportBlobStorage.stat(hash);
+    }
+
+    /**
+     * 格納先の取得
+     * @return
+     */
+    public ReportStorage getStorage() {
+        return reportBlobStorage;
+    }
+
+    /**
+     * 格納件数
+     * @return
+     */
+    public long getStoredCount() {
+        return storedCount.get();
+    }
+
+    /**
+     * 重複による格納省略件数
+     * @return
+     */
+    public long getDedupCount() {
+        return dedupCount.get();
+    }
+
+    /**
+     * ハッシュ値の確認
+     * @param hash
+     */
+    public void checkHash(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            throw new IllegalArgumentException("invalid hash : " + hash);
+        }
+    }
+
+    /**
+     * 格納先への書き込み<br>
+     * 格納済みの場合は書き込まない（同じ内容を同時に格納した場合も置き換え後の内容は同じ）
+     * @param hash
+     * @param filePath
+     * @return ハッシュ値
+     * @throws IOException
+     */
+    private String store(String hash,
+                         Path filePath) throws IOException {
+        if (reportBlobStorage.stat(hash) != null) {
+            // 格納済み
+            dedupCount.incrementAndGet();
+            logger.debug("格納済みのファイル -> {}", hash);
+            return hash;
+        }
+
+        try (InputStream inputStream = Files.newInputStream(filePath)) {
+            reportBlobStorage.write(hash, inputStream, Files.size(filePath));
+        }
+        storedCount.incrementAndGet();
+        logger.info("ファイル格納 -> {}", hash);
+        return hash;
+    }
+
+}
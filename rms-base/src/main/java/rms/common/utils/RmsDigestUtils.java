@@ -0,0 +1,78 @@
+package rms.common.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * ハッシュ値計算Utilsクラス
+ * @author
+ */
+public class RmsDigestUtils {
+
+    /** ハッシュアルゴリズム */
+    private static final String SHA256 = "SHA-256";
+
+    /** HMACアルゴリズム */
+    private static final String HMAC_SHA256 = "HmacSHA256";
+
+    /** 16進数 */
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * SHA-256のMessageDigestを生成
+     * @return
+     */
+    public static MessageDigest createSha256() {
+        try {
+            return MessageDigest.getInstance(SHA256);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * SHA-256（16進数）
+     * @param value UTF-8で変換する
+     * @return
+     */
+    public static String sha256Hex(String value) {
+        return toHex(createSha256().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * HMAC-SHA256
+     * @param key
+     * @param value UTF-8で変換する
+     * @return
+     */
+    public static byte[] hmacSha256(byte[] key,
+                                    String value) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(new SecretKeySpec(key, HMAC_SHA256));
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 16進数（小文字）に変換
+     * @param bytes
+     * @return
+     */
+    public static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0x0f];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0x0f];
+        }
+        return new String(chars);
+    }
+
+}
@@ -1,17 +1,39 @@
 package rms.common.utils;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import rms.common.storage.ReportStorage;
+import rms.common.storage.ReportStorageObject;
 
 /**
  * ファイルUtilsクラス
@@ -21,6 +43,21 @@ public class RmsFileUtils {
     /** logger */
     private static final Logger logger = LoggerFactory.getLogger(RmsFileUtils.class);
 
+    /** sendfile対応有無のリクエスト属性（Tomcat） */
+    static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+
+    /** sendfile対象ファイルのリクエスト属性（Tomcat） */
+    static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+
+    /** sendfile開始位置のリクエスト属性（Tomcat） */
+    static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+
+    /** sendfile終了位置（この位置を含まない）のリクエスト属性（Tomcat） */
+    static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    /** sendfileを使用する最小サイズ（Tomcatの既定値に合わせる） */
+    static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
     /**
      * ファイルダウンロード
      * @param response
@@ -33,18 +70,197 @@ public class RmsFileUtils {
                                     String fileNm) throws IOException {
         logger.info("ファイルダウンロード -> {}", filePath.toAbsolutePath().normalize());
 
+        // ヘッダ設定
+        setDownloadHeader(response, fileNm);
+
+        // ファイル出力
+        Files.copy(filePath, response.getOutputStream());
+    }
+
+    /**
+     * ファイルダウンロード（月報ファイル格納先）<br>
+     * ETag・Last-Modifiedによる条件付きGET（304）、単一範囲のRange（206/416）に対応する。
+     * 格納先は同一内容のファイルを共有する為、ETagにはダウンロードファイル名を含め、
+     * ファイル名が異なる場合は304で別のファイル名（Content-Disposition）が再利用されないようにする。
+     * ローカルファイルはコンテナのsendfile（ゼロコピー）、未対応の場合はFileChannel#transferToで出力し、
+     * それ以外の格納先は読み込みながらレスポンスへ出力する
+     * @param request
+     * @param response
+     * @param storage
+     * @param key
+     * @param fileNm
+     * @throws IOException
+     */
+    public static void fileDownload(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    ReportStorage storage,
+                                    String key,
+                                    String fileNm) throws IOException {
+        logger.info("ファイルダウンロード -> {}", key);
+
+        ReportStorageObject object = storage.stat(key);
+        if (object == null) {
+            throw new NoSuchFileException(key);
+        }
+        long size = object.getSize();
+        String eTag = createDownloadETag(object, fileNm);
+
+        // 条件付きGET（ETag・Last-Modifiedの設定、変更がない場合は304）
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, object.getLastModified())) {
+            logger.debug("ファイルダウンロード（変更なし） -> {}", key);
+            return;
+        }
+
+        // 範囲指定
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        long start = 0;
+        long length = size;
+        HttpRange range = getRange(request, object, eTag);
+        if (range != null) {
+            start = range.getRangeStart(size);
+            if (start >= size) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            long end = range.getRangeEnd(size);
+            length = end - start + 1;
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+
+        // ヘッダ設定
+        setDownloadHeader(response, fileNm);
+        response.setContentLengthLong(length);
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+
+        // ファイル出力
+        Path filePath = storage.getLocalPath(key);
+        if (filePath != null && length >= SENDFILE_MIN_SIZE
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            // sendfile（コンテナがレスポンス出力後に送信する）
+            request.setAttribute(SENDFILE_FILENAME_ATTR, filePath.toRealPath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, start + length);
+        } else if (filePath != null) {
+            try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+                WritableByteChannel outputChannel = Channels.newChannel(response.getOutputStream());
+                long position = start;
+                long end = start + length;
+                while (position < end) {
+                    long transferred = fileChannel.transferTo(position, end - position, outputChannel);
+                    if (transferred <= 0) {
+                        throw new EOFException(filePath.toString());
+                    }
+                    position += transferred;
+                }
+            }
+        } else {
+            try (InputStream inputStream = storage.read(key, start, length)) {
+                StreamUtils.copy(inputStream, response.getOutputStream());
+            }
+        }
+    }
+
+    /**
+     * ダウンロード用のエンティティタグの生成<br>
+     * 格納先のエンティティタグにダウンロードファイル名のハッシュ値を付与する
+     * @param object
+     * @param fileNm
+     * @return
+     */
+    static String createDownloadETag(ReportStorageObject object,
+                                     String fileNm) {
+        String eTag = object.getETag();
+        String fileNmHash = RmsDigestUtils.sha256Hex(fileNm).substring(0, 16);
+        // 末尾の引用符の前に付与（弱いエンティティタグ「W/"..."」も同様）
+        return eTag.substring(0, eTag.length() - 1) + "-" + fileNmHash + "\"";
+    }
+
+    /**
+     * 有効な範囲指定の取得<br>
+     * 単一範囲のみ対応し、複数範囲・形式不正・If-Range不一致の場合は範囲指定なし（全体）とする
+     * @param request
+     * @param object
+     * @param eTag
+     * @return 範囲指定（なしの場合はnull）
+     */
+    private static HttpRange getRange(HttpServletRequest request,
+                                      ReportStorageObject object,
+                                      String eTag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || !HttpMethod.GET.matches(request.getMethod())) {
+            return null;
+        }
+
+        // If-Range（ETagまたは最終更新日時が一致する場合のみ範囲指定を有効とする）
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null) {
+            if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+                if (!ifRange.equals(eTag)) {
+                    return null;
+                }
+            } else {
+                try {
+                    if (request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 != object.getLastModified() / 1000) {
+                        return null;
+                    }
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            }
+        }
+
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            logger.debug("範囲指定不正 -> {}", rangeHeader);
+            return null;
+        }
+    }
+
+    /**
+     * ファイルダウンロード（ストリーム出力）<br>
+     * ダウンロード用のヘッダを設定して、レスポンスの出力先ストリームを返却する<br>
+     * ファイルを作成せずに、生成しながらダウンロードさせる場合に使用する
+     * @param response
+     * @param fileNm
+     * @return 出力先ストリーム
+     * @throws IOException
+     */
+    public static OutputStream fileDownloadStream(HttpServletResponse response,
+                                                  String fileNm) throws IOException {
+        logger.info("ファイルダウンロード（ストリーム出力） -> {}", fileNm);
+
+        // ヘッダ設定
+        setDownloadHeader(response, fileNm);
+
+        return response.getOutputStream();
+    }
+
+    /**
+     * ダウンロード用のヘッダ設定
+     * @param response
+     * @param fileNm
+     * @throws UnsupportedEncodingException
+     */
+    private static void setDownloadHeader(HttpServletResponse response,
+                                          String fileNm) throws UnsupportedEncodingException {
         // ファイル名のエンコード
         String encodeFileNm = URLEncoder.encode(fileNm, StandardCharsets.UTF_8.name());
 
         // ヘッダ設定
         response.addHeader("Content-Disposition", "attachment; filename*=UTF-8''" + encodeFileNm);
-
-        // ファイル出力
-        Files.copy(filePath, response.getOutputStream());
     }
 
     /**
-     * ファイル保存
+     * ファイル保存<br>
+     * 保存先と同じディレクトリの一時ファイルに書き込み、ディスクへ同期してから保存先へ置き換える。
+     * 書き込み途中で異常終了しても、保存先は置き換え前か置き換え後のどちらかの内容となる
      * @param inputStream
      * @param filePath
      * @throws IOException
@@ -54,11 +270,12 @@ public class RmsFileUtils {
         logger.info("ファイル保存 -> {}", filePath.toAbsolutePath().normalize());
 
         // ファイル保存
-        Files.copy(inputStream, filePath, StandardCopyOption.REPLACE_EXISTING);
+        atomicWrite(inputStream, filePath);
     }
 
     /**
-     * ファイル保存
+     * ファイル保存<br>
+     * 置き換えは{@link #fileSave(InputStream, Path)}と同様
      * @param fromFilePath
      * @param toFilePath
      * @throws IOException
@@ -68,7 +285,103 @@ public class RmsFileUtils {
         logger.info("ファイル保存 -> {}", fromFilePath.toAbsolutePath().normalize());
 
         // ファイル保存
-        Files.copy(fromFilePath, toFilePath, StandardCopyOption.REPLACE_EXISTING);
+        try (InputStream inputStream = Files.newInputStream(fromFilePath)) {
+            atomicWrite(inputStream, toFilePath);
+        }
+    }
+
+    /**
+     * 一時ファイル経由の置き換え
+     * @param inputStream
+     * @param filePath
+     * @throws IOException
+     */
+    private static void atomicWrite(InputStream inputStream,
+                                    Path filePath) throws IOException {
+        Path tmpPath = writeTempFile(inputStream, filePath.toAbsolutePath().getParent(), "." + filePath.getFileName());
+        try {
+            moveAtomic(tmpPath, filePath);
+        } finally {
+            Files.deleteIfExists(tmpPath);
+        }
+    }
+
+    /**
+     * 一時ファイルへの書き込み<br>
+     * 書き込み後にディスクへ同期する。置き換え先と同じディレクトリ（ファイルシステム）に作成すること
+     * @param inputStream
+     * @param dir 作成先ディレクトリ
+     * @param prefix ファイル名の接頭辞
+     * @return 一時ファイル
+     * @throws IOException
+     */
+    public static Path writeTempFile(InputStream inputStream,
+                                     Path dir,
+                                     String prefix) throws IOException {
+        Path tmpPath = Files.createTempFile(dir, prefix, ".tmp");
+        try (FileChannel channel = FileChannel.open(tmpPath, StandardOpenOption.WRITE)) {
+            ReadableByteChannel source = Channels.newChannel(inputStream);
+            long size = 0;
+            long count;
+            while ((count = channel.transferFrom(source, size, Long.MAX_VALUE)) > 0) {
+                size += count;
+            }
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmpPath);
+            throw e;
+        }
+        return tmpPath;
+    }
+
+    /**
+     * 一時ファイルによる置き換え<br>
+     * 置き換え後にディレクトリをディスクへ同期する
+     * @param tmpPath
+     * @param filePath
+     * @throws IOException
+     */
+    public static void moveAtomic(Path tmpPath,
+                                  Path filePath) throws IOException {
+        Path dir = filePath.toAbsolutePath().getParent();
+        try {
+            Files.move(tmpPath, filePath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            logger.warn("アトミックな置き換えに未対応 -> {}", dir);
+            Files.move(tmpPath, filePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        // ディレクトリの同期（置き換えの永続化） 未対応のOS（Windows）では何もしない
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            logger.debug("ディレクトリの同期に未対応 -> {}", dir);
+        }
+    }
+
+    /**
+     * ディレクトリ削除<br>
+     * 配下のファイル・ディレクトリを含めて削除する。削除に失敗したファイルはログ出力のみ行う
+     * @param dirPath
+     */
+    public static void deleteDirectory(Path dirPath) {
+        if (dirPath == null || !Files.exists(dirPath)) {
+            return;
+        }
+        logger.info("ディレクトリ削除 -> {}", dirPath.toAbsolutePath().normalize());
+
+        // 配下から順に削除
+        try (Stream<Path> stream = Files.walk(dirPath)) {
+            stream.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    logger.warn("ファイル削除に失敗 -> {}", path, e);
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("ディレクトリ削除に失敗 -> {}", dirPath, e);
+        }
     }
 
 }
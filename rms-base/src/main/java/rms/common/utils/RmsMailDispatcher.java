@@ -0,0 +1,390 @@
+package rms.common.utils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import rms.common.consts.Const;
+import rms.common.dao.TMailOutboxDao;
+import rms.common.entity.TMailOutbox;
+
+/**
+ * メール送信処理クラス<br>
+ * 送信待ちテーブルのメールを定期的に取得し、スレッドプールで送信する。<br>
+ * 送信は{@code app.mail.outbox.batch.size}件ごとに1回のSMTP接続で行い、失敗したメールは間隔を空けて再送する。<br>
+ * 送信済みメールは{@code app.mail.outbox.sent.retention.days}日を過ぎたら削除する
+ * @author
+ */
+@Component
+public class RmsMailDispatcher {
+
+    /** logger */
+    private static Logger logger = LoggerFactory.getLogger(RmsMailDispatcher.class);
+
+    /** エラー内容の最大長 */
+    private static final int LAST_ERROR_MAX_LENGTH = 1000;
+
+    /** 送信済みメールの1回あたりの削除件数 */
+    private static final int PURGE_LIMIT = 1000;
+
+    /** メール送信待ちDao */
+    @Autowired
+    TMailOutboxDao tMailOutboxDao;
+
+    /** メール関連Helper */
+    @Autowired
+    RmsMailHelper helper;
+
+    @Autowired
+    JavaMailSender mailSender;
+
+    /** メール送信用スレッドプール */
+    @Autowired
+    ThreadPoolTaskExecutor mailSendExecutor;
+
+    @Autowired
+    ProjectProperties properties;
+
+    /** 送信処理の定期実行スレッド */
+    private ScheduledExecutorService scheduler;
+
+    /** 即時送信要求の受付済みフラグ（要求が重なった場合は1回にまとめる） */
+    private final AtomicBoolean wakeUpRequested = new AtomicBoolean(false);
+
+    /** 送信件数 */
+    private final AtomicLong sentCount = new AtomicLong();
+
+    /** 再送待ち件数（延べ） */
+    private final AtomicLong retryCount = new AtomicLong();
+
+    /** 送信エラー件数 */
+    private final AtomicLong errorCount = new AtomicLong();
+
+    /** 送信済みメールの削除件数 */
+    private final AtomicLong purgedCount = new AtomicLong();
+
+    /** 最終送信処理日時 */
+    private volatile LocalDateTime lastDispatchDate;
+
+    /**
+     * 送信処理の開始
+     */
+    @PostConstruct
+    public void start() {
+        if (!properties.getMailOutboxDispatcherEnabled()) {
+            logger.info("メール送信処理は無効です");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "mail-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getMailOutboxPollIntervalMillis();
+        scheduler.scheduleWithFixedDelay(this::dispatchAll, interval, interval, TimeUnit.MILLISECONDS);
+        long purgeInterval = properties.getMailOutboxPurgeIntervalMillis();
+        scheduler.scheduleWithFixedDelay(this::purgeQuietly, purgeInterval, purgeInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 送信処理の停止
+     */
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 送信処理の即時起動<br>
+     * 送信待ち登録のコミット後に呼び出され、定期実行を待たずに送信する
+     */
+    public void wakeUp() {
+        if (scheduler == null || !wakeUpRequested.compareAndSet(false, true)) {
+            return;
+        }
+        scheduler.execute(() -> {
+            wakeUpRequested.set(false);
+            dispatchAll();
+        });
+    }
+
+    /**
+     * 送信可能なメールが無くなるまで送信
+     * @return 処理件数
+     */
+    public int dispatchAll() {
+        int total = 0;
+        try {
+            int count;
+            do {
+                count = dispatch();
+                total += count;
+            } while (count >= properties.getMailOutboxFetchSize());
+        } catch (RuntimeException e) {
+            // 定期実行を止めないため例外は送出しない
+            logger.error("メール送信処理エラー", e);
+        }
+        return total;
+    }
+
+    /**
+     * 送信（1回分）<br>
+     * 送信日時を過ぎた未送信メールを取得件数まで確保し、送信単位ごとにスレッドプールで送信する
+     * @return 処理件数
+     */
+    public int dispatch() {
+        LocalDateTime now = LocalDateTime.now();
+
+        // 送信中のまま放置されたメール（送信処理中のプロセス停止等）を未送信に戻す
+        tMailOutboxDao.updateSendingToWait(now.minusSeconds(properties.getMailOutboxSendingTimeoutSeconds()), now);
+
+        // 送信トークンで送信対象を確保（複数プロセスで同じメールを送信しない）
+        String sendToken = UUID.randomUUID().toString();
+        if (tMailOutboxDao.updateSendToken(sendToken, now, properties.getMailOutboxFetchSize()) == 0) {
+            return 0;
+        }
+        List<TMailOutbox> mailList = tMailOutboxDao.selectBySendToken(sendToken);
+
+        int batchSize = properties.getMailOutboxBatchSize();
+        List<Future<?>> futureList = new ArrayList<>();
+        for (int i = 0; i < mailList.size(); i += batchSize) {
+            List<TMailOutbox> chunk = mailList.subList(i, Math.min(i + batchSize, mailList.size()));
+            futureList.add(mailSendExecutor.submit(() -> send(chunk)));
+        }
+        for (Future<?> future : futureList) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                // 結果が記録されなかったメールは送信中タイムアウト後に再送される
+                logger.error("メール送信エラー", e.getCause());
+            }
+        }
+
+        lastDispatchDate = LocalDateTime.now();
+        // 送信待ち件数の集計（COUNT）はデバッグ時のみ
+        logger.info("メール送信 -> 処理件数：{} sentTotal={}, retryTotal={}, errorTotal={}", mailList.size(),
+                    sentCount.get(), retryCount.get(), errorCount.get());
+        if (logger.isDebugEnabled()) {
+            logger.debug("メール送信待ち -> {}", getStats());
+        }
+        return mailList.size();
+    }
+
+    /**
+     * 保持日数を過ぎた送信済みメールの削除<br>
+     * 保持日数が0以下の場合は削除しない
+     * @return 削除件数
+     */
+    public int purgeSent() {
+        int retentionDays = properties.getMailOutboxSentRetentionDays();
+        if (retentionDays <= 0) {
+            return 0;
+        }
+        LocalDateTime sentLimitDate = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        int count;
+        do {
+            count = tMailOutboxDao.deleteSent(sentLimitDate, PURGE_LIMIT);
+            total += count;
+        } while (count >= PURGE_LIMIT);
+        purgedCount.addAndGet(total);
+        if (total > 0) {
+            logger.info("送信済みメール削除 -> 削除件数：{} 保持日数：{}", total, retentionDays);
+        }
+        return total;
+    }
+
+    /**
+     * 送信済みメールの削除（定期実行用）
+     */
+    void purgeQuietly() {
+        try {
+            purgeSent();
+        } catch (RuntimeException e) {
+            // 定期実行を止めないため例外は送出しない
+            logger.error("送信済みメール削除エラー", e);
+        }
+    }
+
+    /**
+     * 送信単位の送信<br>
+     * 1回のSMTP接続で送信し、メールごとの送信結果を記録する
+     * @param mailList
+     */
+    void send(List<TMailOutbox> mailList) {
+        Map<MimeMessage, TMailOutbox> messageMap = new LinkedHashMap<>();
+        for (TMailOutbox mail : mailList) {
+            try {
+                messageMap.put(helper.createMimeMessage(toMailInfo(mail)), mail);
+            } catch (MessagingException | RuntimeException e) {
+                // アドレス不正・添付ファイルなしは再送しても送信できないため送信エラーとする
+                setError(mail, e);
+            }
+        }
+
+        Map<Object, Exception> failedMessages = Collections.emptyMap();
+        Exception allFailed = null;
+        if (!messageMap.isEmpty()) {
+            try {
+                mailSender.send(messageMap.keySet().toArray(new MimeMessage[messageMap.size()]));
+            } catch (MailSendException e) {
+                failedMessages = e.getFailedMessages();
+                if (failedMessages.isEmpty()) {
+                    allFailed = e;
+                }
+            } catch (MailException e) {
+                allFailed = e;
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<MimeMessage, TMailOutbox> entry : messageMap.entrySet()) {
+            Exception e = allFailed != null ? allFailed : failedMessages.get(entry.getKey());
+            if (e == null) {
+                setSent(entry.getValue(), now);
+            } else {
+                setRetry(entry.getValue(), e, now);
+            }
+        }
+        tMailOutboxDao.updateBatchNoOptimisticLockException(mailList);
+    }
+
+    /**
+     * 送信済みの設定
+     * @param mail
+     * @param now
+     */
+    private void setSent(TMailOutbox mail,
+                         LocalDateTime now) {
+        mail.setSendStatus(Const.MAIL_STATUS_SENT);
+        mail.setSentDate(now);
+        mail.setSendToken(null);
+        mail.setUpdDate(now);
+        sentCount.incrementAndGet();
+    }
+
+    /**
+     * 再送待ちの設定（再送上限を超えた場合は送信エラー）<br>
+     * 再送間隔は再送のたびに倍にし、上限で打ち止めとする
+     * @param mail
+     * @param e
+     * @param now
+     */
+    private void setRetry(TMailOutbox mail,
+                          Exception e,
+                          LocalDateTime now) {
+        int retry = mail.getRetryCount() + 1;
+        if (retry > properties.getMailOutboxRetryMax()) {
+            setError(mail, e);
+            return;
+        }
+        long backoff = properties.getMailOutboxRetryBackoffSeconds() << Math.min(retry - 1, 20);
+        mail.setSendStatus(Const.MAIL_STATUS_WAIT);
+        mail.setRetryCount(retry);
+        mail.setNextSendDate(now.plusSeconds(Math.min(backoff, properties.getMailOutboxRetryBackoffMaxSeconds())));
+        mail.setSendToken(null);
+        mail.setLastError(StringUtils.abbreviate(String.valueOf(e), LAST_ERROR_MAX_LENGTH));
+        mail.setUpdDate(now);
+        retryCount.incrementAndGet();
+        logger.warn("メール送信失敗（再送待ち） -> mailId：{} 再送回数：{} {}", mail.getMailId(), retry, e.toString());
+    }
+
+    /**
+     * 送信エラーの設定
+     * @param mail
+     * @param e
+     */
+    private void setError(TMailOutbox mail,
+                          Exception e) {
+        mail.setSendStatus(Const.MAIL_STATUS_ERROR);
+        mail.setSendToken(null);
+        mail.setLastError(StringUtils.abbreviate(String.valueOf(e), LAST_ERROR_MAX_LENGTH));
+        mail.setUpdDate(LocalDateTime.now());
+        errorCount.incrementAndGet();
+        logger.error("メール送信エラー -> mailId：{} {}", mail.getMailId(), e.toString());
+    }
+
+    /**
+     * 送信待ちエンティティからメール情報への変換
+     * @param mail
+     * @return
+     * @throws MessagingException
+     */
+    private RmsMailInfo toMailInfo(TMailOutbox mail) throws MessagingException {
+        RmsMailInfo mailInfo = new RmsMailInfo().setFromAddr(mail.getFromAddr())
+                                                .setSubject(mail.getSubject())
+                                                .setText(mail.getBody());
+        for (InternetAddress addr : parse(mail.getToAddrs())) {
+            mailInfo.addToAddr(addr.toUnicodeString());
+        }
+        for (InternetAddress addr : parse(mail.getCcAddrs())) {
+            mailInfo.addCcAddr(addr.toUnicodeString());
+        }
+        for (InternetAddress addr : parse(mail.getBccAddrs())) {
+            mailInfo.addBccAddr(addr.toUnicodeString());
+        }
+        if (mail.getFileNm() != null && mail.getFilePath() != null) {
+            mailInfo.setFileNm(mail.getFileNm()).setFilePath(mail.getFilePath());
+        }
+        return mailInfo;
+    }
+
+    /**
+     * カンマ区切りアドレスの解析
+     * @param addrs
+     * @return
+     * @throws MessagingException
+     */
+    private InternetAddress[] parse(String addrs) throws MessagingException {
+        return StringUtils.isEmpty(addrs) ? new InternetAddress[0] : InternetAddress.parse(addrs);
+    }
+
+    /**
+     * 統計情報の取得<br>
+     * 送信状況ごとの件数は取得時に集計する（送信待ちテーブルのCOUNTを伴う）
+     * @return
+     */
+    public RmsMailOutboxStats getStats() {
+        return new RmsMailOutboxStats(tMailOutboxDao.countBySendStatus(Const.MAIL_STATUS_WAIT),
+                                      tMailOutboxDao.countBySendStatus(Const.MAIL_STATUS_SENDING),
+                                      tMailOutboxDao.countBySendStatus(Const.MAIL_STATUS_ERROR),
+                                      sentCount.get(),
+                                      retryCount.get(),
+                                      errorCount.get(),
+                                      purgedCount.get(),
+                                      lastDispatchDate);
+    }
+
+}
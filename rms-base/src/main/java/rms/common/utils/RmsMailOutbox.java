@@ -0,0 +1,120 @@
+package rms.common.utils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.mail.internet.InternetAddress;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import rms.common.consts.Const;
+import rms.common.dao.TMailOutboxDao;
+import rms.common.entity.TMailOutbox;
+
+/**
+ * メール送信待ち登録クラス<br>
+ * メールを送信待ちテーブルに登録する。送信は{@link RmsMailDispatcher}が非同期に行う。<br>
+ * 呼び出し元のトランザクション内で登録するため、業務データの更新がロールバックされた場合はメールも送信されない
+ * @author
+ */
+@Component
+public class RmsMailOutbox {
+
+    /** logger */
+    private static Logger logger = LoggerFactory.getLogger(RmsMailOutbox.class);
+
+    /** メール送信待ちDao */
+    @Autowired
+    TMailOutboxDao tMailOutboxDao;
+
+    /** メール送信処理 */
+    @Autowired
+    RmsMailDispatcher dispatcher;
+
+    @Autowired
+    ProjectProperties properties;
+
+    /**
+     * 送信待ち登録
+     * @param mailInfo
+     */
+    public void enqueue(RmsMailInfo mailInfo) {
+        enqueue(Collections.singletonList(mailInfo));
+    }
+
+    /**
+     * 送信待ち登録
+     * @param mailInfoList
+     */
+    public void enqueue(List<RmsMailInfo> mailInfoList) {
+        if (mailInfoList.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TMailOutbox> entityList = mailInfoList.stream()
+                                                   .map(mailInfo -> toEntity(mailInfo, now))
+                                                   .collect(Collectors.toList());
+        tMailOutboxDao.insertBatch(entityList);
+        logger.debug("メール送信待ち登録 -> {}件", entityList.size());
+
+        // コミット後に送信処理を起動（トランザクション外の場合は即時）
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    dispatcher.wakeUp();
+                }
+            });
+        } else {
+            dispatcher.wakeUp();
+        }
+    }
+
+    /**
+     * 送信待ちエンティティへの変換
+     * @param mailInfo
+     * @param now
+     * @return
+     */
+    private TMailOutbox toEntity(RmsMailInfo mailInfo,
+                                 LocalDateTime now) {
+        TMailOutbox entity = new TMailOutbox();
+        entity.setFromAddr(mailInfo.getFromAddr() != null ? mailInfo.getFromAddr().toUnicodeString()
+                                                          : properties.getMailFrom());
+        entity.setToAddrs(join(mailInfo.getToAddrs()));
+        entity.setCcAddrs(join(mailInfo.getCcAddrs()));
+        entity.setBccAddrs(join(mailInfo.getBccAddrs()));
+        entity.setSubject(mailInfo.getSubject());
+        entity.setBody(mailInfo.getText());
+        if (mailInfo.getFileNm() != null && mailInfo.getFile() != null) {
+            entity.setFileNm(mailInfo.getFileNm());
+            entity.setFilePath(mailInfo.getFile().getPath());
+        }
+        entity.setSendStatus(Const.MAIL_STATUS_WAIT);
+        entity.setRetryCount(0);
+        entity.setNextSendDate(now);
+        return entity;
+    }
+
+    /**
+     * アドレスのカンマ区切り文字列化（宛先なしの場合はnull）
+     * @param addrs
+     * @return
+     */
+    private String join(InternetAddress[] addrs) {
+        if (addrs.length == 0) {
+            return null;
+        }
+        return Arrays.stream(addrs).map(InternetAddress::toUnicodeString).collect(Collectors.joining(","));
+    }
+
+}
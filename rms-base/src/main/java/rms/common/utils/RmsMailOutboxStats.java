@@ -0,0 +1,102 @@
+package rms.common.utils;
+
+import java.time.LocalDateTime;
+
+/**
+ * メール送信待ち統計情報クラス
+ * @author
+ */
+public class RmsMailOutboxStats {
+
+    /** 未送信件数（再送待ちを含む） */
+    private final long waitCount;
+
+    /** 送信中件数 */
+    private final long sendingCount;
+
+    /** 送信エラー件数（送信待ちテーブル） */
+    private final long errorCount;
+
+    /** 送信件数（起動後の累計） */
+    private final long sentTotal;
+
+    /** 再送待ち件数（起動後の累計） */
+    private final long retryTotal;
+
+    /** 送信エラー件数（起動後の累計） */
+    private final long errorTotal;
+
+    /** 送信済みメールの削除件数（起動後の累計） */
+    private final long purgedTotal;
+
+    /** 最終送信処理日時 */
+    private final LocalDateTime lastDispatchDate;
+
+    /**
+     * コンストラクタ
+     * @param waitCount
+     * @param sendingCount
+     * @param errorCount
+     * @param sentTotal
+     * @param retryTotal
+     * @param errorTotal
+     * @param purgedTotal
+     * @param lastDispatchDate
+     */
+    public RmsMailOutboxStats(long waitCount,
+                              long sendingCount,
+                              long errorCount,
+                              long sentTotal,
+                              long retryTotal,
+                              long errorTotal,
+                              long purgedTotal,
+                              LocalDateTime lastDispatchDate) {
+        this.waitCount = waitCount;
+        this.sendingCount = sendingCount;
+        this.errorCount = errorCount;
+        this.sentTotal = sentTotal;
+        this.retryTotal = retryTotal;
+        this.errorTotal = errorTotal;
+        this.purgedTotal = purgedTotal;
+        this.lastDispatchDate = lastDispatchDate;
+    }
+
+    public long getWaitCount() {
+        return waitCount;
+    }
+
+    public long getSendingCount() {
+        return sendingCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public long getSentTotal() {
+        return sentTotal;
+    }
+
+    public long getRetryTotal() {
+        return retryTotal;
+    }
+
+    public long getErrorTotal() {
+        return errorTotal;
+    }
+
+    public long getPurgedTotal() {
+        return purgedTotal;
+    }
+
+    public LocalDateTime getLastDispatchDate() {
+        return lastDispatchDate;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("wait=%d, sending=%d, error=%d, sentTotal=%d, retryTotal=%d, errorTotal=%d, purgedTotal=%d",
+                             waitCount, sendingCount, errorCount, sentTotal, retryTotal, errorTotal, purgedTotal);
+    }
+
+}
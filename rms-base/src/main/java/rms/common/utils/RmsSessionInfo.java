@@ -1,5 +1,7 @@
 package rms.common.utils;
 
+import java.io.Serializable;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -7,7 +9,11 @@ import org.slf4j.LoggerFactory;
  * アプリケーション固有セッション情報保持クラス
  * @author
  */
-public class RmsSessionInfo {
+public class RmsSessionInfo implements Serializable {
+
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
+
     /** logger */
     @SuppressWarnings("unused")
     private static Logger logger = LoggerFactory.getLogger(RmsSessionInfo.class);
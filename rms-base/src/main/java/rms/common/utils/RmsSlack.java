@@ -1,17 +1,33 @@
 package rms.common.utils;
 
 import java.io.IOException;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
-import com.ullink.slack.simpleslackapi.SlackSession;
-import com.ullink.slack.simpleslackapi.SlackUser;
-import com.ullink.slack.simpleslackapi.impl.SlackSessionFactory;
+import rms.common.cache.RmsCache;
+import rms.common.cache.RmsCacheStats;
+import rms.common.consts.Const.SlackQueueOverflow;
 
 /**
- * Slack関連クラス
+ * Slack関連クラス<br>
+ * 通知は送信待ちに登録するのみで、Slackへの接続・送信はSlack通知スレッドが行う（呼び出し元はSlackの応答を待たない）。<br>
+ * 送信待ちが溢れた場合は{@code app.slack.queue.overflow}に従い待機または破棄する。<br>
+ * 接続できない場合は通知を送信待ちの先頭に戻し、{@code app.slack.reconnect.interval.seconds}の間は送信を保留する
  * @author
  */
 @Component
@@ -20,56 +36,290 @@ public class RmsSlack {
     /** logger */
     private static Logger logger = LoggerFactory.getLogger(RmsSlack.class);
 
-    /** token */
-    private static final String token = ProjectPropertiesStaticAccessor.properties.getSlackToken();
+    /** 送信待ちの取得待機時間（ミリ秒） 未送信時の切断判定間隔 */
+    private static final long POLL_TIMEOUT_MILLIS = 1000L;
+
+    /** 接続失敗後の最小待機時間（ミリ秒） 未接続の通知を再送し続けないための下限 */
+    private static final long MIN_RECONNECT_INTERVAL_MILLIS = 1000L;
+
+    /** 停止時の送信処理終了待機時間（ミリ秒） */
+    private static final long STOP_TIMEOUT_MILLIS = 5000L;
+
+    /** Slack通知用スレッド */
+    @Autowired
+    ThreadPoolTaskExecutor slackSendExecutor;
+
+    @Autowired
+    ProjectProperties properties;
+
+    /** Slack接続（tokenが未設定の場合はnull） */
+    RmsSlackTransport transport;
+
+    /** 送信待ち */
+    private volatile BlockingDeque<RmsSlackInfo> queue;
+
+    /** 送信処理 */
+    private Future<?> sender;
+
+    /** 送信処理の実行中フラグ */
+    private volatile boolean running;
+
+    /** メールアドレス→SlackユーザーIDのキャッシュ */
+    private volatile RmsCache<String, String> userCache;
+
+    /** 最終送信時刻（ミリ秒） Slack通知スレッドのみ参照 */
+    private long lastSendMillis;
+
+    /** 次回接続可能時刻（ミリ秒） Slack通知スレッドのみ参照 */
+    private long nextConnectMillis;
+
+    /** 送信件数 */
+    private final AtomicLong sentCount = new AtomicLong();
+
+    /** 破棄件数 */
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /** ユーザー不明件数 */
+    private final AtomicLong userNotFoundCount = new AtomicLong();
+
+    /** エラー件数 */
+    private final AtomicLong errorCount = new AtomicLong();
+
+    /** 接続回数 */
+    private final AtomicLong connectCount = new AtomicLong();
+
+    /**
+     * 初期化
+     */
+    @PostConstruct
+    public void init() {
+        if (StringUtils.isNotEmpty(properties.getSlackToken())) {
+            transport = new RmsSlackWebSocketTransport(properties.getSlackToken());
+        }
+        start();
+    }
+
+    /**
+     * 送信処理の開始
+     */
+    synchronized void start() {
+        if (transport == null) {
+            logger.info("Slack通知は無効です");
+            return;
+        }
+        userCache = new RmsCache<>(properties.getSlackCacheUserMaxSize(), properties.getSlackCacheUserTtlSeconds());
+        queue = new LinkedBlockingDeque<>(properties.getSlackQueueCapacity());
+        nextConnectMillis = 0L;
+        running = true;
+        sender = slackSendExecutor.submit(this::run);
+    }
 
-    /** session */
-    SlackSession session = null;
+    /**
+     * 送信処理の停止<br>
+     * 送信待ちの通知は破棄する
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (sender == null) {
+            return;
+        }
+        try {
+            sender.get(STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("slack stop error", e);
+            sender.cancel(true);
+        }
+        sender = null;
+        queue = null;
+    }
 
     /**
      * Slack通知<br>
-     * （synchronized）
+     * 送信待ちに登録して即座に復帰する。送信結果は待たない
      * @param info
-     * @return 結果 [true:送信成功 false:送信失敗]
+     * @return 結果 [true:送信待ち登録 false:Slack通知無効・送信待ち溢れによる破棄]
      */
-    public synchronized boolean send(RmsSlackInfo info) {
-
-        // 接続
-        connect();
-        if (session == null || session.isConnected()) {
-            // 接続失敗
+    public boolean send(RmsSlackInfo info) {
+        BlockingDeque<RmsSlackInfo> q = queue;
+        if (q == null) {
             return false;
         }
 
-        // ユーザの取得
-        SlackUser user = session.findUserByEmail(info.getMail());
-        if (user == null) {
-            // ユーザーの取得失敗
-            logger.info("slack user not found -> {}", info.getMail());
+        switch (properties.getSlackQueueOverflow()) {
+        case BLOCK:
+            try {
+                if (q.offer(info, properties.getSlackQueueOfferTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            break;
+        case DROP_OLDEST:
+            while (!q.offer(info)) {
+                RmsSlackInfo dropped = q.poll();
+                if (dropped != null) {
+                    droppedCount.incrementAndGet();
+                    logger.warn("slack queue full, dropped -> {}", dropped.getMail());
+                }
+            }
+            return true;
+        case DROP_NEWEST:
+        default:
+            if (q.offer(info)) {
+                return true;
+            }
+            break;
+        }
+
+        droppedCount.incrementAndGet();
+        logger.warn("slack queue full, dropped -> {}", info.getMail());
+        return false;
+    }
+
+    /**
+     * 送信処理（Slack通知スレッド）<br>
+     * 送信待ちの通知を順に送信し、一定時間送信が無い場合は切断する。<br>
+     * 接続できない通知は送信待ちの先頭に戻し、再接続可能時刻まで待機する
+     */
+    private void run() {
+        BlockingDeque<RmsSlackInfo> q = queue;
+        try {
+            while (running) {
+                long backoff = nextConnectMillis - System.currentTimeMillis();
+                if (!transport.isConnected() && backoff > 0) {
+                    // 再接続可能時刻まで送信を保留（停止を検知するため待機時間の上限あり）
+                    Thread.sleep(Math.min(backoff, POLL_TIMEOUT_MILLIS));
+                    continue;
+                }
+                RmsSlackInfo info = q.pollFirst(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (info != null) {
+                    if (!deliver(info)) {
+                        requeue(q, info);
+                    }
+                } else if (transport.isConnected()
+                        && System.currentTimeMillis() - lastSendMillis >= properties.getSlackIdleTimeoutSeconds() * 1000L) {
+                    transport.disconnect();
+                    logger.info("slack disconnect (idle)");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            transport.disconnect();
+        }
+    }
+
+    /**
+     * 1件の送信
+     * @param info
+     * @return 結果 [true:送信済み・送信不可（ユーザー不明・送信エラー） false:未接続]
+     */
+    private boolean deliver(RmsSlackInfo info) {
+        lastSendMillis = System.currentTimeMillis();
+
+        // 接続
+        if (!connect()) {
+            errorCount.incrementAndGet();
             return false;
         }
 
-        // メッセージ送信
-        session.sendMessageToUser(user, info.getText(), null);
-        // 送信成功
-        logger.info("slack send successs -> {} {}", user.getRealName(), user.getUserMail());
+        try {
+            // ユーザの取得
+            String userId = userCache.get(info.getMail(), transport::findUserIdByEmail);
+            if (userId == null) {
+                // ユーザーの取得失敗
+                userNotFoundCount.incrementAndGet();
+                logger.info("slack user not found -> {}", info.getMail());
+                return true;
+            }
 
+            // メッセージ送信
+            transport.sendMessage(userId, info.getText());
+            sentCount.incrementAndGet();
+            logger.info("slack send successs -> {}", info.getMail());
+        } catch (RuntimeException e) {
+            // 次回送信時に再接続する
+            errorCount.incrementAndGet();
+            logger.warn("slack send error -> " + info.getMail(), e);
+            transport.disconnect();
+        }
         return true;
     }
 
+    /**
+     * 未送信の通知を送信待ちの先頭に戻す<br>
+     * 送信待ちが溢れた場合は{@code app.slack.queue.overflow}に従い、
+     * DROP_OLDESTは戻す通知（最も古い通知）を、それ以外は最も新しい通知を破棄する
+     * @param q
+     * @param info
+     */
+    private void requeue(BlockingDeque<RmsSlackInfo> q,
+                         RmsSlackInfo info) {
+        while (!q.offerFirst(info)) {
+            RmsSlackInfo dropped = properties.getSlackQueueOverflow() == SlackQueueOverflow.DROP_OLDEST ? info
+                    : q.pollLast();
+            if (dropped != null) {
+                droppedCount.incrementAndGet();
+                logger.warn("slack queue full, dropped -> {}", dropped.getMail());
+            }
+            if (dropped == info) {
+                return;
+            }
+        }
+    }
+
     /**
      * 接続<br>
-     * （切断はTimeoutで自動的に行う）
+     * 接続失敗後は{@code app.slack.reconnect.interval.seconds}（最小1秒）の間、接続を試みない
+     * @return 結果 [true:接続中 false:未接続]
      */
-    private void connect() {
+    private boolean connect() {
+        if (transport.isConnected()) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (now < nextConnectMillis) {
+            return false;
+        }
         try {
-            if (session == null || !session.isConnected()) {
-                session = SlackSessionFactory.createWebSocketSlackSession(token);
-                session.connect();
-                logger.info("slack connect new");
-            }
-        } catch (IOException e) {
+            transport.connect();
+            connectCount.incrementAndGet();
+            logger.info("slack connect new");
+            return true;
+        } catch (IOException | RuntimeException e) {
+            nextConnectMillis = now + Math.max(properties.getSlackReconnectIntervalSeconds() * 1000L,
+                                               MIN_RECONNECT_INTERVAL_MILLIS);
             logger.warn("slack connect error", e);
+            return false;
         }
     }
+
+    /**
+     * 統計情報の取得
+     * @return
+     */
+    public RmsSlackStats getStats() {
+        BlockingDeque<RmsSlackInfo> q = queue;
+        return new RmsSlackStats(q == null ? 0 : q.size(),
+                                 transport != null && transport.isConnected(),
+                                 sentCount.get(),
+                                 droppedCount.get(),
+                                 userNotFoundCount.get(),
+                                 errorCount.get(),
+                                 connectCount.get());
+    }
+
+    /**
+     * Slackユーザーキャッシュの統計情報の取得
+     * @return
+     */
+    public RmsCacheStats getUserCacheStats() {
+        RmsCache<String, String> cache = userCache;
+        return cache == null ? null : cache.getStats();
+    }
+
 }
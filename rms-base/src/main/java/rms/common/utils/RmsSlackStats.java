@@ -0,0 +1,90 @@
+package rms.common.utils;
+
+/**
+ * Slack通知統計情報クラス
+ * @author
+ */
+public class RmsSlackStats {
+
+    /** 送信待ち件数 */
+    private final int queueSize;
+
+    /** 接続中有無 */
+    private final boolean connected;
+
+    /** 送信件数（起動後の累計） */
+    private final long sentTotal;
+
+    /** 送信待ちが溢れて破棄した件数（起動後の累計） */
+    private final long droppedTotal;
+
+    /** Slackユーザーが存在せず送信しなかった件数（起動後の累計） */
+    private final long userNotFoundTotal;
+
+    /** 接続エラー・送信エラー件数（起動後の累計） */
+    private final long errorTotal;
+
+    /** 接続回数（起動後の累計） */
+    private final long connectTotal;
+
+    /**
+     * コンストラクタ
+     * @param queueSize
+     * @param connected
+     * @param sentTotal
+     * @param droppedTotal
+     * @param userNotFoundTotal
+     * @param errorTotal
+     * @param connectTotal
+     */
+    public RmsSlackStats(int queueSize,
+                         boolean connected,
+                         long sentTotal,
+                         long droppedTotal,
+                         long userNotFoundTotal,
+                         long errorTotal,
+                         long connectTotal) {
+        this.queueSize = queueSize;
+        this.connected = connected;
+        this.sentTotal = sentTotal;
+        this.droppedTotal = droppedTotal;
+        this.userNotFoundTotal = userNotFoundTotal;
+        this.errorTotal = errorTotal;
+        this.connectTotal = connectTotal;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public long getSentTotal() {
+        return sentTotal;
+    }
+
+    public long getDroppedTotal() {
+        return droppedTotal;
+    }
+
+    public long getUserNotFoundTotal() {
+        return userNotFoundTotal;
+    }
+
+    public long getErrorTotal() {
+        return errorTotal;
+    }
+
+    public long getConnectTotal() {
+        return connectTotal;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("queue=%d, connected=%s, sentTotal=%d, droppedTotal=%d, userNotFoundTotal=%d, errorTotal=%d, connectTotal=%d",
+                             queueSize, connected, sentTotal, droppedTotal, userNotFoundTotal, errorTotal, connectTotal);
+    }
+
+}
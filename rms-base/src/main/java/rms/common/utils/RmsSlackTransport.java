@@ -0,0 +1,45 @@
+package rms.common.utils;
+
+import java.io.IOException;
+
+/**
+ * Slack接続インターフェース<br>
+ * 接続・ユーザー検索・メッセージ送信を抽象化する（テストでは疑似実装に差し替える）。<br>
+ * 呼び出しはSlack通知スレッドからのみ行われる
+ * @author
+ */
+public interface RmsSlackTransport {
+
+    /**
+     * 接続
+     * @throws IOException
+     */
+    void connect() throws IOException;
+
+    /**
+     * 接続状態の判定
+     * @return [true:接続中 false:未接続]
+     */
+    boolean isConnected();
+
+    /**
+     * 切断
+     */
+    void disconnect();
+
+    /**
+     * メールアドレスからSlackユーザーIDを取得
+     * @param mail
+     * @return SlackユーザーID（存在しない場合はnull）
+     */
+    String findUserIdByEmail(String mail);
+
+    /**
+     * ユーザーへのメッセージ送信
+     * @param userId SlackユーザーID
+     * @param text メッセージ
+     */
+    void sendMessage(String userId,
+                     String text);
+
+}
@@ -0,0 +1,71 @@
+package rms.common.utils;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ullink.slack.simpleslackapi.SlackSession;
+import com.ullink.slack.simpleslackapi.SlackUser;
+import com.ullink.slack.simpleslackapi.impl.SlackSessionFactory;
+
+/**
+ * Slack接続クラス（WebSocket）
+ * @author
+ */
+public class RmsSlackWebSocketTransport implements RmsSlackTransport {
+
+    /** logger */
+    private static Logger logger = LoggerFactory.getLogger(RmsSlackWebSocketTransport.class);
+
+    /** token */
+    private final String token;
+
+    /** session */
+    private volatile SlackSession session;
+
+    /**
+     * コンストラクタ
+     * @param token
+     */
+    public RmsSlackWebSocketTransport(String token) {
+        this.token = token;
+    }
+
+    @Override
+    public void connect() throws IOException {
+        session = SlackSessionFactory.createWebSocketSlackSession(token);
+        session.connect();
+    }
+
+    @Override
+    public boolean isConnected() {
+        return session != null && session.isConnected();
+    }
+
+    @Override
+    public void disconnect() {
+        if (session == null) {
+            return;
+        }
+        try {
+            session.disconnect();
+        } catch (IOException e) {
+            logger.warn("slack disconnect error", e);
+        }
+        session = null;
+    }
+
+    @Override
+    public String findUserIdByEmail(String mail) {
+        SlackUser user = session.findUserByEmail(mail);
+        return user == null ? null : user.getId();
+    }
+
+    @Override
+    public void sendMessage(String userId,
+                            String text) {
+        session.sendMessageToUser(session.findUserById(userId), text, null);
+    }
+
+}
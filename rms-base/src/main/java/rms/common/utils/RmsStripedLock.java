@@ -0,0 +1,54 @@
+package rms.common.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ストライプロック<br>
+ * キーのハッシュ値で固定数のロックに振り分ける。同じキーは必ず同じロックとなり、
+ * 異なるキーは（ハッシュが衝突しない限り）互いに待ち合わせない
+ * @author
+ */
+public class RmsStripedLock {
+
+    /** ロック */
+    private final Lock[] locks;
+
+    /** ロック数-1（ロック数は2の累乗） */
+    private final int mask;
+
+    /**
+     * コンストラクタ
+     * @param stripes ロック数（2の累乗に切り上げる）
+     */
+    public RmsStripedLock(int stripes) {
+        int size = Integer.highestOneBit(Math.max(stripes - 1, 1)) << 1;
+        this.locks = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * キーに対応するロックの取得
+     * @param keys
+     * @return
+     */
+    public Lock get(Object... keys) {
+        int h = Arrays.hashCode(keys);
+        // 下位ビットに偏らないよう上位ビットを混ぜる
+        h ^= (h >>> 16);
+        return locks[h & mask];
+    }
+
+    /**
+     * ロック数
+     * @return
+     */
+    public int size() {
+        return locks.length;
+    }
+
+}
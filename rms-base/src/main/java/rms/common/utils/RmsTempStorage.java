@@ -0,0 +1,313 @@
+package rms.common.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import rms.common.consts.MessageEnum;
+import rms.common.exception.BusinessException;
+import rms.common.metrics.RmsTempStorageStats;
+
+/**
+ * 一時フォルダ（{@code app.temporary.storage}）の管理クラス<br>
+ * リクエスト処理中に作成した一時ファイル・ディレクトリはリクエスト終了時に削除する。
+ * 削除漏れ（異常終了等）は{@code app.temporary.storage.sweep.interval.seconds}ごとに、
+ * 最終更新から{@code app.temporary.storage.ttl.seconds}を経過したものを削除する。<br>
+ * 一括処理の開始前に{@link #checkQuota}で使用量の上限・ディスクの空き容量を確認する
+ * @author
+ */
+@Component
+public class RmsTempStorage {
+
+    /** logger */
+    private static final Logger logger = LoggerFactory.getLogger(RmsTempStorage.class);
+
+    /** リクエスト終了時の削除処理の登録名 */
+    private static final String DESTRUCTION_CALLBACK_NM = RmsTempStorage.class.getName() + ".";
+
+    /** 1MB */
+    private static final long MEGA_BYTE = 1024 * 1024;
+
+    @Autowired
+    ProjectProperties properties;
+
+    /** リクエスト処理中の一時ファイル・ディレクトリ */
+    private final Set<Path> ownedSet = ConcurrentHashMap.newKeySet();
+
+    /** 作成件数 */
+    private final AtomicLong createdCount = new AtomicLong();
+
+    /** リクエスト終了・明示的な削除件数 */
+    private final AtomicLong deletedCount = new AtomicLong();
+
+    /** 期限切れによる削除件数 */
+    private final AtomicLong sweptCount = new AtomicLong();
+
+    /** 容量不足による処理拒否件数 */
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /** 前回の期限切れ削除日時（エポックミリ秒） */
+    private volatile long lastSweepTime;
+
+    /** 期限切れ削除の定期実行スレッド */
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 期限切れ削除の開始
+     */
+    @PostConstruct
+    public void start() {
+        long interval = properties.getTemporaryStorageSweepIntervalSeconds();
+        if (interval <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "temp-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sweepQuietly, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 期限切れ削除の停止
+     */
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 一時ファイルの作成<br>
+     * リクエスト処理中の場合はリクエスト終了時に削除する
+     * @param prefix
+     * @param suffix
+     * @return
+     * @throws IOException
+     */
+    public Path createFile(String prefix,
+                           String suffix) throws IOException {
+        return own(Files.createTempFile(getRoot(), prefix, suffix));
+    }
+
+    /**
+     * 一時ディレクトリの作成<br>
+     * リクエスト処理中の場合はリクエスト終了時に配下を含めて削除する
+     * @param prefix
+     * @return
+     * @throws IOException
+     */
+    public Path createDirectory(String prefix) throws IOException {
+        return own(Files.createTempDirectory(getRoot(), prefix));
+    }
+
+    /**
+     * 一時ファイル・ディレクトリの削除（ディレクトリは配下を含む）<br>
+     * 削除済みの場合は何もしない
+     * @param path
+     */
+    public void delete(Path path) {
+        if (path == null) {
+            return;
+        }
+        boolean deleted = false;
+        if (Files.isDirectory(path)) {
+            RmsFileUtils.deleteDirectory(path);
+            deleted = true;
+        } else {
+            try {
+                deleted = Files.deleteIfExists(path);
+            } catch (IOException e) {
+                logger.warn("一時ファイル削除に失敗 -> {}", path, e);
+            }
+        }
+        ownedSet.remove(path);
+        if (deleted) {
+            deletedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * 容量の確認<br>
+     * 一時フォルダの使用量が上限（{@code app.temporary.storage.quota.size}）を超える場合、
+     * またはディスクの空き容量が{@code app.temporary.storage.min.free.size}を下回る場合は業務エラーとする
+     * @param requiredSize 処理で使用する見込みのサイズ（不明な場合は0）
+     * @throws IOException
+     * @throws BusinessException 容量不足の場合
+     */
+    public void checkQuota(long requiredSize) throws IOException, BusinessException {
+        long quotaSize = properties.getTemporaryStorageQuotaSize();
+        long minFreeSize = properties.getTemporaryStorageMinFreeSize();
+
+        long used = computeUsage();
+        if (quotaSize > 0 && used + requiredSize > quotaSize) {
+            rejectedCount.incrementAndGet();
+            logger.warn("一時フォルダの使用量が上限を超過 -> used={} required={} quota={}", used, requiredSize, quotaSize);
+            throw new BusinessException(MessageEnum.error020, "使用量", toMegaByte(used), "上限",
+                                        toMegaByte(quotaSize));
+        }
+        long usable = Files.getFileStore(getRoot()).getUsableSpace();
+        if (minFreeSize > 0 && usable - requiredSize < minFreeSize) {
+            rejectedCount.incrementAndGet();
+            logger.warn("ディスクの空き容量が不足 -> usable={} required={} minFree={}", usable, requiredSize, minFreeSize);
+            throw new BusinessException(MessageEnum.error020, "空き容量", toMegaByte(usable), "下限",
+                                        toMegaByte(minFreeSize));
+        }
+    }
+
+    /**
+     * 期限切れの一時ファイル・ディレクトリの削除<br>
+     * リクエスト処理中のものは削除しない
+     * @return 削除件数
+     * @throws IOException
+     */
+    public int sweep() throws IOException {
+        long expireTime = System.currentTimeMillis()
+                - TimeUnit.SECONDS.toMillis(properties.getTemporaryStorageTtlSeconds());
+        int count = 0;
+
+        // リクエスト処理中に削除済みのもの（リクエスト外で削除）は所有登録を解除
+        ownedSet.removeIf(path -> !Files.exists(path));
+
+        try (Stream<Path> stream = Files.list(getRoot())) {
+            for (Path path : (Iterable<Path>) stream::iterator) {
+                if (ownedSet.contains(path)) {
+                    continue;
+                }
+                long lastModified;
+                try {
+                    lastModified = Files.getLastModifiedTime(path).toMillis();
+                } catch (IOException e) {
+                    // 一覧取得後に削除済み
+                    continue;
+                }
+                if (lastModified < expireTime) {
+                    logger.info("期限切れの一時ファイル削除 -> {}", path);
+                    RmsFileUtils.deleteDirectory(path);
+                    count++;
+                }
+            }
+        }
+        sweptCount.addAndGet(count);
+        lastSweepTime = System.currentTimeMillis();
+        return count;
+    }
+
+    /**
+     * 統計情報の取得（使用量は取得時に集計する）
+     * @return
+     * @throws IOException
+     */
+    public RmsTempStorageStats getStats() throws IOException {
+        long usedSize = computeUsage();
+        long entryCount;
+        try (Stream<Path> stream = Files.list(getRoot())) {
+            entryCount = stream.count();
+        }
+        return new RmsTempStorageStats(usedSize,
+                                       entryCount,
+                                       ownedSet.size(),
+                                       properties.getTemporaryStorageQuotaSize(),
+                                       createdCount.get(),
+                                       deletedCount.get(),
+                                       sweptCount.get(),
+                                       rejectedCount.get(),
+                                       lastSweepTime);
+    }
+
+    /**
+     * 一時フォルダの取得（存在しない場合は作成）
+     * @return
+     * @throws IOException
+     */
+    public Path getRoot() throws IOException {
+        return Files.createDirectories(Paths.get(properties.getTemporaryStorage()));
+    }
+
+    /**
+     * 期限切れ削除（定期実行用）
+     */
+    void sweepQuietly() {
+        try {
+            int count = sweep();
+            logger.info("temp storage -> swept={}, {}", count, getStats());
+        } catch (IOException | RuntimeException e) {
+            // 定期実行を止めないため例外は送出しない
+            logger.warn("temp storage sweep error", e);
+        }
+    }
+
+    /**
+     * 作成した一時ファイル・ディレクトリの所有登録<br>
+     * リクエスト処理中の場合のみ登録し、リクエスト終了時に削除する
+     * @param path
+     * @return
+     */
+    private Path own(Path path) {
+        createdCount.incrementAndGet();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            ownedSet.add(path);
+            attributes.registerDestructionCallback(DESTRUCTION_CALLBACK_NM + path, () -> delete(path),
+                                                   RequestAttributes.SCOPE_REQUEST);
+        }
+        return path;
+    }
+
+    /**
+     * 使用量の集計
+     * @return 使用量
+     * @throws IOException
+     */
+    private long computeUsage() throws IOException {
+        AtomicLong size = new AtomicLong();
+        try (Stream<Path> stream = Files.walk(getRoot())) {
+            stream.forEach(path -> {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    if (attributes.isRegularFile()) {
+                        size.addAndGet(attributes.size());
+                    }
+                } catch (IOException e) {
+                    // 集計中に削除済み
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // 集計中に削除されたディレクトリは対象外
+            logger.debug("一時フォルダの集計中に削除 -> {}", e.getMessage());
+        }
+        return size.get();
+    }
+
+    /**
+     * MB単位の文字列
+     * @param size
+     * @return
+     */
+    private static String toMegaByte(long size) {
+        return String.format("%,dMB", size / MEGA_BYTE);
+    }
+
+}
@@ -1,5 +1,7 @@
 package rms.common.utils;
 
+import java.io.Serializable;
+
 import org.seasar.doma.Entity;
 
 /**
@@ -7,7 +9,10 @@ import org.seasar.doma.Entity;
  * @author
  */
 @Entity
-public class SelectOptionEntity {
+public class SelectOptionEntity implements Serializable {
+
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
 
     /** 区切り文字 */
     private static final String DELIMITER = " - ";
@@ -1,5 +1,9 @@
 package rms.common.utils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
 import org.seasar.doma.jdbc.SelectOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +24,9 @@ public class SelectOptionsUtils {
      * @return
      */
     public static SelectOptions get(PageInfo pageInfo) {
+        if (pageInfo.isKeyset()) {
+            return getKeyset(pageInfo);
+        }
         return get(pageInfo, true);
     }
 
@@ -44,4 +51,58 @@ public class SelectOptionsUtils {
         return selectOptions;
     }
 
+    /**
+     * ページ情報からキーセット方式のSelectOptionsを生成<br>
+     * 次ページ有無の判定のため1ページ表示件数＋1件を取得する。総件数は初回検索時のみ取得する。<br>
+     * （開始位置はSQLで{@link PageInfo#getPageKey()}以降に絞り込むこと）
+     * @param pageInfo
+     * @return
+     */
+    static SelectOptions getKeyset(PageInfo pageInfo) {
+        int limit = pageInfo.getLimit() == PageInfo.LIMIT_MAX ? PageInfo.LIMIT_MAX : pageInfo.getLimit() + 1;
+
+        SelectOptions selectOptions = SelectOptions.get().limit(limit);
+        if (pageInfo.isCountRequired()) {
+            selectOptions.count();
+        }
+
+        return selectOptions;
+    }
+
+    /**
+     * 検索結果を生成<br>
+     * キーセット方式の場合は1ページ表示件数を超えた分を除外し、次ページの開始キーをページ情報に保持する。<br>
+     * 総件数を取得していない場合は、前回取得した総件数を返却する。
+     * @param resultList 検索結果
+     * @param selectOptions 検索時のSelectOptions
+     * @param pageInfo ページ情報
+     * @param keyMapper 検索結果からページ開始キーを生成する関数
+     * @return
+     */
+    public static <T> SearchResultDto<T> createResult(List<T> resultList,
+                                                      SelectOptions selectOptions,
+                                                      PageInfo pageInfo,
+                                                      Function<T, PageKey> keyMapper) {
+        SearchResultDto<T> resultDto = new SearchResultDto<>();
+
+        if (!pageInfo.isKeyset()) {
+            resultDto.setResultList(resultList);
+            resultDto.setCount(selectOptions.getCount());
+            return resultDto;
+        }
+
+        // 総件数（未取得の場合は前回取得分）
+        long count = pageInfo.isCountRequired() ? selectOptions.getCount() : pageInfo.getTotalSize();
+
+        // 1ページ表示件数を超えた分（次ページ有無の判定用）を除外
+        int resultSize = resultList.size();
+        List<T> pageList = resultSize > pageInfo.getLimit() ? resultList.subList(0, pageInfo.getLimit()) : resultList;
+        PageKey lastKey = pageList.isEmpty() ? null : keyMapper.apply(pageList.get(pageList.size() - 1));
+        pageInfo.setKeysetResult(resultSize, lastKey);
+
+        resultDto.setResultList(new ArrayList<>(pageList));
+        resultDto.setCount(count);
+        return resultDto;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1 @@
+select /*%expand*/* from t_batch_control where  batch_id = /* batchId */'a' 
\ No newline at end of file
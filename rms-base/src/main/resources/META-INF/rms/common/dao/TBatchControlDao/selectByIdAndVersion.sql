@@ -0,0 +1 @@
+select /*%expand*/* from t_batch_control where  batch_id = /* batchId */'a' and   version = /* version */1 
\ No newline at end of file
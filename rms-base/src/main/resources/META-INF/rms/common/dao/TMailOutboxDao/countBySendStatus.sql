@@ -0,0 +1,7 @@
+select
+  count(*)
+from
+  t_mail_outbox
+where
+  send_status = /* sendStatus */'0'
+  and del_flg = 0
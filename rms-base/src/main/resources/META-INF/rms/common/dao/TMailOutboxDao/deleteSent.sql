@@ -0,0 +1,6 @@
+delete from
+  t_mail_outbox
+where
+  send_status = /* @rms.common.consts.Const@MAIL_STATUS_SENT */'2'
+  and sent_date < /* sentLimitDate */'2017-06-25 00:00:00'
+limit /* limit */1000
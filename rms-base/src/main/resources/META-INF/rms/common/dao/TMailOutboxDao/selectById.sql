@@ -0,0 +1 @@
+select /*%expand*/* from t_mail_outbox where  mail_id = /* mailId */1 
\ No newline at end of file
@@ -0,0 +1,9 @@
+select
+  /*%expand*/*
+from
+  t_mail_outbox
+where
+  send_token = /* sendToken */'3f2504e0-4f89-11d3-9a0c-0305e82c3301'
+  and send_status = /* @rms.common.consts.Const@MAIL_STATUS_SENDING */'1'
+order by
+  mail_id
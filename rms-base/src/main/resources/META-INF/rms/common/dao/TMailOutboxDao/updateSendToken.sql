@@ -0,0 +1,16 @@
+update
+  t_mail_outbox
+set
+    send_status = /* @rms.common.consts.Const@MAIL_STATUS_SENDING */'1'
+  , send_token = /* sendToken */'3f2504e0-4f89-11d3-9a0c-0305e82c3301'
+  , version = version + 1
+  , upd_date = /* now */'2017-06-25 00:00:00'
+  , upd_id = /* @rms.common.consts.Const@SYSTEM_USER_ID */'system'
+where
+  send_status = /* @rms.common.consts.Const@MAIL_STATUS_WAIT */'0'
+  and next_send_date <= /* now */'2017-06-25 00:00:00'
+  and del_flg = 0
+order by
+  next_send_date
+  , mail_id
+limit /* limit */100
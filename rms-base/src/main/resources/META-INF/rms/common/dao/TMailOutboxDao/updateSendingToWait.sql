@@ -0,0 +1,12 @@
+update
+  t_mail_outbox
+set
+    send_status = /* @rms.common.consts.Const@MAIL_STATUS_WAIT */'0'
+  , send_token = null
+  , version = version + 1
+  , upd_date = /* now */'2017-06-25 00:00:00'
+  , upd_id = /* @rms.common.consts.Const@SYSTEM_USER_ID */'system'
+where
+  send_status = /* @rms.common.consts.Const@MAIL_STATUS_SENDING */'1'
+  and upd_date < /* sendingLimitDate */'2017-06-25 00:00:00'
+  and del_flg = 0
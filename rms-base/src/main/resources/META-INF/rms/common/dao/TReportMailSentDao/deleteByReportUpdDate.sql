@@ -0,0 +1,4 @@
+delete from
+  t_report_mail_sent
+where
+  report_upd_date <= /* reportUpdDate */'2017-06-25 00:00:00'
@@ -0,0 +1 @@
+select /*%expand*/* from t_report_mail_sent where  apply_user_id = /* applyUserId */'a' and   target_ym = /* targetYm */1 and   report_version = /* reportVersion */1
\ No newline at end of file
@@ -0,0 +1 @@
+select /*%expand*/* from t_report_revision where  revision_id = /* revisionId */1
\ No newline at end of file
@@ -0,0 +1,21 @@
+select
+  /*%expand*/*
+from
+  t_report_revision
+where
+  revision_id in (
+    select
+      max(R.revision_id)
+    from
+      t_report_revision R
+    where
+    /*%for report : reportList */
+      (R.apply_user_id = /* report.applyUserId */'user01' and R.target_ym = /* report.targetYm */201609)
+      /*%if report_has_next */
+      /*# "or" */
+      /*%end */
+    /*%end */
+    group by
+      R.apply_user_id
+    , R.target_ym
+  )
@@ -0,0 +1,9 @@
+select
+  /*%expand*/*
+from
+  t_report_revision
+where
+  apply_user_id = /* applyUserId */'user01'
+  and target_ym = /* targetYm */201609
+order by
+  revision_id desc
@@ -0,0 +1,11 @@
+select
+    A.user_id
+  , A.user_nm
+  , A.email
+  , A.department_id
+  , A.department_nm
+  , A.department_rnm
+from
+  v_m_user A
+where
+  A.user_id in /* userIdList */('user01', 'user02')
@@ -6,13 +6,18 @@ import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import rms.common.abstracts.AbstractBatch;
 import rms.common.consts.MessageEnum;
 import rms.common.exception.BusinessException;
 import rms.common.utils.RmsUtils;
+import rms.domain.app.batch.reportinitregist.ReportInitRegistResultDto;
 import rms.domain.app.batch.reportinitregist.ReportInitRegistService;
 
 /**
@@ -32,6 +37,15 @@ public class B001Batch extends AbstractBatch {
     @Autowired
     ReportInitRegistService service;
 
+    /** 月報初期データ登録ジョブ */
+    @Autowired
+    @Qualifier(B001JobConfig.JOB_NAME)
+    Job reportInitRegistJob;
+
+    /** ジョブ起動クラス */
+    @Autowired
+    BatchJobLauncher jobLauncher;
+
     /**
      * 月報初期データ登録バッチ<br>
      * 対象年月が未指定の場合はシステム日付から取得
@@ -70,7 +84,25 @@ public class B001Batch extends AbstractBatch {
         /*
          * 実行
          */
-        service.regist(targetYm);
+        switch (properties.getReportInitMode()) {
+        case JOB:
+            // Spring Batchジョブ（チャンク単位コミット・リスタート可）
+            service.validateExecDate(targetYm);
+            JobParameters parameters = new JobParametersBuilder().addLong("targetYm", targetYm.longValue())
+                                                                 .toJobParameters();
+            jobLauncher.run(reportInitRegistJob, parameters);
+            break;
+        case BULK:
+            // 一括登録
+            ReportInitRegistResultDto resultDto = service.registBulk(targetYm);
+            logger.info("{}:月報登録件数 -> {}件 承認フロー登録件数 -> {}件 処理時間 -> {}ms", BATCH_ID,
+                        resultDto.getReportCount(), resultDto.getApproveFlowCount(), resultDto.getElapsedMillis());
+            break;
+        case SINGLE:
+            // 1件ずつ登録
+            service.regist(targetYm);
+            break;
+        }
 
         logger.info("{}:月報初期データ登録バッチ終了", BATCH_ID);
     }
@@ -0,0 +1,143 @@
+package rms.batch.app;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.support.MySqlPagingQueryProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+
+import rms.common.consts.MRoleConst;
+import rms.common.dao.MUserApproveFlowDao;
+import rms.common.utils.ProjectProperties;
+import rms.domain.app.batch.reportinitregist.ReportInitRegistItem;
+import rms.domain.app.batch.reportinitregist.ReportInitRegistItemProcessor;
+import rms.domain.app.batch.reportinitregist.ReportInitRegistItemWriter;
+
+/**
+ * 月報初期データ登録ジョブ定義<br>
+ * 月報未提出ユーザをチャンク単位で読込・登録・コミットする。<br>
+ * Readerはuser_idのキーセットで読込位置を保持する為、失敗時は最後にコミットしたチャンクの次から再開する。
+ * @author
+ */
+@Configuration
+public class B001JobConfig {
+
+    /** ジョブ名 */
+    public static final String JOB_NAME = "reportInitRegistJob";
+
+    /** ステップ名 */
+    public static final String STEP_NAME = "reportInitRegistStep";
+
+    /** application.properties */
+    @Autowired
+    ProjectProperties properties;
+
+    /** JobBuilderFactory */
+    @Autowired
+    JobBuilderFactory jobBuilderFactory;
+
+    /** StepBuilderFactory */
+    @Autowired
+    StepBuilderFactory stepBuilderFactory;
+
+    /** DataSource */
+    @Autowired
+    DataSource dataSource;
+
+    /** MUserApproveFlowDao */
+    @Autowired
+    MUserApproveFlowDao mUserApproveFlowDao;
+
+    /**
+     * 月報初期データ登録ジョブ
+     * @return
+     */
+    @Bean
+    public Job reportInitRegistJob() {
+        return jobBuilderFactory.get(JOB_NAME)
+                                .start(reportInitRegistStep())
+                                .build();
+    }
+
+    /**
+     * 月報初期データ登録ステップ
+     * @return
+     */
+    @Bean
+    public Step reportInitRegistStep() {
+        return stepBuilderFactory.get(STEP_NAME)
+                                 .<String, ReportInitRegistItem> chunk(properties.getReportInitChunkSize())
+                                 .reader(reportInitRegistReader(null))
+                                 .processor(reportInitRegistProcessor(null))
+                                 .writer(reportInitRegistWriter())
+                                 .listener(new StepThroughputListener())
+                                 .build();
+    }
+
+    /**
+     * Reader：月報未提出ユーザID
+     * @param targetYm 対象年月（ジョブパラメータ）
+     * @return
+     */
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<String> reportInitRegistReader(@Value("#{jobParameters['targetYm']}") Long targetYm) {
+        MySqlPagingQueryProvider queryProvider = new MySqlPagingQueryProvider();
+        queryProvider.setSelectClause("select u.user_id");
+        queryProvider.setFromClause("from m_user u");
+        queryProvider.setWhereClause("u.del_flg = 0"
+                + " and u.user_id not in (select r.apply_user_id from t_report r where r.target_ym = :targetYm)"
+                + " and u.user_id in (select ur.user_id from m_user_role ur where ur.role = :role)");
+        Map<String, Order> sortKeys = new HashMap<>();
+        sortKeys.put("user_id", Order.ASCENDING);
+        queryProvider.setSortKeys(sortKeys);
+
+        Map<String, Object> parameterValues = new HashMap<>();
+        parameterValues.put("targetYm", targetYm);
+        parameterValues.put("role", MRoleConst.APPLY);
+
+        JdbcPagingItemReader<String> reader = new JdbcPagingItemReader<>();
+        reader.setName("reportInitRegistReader");
+        reader.setDataSource(dataSource);
+        reader.setQueryProvider(queryProvider);
+        reader.setParameterValues(parameterValues);
+        reader.setPageSize(properties.getReportInitChunkSize()); // リスタート時の読込位置を合わせる為、チャンクサイズと一致させる
+        reader.setRowMapper(new SingleColumnRowMapper<>(String.class));
+        reader.setSaveState(true);
+        return reader;
+    }
+
+    /**
+     * Processor：月報・月報承認フローの生成
+     * @param targetYm 対象年月（ジョブパラメータ）
+     * @return
+     */
+    @Bean
+    @StepScope
+    public ReportInitRegistItemProcessor reportInitRegistProcessor(@Value("#{jobParameters['targetYm']}") Long targetYm) {
+        return new ReportInitRegistItemProcessor(mUserApproveFlowDao, targetYm.intValue());
+    }
+
+    /**
+     * Writer：月報・月報承認フローのJDBCバッチ登録
+     * @return
+     */
+    @Bean
+    public ReportInitRegistItemWriter reportInitRegistWriter() {
+        return new ReportInitRegistItemWriter(dataSource);
+    }
+
+}
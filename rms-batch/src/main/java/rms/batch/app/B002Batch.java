@@ -10,6 +10,7 @@ import org.springframework.stereotype.Component;
 import rms.common.abstracts.AbstractBatch;
 import rms.common.consts.MessageEnum;
 import rms.common.exception.BusinessException;
+import rms.domain.app.batch.reportmail.ReportMailResultDto;
 import rms.domain.app.batch.reportmail.ReportMailService;
 
 /**
@@ -17,7 +18,6 @@ import rms.domain.app.batch.reportmail.ReportMailService;
  * @author
  */
 @Component
-// TODO 未実装
 public class B002Batch extends AbstractBatch {
 
     /** logger */
@@ -51,7 +51,10 @@ public class B002Batch extends AbstractBatch {
          * 実行
          */
         // 承認完了メール配信
-        service.sendmailApproved();
+        ReportMailResultDto resultDto = service.sendmailApproved();
+        logger.info("{}:承認完了月報 -> {}件 メール登録 -> {}件 メール送信 -> {}件 処理時間 -> {}ms", BATCH_ID,
+                    resultDto.getReportCount(), resultDto.getMailCount(), resultDto.getSendCount(),
+                    resultDto.getElapsedMillis());
 
         logger.info("{}:月報メール配信バッチ終了", BATCH_ID);
     }
@@ -0,0 +1,18 @@
+package rms.batch.app;
+
+import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * Spring Batch設定<br>
+ * JobRepositoryは既存のデータソース上に作成する（BATCH_*テーブル）。<br>
+ * Web起動時はrms.batchパッケージをスキャン対象外とする為（SpringWebApplication）、バッチ起動時のみ有効となる
+ * @author
+ */
+@Configuration
+@EnableBatchProcessing
+@PropertySource("classpath:batch.properties")
+public class BatchConfig {
+
+}
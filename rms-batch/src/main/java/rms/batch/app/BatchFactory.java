@@ -22,6 +22,10 @@ public class BatchFactory {
     @Autowired
     B001Batch b001;
 
+    /** 月報メール配信バッチ */
+    @Autowired
+    B002Batch b002;
+
     /**
      * バッチクラス生成<br>
      * @param batchId
@@ -35,6 +39,9 @@ public class BatchFactory {
         case B001Batch.BATCH_ID:
             xxxBatch = b001;
             break;
+        case B002Batch.BATCH_ID:
+            xxxBatch = b002;
+            break;
         }
 
         return xxxBatch;
@@ -0,0 +1,121 @@
+package rms.batch.app;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameter;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import rms.common.consts.MessageEnum;
+import rms.common.exception.BusinessException;
+
+/**
+ * Spring Batchジョブ起動クラス<br>
+ * 同一パラメータの前回実行が失敗・停止している場合はリスタートし、
+ * それ以外の場合は実行IDを採番して新規に実行する
+ * @author
+ */
+@Component
+public class BatchJobLauncher {
+
+    /** logger */
+    private static final Logger logger = LoggerFactory.getLogger(BatchJobLauncher.class);
+
+    /** ジョブパラメータキー：実行ID */
+    public static final String RUN_ID_KEY = "run.id";
+
+    /** JobLauncher */
+    @Autowired
+    JobLauncher jobLauncher;
+
+    /** JobExplorer */
+    @Autowired
+    JobExplorer jobExplorer;
+
+    /**
+     * ジョブ実行
+     * @param job
+     * @param parameters 業務パラメータ（実行IDを除く）
+     * @return ジョブ実行結果
+     * @throws Exception
+     */
+    public JobExecution run(Job job,
+                            JobParameters parameters) throws Exception {
+        JobParameters runParameters = getRunParameters(job.getName(), parameters);
+        logger.info("{}:ジョブパラメータ -> {}", job.getName(), runParameters);
+
+        JobExecution execution = jobLauncher.run(job, runParameters);
+        logger.info("{}:ジョブ実行結果 -> {}", job.getName(), execution.getStatus());
+
+        if (execution.getStatus() != BatchStatus.COMPLETED) {
+            // 「ジョブの実行に失敗しました [ ジョブ名：{0}　状態：{1} ]」
+            throw new BusinessException(MessageEnum.error018, job.getName(), execution.getStatus());
+        }
+        return execution;
+    }
+
+    /**
+     * 実行時ジョブパラメータの取得
+     * @param jobName
+     * @param parameters
+     * @return
+     */
+    private JobParameters getRunParameters(String jobName,
+                                           JobParameters parameters) {
+        List<JobInstance> instances = jobExplorer.getJobInstances(jobName, 0, 1);
+        if (instances.isEmpty()) {
+            // 初回実行
+            return new JobParametersBuilder(parameters).addLong(RUN_ID_KEY, 1L).toJobParameters();
+        }
+
+        // 前回実行結果の取得
+        Optional<JobExecution> lastExecution = jobExplorer.getJobExecutions(instances.get(0))
+                                                          .stream()
+                                                          .max(Comparator.comparing(JobExecution::getId));
+        if (!lastExecution.isPresent()) {
+            return new JobParametersBuilder(parameters).addLong(RUN_ID_KEY, 1L).toJobParameters();
+        }
+
+        JobParameters lastParameters = lastExecution.get().getJobParameters();
+        BatchStatus lastStatus = lastExecution.get().getStatus();
+        if ((lastStatus == BatchStatus.FAILED || lastStatus == BatchStatus.STOPPED)
+                && isSameParameters(parameters, lastParameters)) {
+            // 前回失敗・停止時はリスタート
+            logger.info("{}:前回実行({})からリスタートします", jobName, lastStatus);
+            return lastParameters;
+        }
+
+        Long lastRunId = lastParameters.getLong(RUN_ID_KEY, 0L);
+        return new JobParametersBuilder(parameters).addLong(RUN_ID_KEY, lastRunId + 1).toJobParameters();
+    }
+
+    /**
+     * 業務パラメータの一致チェック（実行IDを除く）
+     * @param parameters
+     * @param lastParameters
+     * @return
+     */
+    private boolean isSameParameters(JobParameters parameters,
+                                     JobParameters lastParameters) {
+        for (Map.Entry<String, JobParameter> entry : parameters.getParameters().entrySet()) {
+            if (!entry.getValue().equals(lastParameters.getParameters().get(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
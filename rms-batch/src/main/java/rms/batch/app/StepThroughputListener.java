@@ -0,0 +1,58 @@
+package rms.batch.app;
+
+import java.util.Date;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
+
+/**
+ * ステップスループット記録Listener<br>
+ * ステップ終了時に処理件数・処理時間・スループットをステップの実行コンテキストに記録する
+ * @author
+ */
+public class StepThroughputListener implements StepExecutionListener {
+
+    /** logger */
+    private static final Logger logger = LoggerFactory.getLogger(StepThroughputListener.class);
+
+    /** 実行コンテキストキー：読込件数 */
+    public static final String KEY_READ_COUNT = "throughput.readCount";
+    /** 実行コンテキストキー：書込件数 */
+    public static final String KEY_WRITE_COUNT = "throughput.writeCount";
+    /** 実行コンテキストキー：コミット回数 */
+    public static final String KEY_COMMIT_COUNT = "throughput.commitCount";
+    /** 実行コンテキストキー：処理時間（ミリ秒） */
+    public static final String KEY_ELAPSED_MILLIS = "throughput.elapsedMillis";
+    /** 実行コンテキストキー：スループット（件/秒） */
+    public static final String KEY_ITEMS_PER_SECOND = "throughput.itemsPerSecond";
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        long start = stepExecution.getStartTime().getTime();
+        long elapsedMillis = Math.max(new Date().getTime() - start, 1);
+        int writeCount = stepExecution.getWriteCount();
+        double itemsPerSecond = writeCount * 1000d / elapsedMillis;
+
+        ExecutionContext context = stepExecution.getExecutionContext();
+        context.putInt(KEY_READ_COUNT, stepExecution.getReadCount());
+        context.putInt(KEY_WRITE_COUNT, writeCount);
+        context.putInt(KEY_COMMIT_COUNT, stepExecution.getCommitCount());
+        context.putLong(KEY_ELAPSED_MILLIS, elapsedMillis);
+        context.putDouble(KEY_ITEMS_PER_SECOND, itemsPerSecond);
+
+        logger.info("{}:読込 -> {}件 書込 -> {}件 コミット -> {}回 処理時間 -> {}ms スループット -> {}件/秒",
+                    stepExecution.getStepName(), stepExecution.getReadCount(), writeCount,
+                    stepExecution.getCommitCount(), elapsedMillis, String.format("%.1f", itemsPerSecond));
+
+        return stepExecution.getExitStatus();
+    }
+
+}
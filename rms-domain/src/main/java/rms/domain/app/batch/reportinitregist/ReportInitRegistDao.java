@@ -3,6 +3,7 @@ package rms.domain.app.batch.reportinitregist;
 import java.util.List;
 
 import org.seasar.doma.Dao;
+import org.seasar.doma.Insert;
 import org.seasar.doma.Select;
 import org.seasar.doma.boot.ConfigAutowireable;
 
@@ -22,4 +23,38 @@ public interface ReportInitRegistDao {
      */
     @Select
     List<MUser> noReportUserListByTargetYm(Integer targetYm);
-}
\ No newline at end of file
+
+    /**
+     * 月報未提出ユーザID一覧の取得
+     * @param targetYm
+     * @return
+     */
+    @Select
+    List<String> noReportUserIdListByTargetYm(Integer targetYm);
+
+    /**
+     * 月報の一括登録（INSERT ... SELECT）
+     * @param targetYm 対象年月
+     * @param userIdList 対象ユーザID一覧
+     * @param status 承認状況
+     * @param execUserId 実行ユーザID
+     * @return affected rows
+     */
+    @Insert(sqlFile = true)
+    int insertReportBulk(Integer targetYm,
+                         List<String> userIdList,
+                         String status,
+                         String execUserId);
+
+    /**
+     * 月報承認フローの一括登録（INSERT ... SELECT）
+     * @param targetYm 対象年月
+     * @param userIdList 対象ユーザID一覧
+     * @param execUserId 実行ユーザID
+     * @return affected rows
+     */
+    @Insert(sqlFile = true)
+    int insertReportApproveFlowBulk(Integer targetYm,
+                                    List<String> userIdList,
+                                    String execUserId);
+}
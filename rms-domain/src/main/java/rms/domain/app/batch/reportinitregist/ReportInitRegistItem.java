@@ -0,0 +1,37 @@
+package rms.domain.app.batch.reportinitregist;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import rms.common.entity.TReport;
+import rms.common.entity.TReportApproveFlow;
+
+/**
+ * 月報初期データ登録ジョブの処理単位クラス<br>
+ * ユーザ1件分の月報と月報承認フローを保持する
+ */
+public class ReportInitRegistItem extends rms.common.abstracts.AbstractDto {
+
+    /* 変数宣言 ------------------------------------------------------------- */
+    /** 月報 */
+    private TReport report;
+    /** 月報承認フロー一覧 */
+    private List<TReportApproveFlow> approveFlowList = new ArrayList<>();
+
+    public TReport getReport() {
+        return report;
+    }
+
+    public void setReport(TReport report) {
+        this.report = report;
+    }
+
+    public List<TReportApproveFlow> getApproveFlowList() {
+        return approveFlowList;
+    }
+
+    public void setApproveFlowList(List<TReportApproveFlow> approveFlowList) {
+        this.approveFlowList = approveFlowList;
+    }
+
+}
@@ -0,0 +1,71 @@
+package rms.domain.app.batch.reportinitregist;
+
+import java.util.List;
+
+import org.springframework.batch.item.ItemProcessor;
+
+import rms.common.consts.Const;
+import rms.common.consts.MCodeConst;
+import rms.common.dao.MUserApproveFlowDao;
+import rms.common.entity.MUserApproveFlow;
+import rms.common.entity.TReport;
+import rms.common.entity.TReportApproveFlow;
+
+/**
+ * 月報初期データ登録ジョブ Processor<br>
+ * ユーザIDから未提出状態の月報と月報承認フローを生成する
+ * @author
+ */
+public class ReportInitRegistItemProcessor implements ItemProcessor<String, ReportInitRegistItem> {
+
+    /** MUserApproveFlowDao */
+    private final MUserApproveFlowDao mUserApproveFlowDao;
+
+    /** 対象年月 */
+    private final Integer targetYm;
+
+    /**
+     * コンストラクタ
+     * @param mUserApproveFlowDao
+     * @param targetYm 対象年月
+     */
+    public ReportInitRegistItemProcessor(MUserApproveFlowDao mUserApproveFlowDao,
+                                         Integer targetYm) {
+        this.mUserApproveFlowDao = mUserApproveFlowDao;
+        this.targetYm = targetYm;
+    }
+
+    @Override
+    public ReportInitRegistItem process(String userId) throws Exception {
+        ReportInitRegistItem item = new ReportInitRegistItem();
+
+        /* 月報の初期データ */
+        TReport report = new TReport();
+        report.setApplyUserId(userId);
+        report.setTargetYm(targetYm);
+        report.setStatus(MCodeConst.A001_AAA); // 未提出
+        report.setVersion(0);
+        report.setDelFlg(0);
+        report.setInsId(Const.SYSTEM_USER_ID);
+        report.setUpdId(Const.SYSTEM_USER_ID);
+        item.setReport(report);
+
+        /* 月報承認フロー */
+        List<MUserApproveFlow> userFlowList = mUserApproveFlowDao.selectListByUserId(userId);
+        for (MUserApproveFlow userFlow : userFlowList) {
+            TReportApproveFlow reportFlow = new TReportApproveFlow();
+            reportFlow.setApplyUserId(userFlow.getUserId());
+            reportFlow.setTargetYm(targetYm);
+            reportFlow.setApproveSeq(userFlow.getApproveSeq());
+            reportFlow.setApproveUserId(userFlow.getApproveUserId());
+            reportFlow.setVersion(0);
+            reportFlow.setDelFlg(0);
+            reportFlow.setInsId(Const.SYSTEM_USER_ID);
+            reportFlow.setUpdId(Const.SYSTEM_USER_ID);
+            item.getApproveFlowList().add(reportFlow);
+        }
+
+        return item;
+    }
+
+}
@@ -0,0 +1,75 @@
+package rms.domain.app.batch.reportinitregist;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.BeanPropertyItemSqlParameterSourceProvider;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.beans.factory.InitializingBean;
+
+import rms.common.entity.TReport;
+import rms.common.entity.TReportApproveFlow;
+
+/**
+ * 月報初期データ登録ジョブ Writer<br>
+ * 月報・月報承認フローをJDBCバッチ更新で登録する
+ * @author
+ */
+public class ReportInitRegistItemWriter implements ItemWriter<ReportInitRegistItem>, InitializingBean {
+
+    /** 月報登録SQL */
+    private static final String INSERT_REPORT_SQL = "insert into t_report"
+            + " (apply_user_id, target_ym, status, version, del_flg, ins_date, ins_id, upd_date, upd_id)"
+            + " values (:applyUserId, :targetYm, :status, :version, :delFlg, now(), :insId, now(), :updId)";
+
+    /** 月報承認フロー登録SQL */
+    private static final String INSERT_REPORT_APPROVE_FLOW_SQL = "insert into t_report_approve_flow"
+            + " (apply_user_id, target_ym, approve_seq, approve_user_id, version, del_flg, ins_date, ins_id, upd_date, upd_id)"
+            + " values (:applyUserId, :targetYm, :approveSeq, :approveUserId, :version, :delFlg, now(), :insId, now(), :updId)";
+
+    /** 月報Writer */
+    private final JdbcBatchItemWriter<TReport> reportWriter = new JdbcBatchItemWriter<>();
+
+    /** 月報承認フローWriter */
+    private final JdbcBatchItemWriter<TReportApproveFlow> approveFlowWriter = new JdbcBatchItemWriter<>();
+
+    /**
+     * コンストラクタ
+     * @param dataSource
+     */
+    public ReportInitRegistItemWriter(DataSource dataSource) {
+        reportWriter.setDataSource(dataSource);
+        reportWriter.setSql(INSERT_REPORT_SQL);
+        reportWriter.setItemSqlParameterSourceProvider(new BeanPropertyItemSqlParameterSourceProvider<>());
+
+        approveFlowWriter.setDataSource(dataSource);
+        approveFlowWriter.setSql(INSERT_REPORT_APPROVE_FLOW_SQL);
+        approveFlowWriter.setItemSqlParameterSourceProvider(new BeanPropertyItemSqlParameterSourceProvider<>());
+        approveFlowWriter.setAssertUpdates(false); // 承認フローなしのユーザを許容
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        reportWriter.afterPropertiesSet();
+        approveFlowWriter.afterPropertiesSet();
+    }
+
+    @Override
+    public void write(List<? extends ReportInitRegistItem> items) throws Exception {
+        List<TReport> reportList = new ArrayList<>();
+        List<TReportApproveFlow> approveFlowList = new ArrayList<>();
+        for (ReportInitRegistItem item : items) {
+            reportList.add(item.getReport());
+            approveFlowList.addAll(item.getApproveFlowList());
+        }
+
+        reportWriter.write(reportList);
+        if (!approveFlowList.isEmpty()) {
+            approveFlowWriter.write(approveFlowList);
+        }
+    }
+
+}
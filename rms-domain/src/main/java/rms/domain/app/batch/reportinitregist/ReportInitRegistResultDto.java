@@ -0,0 +1,70 @@
+package rms.domain.app.batch.reportinitregist;
+
+/**
+ * 月報初期データ登録実行結果クラス
+ */
+public class ReportInitRegistResultDto extends rms.common.abstracts.AbstractDto {
+
+    /* 変数宣言 ------------------------------------------------------------- */
+    /** 対象年月 */
+    private Integer targetYm;
+    /** 対象ユーザ数 */
+    private int userCount;
+    /** 月報登録件数 */
+    private int reportCount;
+    /** 月報承認フロー登録件数 */
+    private int approveFlowCount;
+    /** コミット回数 */
+    private int chunkCount;
+    /** 処理時間（ミリ秒） */
+    private long elapsedMillis;
+
+    public Integer getTargetYm() {
+        return targetYm;
+    }
+
+    public void setTargetYm(Integer targetYm) {
+        this.targetYm = targetYm;
+    }
+
+    public int getUserCount() {
+        return userCount;
+    }
+
+    public void setUserCount(int userCount) {
+        this.userCount = userCount;
+    }
+
+    public int getReportCount() {
+        return reportCount;
+    }
+
+    public void setReportCount(int reportCount) {
+        this.reportCount = reportCount;
+    }
+
+    public int getApproveFlowCount() {
+        return approveFlowCount;
+    }
+
+    public void setApproveFlowCount(int approveFlowCount) {
+        this.approveFlowCount = approveFlowCount;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public void setChunkCount(int chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+}
@@ -1,11 +1,21 @@
 package rms.domain.app.batch.reportinitregist;
 
+import rms.common.exception.BusinessException;
+
 /**
  * 月報初期データ登録バッチサービス
  * @author
  */
 public interface ReportInitRegistService {
 
+    /**
+     * 月報初期データ作成可否チェック<br>
+     * 実行日付が月報提出可能日より前の場合はエラー
+     * @param targetYm 対象年月
+     * @throws BusinessException
+     */
+    public void validateExecDate(Integer targetYm) throws BusinessException;
+
     /**
      * 月報初期データ登録処理<br>
      * 指定した年月の月報データを未提出状態で作成する
@@ -13,4 +23,14 @@ public interface ReportInitRegistService {
      * @throws Exception
      */
     public void regist(Integer targetYm) throws Exception;
+
+    /**
+     * 月報初期データ一括登録処理<br>
+     * 指定した年月の月報データを未提出状態で作成する<br>
+     * 対象ユーザを一定件数毎に分割し、INSERT ... SELECTで登録・コミットする
+     * @param targetYm 対象年月
+     * @return 実行結果
+     * @throws Exception
+     */
+    public ReportInitRegistResultDto registBulk(Integer targetYm) throws Exception;
 }
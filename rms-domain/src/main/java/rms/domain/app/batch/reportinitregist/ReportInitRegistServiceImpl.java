@@ -8,7 +8,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import rms.common.consts.Const;
 import rms.common.consts.MCodeConst;
@@ -55,22 +58,15 @@ public class ReportInitRegistServiceImpl implements ReportInitRegistService {
     @Autowired
     ReportInitRegistDao dao;
 
+    /** トランザクションマネージャ */
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
     @Override
     public void regist(Integer targetYm) throws Exception {
 
-        // 実行日付の取得
-        LocalDate execDate = properties.getSysdate();
-
-        // 月報提出可能日を取得
-        int switchDay = properties.getSwitchMonthReferenceDay();
-        LocalDate switchDate = RmsUtils.getSwitchDate(targetYm, switchDay);
-
-        if (execDate.isBefore(switchDate)) {
-            // 実行日付 < 月報提出可能日
-            String params = switchDate.format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
-            // 「{}の月報初期データは{}以降に作成可能です。」
-            throw new BusinessException(MessageEnum.error017, RmsUtils.formatTargetYm(targetYm), params);
-        }
+        // 実行日付の妥当性チェック
+        validateExecDate(targetYm);
 
         // 指定された対象年月の月報が存在しないユーザ一覧を取得
         List<MUser> list = dao.noReportUserListByTargetYm(targetYm);
@@ -100,4 +96,67 @@ public class ReportInitRegistServiceImpl implements ReportInitRegistService {
         }
     }
 
+    /*
+     * (非 Javadoc)
+     * チャンク単位でコミットするため、メソッド全体のトランザクションは無効とする
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReportInitRegistResultDto registBulk(Integer targetYm) throws Exception {
+        long start = System.currentTimeMillis();
+
+        // 実行日付の妥当性チェック
+        validateExecDate(targetYm);
+
+        ReportInitRegistResultDto resultDto = new ReportInitRegistResultDto();
+        resultDto.setTargetYm(targetYm);
+
+        // 指定された対象年月の月報が存在しないユーザID一覧を取得
+        List<String> userIdList = dao.noReportUserIdListByTargetYm(targetYm);
+        resultDto.setUserCount(userIdList.size());
+
+        // チャンク単位で登録・コミット
+        int chunkSize = Math.max(1, properties.getReportInitChunkSize());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int from = 0; from < userIdList.size(); from += chunkSize) {
+            List<String> chunk = userIdList.subList(from, Math.min(from + chunkSize, userIdList.size()));
+            int[] counts = transactionTemplate.execute(status -> {
+                /* 月報の初期データ登録 */
+                int reportCount = dao.insertReportBulk(targetYm, chunk, MCodeConst.A001_AAA, Const.SYSTEM_USER_ID);
+                /* 月報承認フローの登録 */
+                int flowCount = dao.insertReportApproveFlowBulk(targetYm, chunk, Const.SYSTEM_USER_ID);
+                return new int[] { reportCount, flowCount };
+            });
+            resultDto.setReportCount(resultDto.getReportCount() + counts[0]);
+            resultDto.setApproveFlowCount(resultDto.getApproveFlowCount() + counts[1]);
+            resultDto.setChunkCount(resultDto.getChunkCount() + 1);
+            logger.info("月報初期データ一括登録 -> {}～{} 月報:{}件 承認フロー:{}件", chunk.get(0), chunk.get(chunk.size() - 1),
+                    counts[0], counts[1]);
+        }
+
+        resultDto.setElapsedMillis(System.currentTimeMillis() - start);
+        logger.info("月報初期データ一括登録結果 -> 対象年月:{} 対象ユーザ:{}件 月報:{}件 承認フロー:{}件 コミット:{}回 処理時間:{}ms",
+                targetYm, resultDto.getUserCount(), resultDto.getReportCount(), resultDto.getApproveFlowCount(),
+                resultDto.getChunkCount(), resultDto.getElapsedMillis());
+
+        return resultDto;
+    }
+
+    @Override
+    public void validateExecDate(Integer targetYm) throws BusinessException {
+        // 実行日付の取得
+        LocalDate execDate = properties.getSysdate();
+
+        // 月報提出可能日を取得
+        int switchDay = properties.getSwitchMonthReferenceDay();
+        LocalDate switchDate = RmsUtils.getSwitchDate(targetYm, switchDay);
+
+        if (execDate.isBefore(switchDate)) {
+            // 実行日付 < 月報提出可能日
+            String params = switchDate.format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+            // 「{}の月報初期データは{}以降に作成可能です。」
+            throw new BusinessException(MessageEnum.error017, RmsUtils.formatTargetYm(targetYm), params);
+        }
+    }
+
 }
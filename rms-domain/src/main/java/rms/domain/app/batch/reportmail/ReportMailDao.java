@@ -1,6 +1,10 @@
 package rms.domain.app.batch.reportmail;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.seasar.doma.Dao;
+import org.seasar.doma.Select;
 import org.seasar.doma.boot.ConfigAutowireable;
 
 /**
@@ -8,7 +12,20 @@ import org.seasar.doma.boot.ConfigAutowireable;
  */
 @Dao
 @ConfigAutowireable
-// TODO 未実装
 public interface ReportMailDao {
 
-}
\ No newline at end of file
+    /**
+     * 承認完了月報一覧の取得<br>
+     * 処理対象期間内に承認済みとなった月報（送信済みを除く）を、処理済み申請者IDより後の申請者から上限人数分まとめて取得する
+     * @param fromDate 処理対象開始日時（この日時を含まない。nullの場合は制限なし）
+     * @param toDate 処理対象終了日時
+     * @param lastUserId 処理済み申請者ID（nullの場合は先頭から）
+     * @param limit 申請者数の上限
+     * @return 申請者ID・対象年月順の一覧
+     */
+    @Select
+    List<ReportMailEntity> selectApprovedList(LocalDateTime fromDate,
+                                              LocalDateTime toDate,
+                                              String lastUserId,
+                                              int limit);
+}
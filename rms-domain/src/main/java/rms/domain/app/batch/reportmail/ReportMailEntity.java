@@ -0,0 +1,86 @@
+package rms.domain.app.batch.reportmail;
+
+import java.time.LocalDateTime;
+
+import org.seasar.doma.Column;
+import org.seasar.doma.Entity;
+
+/**
+ * 承認完了メール配信対象クラス
+ */
+@Entity
+public class ReportMailEntity extends rms.common.abstracts.AbstractEntity {
+
+    /** 申請者ID */
+    @Column(name = "apply_user_id")
+    private String applyUserId;
+
+    /** 申請者名 */
+    @Column(name = "apply_user_nm")
+    private String applyUserNm;
+
+    /** メールアドレス */
+    @Column(name = "email")
+    private String email;
+
+    /** 対象年月 */
+    @Column(name = "target_ym")
+    private Integer targetYm;
+
+    /** 月報バージョン（重複送信の判定用） */
+    @Column(name = "report_version")
+    private Integer reportVersion;
+
+    /** 月報更新日時 */
+    @Column(name = "report_upd_date")
+    private LocalDateTime reportUpdDate;
+
+    public String getApplyUserId() {
+        return applyUserId;
+    }
+
+    public void setApplyUserId(String applyUserId) {
+        this.applyUserId = applyUserId;
+    }
+
+    public String getApplyUserNm() {
+        return applyUserNm;
+    }
+
+    public void setApplyUserNm(String applyUserNm) {
+        this.applyUserNm = applyUserNm;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Integer getTargetYm() {
+        return targetYm;
+    }
+
+    public void setTargetYm(Integer targetYm) {
+        this.targetYm = targetYm;
+    }
+
+    public Integer getReportVersion() {
+        return reportVersion;
+    }
+
+    public void setReportVersion(Integer reportVersion) {
+        this.reportVersion = reportVersion;
+    }
+
+    public LocalDateTime getReportUpdDate() {
+        return reportUpdDate;
+    }
+
+    public void setReportUpdDate(LocalDateTime reportUpdDate) {
+        this.reportUpdDate = reportUpdDate;
+    }
+
+}
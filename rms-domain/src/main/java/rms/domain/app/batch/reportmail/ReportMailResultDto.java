@@ -0,0 +1,92 @@
+package rms.domain.app.batch.reportmail;
+
+import java.time.LocalDateTime;
+
+/**
+ * 承認完了メール配信実行結果クラス
+ */
+public class ReportMailResultDto extends rms.common.abstracts.AbstractDto {
+
+    /* 変数宣言 ------------------------------------------------------------- */
+    /** 処理対象開始日時（この日時を含まない。初回はnull） */
+    private LocalDateTime fromDate;
+    /** 処理対象終了日時 */
+    private LocalDateTime toDate;
+    /** 承認完了月報件数 */
+    private int reportCount;
+    /** メール登録件数（宛先数） */
+    private int mailCount;
+    /** メールアドレス未登録による送信対象外件数（宛先数） */
+    private int skipCount;
+    /** コミット回数 */
+    private int chunkCount;
+    /** メール送信処理件数 */
+    private int sendCount;
+    /** 処理時間（ミリ秒） */
+    private long elapsedMillis;
+
+    public LocalDateTime getFromDate() {
+        return fromDate;
+    }
+
+    public void setFromDate(LocalDateTime fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    public LocalDateTime getToDate() {
+        return toDate;
+    }
+
+    public void setToDate(LocalDateTime toDate) {
+        this.toDate = toDate;
+    }
+
+    public int getReportCount() {
+        return reportCount;
+    }
+
+    public void setReportCount(int reportCount) {
+        this.reportCount = reportCount;
+    }
+
+    public int getMailCount() {
+        return mailCount;
+    }
+
+    public void setMailCount(int mailCount) {
+        this.mailCount = mailCount;
+    }
+
+    public int getSkipCount() {
+        return skipCount;
+    }
+
+    public void setSkipCount(int skipCount) {
+        this.skipCount = skipCount;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public void setChunkCount(int chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+
+    public int getSendCount() {
+        return sendCount;
+    }
+
+    public void setSendCount(int sendCount) {
+        this.sendCount = sendCount;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+}
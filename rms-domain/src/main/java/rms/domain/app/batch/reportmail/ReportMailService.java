@@ -4,12 +4,15 @@ package rms.domain.app.batch.reportmail;
  * 月報メール配信バッチサービス
  * @author
  */
-// TODO 未実装
 public interface ReportMailService {
 
     /**
-     * 承認完了メール配信
+     * 承認完了メール配信<br>
+     * 前回実行以降に承認済みとなった月報を申請者ごとにまとめ、1通のメールで通知する。<br>
+     * 処理済みの位置をバッチ管理テーブル、通知した月報を送信済みテーブルに記録するため、再実行しても同じメールは送信しない。<br>
+     * 初回実行時は基準日時の記録のみ行い、以降に承認された月報を対象とする
+     * @return 実行結果
      * @throws Exception
      */
-    public void sendmailApproved() throws Exception;
+    public ReportMailResultDto sendmailApproved() throws Exception;
 }
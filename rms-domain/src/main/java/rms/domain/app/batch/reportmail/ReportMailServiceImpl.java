@@ -1,46 +1,249 @@
 package rms.domain.app.batch.reportmail;
 
+import java.text.MessageFormat;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.mail.internet.AddressException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import rms.common.dao.TBatchControlDao;
+import rms.common.dao.TReportMailSentDao;
+import rms.common.entity.TBatchControl;
+import rms.common.entity.TReportMailSent;
+import rms.common.utils.ProjectProperties;
+import rms.common.utils.RmsMailDispatcher;
+import rms.common.utils.RmsMailInfo;
+import rms.common.utils.RmsMailOutbox;
+import rms.common.utils.RmsStringUtils;
+import rms.common.utils.RmsUtils;
 
 /**
- * 月報メール配信バッチサービス
+ * 月報メール配信バッチサービス<br>
+ * 承認のコミットが処理対象終了日時より後になった月報を拾うため、処理対象期間は前回と
+ * {@code app.batch.report.mail.overlap.seconds}だけ重複させ、送信済みテーブルで重複送信を防ぐ
  * @author
  */
 @Service
 @Transactional(rollbackFor = Exception.class)
-// TODO 未実装
 public class ReportMailServiceImpl implements ReportMailService {
 
     /** logger */
-    @SuppressWarnings("unused")
     private static final Logger logger = LoggerFactory.getLogger(ReportMailServiceImpl.class);
 
-    // /** application.properties */
-    // @Autowired
-    // ProjectProperties properties;
-    //
-    // /** MUserApproveFlowDao */
-    // @Autowired
-    // MUserApproveFlowDao mUserApproveFlowDao;
-    //
-    // /** TReportDao */
-    // @Autowired
-    // TReportDao tReportDao;
-    //
-    // /** TReportApproveFlowDao */
-    // @Autowired
-    // TReportApproveFlowDao tReportApproveFlowDao;
-    //
-    // /** 月報初期データ登録Dao */
-    // @Autowired
-    // ReportMailDao dao;
+    /** バッチ管理のバッチID（承認完了メール配信） */
+    static final String BATCH_ID = "B002";
+
+    /** 件名：承認完了 {0}:件数 */
+    static final String SUBJECT_APPROVED = "【月報管理】月報の承認完了（{0}件）";
+    /** 本文：承認完了 {0}:宛先名 {1}:対象年月一覧 */
+    static final String TEXT_APPROVED = "{0} 様\n\n以下の月報の承認が完了しました。\n{1}";
+    /** 本文：対象年月の行 {0}:対象年月 */
+    static final String TEXT_APPROVED_LINE = "・{0}\n";
+
+    /** application.properties */
+    @Autowired
+    ProjectProperties properties;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    /** TBatchControlDao */
+    @Autowired
+    TBatchControlDao tBatchControlDao;
 
+    /** TReportMailSentDao */
+    @Autowired
+    TReportMailSentDao tReportMailSentDao;
+
+    /** メール送信待ち登録 */
+    @Autowired
+    RmsMailOutbox rmsMailOutbox;
+
+    /** メール送信処理 */
+    @Autowired
+    RmsMailDispatcher rmsMailDispatcher;
+
+    /** 月報メール配信Dao */
+    @Autowired
+    ReportMailDao dao;
+
+    /** 現在日時の取得元（テスト時に差し替える） */
+    Clock clock = Clock.systemDefaultZone();
+
+    /*
+     * (非 Javadoc)
+     * チャンク単位でコミットするため、メソッド全体のトランザクションは無効とする
+     */
     @Override
-    public void sendmailApproved() throws Exception {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReportMailResultDto sendmailApproved() throws Exception {
+        long start = System.currentTimeMillis();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // 処理対象期間の決定（前回が途中で終了した場合は同じ期間の続きから）
+        TBatchControl control = transactionTemplate.execute(status -> startBatchControl());
+        ReportMailResultDto resultDto = new ReportMailResultDto();
+        resultDto.setFromDate(control.getLastExecDate());
+        if (control.getExecToDate() == null) {
+            // 初回実行時は基準日時の記録のみ（過去の承認分は通知しない）
+            resultDto.setToDate(control.getLastExecDate());
+            resultDto.setElapsedMillis(System.currentTimeMillis() - start);
+            return resultDto;
+        }
+        resultDto.setToDate(control.getExecToDate());
+
+        // 前回の処理対象期間と重複させる（送信済みは対象外）
+        long overlapSeconds = properties.getReportMailOverlapSeconds();
+        LocalDateTime fromDate = control.getLastExecDate() != null
+                ? control.getLastExecDate().minusSeconds(overlapSeconds) : null;
+
+        // 書式は1回だけ解析して全メールで使い回す
+        MessageFormat subjectFormat = new MessageFormat(SUBJECT_APPROVED);
+        MessageFormat textFormat = new MessageFormat(TEXT_APPROVED);
+        MessageFormat lineFormat = new MessageFormat(TEXT_APPROVED_LINE);
+
+        // 申請者単位のチャンクで送信待ち登録・処理済みキーの記録をコミット
+        int chunkSize = Math.max(1, properties.getReportMailChunkSize());
+        List<ReportMailEntity> list;
+        while (!(list = dao.selectApprovedList(fromDate, control.getExecToDate(), control.getExecKey(),
+                                               chunkSize)).isEmpty()) {
+            List<ReportMailEntity> chunk = list;
+            transactionTemplate.execute(status -> {
+                enqueueApprovedMail(chunk, subjectFormat, textFormat, lineFormat, resultDto);
+                tReportMailSentDao.insertBatch(chunk.stream().map(this::toSent).collect(Collectors.toList()));
+                control.setExecKey(chunk.get(chunk.size() - 1).getApplyUserId());
+                return tBatchControlDao.updateIncludeNull(control);
+            });
+            resultDto.setReportCount(resultDto.getReportCount() + chunk.size());
+            resultDto.setChunkCount(resultDto.getChunkCount() + 1);
+            logger.info("承認完了メール登録 -> ～{} 月報:{}件", control.getExecKey(), chunk.size());
+        }
+
+        // 処理完了（次回は今回の処理対象終了日時から重複時間を引いた日時より後が対象）
+        control.setLastExecDate(control.getExecToDate());
+        control.setExecToDate(null);
+        control.setExecKey(null);
+        transactionTemplate.execute(status -> {
+            // 次回以降の処理対象期間に含まれない送信済みの記録は不要
+            tReportMailSentDao.deleteByReportUpdDate(control.getLastExecDate().minusSeconds(overlapSeconds));
+            return tBatchControlDao.updateIncludeNull(control);
+        });
+
+        // 送信待ちメールの送信（プロセス終了前に送信を完了させる）
+        resultDto.setSendCount(rmsMailDispatcher.dispatchAll());
+
+        resultDto.setElapsedMillis(System.currentTimeMillis() - start);
+        logger.info("承認完了メール配信結果 -> 対象期間:{}～{} 月報:{}件 メール:{}件 宛先なし:{}件 コミット:{}回 送信:{}件 処理時間:{}ms",
+                resultDto.getFromDate(), resultDto.getToDate(), resultDto.getReportCount(), resultDto.getMailCount(),
+                resultDto.getSkipCount(), resultDto.getChunkCount(), resultDto.getSendCount(), resultDto.getElapsedMillis());
+
+        return resultDto;
+    }
+
+    /**
+     * バッチ管理情報の取得と処理開始の記録<br>
+     * 処理中でない場合は処理対象終了日時を設定する。直近の更新はコミット前の可能性があるため対象外とし、次回に回す。<br>
+     * 初回実行時は前回処理基準日時のみ記録し、処理対象終了日時は設定しない
+     * @return
+     */
+    TBatchControl startBatchControl() {
+        LocalDateTime toDate = LocalDateTime.now(clock)
+                                            .minusSeconds(properties.getReportMailDelaySeconds())
+                                            .truncatedTo(ChronoUnit.SECONDS);
+        TBatchControl control = tBatchControlDao.selectById(BATCH_ID);
+        if (control == null) {
+            control = new TBatchControl();
+            control.setBatchId(BATCH_ID);
+            control.setLastExecDate(toDate);
+            tBatchControlDao.insert(control);
+            logger.info("承認完了メール配信の初回実行のため基準日時のみ記録します -> 前回処理基準日時:{}", toDate);
+            return control;
+        }
+        if (control.getExecToDate() == null) {
+            control.setExecToDate(toDate);
+            control.setExecKey(null);
+            tBatchControlDao.updateIncludeNull(control);
+        } else {
+            logger.info("前回の承認完了メール配信が途中で終了しているため続きから処理します -> 処理対象終了日時:{} 処理済みキー:{}",
+                    control.getExecToDate(), control.getExecKey());
+        }
+        return control;
+    }
+
+    /**
+     * 承認完了メールの送信待ち登録<br>
+     * 申請者ごとに対象年月をまとめて1通とする
+     * @param list 申請者ID・対象年月順の承認完了月報一覧
+     * @param subjectFormat
+     * @param textFormat
+     * @param lineFormat
+     * @param resultDto
+     */
+    void enqueueApprovedMail(List<ReportMailEntity> list,
+                             MessageFormat subjectFormat,
+                             MessageFormat textFormat,
+                             MessageFormat lineFormat,
+                             ReportMailResultDto resultDto) {
+        // 申請者ごとにまとめる
+        Map<String, List<ReportMailEntity>> userMap = new LinkedHashMap<>();
+        for (ReportMailEntity entity : list) {
+            userMap.computeIfAbsent(entity.getApplyUserId(), k -> new ArrayList<>()).add(entity);
+        }
+
+        List<RmsMailInfo> mailInfoList = new ArrayList<>();
+        for (List<ReportMailEntity> reportList : userMap.values()) {
+            ReportMailEntity user = reportList.get(0);
+            if (RmsStringUtils.isEmpty(user.getEmail())) {
+                resultDto.setSkipCount(resultDto.getSkipCount() + 1);
+                continue;
+            }
+
+            StringBuilder lines = new StringBuilder();
+            for (ReportMailEntity report : reportList) {
+                lines.append(lineFormat.format(new Object[] { RmsUtils.formatTargetYm(report.getTargetYm()) }));
+            }
+            try {
+                mailInfoList.add(new RmsMailInfo().addToAddr(user.getEmail())
+                                                  .setSubject(subjectFormat.format(new Object[] { reportList.size() }))
+                                                  .setText(textFormat.format(new Object[] { user.getApplyUserNm(), lines })));
+            } catch (AddressException e) {
+                // アドレス不正はバッチを止めずに通知を見送る
+                logger.warn("メールアドレス不正 -> userId：{} email：{}", user.getApplyUserId(), user.getEmail());
+                resultDto.setSkipCount(resultDto.getSkipCount() + 1);
+            }
+        }
+
+        rmsMailOutbox.enqueue(mailInfoList);
+        resultDto.setMailCount(resultDto.getMailCount() + mailInfoList.size());
+    }
 
+    /**
+     * 送信済み記録への変換
+     * @param entity
+     * @return
+     */
+    private TReportMailSent toSent(ReportMailEntity entity) {
+        TReportMailSent sent = new TReportMailSent();
+        sent.setApplyUserId(entity.getApplyUserId());
+        sent.setTargetYm(entity.getTargetYm());
+        sent.setReportVersion(entity.getReportVersion());
+        sent.setReportUpdDate(entity.getReportUpdDate());
+        return sent;
     }
 
 }
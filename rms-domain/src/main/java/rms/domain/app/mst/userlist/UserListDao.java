@@ -7,6 +7,8 @@ import org.seasar.doma.Select;
 import org.seasar.doma.boot.ConfigAutowireable;
 import org.seasar.doma.jdbc.SelectOptions;
 
+import rms.common.utils.PageKey;
+
 /**
  * ユーザ情報取得Dao
  */
@@ -17,10 +19,12 @@ public interface UserListDao {
     /**
      * ユーザ一覧の取得<br>
      * @param condition
+     * @param pageKey ページ開始キー（1ページ目は{@link PageKey#FIRST_PAGE}）
      * @param options
      * @return
      */
     @Select
     List<UserListResultEntity> userListByCondition(UserListDto condition,
+                                                   PageKey pageKey,
                                                    SelectOptions options);
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import rms.common.utils.PageInfo;
+import rms.common.utils.PageKey;
 import rms.common.utils.SearchResultDto;
 import rms.common.utils.SelectOptionsUtils;
 
@@ -35,14 +36,10 @@ public class UserListServiceImpl implements UserListService {
         SelectOptions options = SelectOptionsUtils.get(pageInfo);
 
         // 検索処理
-        List<UserListResultEntity> resultList = dao.userListByCondition(condition, options);
+        List<UserListResultEntity> resultList = dao.userListByCondition(condition, pageInfo.getPageKey(), options);
 
         // 検索結果格納
-        SearchResultDto<UserListResultEntity> resultDto = new SearchResultDto<>();
-        resultDto.setResultList(resultList);
-        resultDto.setCount(options.getCount());
-
-        return resultDto;
+        return SelectOptionsUtils.createResult(resultList, options, pageInfo, e -> new PageKey(null, e.getUserId()));
     }
 
 }
@@ -1,17 +1,22 @@
 package rms.domain.app.mst.userregist;
 
+import java.util.Collections;
 import java.util.List;
 
+import javax.annotation.PostConstruct;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import rms.common.auth.UserDetailsServiceImpl;
+import rms.common.cache.MCodeCache;
+import rms.common.cache.RmsCache;
 import rms.common.consts.Const;
 import rms.common.consts.MRoleConst;
 import rms.common.consts.MessageEnum;
-import rms.common.dao.MCodeDao;
 import rms.common.dao.MUserApproveFlowDao;
 import rms.common.dao.MUserDao;
 import rms.common.dao.MUserRoleDao;
@@ -21,6 +26,7 @@ import rms.common.entity.MUserApproveFlow;
 import rms.common.entity.MUserRole;
 import rms.common.entity.VMUser;
 import rms.common.exception.BusinessException;
+import rms.common.utils.ProjectProperties;
 import rms.common.utils.RmsBeanUtils;
 import rms.common.utils.RmsStringUtils;
 import rms.common.utils.SelectOptionEntity;
@@ -40,9 +46,13 @@ public class UserRegistServiceImpl implements UserRegistService {
     @Autowired
     UserRegistDao dao;
 
-    /** MCodeDao */
+    /** コードマスタキャッシュ */
+    @Autowired
+    MCodeCache mCodeCache;
+
+    /** ProjectProperties */
     @Autowired
-    MCodeDao mCodeDao;
+    ProjectProperties properties;
 
     /** MUserDao */
     @Autowired
@@ -60,6 +70,24 @@ public class UserRegistServiceImpl implements UserRegistService {
     @Autowired
     VMUserDao vMUserDao;
 
+    /** 独自認証処理 */
+    @Autowired
+    UserDetailsServiceImpl userDetailsService;
+
+    /** キャッシュキー：承認者一覧 */
+    static final String CACHE_KEY_APPROVE = "approve";
+
+    /** selectbox用キャッシュ（承認者一覧） */
+    RmsCache<String, List<SelectOptionEntity>> selectboxCache;
+
+    /**
+     * selectbox用キャッシュの初期化
+     */
+    @PostConstruct
+    public void init() {
+        selectboxCache = new RmsCache<>(1, properties.getCacheSelectboxTtlSeconds());
+    }
+
     @Override
     public UserRegistDto initDisplayUpdate(String userId) {
 
@@ -113,6 +141,12 @@ public class UserRegistServiceImpl implements UserRegistService {
 
         // ユーザ役割マスタ登録
         deleteInsertUserRole(dto);
+
+        // 承認者一覧キャッシュの破棄
+        selectboxCache.invalidateOnCompletion(CACHE_KEY_APPROVE);
+
+        // 認証ユーザ情報キャッシュの破棄
+        userDetailsService.invalidate(dto.getUserId());
     }
 
     @Override
@@ -133,20 +167,27 @@ public class UserRegistServiceImpl implements UserRegistService {
 
         // ユーザ役割マスタ登録
         deleteInsertUserRole(dto);
+
+        // 承認者一覧キャッシュの破棄（ユーザ名・役割の変更を反映）
+        selectboxCache.invalidateOnCompletion(CACHE_KEY_APPROVE);
+
+        // 認証ユーザ情報キャッシュの破棄（パスワード・役割の変更を反映）
+        userDetailsService.invalidate(dto.getUserId());
     }
 
     @Override
     public List<SelectOptionEntity> getSelectboxApprove() {
-        // セレクトボックス用 承認者一覧の取得
-        List<SelectOptionEntity> approveList = dao.selectboxApproveUser();
+        // セレクトボックス用 承認者一覧の取得（キャッシュ）
+        List<SelectOptionEntity> approveList = selectboxCache.get(CACHE_KEY_APPROVE,
+                                                                  k -> Collections.unmodifiableList(dao.selectboxApproveUser()));
 
         return approveList;
     }
 
     @Override
     public List<SelectOptionEntity> getSelectboxDepartment() {
-        // セレクトボックス用 部署一覧の取得
-        List<SelectOptionEntity> departmentList = mCodeDao.selectboxDepartmentRnm();
+        // セレクトボックス用 部署一覧の取得（キャッシュ）
+        List<SelectOptionEntity> departmentList = mCodeCache.getSelectboxDepartmentRnm();
 
         return departmentList;
     }
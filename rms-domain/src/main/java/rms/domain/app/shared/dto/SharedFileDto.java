@@ -2,15 +2,24 @@ package rms.domain.app.shared.dto;
 
 import java.nio.file.Path;
 
+import rms.common.storage.ReportStorage;
+
 /**
  * ファイル情報格納クラス<br>
+ * 月報ファイルは格納先・キー、一時ファイル（zip生成・解凍）はファイルパスで参照する
  * @author
  */
 public class SharedFileDto {
 
-    /** ファイルパス */
+    /** ファイルパス（一時ファイル） */
     private Path filePath;
 
+    /** 月報ファイル格納先 */
+    private ReportStorage storage;
+
+    /** 月報ファイル格納先のキー */
+    private String storageKey;
+
     /** ファイル名 */
     private String fileNm;
 
@@ -22,6 +31,22 @@ public class SharedFileDto {
         this.filePath = filePath;
     }
 
+    public ReportStorage getStorage() {
+        return storage;
+    }
+
+    public void setStorage(ReportStorage storage) {
+        this.storage = storage;
+    }
+
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public void setStorageKey(String storageKey) {
+        this.storageKey = storageKey;
+    }
+
     public String getFileNm() {
         return fileNm;
     }
@@ -0,0 +1,59 @@
+package rms.domain.app.shared.dto;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import rms.common.utils.RmsTempStorage;
+
+/**
+ * zipファイル解凍結果格納クラス<br>
+ * クローズ時に解凍先の一時ディレクトリを削除する為、try-with-resourcesで使用すること
+ * @author
+ */
+public class SharedUnzipDto implements Closeable {
+
+    /** 一時フォルダ（解凍先ディレクトリの作成元） */
+    private final RmsTempStorage tempStorage;
+
+    /** 解凍先ディレクトリ */
+    private Path unzipDir;
+
+    /** 解凍ファイル情報リスト */
+    private List<SharedFileDto> fileList = new ArrayList<>();
+
+    /**
+     * コンストラクタ
+     * @param tempStorage 解凍先ディレクトリを作成した一時フォルダ
+     */
+    public SharedUnzipDto(RmsTempStorage tempStorage) {
+        this.tempStorage = tempStorage;
+    }
+
+    public Path getUnzipDir() {
+        return unzipDir;
+    }
+
+    public void setUnzipDir(Path unzipDir) {
+        this.unzipDir = unzipDir;
+    }
+
+    public List<SharedFileDto> getFileList() {
+        return fileList;
+    }
+
+    public void setFileList(List<SharedFileDto> fileList) {
+        this.fileList = fileList;
+    }
+
+    /**
+     * 解凍先ディレクトリの削除<br>
+     * 一時フォルダの管理から外すため、一時フォルダ経由で削除する（リクエスト終了時の削除は不要となる）
+     */
+    @Override
+    public void close() {
+        tempStorage.delete(unzipDir);
+    }
+
+}
@@ -0,0 +1,35 @@
+package rms.domain.app.shared.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * zipファイル情報格納クラス<br>
+ * zipファイル名と、zipファイルに格納するファイル情報の一覧を保持する
+ * @author
+ */
+public class SharedZipFileDto {
+
+    /** zipファイル名 */
+    private String zipFileNm;
+
+    /** 格納ファイル情報リスト（ファイル名はzip内のエントリ名） */
+    private List<SharedFileDto> fileList = new ArrayList<>();
+
+    public String getZipFileNm() {
+        return zipFileNm;
+    }
+
+    public void setZipFileNm(String zipFileNm) {
+        this.zipFileNm = zipFileNm;
+    }
+
+    public List<SharedFileDto> getFileList() {
+        return fileList;
+    }
+
+    public void setFileList(List<SharedFileDto> fileList) {
+        this.fileList = fileList;
+    }
+
+}
@@ -1,16 +1,20 @@
 package rms.domain.app.shared.service;
 
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.List;
 
 import org.springframework.web.multipart.MultipartFile;
 
 import rms.common.consts.Const.ReportNmPattern;
+import rms.common.entity.TReportRevision;
 import rms.common.exception.BusinessException;
 import rms.domain.app.shared.dto.SharedFileDto;
 import rms.domain.app.shared.dto.SharedSubmitReportFileDto;
+import rms.domain.app.shared.dto.SharedUnzipDto;
+import rms.domain.app.shared.dto.SharedZipFileDto;
 
 /**
  * 月報ファイル関連共通サービスインタフェース
@@ -20,32 +24,58 @@ public interface SharedReportFileService {
 
     /**
      * 月報ファイルダウンロード情報生成
-     * 引数を基に生成した月報ファイル情報を返却する
+     * 引数を基に生成した月報ファイル情報（格納先・キー）を返却する
      * @param applyUserId
      * @param applyUserNm
      * @param targetYm
+     * @throws IOException
      * @throws BusinessException
      * @return
      */
     public SharedFileDto getReportFileInfo(String applyUserId,
                                            String applyUserNm,
-                                           Integer targetYm) throws BusinessException;
+                                           Integer targetYm) throws IOException, BusinessException;
+
+    /**
+     * 月報ファイルダウンロード情報生成<br>
+     * 申請者名は申請者IDを基に取得する（一覧画面でセッションに申請者名を保持しない場合に使用）
+     * @param applyUserId
+     * @param targetYm
+     * @throws IOException
+     * @throws BusinessException
+     * @return
+     */
+    public SharedFileDto getReportFileInfo(String applyUserId,
+                                           Integer targetYm) throws IOException, BusinessException;
 
     /**
-     * 月報ファイル一覧ZIPファイル生成<br>
-     * サーバ内でzipファイルを作成して、作成したzipファイル情報を返却する
+     * 月報ファイル一覧ZIPファイル情報生成<br>
+     * zipファイル名と格納する月報ファイル情報を生成する。月報ファイルの存在チェックもここで行う為、
+     * 本メソッドが正常終了した後は業務エラーを発生させずに{@link #writeReportFileBulk}で出力できる
      * @param reportFileDtoList
      * @param reportNmPattern
      * @return 生成したzipファイル情報
-     * @throws FileNotFoundException
      * @throws IOException
      * @throws BusinessException
      */
-    public SharedFileDto createReportFileBulk(List<SharedSubmitReportFileDto> reportFileDtoList,
-                                              ReportNmPattern reportNmPattern) throws IOException, BusinessException;
+    public SharedZipFileDto createReportFileBulkInfo(List<SharedSubmitReportFileDto> reportFileDtoList,
+                                                     ReportNmPattern reportNmPattern) throws IOException,
+                                                                                      BusinessException;
 
     /**
-     * 月報ファイル保存処理
+     * 月報ファイル一覧ZIP出力<br>
+     * 一時ファイルを作成せず、月報ファイルを格納先から読み込みながら出力先へzip形式で逐次出力する<br>
+     * ※出力完了後、出力先ストリームはクローズする
+     * @param zipFileDto
+     * @param outputStream
+     * @throws IOException
+     */
+    public void writeReportFileBulk(SharedZipFileDto zipFileDto,
+                                    OutputStream outputStream) throws IOException;
+
+    /**
+     * 月報ファイル保存処理<br>
+     * ファイルを内容のハッシュ値で格納し（同じ内容は共有）、月報ファイル履歴を登録する
      * @param file
      * @param applyUserId
      * @param targetYm
@@ -56,7 +86,8 @@ public interface SharedReportFileService {
                                Integer targetYm) throws IOException;
 
     /**
-     * 月報ファイル保存処理
+     * 月報ファイル保存処理<br>
+     * ファイルを内容のハッシュ値で格納し（同じ内容は共有）、月報ファイル履歴を登録する
      * @param filePath
      * @param applyUserId
      * @param targetYm
@@ -66,13 +97,78 @@ public interface SharedReportFileService {
                                String applyUserId,
                                Integer targetYm) throws IOException;
 
+    /**
+     * 月報ファイル格納処理<br>
+     * ファイルの格納のみ行い、月報ファイル履歴は登録しない（{@link #addReportRevision}で登録する）。
+     * 別スレッドでファイルを格納し、履歴はトランザクション内で登録する場合に使用する
+     * @param filePath
+     * @return ファイルハッシュ値
+     * @throws IOException
+     */
+    public String storeReportFile(Path filePath) throws IOException;
+
+    /**
+     * 月報ファイル履歴の登録
+     * @param applyUserId
+     * @param targetYm
+     * @param contentHash 格納済みのファイルハッシュ値
+     * @throws IOException
+     */
+    public void addReportRevision(String applyUserId,
+                                  Integer targetYm,
+                                  String contentHash) throws IOException;
+
+    /**
+     * 月報ファイル履歴の一覧取得（新しい順）
+     * @param applyUserId
+     * @param targetYm
+     * @return
+     */
+    public List<TReportRevision> getReportRevisionList(String applyUserId,
+                                                       Integer targetYm);
+
     /**
      * 月報zipファイル解凍処理
-     * サーバ内でzipファイルを解凍して、zipファイル中に含まれる月報情報一覧を返却する
+     * サーバ内の一時ディレクトリにzipファイルを解凍して、zipファイル中に含まれる月報情報一覧を返却する<br>
+     * 返却値をクローズすると一時ディレクトリは削除される
      * @param file
      * @return
      * @throws IOException
+     * @throws BusinessException zipファイルの内容が上限を超えている場合、一時フォルダの容量が不足している場合
+     */
+    public SharedUnzipDto unZipReportFileInfo(MultipartFile file) throws IOException, BusinessException;
+
+    /**
+     * 月報zipファイル解凍処理（ストリーム）
+     * zipファイルを保存せずにアップロードされたストリームから直接読み込み、
+     * 月報ファイル毎に{@code consumer}へ引き渡す。ディレクトリは対象外とする<br>
+     * ファイル数・ファイルサイズが上限（application.properties）を超えた場合、
+     * ディレクトリ部分を除いたファイル名が重複する場合は業務エラーとする
+     * @param file
+     * @param consumer 月報ファイルの処理
+     * @return 処理した月報ファイル数
+     * @throws IOException
+     * @throws BusinessException zipファイルの内容が上限を超えている場合、ファイル名が重複する場合
      */
-    public List<SharedFileDto> unZipReportFileInfo(MultipartFile file) throws IOException;
+    public int unZipReportFile(MultipartFile file,
+                               ZipEntryConsumer consumer) throws IOException, BusinessException;
+
+    /**
+     * zipファイル内の月報ファイルの処理
+     */
+    @FunctionalInterface
+    public interface ZipEntryConsumer {
+
+        /**
+         * 月報ファイルの処理<br>
+         * ※ストリームは次の月報ファイルの読み込み前に無効となる為、本メソッド内で読み込むこと
+         * @param fileNm ファイル名（ディレクトリを除く）
+         * @param inputStream 月報ファイルのストリーム（クローズ不要）
+         * @throws IOException
+         * @throws BusinessException
+         */
+        void accept(String fileNm,
+                    InputStream inputStream) throws IOException, BusinessException;
+    }
 
 }
\ No newline at end of file
@@ -1,17 +1,27 @@
 package rms.domain.app.shared.service;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -20,19 +30,29 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import rms.common.consts.Const;
 import rms.common.consts.Const.ReportNmPattern;
 import rms.common.consts.MessageEnum;
+import rms.common.dao.TReportRevisionDao;
 import rms.common.dao.VMUserDao;
+import rms.common.entity.TReportRevision;
 import rms.common.entity.VMUser;
 import rms.common.exception.BusinessException;
+import rms.common.storage.ReportStorage;
+import rms.common.storage.ReportStorageObject;
 import rms.common.utils.ProjectProperties;
-import rms.common.utils.RmsFileUtils;
+import rms.common.utils.RmsContentStore;
+import rms.common.utils.RmsStripedLock;
+import rms.common.utils.RmsTempStorage;
 import rms.domain.app.shared.dto.SharedFileDto;
 import rms.domain.app.shared.dto.SharedSubmitReportFileDto;
+import rms.domain.app.shared.dto.SharedUnzipDto;
+import rms.domain.app.shared.dto.SharedZipFileDto;
 
 /**
  * 月報ファイル関連共通サービス実装
@@ -49,6 +69,18 @@ public class SharedReportFileServiceImpl implements SharedReportFileService {
     // TODO MS932固定で大丈夫？
     private static final Charset FILE_NM_CHARSET = Charset.forName("MS932");
 
+    /** zip出力時のバッファサイズ */
+    private static final int ZIP_BUFFER_SIZE = 64 * 1024;
+
+    /** zip解凍時のバッファサイズ */
+    private static final int UNZIP_BUFFER_SIZE = 64 * 1024;
+
+    /** 月報ファイル保存のロック数 */
+    private static final int REPORT_FILE_LOCK_STRIPES = 64;
+
+    /** 月報ファイル保存のロック（申請者ID・対象年月単位） 再申請と承認時の差し替え等、同じ月報の履歴登録を直列化する */
+    private final RmsStripedLock reportFileLock = new RmsStripedLock(REPORT_FILE_LOCK_STRIPES);
+
     /** application.properties */
     @Autowired
     ProjectProperties properties;
@@ -56,124 +88,230 @@ public class SharedReportFileServiceImpl implements SharedReportFileService {
     @Autowired
     VMUserDao vMUserDao;
 
+    @Autowired
+    TReportRevisionDao tReportRevisionDao;
+
+    /** 月報ファイルの格納先（内容のハッシュ値で格納） */
+    @Autowired
+    RmsContentStore contentStore;
+
+    /** 一時フォルダ */
+    @Autowired
+    RmsTempStorage tempStorage;
+
+    /** 月報ファイルの格納先（履歴管理前の月報ファイル） */
+    @Autowired
+    ReportStorage reportLegacyStorage;
+
     @Override
     public SharedFileDto getReportFileInfo(String applyUserId,
                                            String applyUserNm,
-                                           Integer targetYm) throws BusinessException {
+                                           Integer targetYm) throws IOException, BusinessException {
 
-        // ダウンロードファイルパスの生成
-        Path filePath = createReportFilePath(properties.getReportStorage(), applyUserId, targetYm);
-        if (!filePath.toFile().exists()) {
+        // 月報ファイル格納先の取得
+        SharedFileDto dto = createReportFileDto(tReportRevisionDao.selectLatestByReport(applyUserId, targetYm),
+                                                applyUserId,
+                                                targetYm);
+        if (dto.getStorage().stat(dto.getStorageKey()) == null) {
             // 月報ファイルが見つかりません
             throw new BusinessException(MessageEnum.error012, String.valueOf(targetYm), applyUserNm);
         }
 
         // ダウンロードファイル名の生成
-        String fileNm = createReportDownloadFileNm1(applyUserId, applyUserNm, targetYm);
-
-        // 返却用情報の生成
-        SharedFileDto dto = new SharedFileDto();
-        dto.setFilePath(filePath);
-        dto.setFileNm(fileNm);
+        dto.setFileNm(createReportDownloadFileNm1(applyUserId, applyUserNm, targetYm));
 
         return dto;
     }
 
     @Override
-    public SharedFileDto createReportFileBulk(List<SharedSubmitReportFileDto> reportFileDtoList,
-                                              ReportNmPattern reportNmPattern) throws IOException, BusinessException {
+    public SharedFileDto getReportFileInfo(String applyUserId,
+                                           Integer targetYm) throws IOException, BusinessException {
+        // 申請者名の取得（ユーザが削除済みの場合は申請者IDで代替）
+        VMUser mUser = vMUserDao.selectById(applyUserId);
+        String applyUserNm = mUser == null ? applyUserId : mUser.getUserNm();
 
-        // zipファイル名・ファイルパスの生成
-        DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
-        String zipFileNm = "report" + LocalDateTime.now().format(dateFormat) + ".zip";
-        Path zipPath = Paths.get(properties.getTemporaryStorage(), zipFileNm);
-
-        // zipファイル生成
-        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zipPath.toFile()), FILE_NM_CHARSET)) {
-            for (SharedSubmitReportFileDto dto : reportFileDtoList) {
-                String applyUserId = dto.getApplyUserId();
-                Integer targetYm = dto.getTargetYm();
-                VMUser mUser = vMUserDao.selectById(dto.getApplyUserId());
-
-                // ダウンロードファイルパスの生成
-                Path filePath = createReportFilePath(properties.getReportStorage(), applyUserId, targetYm);
-                if (!filePath.toFile().exists()) {
-                    // 月報ファイルが見つかりません
-                    throw new BusinessException(MessageEnum.error012, String.valueOf(targetYm), mUser.getUserNm());
-                }
+        return getReportFileInfo(applyUserId, applyUserNm, targetYm);
+    }
 
-                // ダウンロードファイル名の生成
-                String fileNm;
-                if (reportNmPattern == ReportNmPattern.NOMAL) {
-                    // 通常のファイル名
-                    fileNm = createReportDownloadFileNm1(applyUserId, mUser.getUserNm(), targetYm);
-                } else {
-                    // 提出用のファイル名
-                    fileNm = createReportDownlaodFileNm2(applyUserId,
-                                                         mUser.getUserNm(),
-                                                         targetYm,
-                                                         mUser.getDepartmentRnm());
-                }
+    @Override
+    public SharedZipFileDto createReportFileBulkInfo(List<SharedSubmitReportFileDto> reportFileDtoList,
+                                                     ReportNmPattern reportNmPattern) throws IOException,
+                                                                                      BusinessException {
 
-                // zipファイルに月報ファイルを追加
-                ZipEntry entry = new ZipEntry(fileNm);
-                zos.putNextEntry(entry);
-                Files.copy(filePath, zos);
+        // zipファイル名の生成
+        DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+        SharedZipFileDto zipFileDto = new SharedZipFileDto();
+        zipFileDto.setZipFileNm("report" + LocalDateTime.now().format(dateFormat) + ".zip");
+
+        // 申請者情報・最新の月報ファイル履歴の一括取得
+        Map<String, VMUser> mUserMap = selectApplyUserMap(reportFileDtoList);
+        Map<String, TReportRevision> revisionMap = selectLatestRevisionMap(reportFileDtoList);
+
+        for (SharedSubmitReportFileDto dto : reportFileDtoList) {
+            String applyUserId = dto.getApplyUserId();
+            Integer targetYm = dto.getTargetYm();
+            VMUser mUser = mUserMap.get(applyUserId);
+
+            // 月報ファイル格納先の取得
+            SharedFileDto fileDto = createReportFileDto(revisionMap.get(createReportKey(applyUserId, targetYm)),
+                                                        applyUserId,
+                                                        targetYm);
+            if (fileDto.getStorage().stat(fileDto.getStorageKey()) == null) {
+                // 月報ファイルが見つかりません
+                throw new BusinessException(MessageEnum.error012, String.valueOf(targetYm), mUser.getUserNm());
             }
-        } catch (Exception e) {
-            logger.warn("zipファイルの生成に失敗 -> {}", zipPath);
-            throw e;
+
+            // ダウンロードファイル名の生成
+            String fileNm;
+            if (reportNmPattern == ReportNmPattern.NOMAL) {
+                // 通常のファイル名
+                fileNm = createReportDownloadFileNm1(applyUserId, mUser.getUserNm(), targetYm);
+            } else {
+                // 提出用のファイル名
+                fileNm = createReportDownlaodFileNm2(applyUserId,
+                                                     mUser.getUserNm(),
+                                                     targetYm,
+                                                     mUser.getDepartmentRnm());
+            }
+
+            // 格納ファイル情報の追加
+            fileDto.setFileNm(fileNm);
+            zipFileDto.getFileList().add(fileDto);
         }
 
-        // 返却用情報の生成
-        SharedFileDto dto = new SharedFileDto();
-        dto.setFilePath(zipPath);
-        dto.setFileNm(zipFileNm);
+        return zipFileDto;
+    }
 
-        return dto;
+    @Override
+    public void writeReportFileBulk(SharedZipFileDto zipFileDto,
+                                    OutputStream outputStream) throws IOException {
+        try (ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(outputStream, ZIP_BUFFER_SIZE),
+                                                       FILE_NM_CHARSET)) {
+            // 月報ファイル(xlsx)は圧縮済みの為、圧縮率よりも速度を優先する
+            zos.setLevel(Deflater.BEST_SPEED);
+
+            // 月報ファイルを1件ずつ読み込みながらzipエントリとして出力
+            for (SharedFileDto fileDto : zipFileDto.getFileList()) {
+                zos.putNextEntry(new ZipEntry(fileDto.getFileNm()));
+                try (InputStream inputStream = fileDto.getStorage().read(fileDto.getStorageKey())) {
+                    StreamUtils.copy(inputStream, zos);
+                }
+                zos.closeEntry();
+            }
+        }
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void saveReportFile(MultipartFile file,
                                String applyUserId,
                                Integer targetYm) throws IOException {
-        // 月報保存ファイルパスの生成
-        Path filePath = createReportFilePath(properties.getReportStorage(), applyUserId, targetYm);
-
         // 月報保存処理
-        RmsFileUtils.fileSave(file.getInputStream(), filePath);
+        Lock lock = getReportFileLock(applyUserId, targetYm);
+        lock.lock();
+        try (InputStream inputStream = file.getInputStream()) {
+            addReportRevision(applyUserId, targetYm, contentStore.put(inputStream));
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void saveReportFile(Path fromFilePath,
                                String applyUserId,
                                Integer targetYm) throws IOException {
-        // 月報保存ファイルパスの生成
-        Path toFilePath = createReportFilePath(properties.getReportStorage(), applyUserId, targetYm);
-
         // 月報保存処理
-        RmsFileUtils.fileSave(fromFilePath, toFilePath);
+        Lock lock = getReportFileLock(applyUserId, targetYm);
+        lock.lock();
+        try {
+            addReportRevision(applyUserId, targetYm, contentStore.put(fromFilePath));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String storeReportFile(Path filePath) throws IOException {
+        return contentStore.put(filePath);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void addReportRevision(String applyUserId,
+                                  Integer targetYm,
+                                  String contentHash) throws IOException {
+        TReportRevision entity = new TReportRevision();
+        entity.setApplyUserId(applyUserId);
+        entity.setTargetYm(targetYm);
+        entity.setContentHash(contentHash);
+        ReportStorageObject object = contentStore.stat(contentHash);
+        if (object == null) {
+            throw new NoSuchFileException(contentHash);
+        }
+        entity.setFileSize(object.getSize());
+        tReportRevisionDao.insert(entity);
     }
 
     @Override
-    public List<SharedFileDto> unZipReportFileInfo(MultipartFile file) throws IOException {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<TReportRevision> getReportRevisionList(String applyUserId,
+                                                       Integer targetYm) {
+        return tReportRevisionDao.selectListByReport(applyUserId, targetYm);
+    }
+
+    @Override
+    public SharedUnzipDto unZipReportFileInfo(MultipartFile file) throws IOException, BusinessException {
 
-        // 解凍後の月報情報リスト
-        List<SharedFileDto> reportList = new ArrayList<>();
+        // 一時フォルダの容量確認（月報ファイルは圧縮済みの為、zipファイルのサイズで見積もる）
+        tempStorage.checkQuota(file.getSize());
 
         // zipアップロード一時格納先ディレクトリの生成
-        DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
-        Path unzipDir = Paths.get(properties.getTemporaryStorage(), LocalDateTime.now().format(dateFormat));
-        unzipDir.toFile().mkdirs();
+        Path unzipDir = tempStorage.createDirectory("unzip");
+
+        SharedUnzipDto unzipDto = new SharedUnzipDto(tempStorage);
+        unzipDto.setUnzipDir(unzipDir);
 
-        // zipファイルパスの生成
-        Path zipPath = unzipDir.resolve("report.zip");
+        // zipファイルの解凍処理（エラー時は一時ディレクトリを削除）
+        try {
+            byte[] buf = new byte[UNZIP_BUFFER_SIZE];
+            unZipReportFile(file, (fileNm, inputStream) -> {
+                // 解凍ファイルを出力する
+                Path reportFile = unzipDir.resolve(fileNm);
+                try (OutputStream os = Files.newOutputStream(reportFile)) {
+                    int size = 0;
+                    while ((size = inputStream.read(buf)) > 0) {
+                        os.write(buf, 0, size);
+                    }
+                }
+
+                // 返却情報の設定
+                SharedFileDto dto = new SharedFileDto();
+                dto.setFilePath(reportFile);
+                dto.setFileNm(fileNm);
+                unzipDto.getFileList().add(dto);
+            });
+        } catch (IOException | BusinessException | RuntimeException e) {
+            unzipDto.close();
+            throw e;
+        }
 
-        // zipファイルの保存
-        RmsFileUtils.fileSave(file.getInputStream(), zipPath);
+        return unzipDto;
+    }
 
-        // zipファイルの解凍処理
-        try (ZipInputStream zis = new ZipInputStream(new FileInputStream(zipPath.toFile()), FILE_NM_CHARSET)) {
+    @Override
+    public int unZipReportFile(MultipartFile file,
+                               ZipEntryConsumer consumer) throws IOException, BusinessException {
+        int maxEntries = properties.getReportUnzipMaxEntries();
+        long maxEntrySize = properties.getReportUnzipMaxEntrySize();
+        long maxTotalSize = properties.getReportUnzipMaxTotalSize();
+
+        int count = 0;
+        long totalSize = 0;
+        Set<String> fileNmSet = new HashSet<>();
+        try (ZipInputStream zis = new ZipInputStream(new BufferedInputStream(file.getInputStream(), UNZIP_BUFFER_SIZE),
+                                                     FILE_NM_CHARSET)) {
             ZipEntry entry = null;
             while ((entry = zis.getNextEntry()) != null) {
                 if (entry.isDirectory()) {
@@ -181,34 +319,133 @@ public class SharedReportFileServiceImpl implements SharedReportFileService {
                     continue;
                 }
 
-                // 解凍先の月報ファイルパスを生成
-                File reportFile = unzipDir.resolve(entry.getName()).toFile();
-
-                // 解凍先ディレクトリの生成
-                reportFile.getParentFile().mkdirs();
+                // ファイル数の確認
+                if (++count > maxEntries) {
+                    throw new BusinessException(MessageEnum.error019, "ファイル数", maxEntries);
+                }
 
-                // 解凍ファイルを出力する
-                try (FileOutputStream fos = new FileOutputStream(reportFile)) {
-                    byte[] buf = new byte[256];
-                    int size = 0;
-                    while ((size = zis.read(buf)) > 0) {
-                        fos.write(buf, 0, size);
-                    }
+                // ファイル名の重複確認（ディレクトリ部分の除去により同名となる場合を含む）
+                String fileNm = getEntryFileNm(entry);
+                if (!fileNmSet.add(fileNm)) {
+                    throw new BusinessException(MessageEnum.error021, fileNm);
                 }
 
-                // 返却情報の設定
-                SharedFileDto dto = new SharedFileDto();
-                dto.setFilePath(reportFile.toPath());
-                dto.setFileNm(reportFile.getName());
-                reportList.add(dto);
+                // 月報ファイルの処理（読み込みサイズを監視）
+                LimitedInputStream entryStream = new LimitedInputStream(zis, maxEntrySize, maxTotalSize,
+                                                                     maxTotalSize - totalSize);
+                try {
+                    consumer.accept(fileNm, entryStream);
+                } catch (LimitExceededException e) {
+                    throw new BusinessException(MessageEnum.error019, e.getLimitNm(), e.getLimitSize());
+                }
+                totalSize += entryStream.getReadSize();
             }
         }
 
-        return reportList;
+        return count;
+    }
+
+    /**
+     * zipエントリのファイル名を取得<br>
+     * zipファイル外への展開を防ぐ為、ディレクトリ部分は除去する
+     * @param entry
+     * @return
+     */
+    String getEntryFileNm(ZipEntry entry) {
+        String entryNm = entry.getName();
+        int index = Math.max(entryNm.lastIndexOf('/'), entryNm.lastIndexOf('\\'));
+        return entryNm.substring(index + 1);
+    }
+
+    /**
+     * 月報ファイル保存のロックを取得
+     * @param applyUserId
+     * @param targetYm
+     * @return
+     */
+    Lock getReportFileLock(String applyUserId,
+                           Integer targetYm) {
+        return reportFileLock.get(applyUserId, targetYm);
+    }
+
+    /**
+     * 申請者情報の一括取得<br>
+     * 月報ファイル情報リストに含まれる申請者のユーザ名・部署情報を1回のSQLで取得する
+     * @param reportFileDtoList
+     * @return 申請者情報マップ[key:申請者ID]
+     */
+    Map<String, VMUser> selectApplyUserMap(List<SharedSubmitReportFileDto> reportFileDtoList) {
+        // 申請者IDの重複除去
+        List<String> applyUserIdList = reportFileDtoList.stream()
+                                                        .map(SharedSubmitReportFileDto::getApplyUserId)
+                                                        .distinct()
+                                                        .collect(Collectors.toList());
+        if (applyUserIdList.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        return vMUserDao.selectSimpleByIdList(applyUserIdList)
+                        .stream()
+                        .collect(Collectors.toMap(VMUser::getUserId, Function.identity()));
+    }
+
+    /**
+     * 最新の月報ファイル履歴の一括取得
+     * @param reportFileDtoList
+     * @return 最新の月報ファイル履歴マップ[key:申請者ID・対象年月]
+     */
+    Map<String, TReportRevision> selectLatestRevisionMap(List<SharedSubmitReportFileDto> reportFileDtoList) {
+        List<TReportRevision> reportList = reportFileDtoList.stream().map(dto -> {
+            TReportRevision report = new TReportRevision();
+            report.setApplyUserId(dto.getApplyUserId());
+            report.setTargetYm(dto.getTargetYm());
+            return report;
+        }).collect(Collectors.toList());
+        if (reportList.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        return tReportRevisionDao.selectLatestListByReportList(reportList)
+                                 .stream()
+                                 .collect(Collectors.toMap(r -> createReportKey(r.getApplyUserId(), r.getTargetYm()),
+                                                           Function.identity()));
+    }
+
+    /**
+     * 月報ファイル格納先の取得<br>
+     * 月報ファイル履歴が無い場合（履歴管理前に保存した月報）は月報格納フォルダのファイルとする
+     * @param revision 最新の月報ファイル履歴
+     * @param applyUserId
+     * @param targetYm
+     * @return 格納先・キーを設定したファイル情報
+     */
+    SharedFileDto createReportFileDto(TReportRevision revision,
+                                      String applyUserId,
+                                      Integer targetYm) {
+        SharedFileDto dto = new SharedFileDto();
+        if (revision != null) {
+            dto.setStorage(contentStore.getStorage());
+            dto.setStorageKey(revision.getContentHash());
+        } else {
+            dto.setStorage(reportLegacyStorage);
+            dto.setStorageKey(createReportFileNm(applyUserId, targetYm));
+        }
+        return dto;
+    }
+
+    /**
+     * 月報のキーの生成
+     * @param applyUserId
+     * @param targetYm
+     * @return
+     */
+    String createReportKey(String applyUserId,
+                           Integer targetYm) {
+        return targetYm + Const.REPORT_FILE_DELIMITER + applyUserId;
     }
 
     /**
-     * 月報ファイルパスの生成
+     * 月報ファイルパスの生成（履歴管理前の月報ファイル）
      * @param storageDir
      * @param applyUserId
      * @param targetYm
@@ -217,8 +454,18 @@ public class SharedReportFileServiceImpl implements SharedReportFileService {
     Path createReportFilePath(String storageDir,
                               String applyUserId,
                               Integer targetYm) {
-        String filePath = targetYm + Const.REPORT_FILE_DELIMITER + applyUserId + ".xlsx";
-        return Paths.get(storageDir, filePath);
+        return Paths.get(storageDir, createReportFileNm(applyUserId, targetYm));
+    }
+
+    /**
+     * 月報ファイル名の生成（履歴管理前の月報ファイル）
+     * @param applyUserId
+     * @param targetYm
+     * @return ファイル名[yyyymm_userId.xlsx]
+     */
+    String createReportFileNm(String applyUserId,
+                              Integer targetYm) {
+        return targetYm + Const.REPORT_FILE_DELIMITER + applyUserId + ".xlsx";
     }
 
     /**
@@ -271,4 +518,108 @@ public class SharedReportFileServiceImpl implements SharedReportFileService {
         return sb.toString();
     }
 
+    /**
+     * 読み込みサイズ上限付きストリーム<br>
+     * zipエントリの読み込みサイズを監視し、上限を超えた場合は{@link LimitExceededException}を発生させる。
+     * クローズしても元のストリームはクローズしない
+     */
+    static class LimitedInputStream extends FilterInputStream {
+
+        /** 1ファイルあたりのサイズ上限 */
+        private final long maxEntrySize;
+
+        /** 合計サイズ上限（エラー表示用） */
+        private final long maxTotalSize;
+
+        /** 合計サイズの残り（処理済みファイルを除いた上限） */
+        private final long remainTotalSize;
+
+        /** 読み込みサイズ */
+        private long readSize = 0;
+
+        LimitedInputStream(InputStream in,
+                           long maxEntrySize,
+                           long maxTotalSize,
+                           long remainTotalSize) {
+            super(in);
+            this.maxEntrySize = maxEntrySize;
+            this.maxTotalSize = maxTotalSize;
+            this.remainTotalSize = remainTotalSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b,
+                        int off,
+                        int len) throws IOException {
+            int size = super.read(b, off, len);
+            if (size > 0) {
+                count(size);
+            }
+            return size;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long size = super.skip(n);
+            count(size);
+            return size;
+        }
+
+        @Override
+        public void close() {
+            // 元のストリーム（zip）はクローズしない
+        }
+
+        long getReadSize() {
+            return readSize;
+        }
+
+        private void count(long size) throws LimitExceededException {
+            readSize += size;
+            if (readSize > maxEntrySize) {
+                throw new LimitExceededException("ファイルサイズ", maxEntrySize);
+            }
+            if (readSize > remainTotalSize) {
+                throw new LimitExceededException("合計ファイルサイズ", maxTotalSize);
+            }
+        }
+    }
+
+    /**
+     * zipファイルの読み込みサイズ上限超過
+     */
+    static class LimitExceededException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        /** 上限名 */
+        private final String limitNm;
+
+        /** 上限値 */
+        private final long limitSize;
+
+        LimitExceededException(String limitNm,
+                               long limitSize) {
+            super(limitNm + "の上限を超えています：" + limitSize);
+            this.limitNm = limitNm;
+            this.limitSize = limitSize;
+        }
+
+        String getLimitNm() {
+            return limitNm;
+        }
+
+        long getLimitSize() {
+            return limitSize;
+        }
+    }
+
 }
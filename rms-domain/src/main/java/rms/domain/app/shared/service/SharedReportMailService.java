@@ -0,0 +1,21 @@
+package rms.domain.app.shared.service;
+
+import java.util.List;
+
+import rms.common.entity.VTReport;
+
+/**
+ * 月報メール関連共通サービスインタフェース
+ * @author
+ */
+public interface SharedReportMailService {
+
+    /**
+     * 承認状況の通知メールを送信待ちに登録<br>
+     * 承認待ちの場合は承認者へ承認依頼、差戻・否認の場合は申請者へ通知する（承認済みの通知は承認完了メール送信バッチで行う）<br>
+     * メールアドレスが未登録のユーザには送信しない
+     * @param reportList 月報情報（申請者ID・対象年月・承認者１～４・処理後の承認状況を設定）
+     */
+    public void enqueueStatusMail(List<VTReport> reportList);
+
+}
@@ -0,0 +1,160 @@
+package rms.domain.app.shared.service;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.mail.internet.AddressException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import rms.common.consts.MCodeConst;
+import rms.common.dao.VMUserDao;
+import rms.common.entity.VMUser;
+import rms.common.entity.VTReport;
+import rms.common.utils.RmsMailInfo;
+import rms.common.utils.RmsMailOutbox;
+import rms.common.utils.RmsStringUtils;
+import rms.common.utils.RmsUtils;
+
+/**
+ * 月報メール関連共通サービス実装
+ * @author
+ */
+@Service
+@Transactional(rollbackFor = Exception.class)
+public class SharedReportMailServiceImpl implements SharedReportMailService {
+
+    /** logger */
+    private static final Logger logger = LoggerFactory.getLogger(SharedReportMailServiceImpl.class);
+
+    /** 件名：承認依頼 {0}:申請者名 {1}:対象年月 */
+    static final String SUBJECT_APPROVE_REQUEST = "【月報管理】月報の承認依頼（{0} {1}）";
+    /** 本文：承認依頼 {0}:宛先名 {1}:申請者名 {2}:対象年月 */
+    static final String TEXT_APPROVE_REQUEST = "{0} 様\n\n{1} さんの{2}の月報が承認待ちです。\n月報承認画面から承認してください。\n";
+    /** 件名：差戻 {0}:対象年月 */
+    static final String SUBJECT_REMAND = "【月報管理】月報の差戻（{0}）";
+    /** 本文：差戻 {0}:宛先名 {1}:対象年月 */
+    static final String TEXT_REMAND = "{0} 様\n\n{1}の月報が差し戻されました。\n内容を修正して再申請してください。\n";
+    /** 件名：否認 {0}:対象年月 */
+    static final String SUBJECT_DENY = "【月報管理】月報の否認（{0}）";
+    /** 本文：否認 {0}:宛先名 {1}:対象年月 */
+    static final String TEXT_DENY = "{0} 様\n\n{1}の月報が否認されました。\n";
+
+    /** メール送信待ち登録 */
+    @Autowired
+    RmsMailOutbox rmsMailOutbox;
+
+    @Autowired
+    VMUserDao vMUserDao;
+
+    @Override
+    public void enqueueStatusMail(List<VTReport> reportList) {
+        // 宛先・申請者のユーザ情報を一括取得
+        Set<String> userIdSet = new LinkedHashSet<>();
+        for (VTReport report : reportList) {
+            String toUserId = getToUserId(report);
+            if (toUserId != null) {
+                userIdSet.add(toUserId);
+                userIdSet.add(report.getApplyUserId());
+            }
+        }
+        if (userIdSet.isEmpty()) {
+            return;
+        }
+        Map<String, VMUser> userMap = vMUserDao.selectSimpleByIdList(new ArrayList<>(userIdSet))
+                                               .stream()
+                                               .collect(Collectors.toMap(VMUser::getUserId, Function.identity()));
+
+        // メール情報の生成
+        List<RmsMailInfo> mailInfoList = new ArrayList<>();
+        for (VTReport report : reportList) {
+            String toUserId = getToUserId(report);
+            VMUser toUser = toUserId != null ? userMap.get(toUserId) : null;
+            if (toUser == null || RmsStringUtils.isEmpty(toUser.getEmail())) {
+                continue;
+            }
+            try {
+                mailInfoList.add(createMailInfo(report, toUser, userMap.get(report.getApplyUserId())));
+            } catch (AddressException e) {
+                // アドレス不正は業務処理を止めずに通知を見送る
+                logger.warn("メールアドレス不正 -> userId：{} email：{}", toUser.getUserId(), toUser.getEmail());
+            }
+        }
+
+        rmsMailOutbox.enqueue(mailInfoList);
+    }
+
+    /**
+     * 承認状況に応じた宛先ユーザIDの取得（通知なしの場合はnull）
+     * @param report
+     * @return
+     */
+    String getToUserId(VTReport report) {
+        switch (report.getStatus()) {
+        case MCodeConst.A001_Y01:
+            return report.getApproveUserId1();
+        case MCodeConst.A001_Y02:
+            return report.getApproveUserId2();
+        case MCodeConst.A001_Y03:
+            return report.getApproveUserId3();
+        case MCodeConst.A001_Y04:
+            return report.getApproveUserId4();
+        case MCodeConst.A001_AAA:
+        case MCodeConst.A001_N01:
+        case MCodeConst.A001_N02:
+        case MCodeConst.A001_N03:
+        case MCodeConst.A001_N04:
+            return report.getApplyUserId();
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * メール情報の生成
+     * @param report
+     * @param toUser
+     * @param applyUser
+     * @return
+     * @throws AddressException
+     */
+    RmsMailInfo createMailInfo(VTReport report,
+                               VMUser toUser,
+                               VMUser applyUser) throws AddressException {
+        String targetYm = RmsUtils.formatTargetYm(report.getTargetYm());
+        String applyUserNm = applyUser != null ? applyUser.getUserNm() : report.getApplyUserId();
+
+        String subject;
+        String text;
+        switch (report.getStatus()) {
+        case MCodeConst.A001_AAA:
+            subject = MessageFormat.format(SUBJECT_REMAND, targetYm);
+            text = MessageFormat.format(TEXT_REMAND, toUser.getUserNm(), targetYm);
+            break;
+        case MCodeConst.A001_N01:
+        case MCodeConst.A001_N02:
+        case MCodeConst.A001_N03:
+        case MCodeConst.A001_N04:
+            subject = MessageFormat.format(SUBJECT_DENY, targetYm);
+            text = MessageFormat.format(TEXT_DENY, toUser.getUserNm(), targetYm);
+            break;
+        default:
+            subject = MessageFormat.format(SUBJECT_APPROVE_REQUEST, applyUserNm, targetYm);
+            text = MessageFormat.format(TEXT_APPROVE_REQUEST, toUser.getUserNm(), applyUserNm, targetYm);
+            break;
+        }
+
+        return new RmsMailInfo().addToAddr(toUser.getEmail()).setSubject(subject).setText(text);
+    }
+
+}
@@ -1,6 +1,7 @@
 package rms.domain.app.shared.service;
 
 import rms.common.consts.Const.StatusExecKbn;
+import rms.common.entity.VTReport;
 
 /**
  * 月報関連共通サービスインタフェース
@@ -9,7 +10,8 @@ import rms.common.consts.Const.StatusExecKbn;
 public interface SharedReportService {
 
     /**
-     * 処理後の承認状況を計算して返却
+     * 処理後の承認状況を計算して返却<br>
+     * 月報情報をデータベースから取得して計算する（取得済みの場合は月報情報を渡す方を使用すること）
      * @param applyUserId 申請者ID
      * @param targetYm 対象年月
      * @param execKbn 承認状況処理区分[申請or承認or否認]
@@ -19,4 +21,14 @@ public interface SharedReportService {
                                Integer targetYm,
                                StatusExecKbn execKbn);
 
+    /**
+     * 処理後の承認状況を計算して返却<br>
+     * 取得済みの月報情報を基に計算する（データベースへのアクセスなし）
+     * @param entity 月報情報
+     * @param execKbn 承認状況処理区分[申請or承認or否認]
+     * @return 承認状況
+     */
+    public String getNewStatus(VTReport entity,
+                               StatusExecKbn execKbn);
+
 }
\ No newline at end of file
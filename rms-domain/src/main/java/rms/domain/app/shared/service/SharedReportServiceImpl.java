@@ -1,5 +1,9 @@
 package rms.domain.app.shared.service;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,119 +45,116 @@ public class SharedReportServiceImpl implements SharedReportService {
         return getNewStatus(entity, execKbn);
     }
 
-    String getNewStatus(VTReport entity,
-                        StatusExecKbn execKbn) {
-        // 処理後の承認状況
-        String newStatus = null;
-
+    @Override
+    public String getNewStatus(VTReport entity,
+                               StatusExecKbn execKbn) {
         String status = entity.getStatus();
-        String approveUserId1 = entity.getApproveUserId1();
-        String approveUserId2 = entity.getApproveUserId2();
-        String approveUserId3 = entity.getApproveUserId3();
-        String approveUserId4 = entity.getApproveUserId4();
-
-        // 承認状況の計算（現在の承認状況と承認者の有無で判断）
-        switch (execKbn) {
-        case APPLY:
-            // 申請
-            if (!RmsStringUtils.isEmpty(approveUserId1)) {
-                newStatus = MCodeConst.A001_Y01;
-            } else if (!RmsStringUtils.isEmpty(approveUserId2)) {
-                newStatus = MCodeConst.A001_Y02;
-            } else if (!RmsStringUtils.isEmpty(approveUserId3)) {
-                newStatus = MCodeConst.A001_Y03;
-            } else if (!RmsStringUtils.isEmpty(approveUserId4)) {
-                newStatus = MCodeConst.A001_Y04;
-            } else {
-                newStatus = MCodeConst.A001_ZZZ;
-            }
-            break;
-
-        case APPROVE:
-            // 承認
-            if (MCodeConst.A001_Y01.equals(status)) {
-                if (!RmsStringUtils.isEmpty(approveUserId2)) {
-                    newStatus = MCodeConst.A001_Y02;
-                } else if (!RmsStringUtils.isEmpty(approveUserId3)) {
-                    newStatus = MCodeConst.A001_Y03;
-                } else if (!RmsStringUtils.isEmpty(approveUserId4)) {
-                    newStatus = MCodeConst.A001_Y04;
-                } else {
-                    newStatus = MCodeConst.A001_ZZZ;
-                }
-            } else if (MCodeConst.A001_Y02.equals(status)) {
-                if (!RmsStringUtils.isEmpty(approveUserId3)) {
-                    newStatus = MCodeConst.A001_Y03;
-                } else if (!RmsStringUtils.isEmpty(approveUserId4)) {
-                    newStatus = MCodeConst.A001_Y04;
-                } else {
-                    newStatus = MCodeConst.A001_ZZZ;
-                }
-            } else if (MCodeConst.A001_Y03.equals(status)) {
-                if (!RmsStringUtils.isEmpty(approveUserId4)) {
-                    newStatus = MCodeConst.A001_Y04;
-                } else {
-                    newStatus = MCodeConst.A001_ZZZ;
-                }
-            } else if (MCodeConst.A001_Y04.equals(status)) {
-                newStatus = MCodeConst.A001_ZZZ;
-            }
-            break;
-
-        case REMAND:
-            // 差戻
-            if (MCodeConst.A001_Y04.equals(status)) {
-                if (!RmsStringUtils.isEmpty(approveUserId3)) {
-                    newStatus = MCodeConst.A001_Y03;
-                } else if (!RmsStringUtils.isEmpty(approveUserId2)) {
-                    newStatus = MCodeConst.A001_Y02;
-                } else if (!RmsStringUtils.isEmpty(approveUserId1)) {
-                    newStatus = MCodeConst.A001_Y01;
-                } else {
-                    newStatus = MCodeConst.A001_N04;
-                }
-            } else if (MCodeConst.A001_Y03.equals(status)) {
-                if (!RmsStringUtils.isEmpty(approveUserId2)) {
-                    newStatus = MCodeConst.A001_Y02;
-                } else if (!RmsStringUtils.isEmpty(approveUserId1)) {
-                    newStatus = MCodeConst.A001_Y01;
-                } else {
-                    newStatus = MCodeConst.A001_N03;
-                }
-            } else if (MCodeConst.A001_Y02.equals(status)) {
-                if (!RmsStringUtils.isEmpty(approveUserId1)) {
-                    newStatus = MCodeConst.A001_Y01;
-                } else {
-                    newStatus = MCodeConst.A001_N02;
-                }
-            } else if (MCodeConst.A001_Y01.equals(status)) {
-                newStatus = MCodeConst.A001_N01;
-            }
-            break;
-
-        case DENY:
-            // 否認
-            switch (status) {
-            case MCodeConst.A001_Y01:
-                newStatus = MCodeConst.A001_N01;
-                break;
-            case MCodeConst.A001_Y02:
-                newStatus = MCodeConst.A001_N02;
-                break;
-            case MCodeConst.A001_Y03:
-                newStatus = MCodeConst.A001_N03;
-                break;
-            case MCodeConst.A001_Y04:
-                newStatus = MCodeConst.A001_N04;
-                break;
-            }
-            break;
 
-        }
+        // 承認状況の計算（現在の承認状況・処理区分・承認者の有無から遷移表を参照）
+        String[][] row = STATUS_TRANSITION.getOrDefault(status, STATUS_TRANSITION_OTHER);
+        String newStatus = row[execKbn.ordinal()][getApproveUserMask(entity)];
 
         logger.debug("承認状況 -> {} → {} ", status, newStatus);
 
         return newStatus;
     }
 
+    /**
+     * 承認者の設定有無をビットで取得（承認者１：1, 承認者２：2, 承認者３：4, 承認者４：8）
+     * @param entity
+     * @return
+     */
+    static int getApproveUserMask(VTReport entity) {
+        int mask = 0;
+        //@formatter:off
+        if (!RmsStringUtils.isEmpty(entity.getApproveUserId1())) mask |= 1;
+        if (!RmsStringUtils.isEmpty(entity.getApproveUserId2())) mask |= 2;
+        if (!RmsStringUtils.isEmpty(entity.getApproveUserId3())) mask |= 4;
+        if (!RmsStringUtils.isEmpty(entity.getApproveUserId4())) mask |= 8;
+        //@formatter:on
+        return mask;
+    }
+
+    /* 承認状況遷移表 ----------------------------------------------------------- */
+
+    /** 承認者数 */
+    private static final int APPROVE_USER_CNT = 4;
+
+    /** 承認待ち（承認者１～４） */
+    private static final String[] STATUS_WAIT = { MCodeConst.A001_Y01, MCodeConst.A001_Y02, MCodeConst.A001_Y03, MCodeConst.A001_Y04 };
+
+    /** 否認（承認者１～４） */
+    private static final String[] STATUS_DENY = { MCodeConst.A001_N01, MCodeConst.A001_N02, MCodeConst.A001_N03, MCodeConst.A001_N04 };
+
+    /** 承認状況遷移表（キー：現在の承認状況、[処理区分][承認者の設定有無] → 処理後の承認状況） */
+    private static final Map<String, String[][]> STATUS_TRANSITION;
+
+    /** 承認状況遷移表（承認待ち以外の承認状況：申請のみ可能） */
+    private static final String[][] STATUS_TRANSITION_OTHER = createTransitionRow(-1);
+
+    static {
+        Map<String, String[][]> map = new HashMap<>();
+        for (int i = 0; i < APPROVE_USER_CNT; i++) {
+            map.put(STATUS_WAIT[i], createTransitionRow(i));
+        }
+        STATUS_TRANSITION = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * 承認状況遷移表の1行を生成
+     * @param waitIdx 現在の承認待ちの承認者（0～3、承認待ち以外は-1）
+     * @return [処理区分][承認者の設定有無] → 処理後の承認状況（遷移不可はnull）
+     */
+    private static String[][] createTransitionRow(int waitIdx) {
+        int maskCnt = 1 << APPROVE_USER_CNT;
+        String[][] row = new String[StatusExecKbn.values().length][maskCnt];
+        for (int mask = 0; mask < maskCnt; mask++) {
+            // 申請：最初の承認者の承認待ち（承認者なしは承認済み）
+            row[StatusExecKbn.APPLY.ordinal()][mask] = nextWait(mask, -1);
+
+            if (waitIdx < 0) {
+                continue;
+            }
+            // 承認：次の承認者の承認待ち（次の承認者なしは承認済み）
+            row[StatusExecKbn.APPROVE.ordinal()][mask] = nextWait(mask, waitIdx);
+            // 差戻：前の承認者の承認待ち（前の承認者なしは否認）
+            row[StatusExecKbn.REMAND.ordinal()][mask] = prevWait(mask, waitIdx);
+            // 否認：現在の承認者の否認
+            row[StatusExecKbn.DENY.ordinal()][mask] = STATUS_DENY[waitIdx];
+        }
+        return row;
+    }
+
+    /**
+     * 指定された承認者より後の承認待ちを取得
+     * @param mask
+     * @param waitIdx
+     * @return
+     */
+    private static String nextWait(int mask,
+                                   int waitIdx) {
+        for (int i = waitIdx + 1; i < APPROVE_USER_CNT; i++) {
+            if ((mask & (1 << i)) != 0) {
+                return STATUS_WAIT[i];
+            }
+        }
+        return MCodeConst.A001_ZZZ;
+    }
+
+    /**
+     * 指定された承認者より前の承認待ちを取得
+     * @param mask
+     * @param waitIdx
+     * @return
+     */
+    private static String prevWait(int mask,
+                                   int waitIdx) {
+        for (int i = waitIdx - 1; i >= 0; i--) {
+            if ((mask & (1 << i)) != 0) {
+                return STATUS_WAIT[i];
+            }
+        }
+        return STATUS_DENY[waitIdx];
+    }
+
 }
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import rms.common.utils.PageInfo;
+import rms.common.utils.PageKey;
 import rms.common.utils.SearchResultDto;
 import rms.common.utils.SelectOptionsUtils;
 
@@ -36,13 +37,9 @@ public class ReportApplyListServiceImpl implements ReportApplyListService {
         SelectOptions options = SelectOptionsUtils.get(pageInfo);
 
         // 検索処理
-        List<ReportApplyListResultEntity> resultList = dao.reportApplyListByCondition(condition, options);
+        List<ReportApplyListResultEntity> resultList = dao.reportApplyListByCondition(condition, pageInfo.getPageKey(), options);
 
         // 検索結果格納
-        SearchResultDto<ReportApplyListResultEntity> resultDto = new SearchResultDto<>();
-        resultDto.setResultList(resultList);
-        resultDto.setCount(options.getCount());
-
-        return resultDto;
+        return SelectOptionsUtils.createResult(resultList, options, pageInfo, e -> new PageKey(e.getTargetYm(), e.getApplyUserId()));
     }
 }
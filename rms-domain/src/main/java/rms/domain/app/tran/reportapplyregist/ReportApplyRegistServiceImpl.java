@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +29,7 @@ import rms.common.utils.RmsBeanUtils;
 import rms.common.utils.RmsStringUtils;
 import rms.common.utils.RmsUtils;
 import rms.domain.app.shared.service.SharedReportFileService;
+import rms.domain.app.shared.service.SharedReportMailService;
 import rms.domain.app.shared.service.SharedReportService;
 
 /**
@@ -54,6 +56,10 @@ public class ReportApplyRegistServiceImpl implements ReportApplyRegistService {
     @Autowired
     SharedReportFileService sharedReportFileService;
 
+    /** 月報メール関連共通サービス */
+    @Autowired
+    SharedReportMailService sharedReportMailService;
+
     /** VMUserDao */
     @Autowired
     VMUserDao vMUserDao;
@@ -269,10 +275,13 @@ public class ReportApplyRegistServiceImpl implements ReportApplyRegistService {
      */
     void updateReportStatus(ReportApplyRegistDto dto) {
 
-        // 処理後の承認状況を計算
-        String newStatus = sharedReportService.getNewStatus(dto.getApplyUserId(),
-                                                            dto.getTargetYm(),
-                                                            Const.StatusExecKbn.APPLY);
+        // 処理後の承認状況を計算（承認者は月報承認フローに登録した内容と同じ）
+        VTReport current = new VTReport();
+        current.setApproveUserId1(dto.getApproveUserId1());
+        current.setApproveUserId2(dto.getApproveUserId2());
+        current.setApproveUserId3(dto.getApproveUserId3());
+        current.setApproveUserId4(dto.getApproveUserId4());
+        String newStatus = sharedReportService.getNewStatus(current, Const.StatusExecKbn.APPLY);
 
         // 月報更新情報の生成
         TReport entity = new TReport();
@@ -280,6 +289,12 @@ public class ReportApplyRegistServiceImpl implements ReportApplyRegistService {
         entity.setTargetYm(dto.getTargetYm());
         entity.setStatus(newStatus);
         tReportDao.updateNoOptimisticLockException(entity);
+
+        // 承認状況の通知メールを送信待ちに登録
+        current.setApplyUserId(dto.getApplyUserId());
+        current.setTargetYm(dto.getTargetYm());
+        current.setStatus(newStatus);
+        sharedReportMailService.enqueueStatusMail(Collections.singletonList(current));
     }
 
     /**
@@ -7,6 +7,8 @@ import org.seasar.doma.Select;
 import org.seasar.doma.boot.ConfigAutowireable;
 import org.seasar.doma.jdbc.SelectOptions;
 
+import rms.common.utils.PageKey;
+
 /**
  * 月報情報取得Dao
  */
@@ -17,11 +19,13 @@ public interface ReportApproveListDao {
     /**
      * 月報情報一覧の取得（承認者用）
      * @param condition
+     * @param pageKey ページ開始キー（1ページ目は{@link PageKey#FIRST_PAGE}）
      * @param options
      * @return
      */
     @Select
     List<ReportApproveListResultEntity> reportApproveListByCondition(ReportApproveListDto condition,
+                                                                     PageKey pageKey,
                                                                      SelectOptions options);
 
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import rms.common.utils.PageInfo;
+import rms.common.utils.PageKey;
 import rms.common.utils.ProjectProperties;
 import rms.common.utils.SearchResultDto;
 import rms.common.utils.SelectOptionsUtils;
@@ -52,14 +53,10 @@ public class ReportApproveListServiceImpl implements ReportApproveListService {
         SelectOptions options = SelectOptionsUtils.get(pageInfo);
 
         // 検索処理
-        List<ReportApproveListResultEntity> resultList = dao.reportApproveListByCondition(condition, options);
+        List<ReportApproveListResultEntity> resultList = dao.reportApproveListByCondition(condition, pageInfo.getPageKey(), options);
 
         // 検索結果格納
-        SearchResultDto<ReportApproveListResultEntity> resultDto = new SearchResultDto<>();
-        resultDto.setResultList(resultList);
-        resultDto.setCount(options.getCount());
-
-        return resultDto;
+        return SelectOptionsUtils.createResult(resultList, options, pageInfo, e -> new PageKey(e.getTargetYm(), e.getApplyUserId()));
     }
 
 }
@@ -2,6 +2,7 @@ package rms.domain.app.tran.reportapproveregist;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.Collections;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +21,7 @@ import rms.common.entity.TReportApproveFlow;
 import rms.common.entity.VTReport;
 import rms.common.utils.RmsBeanUtils;
 import rms.domain.app.shared.service.SharedReportFileService;
+import rms.domain.app.shared.service.SharedReportMailService;
 import rms.domain.app.shared.service.SharedReportService;
 
 /**
@@ -42,6 +44,10 @@ public class ReportApproveRegistServiceImpl implements ReportApproveRegistServic
     @Autowired
     SharedReportFileService sharedReportFileService;
 
+    /** 月報メール関連共通サービス */
+    @Autowired
+    SharedReportMailService sharedReportMailService;
+
     /** TReportDao */
     @Autowired
     TReportDao tReportDao;
@@ -113,14 +119,21 @@ public class ReportApproveRegistServiceImpl implements ReportApproveRegistServic
         /*
          * 更新項目
          */
-        // 処理後の承認状況を計算
-        String newStatus = sharedReportService.getNewStatus(dto.getApplyUserId(), dto.getTargetYm(), execKbn);
+        // 処理後の承認状況を計算（画面表示時に取得した承認状況・承認者で判断。変更されていた場合は排他制御エラー）
+        VTReport current = RmsBeanUtils.createCopyProperties(dto, VTReport.class);
+        String newStatus = sharedReportService.getNewStatus(current, execKbn);
         entity.setStatus(newStatus);
 
         /*
          * 更新処理
          */
         tReportDao.update(entity);
+
+        /*
+         * 承認状況の通知メールを送信待ちに登録
+         */
+        current.setStatus(newStatus);
+        sharedReportMailService.enqueueStatusMail(Collections.singletonList(current));
     }
 
     /**
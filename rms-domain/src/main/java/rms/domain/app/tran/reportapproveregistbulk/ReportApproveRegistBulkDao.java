@@ -0,0 +1,47 @@
+package rms.domain.app.tran.reportapproveregistbulk;
+
+import java.util.List;
+
+import org.seasar.doma.BatchUpdate;
+import org.seasar.doma.Dao;
+import org.seasar.doma.Select;
+import org.seasar.doma.boot.ConfigAutowireable;
+import org.seasar.doma.jdbc.BatchOptimisticLockException;
+
+import rms.common.entity.TReport;
+import rms.common.entity.TReportApproveFlow;
+import rms.common.entity.VTReport;
+
+/**
+ * 月報一括承認Dao
+ */
+@Dao
+@ConfigAutowireable
+public interface ReportApproveRegistBulkDao {
+
+    /**
+     * 月報情報一覧の取得（申請者ID・対象年月の組み合わせを一括で取得）
+     * @param keyList 申請者ID・対象年月を設定した処理結果リスト（1件以上）
+     * @return
+     */
+    @Select
+    List<VTReport> selectReportListByKeyList(List<ReportApproveRegistBulkDto> keyList);
+
+    /**
+     * 月報テーブルの承認状況の一括更新
+     * @param reportList
+     * @return affected rows
+     * @throws BatchOptimisticLockException
+     */
+    @BatchUpdate(sqlFile = true)
+    int[] updateReportStatusBatch(List<TReport> reportList) throws BatchOptimisticLockException;
+
+    /**
+     * 月報承認フローテーブルの承認日の一括更新（排他制御なし）
+     * @param flowList
+     * @return affected rows
+     */
+    @BatchUpdate(sqlFile = true, ignoreVersion = true)
+    int[] updateReportApproveFlowBatch(List<TReportApproveFlow> flowList);
+
+}
@@ -1,9 +1,14 @@
 package rms.domain.app.tran.reportapproveregistbulk;
 
+import java.io.Serializable;
+
 /**
- * 月報一括承認実行結果クラス
+ * 月報一括承認実行結果クラス（画面フォームと共にセッションに保持する）
  */
-public class ReportApproveRegistBulkDto extends rms.common.abstracts.AbstractDto {
+public class ReportApproveRegistBulkDto extends rms.common.abstracts.AbstractDto implements Serializable {
+
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
 
     /* 変数宣言 ------------------------------------------------------------- */
     /** 月報ファイル名 */
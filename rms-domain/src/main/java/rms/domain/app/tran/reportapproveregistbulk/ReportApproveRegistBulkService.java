@@ -2,6 +2,7 @@ package rms.domain.app.tran.reportapproveregistbulk;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.springframework.web.multipart.MultipartFile;
 
@@ -24,4 +25,23 @@ public interface ReportApproveRegistBulkService {
      */
     public List<ReportApproveRegistBulkDto> approveBulk(MultipartFile file,
                                                         UserInfo userInfo) throws BusinessException, IOException;
+
+    /**
+     * 月報情報の一括承認処理<br>
+     * 月報ファイル毎の処理結果は、処理が完了した順に{@code resultListener}へ通知する<br>
+     * （エラーは判明した時点、成功は月報ファイルの保存が完了した時点）<br>
+     * ※通知はトランザクション内で行う為、成功の通知はコミット前となる。
+     * 後続の処理で例外が発生した場合は通知済みの成功分も含めてロールバックされる為、
+     * 通知内容は途中経過として扱い、確定した結果は戻り値（正常終了時）で判断すること<br>
+     * ※月報一括承認画面は完了後に処理結果リストを表示する為、通知先を指定しない{@link #approveBulk(MultipartFile, UserInfo)}を使用する
+     * @param file
+     * @param userInfo
+     * @param resultListener 処理結果の通知先（コミット前の途中経過）
+     * @return 処理結果リスト（zipファイル内の格納順）
+     * @throws BusinessException
+     * @throws IOException
+     */
+    public List<ReportApproveRegistBulkDto> approveBulk(MultipartFile file,
+                                                        UserInfo userInfo,
+                                                        Consumer<ReportApproveRegistBulkDto> resultListener) throws BusinessException, IOException;
 }
@@ -1,14 +1,26 @@
 package rms.domain.app.tran.reportapproveregistbulk;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -17,16 +29,15 @@ import rms.common.auth.UserInfo;
 import rms.common.consts.Const;
 import rms.common.consts.MCodeConst;
 import rms.common.consts.MessageEnum;
-import rms.common.dao.TReportApproveFlowDao;
-import rms.common.dao.TReportDao;
-import rms.common.dao.VTReportDao;
 import rms.common.entity.TReport;
 import rms.common.entity.TReportApproveFlow;
 import rms.common.entity.VTReport;
 import rms.common.exception.BusinessException;
 import rms.common.utils.RmsNumberUtils;
 import rms.domain.app.shared.dto.SharedFileDto;
+import rms.domain.app.shared.dto.SharedUnzipDto;
 import rms.domain.app.shared.service.SharedReportFileService;
+import rms.domain.app.shared.service.SharedReportMailService;
 import rms.domain.app.shared.service.SharedReportService;
 
 /**
@@ -38,7 +49,6 @@ import rms.domain.app.shared.service.SharedReportService;
 public class ReportApproveRegistBulkServiceImpl implements ReportApproveRegistBulkService {
 
     /** logger */
-    @SuppressWarnings("unused")
     private static final Logger logger = LoggerFactory.getLogger(ReportApproveRegistBulkServiceImpl.class);
 
     /** 月報関連共通サービス */
@@ -49,69 +59,176 @@ public class ReportApproveRegistBulkServiceImpl implements ReportApproveRegistBu
     @Autowired
     SharedReportFileService sharedReportFileService;
 
-    /** TReportDao */
+    /** 月報メール関連共通サービス */
     @Autowired
-    TReportDao tReportDao;
+    SharedReportMailService sharedReportMailService;
 
-    /** TReportApproveFlowDao */
+    /** 月報一括承認Dao */
     @Autowired
-    TReportApproveFlowDao tReportApproveFlowDao;
+    ReportApproveRegistBulkDao dao;
 
-    /** VTReportDao */
+    /** 月報ファイル保存用スレッドプール */
     @Autowired
-    VTReportDao vTReportDao;
+    ThreadPoolTaskExecutor reportFileCopyExecutor;
 
     @Override
     public List<ReportApproveRegistBulkDto> approveBulk(MultipartFile file,
                                                         UserInfo userInfo) throws IOException, BusinessException {
+        return approveBulk(file, userInfo, result -> {
+        });
+    }
 
-        List<ReportApproveRegistBulkDto> resultList = new ArrayList<>();
+    @Override
+    public List<ReportApproveRegistBulkDto> approveBulk(MultipartFile file,
+                                                        UserInfo userInfo,
+                                                        Consumer<ReportApproveRegistBulkDto> resultListener) throws IOException, BusinessException {
+        // 月報zipファイルを解凍して月報ファイル一覧を取得（処理後に解凍先ディレクトリを削除）
+        try (SharedUnzipDto unzipDto = sharedReportFileService.unZipReportFileInfo(file)) {
+            return approveBulk(unzipDto.getFileList(), userInfo, resultListener);
+        }
+    }
 
-        // 月報zipファイルを解凍して月報ファイル一覧を取得
-        List<SharedFileDto> reportList = sharedReportFileService.unZipReportFileInfo(file);
-        for (SharedFileDto dto : reportList) {
+    /**
+     * 月報情報の一括承認処理（解凍済みの月報ファイル一覧）
+     * @param reportList
+     * @param userInfo
+     * @param resultListener
+     * @return
+     * @throws IOException
+     */
+    List<ReportApproveRegistBulkDto> approveBulk(List<SharedFileDto> reportList,
+                                                 UserInfo userInfo,
+                                                 Consumer<ReportApproveRegistBulkDto> resultListener) throws IOException {
+        long startTime = System.currentTimeMillis();
 
+        // 月報ファイル名の確認
+        List<ReportApproveRegistBulkDto> resultList = new ArrayList<>();
+        for (SharedFileDto dto : reportList) {
             ReportApproveRegistBulkDto result = new ReportApproveRegistBulkDto();
-
+            result.setFileNm(dto.getFileNm());
             try {
-                result.setFileNm(dto.getFileNm());
-
-                // 月報ファイル名の確認
                 validateReportFileNm(dto.getFileNm());
+                setReportKey(result, dto.getFileNm());
+            } catch (BusinessException e) {
+                setResultNg(result, e, resultListener);
+            }
+            resultList.add(result);
+        }
 
-                // データベースから月報ファイル名を基に月報情報を取得
-                VTReport entity = getReportInfo(dto.getFileNm());
-                result.setTargetYm(entity.getTargetYm());
-                result.setApplyUserId(entity.getApplyUserId());
+        // データベースから月報情報を一括取得
+        Map<String, VTReport> reportMap = selectReportMap(resultList);
+
+        // 承認権限の確認と更新情報の生成（取得済みの月報情報を基にメモリ上で計算）
+        List<TReport> reportUpdateList = new ArrayList<>();
+        List<TReportApproveFlow> flowUpdateList = new ArrayList<>();
+        Map<String, Path> saveFileMap = new LinkedHashMap<>();
+        Map<String, List<ReportApproveRegistBulkDto>> waitResultMap = new HashMap<>();
+        for (int i = 0; i < resultList.size(); i++) {
+            ReportApproveRegistBulkDto result = resultList.get(i);
+            if (result.getStatus() != null) {
+                // 月報ファイル名エラー
+                continue;
+            }
+
+            try {
+                // 月報情報の取得
+                String key = createReportKey(result.getApplyUserId(), result.getTargetYm());
+                VTReport entity = reportMap.get(key);
+                if (entity == null) {
+                    // 「月報情報が見つかりません」
+                    throw new BusinessException(MessageEnum.error009);
+                }
                 result.setApplyUserNm(entity.getApplyUserNm());
 
                 // 承認権限有無の確認
                 validateApproveAuthority(entity, userInfo);
 
-                // 月報テーブル更新処理(承認)
-                updateReportApprove(entity);
+                // 月報テーブル・月報承認フローテーブルの更新情報の生成
+                TReport report = createReportApprove(entity);
+                reportUpdateList.add(report);
+                flowUpdateList.add(createReportApproveFlow(entity));
 
-                // 月報承認フローテーブル登録処理
-                updateReportApproveFlow(entity);
+                // 同一の月報が複数含まれる場合に備え、取得済みの月報情報に処理後の承認状況を反映
+                entity.setStatus(report.getStatus());
+                entity.setVersion(entity.getVersion() + 1);
 
-                // 月報ファイル保存処理
-                saveReportFile(dto.getFilePath(), entity);
+                // 月報ファイルの保存対象（同一の月報は後勝ち）
+                saveFileMap.put(key, reportList.get(i).getFilePath());
+                waitResultMap.computeIfAbsent(key, k -> new ArrayList<>()).add(result);
 
                 result.setStatus(ReportApproveRegistBulkConst.RESULT_OK);
 
             } catch (BusinessException e) {
                 // エラー自体は握りつぶす
+                setResultNg(result, e, resultListener);
+            }
+        }
 
-                result.setStatus(ReportApproveRegistBulkConst.RESULT_NG);
-                result.setComment(e.getErrorMessage());
+        // 月報ファイル格納処理（スレッドプールで並列実行）
+        CompletionService<String> saveService = new ExecutorCompletionService<>(reportFileCopyExecutor);
+        List<Future<String>> saveFutureList = new ArrayList<>();
+        Map<String, String> contentHashMap = new ConcurrentHashMap<>();
+        for (Entry<String, Path> saveFile : saveFileMap.entrySet()) {
+            saveFutureList.add(saveService.submit(() -> {
+                contentHashMap.put(saveFile.getKey(), storeReportFile(saveFile.getValue()));
+                return saveFile.getKey();
+            }));
+        }
+
+        // 月報テーブル・月報承認フローテーブルの一括更新（ファイル保存と並行して実行）
+        try {
+            if (!reportUpdateList.isEmpty()) {
+                dao.updateReportStatusBatch(reportUpdateList);
+                dao.updateReportApproveFlowBatch(flowUpdateList);
+
+                // 承認状況の通知メールを送信待ちに登録（同一の月報は処理後の承認状況で1通）
+                List<VTReport> mailReportList = new ArrayList<>();
+                for (String key : saveFileMap.keySet()) {
+                    mailReportList.add(reportMap.get(key));
+                }
+                sharedReportMailService.enqueueStatusMail(mailReportList);
             }
+        } catch (RuntimeException e) {
+            cancelAll(saveFutureList);
+            throw e;
+        }
 
-            resultList.add(result);
+        // 月報ファイル格納の完了順に月報ファイル履歴を登録して処理結果を通知
+        for (int i = 0; i < saveFutureList.size(); i++) {
+            String key = takeSaveResult(saveService, saveFutureList);
+            try {
+                addReportRevision(contentHashMap.get(key), reportMap.get(key));
+            } catch (RuntimeException e) {
+                cancelAll(saveFutureList);
+                throw e;
+            }
+            for (ReportApproveRegistBulkDto result : waitResultMap.get(key)) {
+                resultListener.accept(result);
+            }
         }
 
+        logger.info("月報一括承認 -> 件数：{} 承認：{} 処理時間：{}ms",
+                    resultList.size(),
+                    reportUpdateList.size(),
+                    System.currentTimeMillis() - startTime);
+
         return resultList;
     }
 
+    /**
+     * 処理結果にエラーを設定して通知する
+     * @param result
+     * @param e
+     * @param resultListener
+     */
+    void setResultNg(ReportApproveRegistBulkDto result,
+                     BusinessException e,
+                     Consumer<ReportApproveRegistBulkDto> resultListener) {
+        result.setStatus(ReportApproveRegistBulkConst.RESULT_NG);
+        result.setComment(e.getErrorMessage());
+        resultListener.accept(result);
+    }
+
     /**
      * 月報ファイル名の確認<br>
      * 正しくない場合はBusinessExceptionを発生させる
@@ -132,27 +249,53 @@ public class ReportApproveRegistBulkServiceImpl implements ReportApproveRegistBu
     }
 
     /**
-     * 月報情報の取得<br>
-     * 月報情報が取得できない場合、BusinessExceptionを発生させる<br>
+     * 月報ファイル名から対象年月と申請者IDを取得して処理結果に設定する<br>
+     * ※月報ファイル名の確認後に呼び出すこと
+     * @param result
      * @param reportFileNm
-     * @return
-     * @throws BusinessException
      */
-    VTReport getReportInfo(String reportFileNm) throws BusinessException {
-
-        // 月報ファイル名から対象年月と申請者IDを取得
+    void setReportKey(ReportApproveRegistBulkDto result,
+                      String reportFileNm) {
         String[] arys = reportFileNm.split(Const.REPORT_FILE_DELIMITER);
-        Integer targetYm = Integer.valueOf(arys[0]);
-        String applyUserId = arys[1];
-
-        // データベースから月報情報を取得
-        VTReport entity = vTReportDao.selectById(applyUserId, targetYm);
-        if (entity == null) {
-            // 「月報情報が見つかりません」
-            throw new BusinessException(MessageEnum.error009);
+        result.setTargetYm(Integer.valueOf(arys[0]));
+        result.setApplyUserId(arys[1]);
+    }
+
+    /**
+     * 月報情報の一括取得<br>
+     * 処理結果リスト中の申請者ID・対象年月に該当する月報情報を1回のSQLで取得する
+     * @param resultList
+     * @return 月報情報マップ[key:申請者ID_対象年月]
+     */
+    Map<String, VTReport> selectReportMap(List<ReportApproveRegistBulkDto> resultList) {
+        // 検索キーの生成（月報ファイル名エラーを除き、重複を除去）
+        Map<String, ReportApproveRegistBulkDto> keyMap = new LinkedHashMap<>();
+        for (ReportApproveRegistBulkDto result : resultList) {
+            if (result.getStatus() == null) {
+                keyMap.putIfAbsent(createReportKey(result.getApplyUserId(), result.getTargetYm()), result);
+            }
         }
 
-        return entity;
+        Map<String, VTReport> reportMap = new HashMap<>();
+        if (keyMap.isEmpty()) {
+            return reportMap;
+        }
+        for (VTReport entity : dao.selectReportListByKeyList(new ArrayList<>(keyMap.values()))) {
+            reportMap.put(createReportKey(entity.getApplyUserId(), entity.getTargetYm()), entity);
+        }
+
+        return reportMap;
+    }
+
+    /**
+     * 月報情報のキー生成
+     * @param applyUserId
+     * @param targetYm
+     * @return 申請者ID_対象年月
+     */
+    String createReportKey(String applyUserId,
+                           Integer targetYm) {
+        return applyUserId + Const.REPORT_FILE_DELIMITER + targetYm;
     }
 
     /**
@@ -202,10 +345,11 @@ public class ReportApproveRegistBulkServiceImpl implements ReportApproveRegistBu
     }
 
     /**
-     * 月報テーブル更新処理(承認)
+     * 月報テーブル更新情報の生成(承認)
      * @param vTReport
+     * @return
      */
-    void updateReportApprove(VTReport vTReport) {
+    TReport createReportApprove(VTReport vTReport) {
 
         TReport entity = new TReport();
 
@@ -220,23 +364,19 @@ public class ReportApproveRegistBulkServiceImpl implements ReportApproveRegistBu
          * 更新項目
          */
         // 処理後の承認状況を計算
-        String newStatus = sharedReportService.getNewStatus(vTReport.getApplyUserId(),
-                                                            vTReport.getTargetYm(),
-                                                            Const.StatusExecKbn.APPROVE);
+        String newStatus = sharedReportService.getNewStatus(vTReport, Const.StatusExecKbn.APPROVE);
 
         entity.setStatus(newStatus);
 
-        /*
-         * 更新処理
-         */
-        tReportDao.update(entity);
+        return entity;
     }
 
     /**
-     * 月報承認フローテーブル更新処理
+     * 月報承認フローテーブル更新情報の生成
      * @param vTReport
+     * @return
      */
-    void updateReportApproveFlow(VTReport vTReport) {
+    TReportApproveFlow createReportApproveFlow(VTReport vTReport) {
 
         TReportApproveFlow entity = new TReportApproveFlow();
 
@@ -269,22 +409,66 @@ public class ReportApproveRegistBulkServiceImpl implements ReportApproveRegistBu
         // 承認日
         entity.setApproveDate(LocalDateTime.now());
 
-        /*
-         * 更新処理（排他制御なし）
-         */
-        tReportApproveFlowDao.updateNoOptimisticLockException(entity);
+        return entity;
     }
 
     /**
-     * 月報ファイル保存処理
+     * 月報ファイル格納処理
      * @param filePath
+     * @return ファイルハッシュ値
+     * @throws IOException
+     */
+    String storeReportFile(Path filePath) throws IOException {
+        // 月報ファイル格納処理
+        return sharedReportFileService.storeReportFile(filePath);
+    }
+
+    /**
+     * 月報ファイル履歴の登録
+     * @param contentHash
      * @param vTReport
      * @throws IOException
      */
-    void saveReportFile(Path filePath,
-                        VTReport vTReport) throws IOException {
-        // 月報ファイル保存処理
-        sharedReportFileService.saveReportFile(filePath, vTReport.getApplyUserId(), vTReport.getTargetYm());
+    void addReportRevision(String contentHash,
+                           VTReport vTReport) throws IOException {
+        // 月報ファイル履歴の登録（一括承認のトランザクション内）
+        sharedReportFileService.addReportRevision(vTReport.getApplyUserId(), vTReport.getTargetYm(), contentHash);
+    }
+
+
+    /**
+     * 月報ファイル保存結果の取得<br>
+     * 保存に失敗した場合は、未完了の保存処理を取り消してIOExceptionを発生させる
+     * @param saveService
+     * @param saveFutureList
+     * @return 保存が完了した月報情報のキー
+     * @throws IOException
+     */
+    String takeSaveResult(CompletionService<String> saveService,
+                          List<Future<String>> saveFutureList) throws IOException {
+        try {
+            return saveService.take().get();
+        } catch (InterruptedException e) {
+            cancelAll(saveFutureList);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("月報ファイル保存の待機中に割り込みが発生しました");
+        } catch (ExecutionException e) {
+            cancelAll(saveFutureList);
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * 未完了の月報ファイル保存処理の取り消し
+     * @param saveFutureList
+     */
+    void cancelAll(List<Future<String>> saveFutureList) {
+        for (Future<String> future : saveFutureList) {
+            future.cancel(true);
+        }
     }
 
 }
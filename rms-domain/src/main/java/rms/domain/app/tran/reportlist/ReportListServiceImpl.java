@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import rms.common.utils.PageInfo;
+import rms.common.utils.PageKey;
 import rms.common.utils.SearchResultDto;
 import rms.common.utils.SelectOptionsUtils;
 
@@ -36,14 +37,10 @@ public class ReportListServiceImpl implements ReportListService {
         SelectOptions options = SelectOptionsUtils.get(pageInfo);
 
         // 検索処理
-        List<ReportListResultEntity> resultList = dao.reportListByCondition(condition, options);
+        List<ReportListResultEntity> resultList = dao.reportListByCondition(condition, pageInfo.getPageKey(), options);
 
         // 検索結果格納
-        SearchResultDto<ReportListResultEntity> resultDto = new SearchResultDto<>();
-        resultDto.setResultList(resultList);
-        resultDto.setCount(options.getCount());
-
-        return resultDto;
+        return SelectOptionsUtils.createResult(resultList, options, pageInfo, e -> new PageKey(e.getTargetYm(), e.getApplyUserId()));
     }
 
 }
@@ -0,0 +1,34 @@
+insert into t_report_approve_flow (
+  apply_user_id
+  , target_ym
+  , approve_seq
+  , approve_user_id
+  , version
+  , del_flg
+  , ins_date
+  , ins_id
+  , upd_date
+  , upd_id
+)
+select
+  f.user_id
+  , /* targetYm */201607
+  , f.approve_seq
+  , f.approve_user_id
+  , 0
+  , 0
+  , now()
+  , /* execUserId */'system'
+  , now()
+  , /* execUserId */'system'
+from
+  m_user_approve_flow f
+where
+  f.user_id in /* userIdList */('a')
+  and not exists (
+        select 1
+        from t_report_approve_flow rf
+        where rf.apply_user_id = f.user_id
+          and rf.target_ym = /* targetYm */201607
+          and rf.approve_seq = f.approve_seq
+      )
@@ -0,0 +1,31 @@
+insert into t_report (
+  apply_user_id
+  , target_ym
+  , status
+  , version
+  , del_flg
+  , ins_date
+  , ins_id
+  , upd_date
+  , upd_id
+)
+select
+  u.user_id
+  , /* targetYm */201607
+  , /* status */'AAA'
+  , 0
+  , 0
+  , now()
+  , /* execUserId */'system'
+  , now()
+  , /* execUserId */'system'
+from
+  m_user u
+where
+  u.user_id in /* userIdList */('a')
+  and not exists (
+        select 1
+        from t_report r
+        where r.apply_user_id = u.user_id
+          and r.target_ym = /* targetYm */201607
+      )
@@ -0,0 +1,53 @@
+select
+    A.apply_user_id
+  , U.user_nm as apply_user_nm
+  , U.email
+  , A.target_ym
+  , A.version as report_version
+  , A.upd_date as report_upd_date
+from
+  t_report A
+  inner join m_user U
+    on A.apply_user_id = U.user_id
+where
+  A.status = /* @rms.common.consts.MCodeConst@A001_ZZZ */'ZZZ'
+  /*%if fromDate != null */
+  and A.upd_date > /* fromDate */'2017-06-01 00:00:00'
+  /*%end */
+  and A.upd_date <= /* toDate */'2017-06-25 00:00:00'
+  and not exists (
+        -- 送信済み（処理対象期間の重複分）は対象外
+        select 1
+        from t_report_mail_sent S
+        where S.apply_user_id = A.apply_user_id
+          and S.target_ym = A.target_ym
+          and S.report_version = A.version
+      )
+  and A.apply_user_id in (
+        -- 申請者単位で区切るため、対象の申請者IDを上限人数分取得
+        select X.apply_user_id
+        from (
+          select distinct B.apply_user_id
+          from t_report B
+          where B.status = /* @rms.common.consts.MCodeConst@A001_ZZZ */'ZZZ'
+            /*%if fromDate != null */
+            and B.upd_date > /* fromDate */'2017-06-01 00:00:00'
+            /*%end */
+            and B.upd_date <= /* toDate */'2017-06-25 00:00:00'
+            and not exists (
+                  select 1
+                  from t_report_mail_sent S
+                  where S.apply_user_id = B.apply_user_id
+                    and S.target_ym = B.target_ym
+                    and S.report_version = B.version
+                )
+            /*%if lastUserId != null */
+            and B.apply_user_id > /* lastUserId */'user01'
+            /*%end */
+          order by B.apply_user_id
+          limit /* limit */500
+        ) X
+      )
+order by
+  A.apply_user_id
+  , A.target_ym
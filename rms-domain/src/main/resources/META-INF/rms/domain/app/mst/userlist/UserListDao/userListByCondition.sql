@@ -38,4 +38,9 @@ where
 and u.user_nm like /* @infix(condition.userNm) */'申請者０１'
 /*%end */
 
-and u.del_flg = 0
\ No newline at end of file
+and u.del_flg = 0
+/*%if !pageKey.isFirstPage() */
+and u.user_id > /* pageKey.userId */'user01'
+/*%end */
+order by
+  u.user_id
\ No newline at end of file
@@ -21,5 +21,10 @@ where
 /*%if @isNotEmpty(condition.applyUserId) */
 and A.apply_user_id = /* condition.applyUserId */'user01'
 /*%end */
+/*%if !pageKey.isFirstPage() */
+and (A.target_ym < /* pageKey.targetYm */201606
+  or (A.target_ym = /* pageKey.targetYm */201606 and A.apply_user_id > /* pageKey.userId */'user01'))
+/*%end */
 order by
-  A.target_ym desc
\ No newline at end of file
+  A.target_ym desc
+  , A.apply_user_id
\ No newline at end of file
@@ -16,18 +16,32 @@ select
   , A.approve_user_id4
   , A.approve_user_nm4
 from
-  v_t_report A
+  (
+    -- 承認者の月報を承認フローから索引（T_REPORT_APPROVE_FLOW_IX1）経由で絞り込む
+    select distinct
+        F.apply_user_id
+      , F.target_ym
+    from
+      t_report_approve_flow F
+    where
+      F.approve_user_id = /* condition.approveUserId */'user07'
+/*%if condition.targetYm != null */
+      and F.target_ym = /* condition.targetYm */'201606'
+/*%end */
+/*%if !pageKey.isFirstPage() */
+      and F.target_ym <= /* pageKey.targetYm */201606
+/*%end */
+      and F.approve_seq between 1 and 4
+  ) X
+  inner join v_t_report A
+    on A.apply_user_id = X.apply_user_id
+    and A.target_ym = X.target_ym
 where
   A.del_flg = 0
-/*%if condition.targetYm != null */
-  and A.target_ym = /* condition.targetYm */'201606'
+/*%if !pageKey.isFirstPage() */
+and (A.target_ym < /* pageKey.targetYm */201606
+  or (A.target_ym = /* pageKey.targetYm */201606 and A.apply_user_id > /* pageKey.userId */'user01'))
 /*%end */
-  and /* condition.approveUserId */'user07' in (
-          A.approve_user_id1,
-          A.approve_user_id2,
-          A.approve_user_id3,
-          A.approve_user_id4
-      )
 order by
   A.target_ym desc
-  , apply_user_id
+  , A.apply_user_id
@@ -0,0 +1,11 @@
+select
+  /*%expand*/*
+from
+  v_t_report
+where
+/*%for key : keyList */
+  (apply_user_id = /* key.applyUserId */'user01' and target_ym = /* key.targetYm */201609)
+  /*%if key_has_next */
+/*# "or" */
+  /*%end */
+/*%end */
@@ -0,0 +1,11 @@
+update
+  t_report_approve_flow
+set
+    approve_date = /* flowList.approveDate */'2016-09-26 00:00:00'
+  , version = version + 1
+  , upd_date = /* flowList.updDate */'2016-09-26 00:00:00'
+  , upd_id = /* flowList.updId */'user06'
+where
+  apply_user_id = /* flowList.applyUserId */'user01'
+  and target_ym = /* flowList.targetYm */201609
+  and approve_seq = /* flowList.approveSeq */1
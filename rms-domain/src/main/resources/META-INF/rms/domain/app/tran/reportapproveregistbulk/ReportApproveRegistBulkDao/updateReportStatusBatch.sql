@@ -0,0 +1,11 @@
+update
+  t_report
+set
+    status = /* reportList.status */'Y02'
+  , version = version + 1
+  , upd_date = /* reportList.updDate */'2016-09-26 00:00:00'
+  , upd_id = /* reportList.updId */'user06'
+where
+  apply_user_id = /* reportList.applyUserId */'user01'
+  and target_ym = /* reportList.targetYm */201609
+  and version = /* reportList.version */0
@@ -21,6 +21,10 @@ where
 /*%if condition.targetYm != null */
 and A.target_ym = /* condition.targetYm */'201606'
 /*%end */
+/*%if !pageKey.isFirstPage() */
+and (A.target_ym < /* pageKey.targetYm */201606
+  or (A.target_ym = /* pageKey.targetYm */201606 and A.apply_user_id > /* pageKey.userId */'user01'))
+/*%end */
 order by
   A.target_ym desc
   , A.apply_user_id
\ No newline at end of file
@@ -0,0 +1,56 @@
+package rms.common.utils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import rms.common.entity.VTReport;
+import rms.domain.app.tran.reportapproveregist.ReportApproveRegistDto;
+
+/**
+ * Beanコピーのベンチマーク<br>
+ * 画面表示時の月報情報(VTReport)からDTOへのコピーを計測する
+ * @author
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RmsBeanUtilsBenchmark {
+
+    /** コピー元 */
+    VTReport source;
+
+    @Setup
+    public void setup() {
+        source = new VTReport();
+        source.setApplyUserId("user01");
+        source.setApplyUserNm("申請者０１");
+        source.setTargetYm(201709);
+        source.setApplyDate(LocalDateTime.of(2017, 9, 25, 10, 0));
+        source.setStatus("Y01");
+        source.setApproveUserId1("user05");
+        source.setApproveUserId2("user06");
+        source.setApproveUserId3("user07");
+        source.setApproveUserId4("user08");
+        source.setVersion(1);
+    }
+
+    @Benchmark
+    public ReportApproveRegistDto createCopyProperties() {
+        return RmsBeanUtils.createCopyProperties(source, ReportApproveRegistDto.class);
+    }
+
+}
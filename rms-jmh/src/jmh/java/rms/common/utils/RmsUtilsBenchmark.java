@@ -0,0 +1,52 @@
+package rms.common.utils;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 年月関連ユーティリティのベンチマーク
+ * @author
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RmsUtilsBenchmark {
+
+    /** 現在日付 */
+    LocalDate sysdate = LocalDate.of(2017, 6, 25);
+
+    /** 月度切替基準日 */
+    Integer switchDay = 20;
+
+    /** 対象年月 */
+    Integer targetYm = 201706;
+
+    @Benchmark
+    public Integer getThisTargetYm() {
+        return RmsUtils.getThisTargetYm(sysdate, switchDay);
+    }
+
+    @Benchmark
+    public LocalDate getSwitchDate() {
+        return RmsUtils.getSwitchDate(targetYm, switchDay);
+    }
+
+    @Benchmark
+    public boolean isTargetYmCheck() {
+        return RmsUtils.isTargetYmCheck(targetYm);
+    }
+
+}
@@ -0,0 +1,147 @@
+package rms.domain.app.shared.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import rms.common.storage.ReportStorage;
+import rms.common.storage.ShardedReportStorage;
+import rms.common.utils.RmsFileUtils;
+import rms.domain.app.shared.dto.SharedFileDto;
+import rms.domain.app.shared.dto.SharedZipFileDto;
+
+/**
+ * 月報ファイル関連のベンチマーク<br>
+ * ダウンロードファイル名の生成、一括ダウンロード用zipファイルの生成を計測する
+ * @author
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SharedReportFileServiceBenchmark {
+
+    /** テスト対象 */
+    static final SharedReportFileServiceImpl service = new SharedReportFileServiceImpl();
+
+    /**
+     * ダウンロードファイル名の生成（ユーザ確認用）
+     * @return
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String createReportDownloadFileNm1() {
+        return service.createReportDownloadFileNm1("user01", "申請者 ０１　太郎", 201709);
+    }
+
+    /**
+     * ダウンロードファイル名の生成（提出用）
+     * @return
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String createReportDownloadFileNm2() {
+        return service.createReportDownlaodFileNm2("user01", "申請者 ０１　太郎", 201709, "開発部");
+    }
+
+    /**
+     * 一括ダウンロード用zipファイルの生成（出力先は破棄）
+     * @return
+     * @throws IOException
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long writeReportFileBulk(ZipState state) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        service.writeReportFileBulk(state.zipFileDto, out);
+        return out.count;
+    }
+
+    /**
+     * zipファイル生成用の状態
+     */
+    @State(Scope.Benchmark)
+    public static class ZipState {
+
+        /** zipファイルに格納する月報ファイル数 */
+        @Param({ "50" })
+        int fileCnt;
+
+        /** 月報ファイルサイズ(byte) */
+        @Param({ "65536", "524288" })
+        int fileSize;
+
+        /** 月報ファイル格納ディレクトリ */
+        Path workDir;
+
+        /** zipファイル情報 */
+        SharedZipFileDto zipFileDto;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            // 月報ファイル（xlsxを想定し、圧縮が効かないランダムデータ）
+            workDir = Files.createTempDirectory("rms-jmh");
+            ReportStorage storage = new ShardedReportStorage(workDir);
+            byte[] data = new byte[fileSize];
+            new Random(0).nextBytes(data);
+            zipFileDto = new SharedZipFileDto();
+            zipFileDto.setZipFileNm("201709_月報.zip");
+            for (int i = 0; i < fileCnt; i++) {
+                String userId = String.format("user%03d", i);
+                String key = "201709_" + userId + ".xlsx";
+                storage.write(key, new ByteArrayInputStream(data), data.length);
+
+                SharedFileDto fileDto = new SharedFileDto();
+                fileDto.setStorage(storage);
+                fileDto.setStorageKey(key);
+                fileDto.setFileNm(service.createReportDownloadFileNm1(userId, "申請者　" + i, 201709));
+                zipFileDto.getFileList().add(fileDto);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            RmsFileUtils.deleteDirectory(workDir);
+        }
+    }
+
+    /**
+     * 書き込みバイト数のみを数える出力ストリーム
+     */
+    static class CountingOutputStream extends OutputStream {
+
+        /** 書き込みバイト数 */
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b,
+                          int off,
+                          int len) {
+            count += len;
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+package rms.domain.app.shared.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import rms.common.consts.Const.StatusExecKbn;
+import rms.common.consts.MCodeConst;
+import rms.common.entity.VTReport;
+import rms.common.utils.RmsStringUtils;
+
+/**
+ * 承認状況計算のベンチマーク<br>
+ * 遷移表による計算と、比較用に残した変更前の実装（if/switchの分岐）を計測する
+ * @author
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SharedReportServiceBenchmark {
+
+    /** テスト対象 */
+    SharedReportServiceImpl service;
+
+    /** 月報情報（承認状況・承認者の組合せ） */
+    VTReport[] entities;
+
+    /** 承認状況処理区分 */
+    StatusExecKbn[] execKbns;
+
+    @Setup
+    public void setup() {
+        service = new SharedReportServiceImpl();
+
+        String[] statuses = { MCodeConst.A001_AAA, MCodeConst.A001_Y01, MCodeConst.A001_Y02, MCodeConst.A001_Y03,
+                              MCodeConst.A001_Y04 };
+        int cnt = statuses.length * 16 * StatusExecKbn.values().length;
+        entities = new VTReport[cnt];
+        execKbns = new StatusExecKbn[cnt];
+        int idx = 0;
+        for (String status : statuses) {
+            for (int mask = 0; mask < 16; mask++) {
+                for (StatusExecKbn execKbn : StatusExecKbn.values()) {
+                    VTReport entity = new VTReport();
+                    entity.setStatus(status);
+                    entity.setApproveUserId1((mask & 1) != 0 ? "user05" : null);
+                    entity.setApproveUserId2((mask & 2) != 0 ? "user06" : null);
+                    entity.setApproveUserId3((mask & 4) != 0 ? "user07" : null);
+                    entity.setApproveUserId4((mask & 8) != 0 ? "user08" : null);
+                    entities[idx] = entity;
+                    execKbns[idx] = execKbn;
+                    idx++;
+                }
+            }
+        }
+    }
+
+    /**
+     * 遷移表による計算（全組合せ）
+     * @param bh
+     */
+    @Benchmark
+    public void transitionTable(Blackhole bh) {
+        for (int i = 0; i < entities.length; i++) {
+            bh.consume(service.getNewStatus(entities[i], execKbns[i]));
+        }
+    }
+
+    /**
+     * 変更前の実装による計算（全組合せ）
+     * @param bh
+     */
+    @Benchmark
+    public void legacyBranch(Blackhole bh) {
+        for (int i = 0; i < entities.length; i++) {
+            bh.consume(legacyGetNewStatus(entities[i], execKbns[i]));
+        }
+    }
+
+    /**
+     * 比較用：変更前の承認状況計算
+     * @param entity
+     * @param execKbn
+     * @return
+     */
+    static String legacyGetNewStatus(VTReport entity,
+                                     StatusExecKbn execKbn) {
+        String newStatus = null;
+
+        String status = entity.getStatus();
+        String approveUserId1 = entity.getApproveUserId1();
+        String approveUserId2 = entity.getApproveUserId2();
+        String approveUserId3 = entity.getApproveUserId3();
+        String approveUserId4 = entity.getApproveUserId4();
+
+        switch (execKbn) {
+        case APPLY:
+            if (!RmsStringUtils.isEmpty(approveUserId1)) {
+                newStatus = MCodeConst.A001_Y01;
+            } else if (!RmsStringUtils.isEmpty(approveUserId2)) {
+                newStatus = MCodeConst.A001_Y02;
+            } else if (!RmsStringUtils.isEmpty(approveUserId3)) {
+                newStatus = MCodeConst.A001_Y03;
+            } else if (!RmsStringUtils.isEmpty(approveUserId4)) {
+                newStatus = MCodeConst.A001_Y04;
+            } else {
+                newStatus = MCodeConst.A001_ZZZ;
+            }
+            break;
+
+        case APPROVE:
+            if (MCodeConst.A001_Y01.equals(status)) {
+                if (!RmsStringUtils.isEmpty(approveUserId2)) {
+                    newStatus = MCodeConst.A001_Y02;
+                } else if (!RmsStringUtils.isEmpty(approveUserId3)) {
+                    newStatus = MCodeConst.A001_Y03;
+                } else if (!RmsStringUtils.isEmpty(approveUserId4)) {
+                    newStatus = MCodeConst.A001_Y04;
+                } else {
+                    newStatus = MCodeConst.A001_ZZZ;
+                }
+            } else if (MCodeConst.A001_Y02.equals(status)) {
+                if (!RmsStringUtils.isEmpty(approveUserId3)) {
+                    newStatus = MCodeConst.A001_Y03;
+                } else if (!RmsStringUtils.isEmpty(approveUserId4)) {
+                    newStatus = MCodeConst.A001_Y04;
+                } else {
+                    newStatus = MCodeConst.A001_ZZZ;
+                }
+            } else if (MCodeConst.A001_Y03.equals(status)) {
+                if (!RmsStringUtils.isEmpty(approveUserId4)) {
+                    newStatus = MCodeConst.A001_Y04;
+                } else {
+                    newStatus = MCodeConst.A001_ZZZ;
+                }
+            } else if (MCodeConst.A001_Y04.equals(status)) {
+                newStatus = MCodeConst.A001_ZZZ;
+            }
+            break;
+
+        case REMAND:
+            if (MCodeConst.A001_Y04.equals(status)) {
+                if (!RmsStringUtils.isEmpty(approveUserId3)) {
+                    newStatus = MCodeConst.A001_Y03;
+                } else if (!RmsStringUtils.isEmpty(approveUserId2)) {
+                    newStatus = MCodeConst.A001_Y02;
+                } else if (!RmsStringUtils.isEmpty(approveUserId1)) {
+                    newStatus = MCodeConst.A001_Y01;
+                } else {
+                    newStatus = MCodeConst.A001_N04;
+                }
+            } else if (MCodeConst.A001_Y03.equals(status)) {
+                if (!RmsStringUtils.isEmpty(approveUserId2)) {
+                    newStatus = MCodeConst.A001_Y02;
+                } else if (!RmsStringUtils.isEmpty(approveUserId1)) {
+                    newStatus = MCodeConst.A001_Y01;
+                } else {
+                    newStatus = MCodeConst.A001_N03;
+                }
+            } else if (MCodeConst.A001_Y02.equals(status)) {
+                if (!RmsStringUtils.isEmpty(approveUserId1)) {
+                    newStatus = MCodeConst.A001_Y01;
+                } else {
+                    newStatus = MCodeConst.A001_N02;
+                }
+            } else if (MCodeConst.A001_Y01.equals(status)) {
+                newStatus = MCodeConst.A001_N01;
+            }
+            break;
+
+        case DENY:
+            switch (status) {
+            case MCodeConst.A001_Y01:
+                newStatus = MCodeConst.A001_N01;
+                break;
+            case MCodeConst.A001_Y02:
+                newStatus = MCodeConst.A001_N02;
+                break;
+            case MCodeConst.A001_Y03:
+                newStatus = MCodeConst.A001_N03;
+                break;
+            case MCodeConst.A001_Y04:
+                newStatus = MCodeConst.A001_N04;
+                break;
+            }
+            break;
+        }
+
+        return newStatus;
+    }
+
+}
@@ -0,0 +1,187 @@
+package rms.web.app.tran.reportapprovelist;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import rms.common.utils.PageInfo;
+import rms.common.utils.PageKey;
+import rms.common.utils.ProjectProperties;
+import rms.common.utils.ProjectPropertiesStaticAccessor;
+import rms.domain.app.tran.reportapprovelist.ReportApproveListResultEntity;
+
+/**
+ * 月報承認状況一覧画面のセッション保持サイズの計測<br>
+ * 検索後のフォーム（ページ情報・検索結果キー）のシリアライズを計測する。<br>
+ * セッション1件あたりのサイズは{@link #main}で出力する（変更前：検索結果をフォームに保持、変更後：キーのみ保持）。<br>
+ * 例：gradle jmhSessionSize
+ * @author
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportApproveListSessionBenchmark {
+
+    static {
+        // PageInfoの初期化で参照する設定値（Springコンテキスト外のため直接設定する）
+        ProjectProperties properties = new ProjectProperties();
+        Field field = ReflectionUtils.findField(ProjectProperties.class, "pageLimitDefault");
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, properties, 20);
+        ProjectPropertiesStaticAccessor.properties = properties;
+    }
+
+    /** 1ページ表示件数 */
+    @Param({ "20", "100", "1000" })
+    int rows;
+
+    /** 検索後のフォーム */
+    ReportApproveListForm form;
+
+    @Setup
+    public void setup() {
+        form = createForm(rows);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return serialize(form);
+    }
+
+    /**
+     * セッション1件あたりのサイズを出力する<br>
+     * 保持ヒープはGC前後の使用量の差分（合計10万行分を保持して1件あたりに換算）
+     * @param args
+     * @throws IOException
+     */
+    public static void main(String[] args) throws IOException {
+        System.out.printf("java.version=%s%n", System.getProperty("java.version"));
+        System.out.printf("%9s %14s %14s %16s%n", "rows/page", "heap(before)", "heap(after)", "serialized(after)");
+        for (int rows : new int[] { 20, 100, 1000 }) {
+            int copies = 100000 / rows;
+
+            // 変更前：フォームと検索結果
+            List<Object> before = new ArrayList<>(copies);
+            long base = usedHeap();
+            for (int i = 0; i < copies; i++) {
+                before.add(new Object[] { createForm(rows), createResultList(rows) });
+            }
+            long beforeSize = (usedHeap() - base) / copies;
+            before = null;
+
+            // 変更後：フォーム（検索結果キーのみ）
+            List<Object> after = new ArrayList<>(copies);
+            base = usedHeap();
+            for (int i = 0; i < copies; i++) {
+                after.add(createForm(rows));
+            }
+            long afterSize = (usedHeap() - base) / copies;
+            after = null;
+
+            System.out.printf("%9d %11.1f KB %11.1f KB %13.1f KB%n", rows, beforeSize / 1024.0, afterSize / 1024.0,
+                              serialize(createForm(rows)).length / 1024.0);
+        }
+    }
+
+    /**
+     * 検索後のフォームの生成（2ページ目を表示中）
+     * @param rows
+     * @return
+     */
+    private static ReportApproveListForm createForm(int rows) {
+        ReportApproveListForm form = new ReportApproveListForm();
+        PageInfo pageInfo = new PageInfo(rows, PageInfo.PagingMode.KEYSET);
+        pageInfo.setTotalSize(rows * 10);
+        pageInfo.setKeysetResult(rows + 1, new PageKey(201801, text("user", rows)));
+        pageInfo.next();
+        pageInfo.setKeysetResult(rows + 1, new PageKey(201801, text("user", rows * 2)));
+        form.setPageInfo(pageInfo);
+        List<PageKey> keyList = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            keyList.add(new PageKey(201801, text("user", i)));
+        }
+        form.setResultKeyList(keyList);
+        return form;
+    }
+
+    /**
+     * 検索結果の生成（変更前にフォームに保持していた1ページ分）
+     * @param rows
+     * @return
+     */
+    private static List<ReportApproveListResultEntity> createResultList(int rows) {
+        List<ReportApproveListResultEntity> resultList = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            ReportApproveListResultEntity entity = new ReportApproveListResultEntity();
+            entity.setApproveUserId(text("user", 10));
+            entity.setApplyUserId(text("user", i));
+            entity.setApplyUserNm(text("申請者", i));
+            entity.setTargetYm(201801);
+            entity.setApplyDate(LocalDateTime.of(2018, 1, 25, 10, 0));
+            entity.setDepartmentRnm(text("開発部", 1));
+            entity.setStatus(text("Y0", 2));
+            entity.setStatusNm(text("承認待ち", 2));
+            entity.setApproveUserId1(text("user", 5));
+            entity.setApproveUserNm1(text("承認者", 5));
+            entity.setApproveUserId2(text("user", 6));
+            entity.setApproveUserNm2(text("承認者", 6));
+            entity.setApproveUserId3(text("user", 7));
+            entity.setApproveUserNm3(text("承認者", 7));
+            entity.setApproveUserId4(text("user", 8));
+            entity.setApproveUserNm4(text("承認者", 8));
+            resultList.add(entity);
+        }
+        return resultList;
+    }
+
+    /**
+     * 文字列の生成（DBから取得した値と同様に行ごとに別インスタンスとする）
+     * @param prefix
+     * @param no
+     * @return
+     */
+    private static String text(String prefix,
+                               int no) {
+        return String.format("%s%02d", prefix, no);
+    }
+
+    private static byte[] serialize(Object obj) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(obj);
+        }
+        return out.toByteArray();
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+}
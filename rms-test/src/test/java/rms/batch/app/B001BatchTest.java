@@ -6,12 +6,14 @@ import static org.junit.Assert.*;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.junit.After;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import rms.SpringBatchApplication;
@@ -24,6 +26,8 @@ public class B001BatchTest {
 
     @Autowired
     B001Batch b001;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
 
     @BeforeClass
     public static void beforeAll() {
@@ -31,6 +35,15 @@ public class B001BatchTest {
         application.setWebEnvironment(false); // 内臓tomcatの起動を抑制
     }
 
+    @After
+    public void after() {
+        // 登録した月報は他のテストに影響する為、削除する（パラメータ指定なしはシステム日付の年月）
+        for (int targetYm : new int[] { 201705, 201706 }) {
+            jdbcTemplate.update("delete from t_report_approve_flow where target_ym = ?", targetYm);
+            jdbcTemplate.update("delete from t_report where target_ym = ?", targetYm);
+        }
+    }
+
     @Test
     public void test_execute_月報初期データ登録処理_失敗_未来日付エラー() throws Exception {
         String targetYm = "209912";
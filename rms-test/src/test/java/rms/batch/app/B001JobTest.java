@@ -0,0 +1,170 @@
+package rms.batch.app;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import rms.SpringBatchApplication;
+import rms.common.consts.MCodeConst;
+import rms.common.consts.MessageEnum;
+import rms.common.dao.TReportDao;
+import rms.common.entity.TReport;
+import rms.common.exception.BusinessException;
+import rms.domain.app.batch.reportinitregist.ReportInitRegistItem;
+import rms.domain.app.batch.reportinitregist.ReportInitRegistItemWriter;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = SpringBatchApplication.class,
+        properties = { "spring.profiles.active=test", "app.batch.report.init.chunk.size=2" })
+public class B001JobTest {
+
+    /** 申請者（ROLE_APPLY）のユーザID（読込順） */
+    private static final List<String> APPLY_USER_IDS = Arrays.asList("user01", "user02", "user03", "user04", "user05");
+
+    @Autowired
+    BatchJobLauncher jobLauncher;
+    @Autowired
+    @Qualifier(B001JobConfig.JOB_NAME)
+    Job job;
+    @Autowired
+    JobExplorer jobExplorer;
+    @Autowired
+    TReportDao tReportDao;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    /* Mock対象Writer */
+    @SpyBean
+    ReportInitRegistItemWriter writer;
+
+    @BeforeClass
+    public static void beforeAll() {
+        SpringApplication application = new SpringApplication(SpringBatchApplication.class);
+        application.setWebEnvironment(false); // 内臓tomcatの起動を抑制
+    }
+
+    @After
+    public void after() {
+        // 登録した月報は他のテストに影響する為、削除する
+        for (int targetYm : new int[] { 201702, 201703 }) {
+            jdbcTemplate.update("delete from t_report_approve_flow where target_ym = ?", targetYm);
+            jdbcTemplate.update("delete from t_report where target_ym = ?", targetYm);
+        }
+    }
+
+    @Test
+    public void test_run_月報初期データ登録ジョブ_成功() throws Exception {
+        JobParameters parameters = new JobParametersBuilder().addLong("targetYm", 201702L).toJobParameters();
+
+        JobExecution execution = jobLauncher.run(job, parameters);
+
+        assertThat(execution.getStatus(), is(BatchStatus.COMPLETED));
+        TReport report = tReportDao.selectById("user01", 201702);
+        assertThat(report.getStatus(), is(MCodeConst.A001_AAA));
+
+        // スループットの記録
+        StepExecution stepExecution = execution.getStepExecutions().iterator().next();
+        assertThat(stepExecution.getWriteCount(), is(APPLY_USER_IDS.size()));
+        assertThat(stepExecution.getCommitCount(), is(3));
+        assertThat(stepExecution.getExecutionContext().getInt(StepThroughputListener.KEY_WRITE_COUNT),
+                   is(stepExecution.getWriteCount()));
+        assertTrue(stepExecution.getExecutionContext().containsKey(StepThroughputListener.KEY_ITEMS_PER_SECOND));
+
+        // 再実行時は新しい実行IDで登録対象なし
+        JobExecution reExecution = jobLauncher.run(job, parameters);
+        assertThat(reExecution.getStatus(), is(BatchStatus.COMPLETED));
+        assertThat(reExecution.getJobParameters().getLong(BatchJobLauncher.RUN_ID_KEY),
+                   is(execution.getJobParameters().getLong(BatchJobLauncher.RUN_ID_KEY) + 1));
+        assertThat(reExecution.getStepExecutions().iterator().next().getWriteCount(), is(0));
+    }
+
+    @Test
+    public void test_run_月報初期データ登録ジョブ_前回失敗時はリスタート() throws Exception {
+        JobParameters parameters = new JobParametersBuilder().addLong("targetYm", 201703L).toJobParameters();
+
+        // Mock定義（2チャンク目の書込で失敗させる） ------------------------
+        List<List<String>> writtenList = new ArrayList<>();
+        doAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            List<ReportInitRegistItem> items = (List<ReportInitRegistItem>) invocation.getArguments()[0];
+            writtenList.add(items.stream().map(item -> item.getReport().getApplyUserId()).collect(Collectors.toList()));
+            if (writtenList.size() == 2) {
+                throw new IllegalStateException("書込エラー");
+            }
+            return invocation.callRealMethod();
+        }).when(writer).write(any());
+        // -----------------------------------------------------------
+
+        // 1回目：2チャンク目で失敗（1チャンク目のみコミット）
+        try {
+            jobLauncher.run(job, parameters);
+            fail();
+        } catch (BusinessException e) {
+            assertThat(e.getErrorCode(), is(MessageEnum.error018.name()));
+        }
+        JobInstance instance = jobExplorer.getJobInstances(B001JobConfig.JOB_NAME, 0, 1).get(0);
+        JobExecution execution = jobExplorer.getJobExecutions(instance).get(0);
+        StepExecution stepExecution = execution.getStepExecutions().iterator().next();
+        assertThat(execution.getStatus(), is(BatchStatus.FAILED));
+        assertThat(stepExecution.getReadCount(), is(4)); // ロールバックしたチャンクの読込を含む
+        assertThat(stepExecution.getWriteCount(), is(2));
+        assertThat(stepExecution.getRollbackCount(), is(1));
+        assertThat(countReport(201703), is(2));
+
+        // 2回目：同一パラメータ（同一実行ID）で最後にコミットしたチャンクの次から再開される
+        JobExecution restartExecution = jobLauncher.run(job, parameters);
+        assertThat(restartExecution.getStatus(), is(BatchStatus.COMPLETED));
+        assertThat(restartExecution.getJobId(), is(execution.getJobId()));
+        assertThat(restartExecution.getJobParameters(), is(execution.getJobParameters()));
+
+        // 1チャンク目は再読込・再書込しない
+        assertThat(writtenList, is(Arrays.asList(APPLY_USER_IDS.subList(0, 2), APPLY_USER_IDS.subList(2, 4),
+                                                 APPLY_USER_IDS.subList(2, 4), APPLY_USER_IDS.subList(4, 5))));
+        StepExecution restartStepExecution = restartExecution.getStepExecutions().iterator().next();
+        assertThat(restartStepExecution.getReadCount(), is(3));
+        assertThat(restartStepExecution.getWriteCount(), is(3));
+
+        // Readerの読込位置はチェックポイントから継続する
+        assertThat(stepExecution.getExecutionContext().getInt("reportInitRegistReader.read.count"), is(2));
+        assertThat(restartStepExecution.getExecutionContext().getInt("reportInitRegistReader.read.count"),
+                   is(APPLY_USER_IDS.size() + 1)); // 終端（null）の読込を含む
+        assertThat(countReport(201703), is(APPLY_USER_IDS.size()));
+    }
+
+    /**
+     * 対象年月の月報件数
+     * @param targetYm
+     * @return
+     */
+    private int countReport(int targetYm) {
+        return jdbcTemplate.queryForObject("select count(*) from t_report where target_ym = ?", Integer.class,
+                                           targetYm);
+    }
+
+}
@@ -32,4 +32,11 @@ public class BatchFactoryTest {
         AbstractBatch batch = factory.create(batchId);
         assertTrue(batch instanceof B001Batch);
     }
+
+    @Test
+    public void test_create_バッチクラス生成_月報メール配信() throws Exception {
+        String batchId = "B002";
+        AbstractBatch batch = factory.create(batchId);
+        assertTrue(batch instanceof B002Batch);
+    }
 }
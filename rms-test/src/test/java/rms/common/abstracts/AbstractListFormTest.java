@@ -0,0 +1,124 @@
+package rms.common.abstracts;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import rms.SpringWebApplication;
+import rms.common.utils.PageKey;
+import rms.web.app.mst.userlist.UserListConditionForm;
+import rms.web.app.mst.userlist.UserListController;
+import rms.web.app.mst.userlist.UserListForm;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = SpringWebApplication.class, properties = "spring.profiles.active=test")
+@AutoConfigureMockMvc
+public class AbstractListFormTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    @WithUserDetails(value = "user11", userDetailsServiceBeanName = "userDetailsServiceImpl") // 管理者
+    public void test_検索後のセッションをシリアライズ() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+
+        // テスト実行（検索後のフォームはセッションに保持される）
+        mockMvc.perform(post(UserListController.MAPPING_URL).param("search", "")
+                                                            .param("condition.userId", "")
+                                                            .param("condition.userNm", "")
+                                                            .session(session)
+                                                            .with(csrf()))
+               .andExpect(status().isOk());
+        UserListForm form = (UserListForm) session.getAttribute("userListForm");
+        assertThat(form.getPageInfo().getTotalSize() > 0, is(true));
+        assertThat(form.getResultKeyList().isEmpty(), is(false));
+
+        // テスト結果確認（セッション属性はすべてシリアライズ可能）
+        for (String name : Collections.list(session.getAttributeNames())) {
+            deserialize(serialize(session.getAttribute(name)));
+        }
+
+        // テスト結果確認（ページ情報・検索結果キーを復元できる）
+        UserListForm restored = (UserListForm) deserialize(serialize(form));
+        assertThat(restored.getPageInfo().getTotalSize(), is(form.getPageInfo().getTotalSize()));
+        assertThat(restored.getPageInfo().getPage(), is(form.getPageInfo().getPage()));
+        assertThat(restored.getPageInfo().getPagingMode(), is(form.getPageInfo().getPagingMode()));
+        assertThat(restored.getResultKeyList().size(), is(form.getResultKeyList().size()));
+        for (int i = 0; i < form.getResultKeyList().size(); i++) {
+            PageKey key = form.getResultKeyList().get(i);
+            assertThat(restored.getResultKeyList().get(i).getUserId(), is(key.getUserId()));
+            assertThat(restored.getResultKeyList().get(i).getTargetYm(), is(key.getTargetYm()));
+        }
+    }
+
+    @Test
+    @WithUserDetails(value = "user11", userDetailsServiceBeanName = "userDetailsServiceImpl") // 管理者
+    public void test_検索_入力チェックエラー時は直前の検索結果を再表示() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+
+        // 検索
+        mockMvc.perform(post(UserListController.MAPPING_URL).param("search", "")
+                                                            .param("condition.userId", "")
+                                                            .param("condition.userNm", "")
+                                                            .session(session)
+                                                            .with(csrf()))
+               .andExpect(status().isOk());
+        UserListForm form = (UserListForm) session.getAttribute("userListForm");
+        List<PageKey> keyList = form.getResultKeyList();
+
+        // テスト実行（ユーザIDの桁数超過）
+        MvcResult result = mockMvc.perform(post(UserListController.MAPPING_URL).param("search", "")
+                                                                               .param("condition.userId", "user012345678")
+                                                                               .param("condition.userNm", "")
+                                                                               .session(session)
+                                                                               .with(csrf()))
+                                  .andExpect(status().isOk())
+                                  .andExpect(model().attributeHasFieldErrors("userListForm", "condition.userId"))
+                                  .andReturn();
+
+        // テスト結果確認（入力値は保持し、検索結果は検索実行時の条件で再取得）
+        assertThat(form.getCondition().getUserId(), is("user012345678"));
+        assertThat(((UserListConditionForm) form.getSearchCondition()).getUserId(), is(""));
+        List<?> resultList = (List<?>) result.getModelAndView().getModel().get("resultList");
+        assertThat(resultList.size(), is(keyList.size()));
+        assertThat(form.getResultKeyList().stream().map(PageKey::getUserId).collect(Collectors.toList()),
+                   is(keyList.stream().map(PageKey::getUserId).collect(Collectors.toList())));
+    }
+
+    private static byte[] serialize(Object obj) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(obj);
+        }
+        return out.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws Exception {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return ois.readObject();
+        }
+    }
+
+}
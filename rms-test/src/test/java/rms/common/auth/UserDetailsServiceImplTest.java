@@ -0,0 +1,63 @@
+package rms.common.auth;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import rms.SpringWebApplication;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = SpringWebApplication.class, properties = "spring.profiles.active=test")
+public class UserDetailsServiceImplTest {
+
+    /* テスト対象 */
+    @Autowired
+    UserDetailsServiceImpl service;
+
+    @Before
+    public void before() {
+        service.invalidate("user01");
+    }
+
+    @Test
+    public void test_loadUserByUsername_2回目はキャッシュから取得() {
+        long missCount = service.getStats().getMissCount();
+        long hitCount = service.getStats().getHitCount();
+
+        UserInfo userInfo1 = (UserInfo) service.loadUserByUsername("user01");
+        // 認証成功後のパスワード消去
+        userInfo1.eraseCredentials();
+        UserInfo userInfo2 = (UserInfo) service.loadUserByUsername("user01");
+
+        // キャッシュから取得してもパスワードは消去されていない
+        assertThat(userInfo2, is(not(sameInstance(userInfo1))));
+        assertThat(userInfo2.getPassword(), is(notNullValue()));
+        assertThat(userInfo2.getUserId(), is("user01"));
+        assertThat(userInfo2.isRoleApply(), is(true));
+        assertThat(service.getStats().getMissCount(), is(missCount + 1));
+        assertThat(service.getStats().getHitCount(), is(hitCount + 1));
+    }
+
+    @Test
+    public void test_invalidate_破棄後は再読込() {
+        service.loadUserByUsername("user01");
+        long missCount = service.getStats().getMissCount();
+
+        service.invalidate("user01");
+        service.loadUserByUsername("user01");
+
+        assertThat(service.getStats().getMissCount(), is(missCount + 1));
+    }
+
+    @Test(expected = UsernameNotFoundException.class)
+    public void test_loadUserByUsername_存在しないユーザ() {
+        service.loadUserByUsername("nouser");
+    }
+}
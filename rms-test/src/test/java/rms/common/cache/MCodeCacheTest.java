@@ -0,0 +1,108 @@
+package rms.common.cache;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import rms.SpringWebApplication;
+import rms.common.auth.UserInfo;
+import rms.common.consts.MCodeConst;
+import rms.common.dao.MCodeDao;
+import rms.common.entity.MCode;
+import rms.common.entity.MUser;
+import rms.common.utils.SelectOptionEntity;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = SpringWebApplication.class, properties = "spring.profiles.active=test")
+public class MCodeCacheTest {
+
+    /* テスト対象 */
+    @Autowired
+    MCodeCache mCodeCache;
+
+    @Autowired
+    MCodeDao mCodeDao;
+
+    @Before
+    public void before() {
+        mCodeCache.invalidateAll();
+    }
+
+    @After
+    public void after() {
+        SecurityContextHolder.clearContext();
+        mCodeCache.invalidateAll();
+    }
+
+    @Test
+    public void test_getSelectboxDepartmentRnm_2回目はキャッシュから取得() {
+        long missCount = mCodeCache.getStats().getMissCount();
+        long hitCount = mCodeCache.getStats().getHitCount();
+
+        List<SelectOptionEntity> list1 = mCodeCache.getSelectboxDepartmentRnm();
+        List<SelectOptionEntity> list2 = mCodeCache.getSelectboxDepartmentRnm();
+
+        // DBの部署略称一覧と同じ内容
+        List<SelectOptionEntity> expected = mCodeDao.selectboxDepartmentRnm();
+        assertThat(list1.size(), is(expected.size()));
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(list1.get(i).getKey(), is(expected.get(i).getKey()));
+            assertThat(list1.get(i).getValue(), is(expected.get(i).getValue()));
+        }
+        assertThat(list2.size(), is(expected.size()));
+
+        assertThat(mCodeCache.getStats().getMissCount(), is(missCount + 1));
+        assertThat(mCodeCache.getStats().getHitCount(), is(hitCount + 1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_getListByCodeKbn_変更不可() {
+        mCodeCache.getListByCodeKbn(MCodeConst.D001).clear();
+    }
+
+    @Test
+    @Transactional
+    public void test_update_更新時にキャッシュを破棄() {
+        login("admin");
+
+        List<MCode> before = mCodeCache.getListByCodeKbn(MCodeConst.D001);
+        mCodeCache.getListByCodeKbn("A001"); // 別区分（破棄されない）
+        long missCount = mCodeCache.getStats().getMissCount();
+
+        // コードマスタ更新
+        MCode entity = mCodeDao.selectById(MCodeConst.D001, before.get(0).getCode());
+        entity.setAttr1("更新後略称");
+        mCodeDao.update(entity);
+
+        // 更新されたコード区分のみ再読込される
+        List<MCode> after = mCodeCache.getListByCodeKbn(MCodeConst.D001);
+        assertThat(after.get(0).getAttr1(), is("更新後略称"));
+        assertThat(mCodeCache.getStats().getMissCount(), is(missCount + 1));
+        mCodeCache.getListByCodeKbn("A001");
+        assertThat(mCodeCache.getStats().getMissCount(), is(missCount + 1));
+    }
+
+    private void login(String userId) {
+        MUser user = new MUser();
+        user.setUserId(userId);
+        user.setPassword("pass");
+        UserInfo userInfo = new UserInfo(user, AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+        SecurityContextHolder.getContext()
+                             .setAuthentication(new UsernamePasswordAuthenticationToken(userInfo,
+                                                                                        null,
+                                                                                        userInfo.getAuthorities()));
+    }
+}
@@ -0,0 +1,115 @@
+package rms.common.cache;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class RmsCacheTest {
+
+    /** 現在時刻（テスト用） */
+    AtomicLong now = new AtomicLong(0);
+
+    /** 読込回数 */
+    AtomicInteger loadCount = new AtomicInteger(0);
+
+    @Test
+    public void test_get_ヒットとミス() {
+        RmsCache<String, String> cache = new RmsCache<>(10, 1000, now::get);
+
+        assertThat(cache.get("A001", this::load), is("A001-1"));
+        assertThat(cache.get("A001", this::load), is("A001-1"));
+        assertThat(cache.get("B001", this::load), is("B001-2"));
+
+        RmsCacheStats stats = cache.getStats();
+        assertThat(stats.getHitCount(), is(1L));
+        assertThat(stats.getMissCount(), is(2L));
+        assertThat(stats.getSize(), is(2));
+        assertThat(loadCount.get(), is(2));
+    }
+
+    @Test
+    public void test_get_有効期限切れ() {
+        RmsCache<String, String> cache = new RmsCache<>(10, 1000, now::get);
+
+        cache.get("A001", this::load);
+        now.set(999);
+        assertThat(cache.get("A001", this::load), is("A001-1"));
+        now.set(1000);
+        assertThat(cache.get("A001", this::load), is("A001-2"));
+
+        RmsCacheStats stats = cache.getStats();
+        assertThat(stats.getHitCount(), is(1L));
+        assertThat(stats.getMissCount(), is(2L));
+        assertThat(stats.getEvictionCount(), is(1L));
+    }
+
+    @Test
+    public void test_get_件数上限() {
+        RmsCache<String, String> cache = new RmsCache<>(2, 1000, now::get);
+
+        cache.get("A001", this::load);
+        cache.get("B001", this::load);
+        cache.get("A001", this::load); // A001を最近使用したものにする
+        cache.get("D001", this::load); // 最も古いB001が追い出される
+
+        assertThat(cache.getStats().getSize(), is(2));
+        assertThat(cache.getStats().getEvictionCount(), is(1L));
+        assertThat(cache.get("A001", this::load), is("A001-1"));
+        assertThat(cache.get("B001", this::load), is("B001-4"));
+    }
+
+    @Test
+    public void test_invalidate_破棄() {
+        RmsCache<String, String> cache = new RmsCache<>(10, 1000, now::get);
+
+        cache.get("A001", this::load);
+        cache.get("B001", this::load);
+        cache.invalidate("A001");
+        assertThat(cache.get("A001", this::load), is("A001-3"));
+        assertThat(cache.get("B001", this::load), is("B001-2"));
+
+        cache.invalidateAll();
+        assertThat(cache.getStats().getSize(), is(0));
+    }
+
+    @Test
+    public void test_get_読込中に破棄された値は保持しない() {
+        RmsCache<String, String> cache = new RmsCache<>(10, 1000, now::get);
+
+        // 読込中に他スレッドが更新・破棄した場合
+        assertThat(cache.get("A001", key -> {
+            String value = load(key);
+            cache.invalidate(key);
+            return value;
+        }), is("A001-1"));
+        assertThat(cache.getStats().getSize(), is(0));
+
+        // 全件破棄も同様
+        cache.get("B001", key -> {
+            String value = load(key);
+            cache.invalidateAll();
+            return value;
+        });
+        assertThat(cache.getStats().getSize(), is(0));
+
+        // 次回は再読込して保持する
+        assertThat(cache.get("A001", this::load), is("A001-3"));
+        assertThat(cache.get("A001", this::load), is("A001-3"));
+    }
+
+    @Test
+    public void test_get_nullは保持しない() {
+        RmsCache<String, String> cache = new RmsCache<>(10, 1000, now::get);
+
+        assertThat(cache.get("A001", k -> null), is(nullValue()));
+        assertThat(cache.getStats().getSize(), is(0));
+    }
+
+    private String load(String key) {
+        return key + "-" + loadCount.incrementAndGet();
+    }
+}
@@ -0,0 +1,108 @@
+package rms.common.interceptor;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.embedded.LocalServerPort;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.util.StreamUtils;
+
+import rms.SpringWebApplication;
+import rms.common.base.WebSecurityConfig;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = SpringWebApplication.class, webEnvironment = WebEnvironment.RANDOM_PORT, properties = "spring.profiles.active=test")
+public class StaticResourceCacheFilterTest {
+
+    @LocalServerPort
+    int port;
+
+    @Value("${server.context-path}")
+    String contextPath;
+
+    @Test
+    public void test_コンテンツハッシュ付きURLは長期キャッシュ() throws Exception {
+        String html = new String(get(WebSecurityConfig.LOGIN_MAPPING_URL, null).body, StandardCharsets.UTF_8);
+
+        // 画面にはハッシュ付きURLを出力する
+        Matcher matcher = Pattern.compile(Pattern.quote(contextPath) + "(/js/com/rms-[0-9a-f]{32}\\.js)").matcher(html);
+        assertTrue(matcher.find());
+
+        Response response = get(matcher.group(1), null);
+        assertThat(response.status, is(200));
+        assertThat(response.cacheControl, is("public, max-age=31536000, immutable"));
+    }
+
+    @Test
+    public void test_ハッシュなしURLは毎回更新確認() throws Exception {
+        Response response = get("/fw/bootstrap4/css/bootswatch-theme-Cerulean.min.css", null);
+        assertThat(response.status, is(200));
+        assertThat(response.cacheControl, is("no-cache"));
+    }
+
+    @Test
+    public void test_HTMLとJSONは圧縮して返却() throws Exception {
+        Response plain = get(WebSecurityConfig.LOGIN_MAPPING_URL, null);
+        assertThat(plain.contentEncoding, is(nullValue()));
+
+        Response gzip = get(WebSecurityConfig.LOGIN_MAPPING_URL, "gzip");
+        assertThat(gzip.contentEncoding, is("gzip"));
+        byte[] unzipped = StreamUtils.copyToByteArray(new GZIPInputStream(new ByteArrayInputStream(gzip.body)));
+        assertThat(unzipped.length, is(plain.body.length));
+        assertTrue(gzip.body.length < plain.body.length);
+    }
+
+    private Response get(String path,
+                         String acceptEncoding) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + contextPath + path).openConnection();
+        if (acceptEncoding != null) {
+            connection.setRequestProperty(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        try (InputStream in = connection.getInputStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            StreamUtils.copy(in, out);
+            return new Response(connection.getResponseCode(),
+                                connection.getHeaderField(HttpHeaders.CACHE_CONTROL),
+                                connection.getHeaderField(HttpHeaders.CONTENT_ENCODING),
+                                out.toByteArray());
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static class Response {
+
+        final int status;
+        final String cacheControl;
+        final String contentEncoding;
+        final byte[] body;
+
+        Response(int status,
+                 String cacheControl,
+                 String contentEncoding,
+                 byte[] body) {
+            this.status = status;
+            this.cacheControl = cacheControl;
+            this.contentEncoding = contentEncoding;
+            this.body = body;
+        }
+    }
+
+}
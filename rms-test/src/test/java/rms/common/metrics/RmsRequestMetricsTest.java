@@ -0,0 +1,202 @@
+package rms.common.metrics;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.servlet.http.HttpSession;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.ui.Model;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.support.SessionStatus;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.HandlerMethod;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import rms.SpringWebApplication;
+import rms.common.auth.UserInfo;
+import rms.common.interceptor.ControllerInterceptor;
+import rms.common.interceptor.HandlerInterceptorImpl;
+import rms.web.app.system.menu.MenuController;
+import rms.web.app.system.menu.MenuForm;
+import rms.web.app.tran.reportapproveregistbulk.ReportApproveRegistBulkController;
+import rms.web.app.tran.reportapproveregistbulk.ReportApproveRegistBulkForm;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = SpringWebApplication.class, properties = "spring.profiles.active=test")
+@AutoConfigureMockMvc
+public class RmsRequestMetricsTest {
+
+    /* テスト対象 */
+    @Autowired
+    RmsRequestMetrics requestMetrics;
+
+    @Autowired
+    ReportApproveRegistBulkController reportApproveRegistBulkController;
+
+    @Autowired
+    MenuController menuController;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    HandlerInterceptorImpl interceptor;
+
+    ListAppender<ILoggingEvent> appender;
+
+    @Before
+    public void before() {
+        requestMetrics.reset();
+        interceptor = new HandlerInterceptorImpl(requestMetrics);
+        appender = new ListAppender<>();
+        appender.start();
+        ((Logger) LoggerFactory.getLogger(RmsRequestMetrics.class)).addAppender(appender);
+    }
+
+    @After
+    public void after() {
+        ((Logger) LoggerFactory.getLogger(RmsRequestMetrics.class)).detachAppender(appender);
+    }
+
+    @Test
+    public void test_RmsLatencyHistogram_パーセンタイル() {
+        RmsLatencyHistogram histogram = new RmsLatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i), i % 100 == 0);
+        }
+
+        RmsLatencyStats stats = histogram.getStats();
+        assertThat(stats.getCount(), is(1000L));
+        assertThat(stats.getErrorCount(), is(10L));
+        assertThat(stats.getMax(), is(1000.0));
+        assertThat(stats.getMean(), is(500.5));
+        // バケット幅（約20%）の誤差で近似
+        assertTrue(stats.getP50() >= 500 && stats.getP50() <= 600);
+        assertTrue(stats.getP95() >= 950 && stats.getP95() <= 1000);
+        assertTrue(stats.getP99() >= 990 && stats.getP99() <= 1000);
+
+        assertThat(new RmsLatencyHistogram().getStats().getP99(), is(0.0));
+    }
+
+    @Test
+    public void test_logSummary_区間をリセットして区間と累計を出力() {
+        RmsLatencyHistogram histogram = requestMetrics.getHistogram("T001", "search");
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(1000), true);
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(10), false);
+
+        // 1区間目
+        requestMetrics.logSummary();
+        List<String> messageList = messages();
+        assertThat(messageList.size(), is(1));
+        assertThat(messageList.get(0), containsString("T001#search window("));
+        assertThat(messageList.get(0), containsString(")[count=2, error=1,"));
+        assertThat(messageList.get(0), containsString("max=1000.0ms] total[count=2, error=1,"));
+
+        // 2区間目（前区間の遅延は区間の集計に含まない）
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(20), false);
+        RmsRequestStats stats = requestMetrics.getStatsList().get(0);
+        assertThat(stats.getWindow().getCount(), is(1L));
+        assertThat(stats.getWindow().getMax(), is(20.0));
+        assertThat(stats.getCount(), is(3L));
+        assertThat(stats.getMax(), is(1000.0));
+
+        appender.list.clear();
+        requestMetrics.logSummary();
+        messageList = messages();
+        assertThat(messageList.size(), is(1));
+        assertThat(messageList.get(0), containsString(")[count=1, error=0,"));
+        assertThat(messageList.get(0), containsString("max=20.0ms] total[count=3, error=1,"));
+
+        // リクエストの無い区間は出力しない
+        appender.list.clear();
+        requestMetrics.logSummary();
+        assertThat(messages().size(), is(0));
+        assertThat(requestMetrics.getStatsList().get(0).getWindow().getCount(), is(0L));
+        assertThat(requestMetrics.getStatsList().get(0).getCount(), is(3L));
+    }
+
+    @Test
+    public void test_HandlerInterceptorImpl_画面IDと処理ごとに集計() throws Exception {
+        HandlerMethod approveBulk = new HandlerMethod(reportApproveRegistBulkController, "approveBulk",
+                ReportApproveRegistBulkForm.class, BindingResult.class, UserInfo.class, SessionStatus.class, Model.class);
+        HandlerMethod menu = new HandlerMethod(menuController, "init",
+                MenuForm.class, HttpSession.class, WebRequest.class, Model.class);
+
+        // 処理中
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tran/reportapproveregistbulk");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, approveBulk);
+        RmsRequestStats stats = requestMetrics.getStatsList().get(0);
+        assertThat(stats.getScreenId(), is(ReportApproveRegistBulkController.SCREEN_ID));
+        assertThat(stats.getAction(), is("approveBulk"));
+        assertThat(stats.getInFlight(), is(1));
+        assertThat(stats.getCount(), is(0L));
+
+        // 完了
+        interceptor.afterCompletion(request, response, approveBulk, null);
+        stats = requestMetrics.getStatsList().get(0);
+        assertThat(stats.getInFlight(), is(0));
+        assertThat(stats.getCount(), is(1L));
+        assertThat(stats.getErrorCount(), is(0L));
+
+        // 例外ハンドラでエラー画面に遷移した場合もエラーとして集計
+        request = new MockHttpServletRequest("POST", "/tran/reportapproveregistbulk");
+        interceptor.preHandle(request, response, approveBulk);
+        request.setAttribute(ControllerInterceptor.ATTR_ERROR, "java.lang.RuntimeException");
+        interceptor.afterCompletion(request, response, approveBulk, null);
+        assertThat(requestMetrics.getStatsList().get(0).getErrorCount(), is(1L));
+
+        // paramsが無い場合はメソッド名
+        request = new MockHttpServletRequest("GET", "/menu");
+        interceptor.preHandle(request, response, menu);
+        interceptor.afterCompletion(request, response, menu, null);
+        assertThat(requestMetrics.getStatsList().get(0).getScreenId(), is(MenuController.SCREEN_ID));
+        assertThat(requestMetrics.getStatsList().get(0).getAction(), is("init"));
+        assertThat(requestMetrics.getStatsList().size(), is(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    public void test_MetricsController_統計情報をJSONで取得() throws Exception {
+        requestMetrics.getHistogram("T001", "search").record(TimeUnit.MILLISECONDS.toNanos(12), false);
+
+        mockMvc.perform(get("/system/metrics/requests"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.inFlight").value(1))
+               .andExpect(jsonPath("$.requests[?(@.screenId == 'T001')].action").value("search"))
+               .andExpect(jsonPath("$.requests[?(@.screenId == 'T001')].count").value(1))
+               .andExpect(jsonPath("$.requests[?(@.screenId == 'T001')].p99").value(12.0))
+               .andExpect(jsonPath("$.requests[?(@.screenId == 'T001')].window.count").value(1))
+               .andExpect(jsonPath("$.windowStartTime").isNumber());
+
+        // 本リクエストも集計される
+        RmsRequestStats stats = requestMetrics.getStatsList().get(0);
+        assertThat(stats.getScreenId(), is("MetricsController"));
+        assertThat(stats.getCount(), is(1L));
+    }
+
+    private List<String> messages() {
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).collect(Collectors.toList());
+    }
+
+}
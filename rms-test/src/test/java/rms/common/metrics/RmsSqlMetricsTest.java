@@ -0,0 +1,130 @@
+package rms.common.metrics;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.mail.MessagingException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import rms.SpringWebApplication;
+import rms.common.dao.TMailOutboxDao;
+import rms.common.entity.TMailOutbox;
+import rms.common.utils.ProjectProperties;
+import rms.common.utils.RmsMailInfo;
+import rms.common.utils.RmsMailOutbox;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = SpringWebApplication.class, properties = "spring.profiles.active=test")
+public class RmsSqlMetricsTest {
+
+    /* テスト対象 */
+    @Autowired
+    RmsSqlMetrics sqlMetrics;
+
+    @Autowired
+    RmsMailOutbox outbox;
+
+    @Autowired
+    TMailOutboxDao tMailOutboxDao;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ProjectProperties properties;
+
+    /** SQL実行時間ログ */
+    ListAppender<ILoggingEvent> appender;
+
+    @Before
+    public void before() {
+        jdbcTemplate.update("delete from t_mail_outbox");
+        sqlMetrics.reset();
+        appender = new ListAppender<>();
+        appender.start();
+        ((Logger) LoggerFactory.getLogger(RmsSqlMetrics.class)).addAppender(appender);
+    }
+
+    @After
+    public void after() {
+        ((Logger) LoggerFactory.getLogger(RmsSqlMetrics.class)).detachAppender(appender);
+        ReflectionTestUtils.setField(properties, "metricsSqlSlowThresholdMillis", 1000L);
+    }
+
+    @Test
+    public void test_Daoメソッドごとに実行時間と処理件数を集計() throws MessagingException {
+        outbox.enqueue(createMailInfo("a@xxx.xx"));
+        outbox.enqueue(Arrays.asList(createMailInfo("b@xxx.xx"), createMailInfo("c@xxx.xx")));
+        assertThat(tMailOutboxDao.selectBySendToken("none").size(), is(0));
+        assertThat(tMailOutboxDao.updateSendToken("token", LocalDateTime.now(), 10), is(3));
+        List<TMailOutbox> mailList = tMailOutboxDao.selectBySendToken("token");
+        assertThat(mailList.size(), is(3));
+        tMailOutboxDao.updateNoOptimisticLockException(mailList.get(0));
+
+        RmsSqlStats select = find("TMailOutboxDao.selectBySendToken");
+        assertThat(select.getSqlFilePath(), is("META-INF/rms/common/dao/TMailOutboxDao/selectBySendToken.sql"));
+        assertThat(select.getCount(), is(2L));
+        assertThat(select.getRows(), is(3L));
+        assertThat(select.getErrorCount(), is(0L));
+        assertThat(select.getInFlight(), is(0));
+        assertTrue(select.getMax() >= select.getP50());
+
+        assertThat(find("TMailOutboxDao.updateSendToken").getRows(), is(3L));
+        RmsSqlStats insertBatch = find("TMailOutboxDao.insertBatch");
+        assertThat(insertBatch.getCount(), is(2L));
+        assertThat(insertBatch.getRows(), is(3L));
+
+        // 自動生成SQLはSQLファイルなし
+        RmsSqlStats update = find("TMailOutboxDao.updateNoOptimisticLockException");
+        assertThat(update.getSqlFilePath(), is(nullValue()));
+        assertThat(update.getRows(), is(1L));
+
+        // 閾値未満はログ出力しない
+        assertThat(appender.list.size(), is(0));
+    }
+
+    @Test
+    public void test_閾値以上のSQLはバインド変数をマスクしてログ出力() {
+        ReflectionTestUtils.setField(properties, "metricsSqlSlowThresholdMillis", 0L);
+
+        tMailOutboxDao.selectBySendToken("secret-token");
+
+        assertThat(appender.list.size(), is(1));
+        String message = appender.list.get(0).getFormattedMessage();
+        assertThat(message, containsString("slow sql -> TMailOutboxDao.selectBySendToken"));
+        assertThat(message, containsString("file=META-INF/rms/common/dao/TMailOutboxDao/selectBySendToken.sql"));
+        assertThat(message, containsString("send_token = ?"));
+        assertThat(message, containsString("params=[String, String]"));
+        assertThat(message, not(containsString("secret-token")));
+    }
+
+    private RmsSqlStats find(String daoMethod) {
+        return sqlMetrics.getStatsList()
+                         .stream()
+                         .filter(s -> s.getDaoMethod().equals(daoMethod))
+                         .findFirst()
+                         .orElseThrow(() -> new AssertionError(daoMethod));
+    }
+
+    private RmsMailInfo createMailInfo(String toAddr) throws MessagingException {
+        return new RmsMailInfo().setFromAddr("from@xxx.xx").addToAddr(toAddr).setSubject("件名").setText("本文");
+    }
+
+}
@@ -0,0 +1,234 @@
+package rms.common.storage;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.springframework.util.StreamUtils;
+
+import rms.common.consts.Const.ReportStorageType;
+import rms.common.utils.RmsDigestUtils;
+import rms.testutil.mock.RmsMockS3Server;
+
+/**
+ * 月報ファイル格納先の共通動作（ディレクトリ・ディレクトリ階層分割・S3互換オブジェクトストレージ）
+ */
+@RunWith(Parameterized.class)
+public class ReportStorageTest {
+
+    /** テスト用S3互換オブジェクトストレージ */
+    private static RmsMockS3Server s3Server;
+
+    @Parameters(name = "{0}")
+    public static Collection<ReportStorageType> parameters() {
+        return Arrays.asList(ReportStorageType.values());
+    }
+
+    /** 格納先の種類 */
+    @Parameter
+    public ReportStorageType type;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /** テスト対象 */
+    private ReportStorage storage;
+
+    @BeforeClass
+    public static void beforeAll() throws IOException {
+        s3Server = new RmsMockS3Server();
+    }
+
+    @AfterClass
+    public static void afterAll() {
+        s3Server.close();
+    }
+
+    @Before
+    public void before() {
+        Path root = folder.getRoot().toPath();
+        switch (type) {
+        case LOCAL:
+            storage = new LocalReportStorage(root);
+            break;
+        case SHARDED:
+            storage = new ShardedReportStorage(root);
+            break;
+        case S3:
+        default:
+            storage = s3Server.createStorage(RmsMockS3Server.SECRET_KEY, root);
+            break;
+        }
+    }
+
+    @Test
+    public void test_write_read_stat_delete() throws Exception {
+        String key = type + "_201701_user01.xlsx";
+
+        // テスト実行（書き込み）
+        storage.write(key, bytes("report"), 6);
+
+        // テスト結果確認
+        assertThat(read(storage, key), is("report"));
+        ReportStorageObject object = storage.stat(key);
+        assertThat(object.getKey(), is(key));
+        assertThat(object.getSize(), is(6L));
+        assertThat(object.getLastModified() > 0, is(true));
+
+        // テスト実行・結果確認（置き換え）
+        storage.write(key, bytes("replaced"), 8);
+        assertThat(read(storage, key), is("replaced"));
+        assertThat(storage.stat(key).getSize(), is(8L));
+
+        // テスト実行・結果確認（削除）
+        storage.delete(key);
+        assertThat(storage.stat(key), is(nullValue()));
+    }
+
+    @Test
+    public void test_read_範囲指定() throws Exception {
+        String key = type + "_201701_user01.xlsx";
+        storage.write(key, bytes("0123456789"), 10);
+
+        // テスト実行・結果確認
+        assertThat(read(storage.read(key, 2, 4)), is("2345"));
+        assertThat(read(storage.read(key, 7, 3)), is("789"));
+        assertThat(read(storage.read(key, 0, 0)), is(""));
+        assertThat(storage.stat(key).getETag(), is(notNullValue()));
+    }
+
+    @Test
+    public void test_存在しないファイル() throws Exception {
+        String key = type + "_notfound.xlsx";
+
+        assertThat(storage.stat(key), is(nullValue()));
+        try {
+            storage.read(key).close();
+            fail();
+        } catch (NoSuchFileException e) {
+            // 存在しない
+        }
+
+        // 削除は何もしない
+        storage.delete(key);
+    }
+
+    @Test
+    public void test_write_サイズ不明_ストリームで書き込み() throws Exception {
+        String key = type + "_large.xlsx";
+        byte[] data = new byte[3 * 1024 * 1024 + 1];
+        new Random(0).nextBytes(data);
+
+        // テスト実行
+        storage.write(key, new ByteArrayInputStream(data), ReportStorage.UNKNOWN_SIZE);
+
+        // テスト結果確認
+        assertThat(storage.stat(key).getSize(), is((long) data.length));
+        try (InputStream is = storage.read(key)) {
+            assertThat(Arrays.equals(StreamUtils.copyToByteArray(is), data), is(true));
+        }
+
+        // 一時ファイルが残らないこと
+        try (Stream<Path> stream = Files.walk(folder.getRoot().toPath())) {
+            assertThat(stream.filter(p -> p.getFileName().toString().endsWith(".tmp")).count(), is(0L));
+        }
+    }
+
+    @Test
+    public void test_不正なキー() throws Exception {
+        for (String key : new String[] { "../201701_user01.xlsx", "dir/201701_user01.xlsx", "..", "" }) {
+            try {
+                storage.write(key, bytes("x"), 1);
+                fail(key);
+            } catch (IllegalArgumentException e) {
+                // 格納先外への書き込み不可
+            }
+        }
+    }
+
+    @Test
+    public void test_ディレクトリ階層分割() throws Exception {
+        assumeThat(type, is(ReportStorageType.SHARDED));
+
+        // テスト実行
+        storage.write("201701_user01.xlsx", bytes("report"), 6);
+
+        // テスト結果確認（キーのSHA-256の先頭2文字・次の2文字で分割）
+        assertThat(Files.exists(folder.getRoot().toPath().resolve("69").resolve("e7").resolve("201701_user01.xlsx")),
+                   is(true));
+    }
+
+    @Test
+    public void test_ディレクトリ階層分割_ハッシュ値のキー() throws Exception {
+        assumeThat(type, is(ReportStorageType.SHARDED));
+        String hash = RmsDigestUtils.sha256Hex("hello");
+
+        // テスト実行
+        storage.write(hash, bytes("hello"), 5);
+
+        // テスト結果確認（キー自体の先頭2文字・次の2文字で分割 backup.shの確認先と一致すること）
+        assertThat(hash, is("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824"));
+        Path expected = folder.getRoot().toPath().resolve("2c").resolve("f2").resolve(hash);
+        assertThat(((ShardedReportStorage) storage).resolve(hash), is(expected));
+        assertThat(Files.exists(expected), is(true));
+    }
+
+    @Test
+    public void test_S3_署名検証_オブジェクト格納() throws Exception {
+        assumeThat(type, is(ReportStorageType.S3));
+        int signatureErrorCount = s3Server.getSignatureErrorCount();
+
+        // テスト実行・結果確認（URIエンコードが必要なキーも署名が一致すること）
+        storage.write("201701_申請者 01.xlsx", bytes("report"), 6);
+        assertThat(new String(s3Server.getObject("201701_申請者 01.xlsx"), StandardCharsets.UTF_8), is("report"));
+        assertThat(s3Server.getSignatureErrorCount(), is(signatureErrorCount));
+
+        // テスト実行・結果確認（認証エラー）
+        ReportStorage invalidStorage = s3Server.createStorage("invalid", folder.getRoot().toPath());
+        try {
+            invalidStorage.stat("201701_申請者 01.xlsx");
+            fail();
+        } catch (IOException e) {
+            assertThat(e.getMessage(), containsString("403"));
+        }
+        assertThat(s3Server.getSignatureErrorCount(), is(signatureErrorCount + 1));
+    }
+
+    private InputStream bytes(String value) {
+        return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String read(ReportStorage storage,
+                        String key) throws IOException {
+        return read(storage.read(key));
+    }
+
+    private String read(InputStream inputStream) throws IOException {
+        try (InputStream is = inputStream) {
+            return new String(StreamUtils.copyToByteArray(is), StandardCharsets.UTF_8);
+        }
+    }
+
+}
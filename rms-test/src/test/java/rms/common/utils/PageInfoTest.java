@@ -12,6 +12,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import rms.SpringWebApplication;
+import rms.common.utils.PageInfo.PagingMode;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest(classes = SpringWebApplication.class, properties = "spring.profiles.active=test")
@@ -53,6 +54,51 @@ public class PageInfoTest {
         }
     }
 
+    @Test
+    public void test_ページ制御処理_キーセット方式() {
+        PageInfo page = new PageInfo(5, PagingMode.KEYSET);
+        assertThat(page.isCountRequired(), is(true));
+        assertThat(page.getPageKey().isFirstPage(), is(true));
+
+        // 1ページ目（6件取得＝次ページあり）
+        page.setKeysetResult(6, new PageKey(201609, "user05"));
+        page.setTotalSize(12);
+        assertThat(page.isCountRequired(), is(false));
+        assertThat(page.getStartIndex(), is(1));
+        assertThat(page.getEndIndex(), is(5));
+        assertThat(page.getHasPrev(), is(false));
+        assertThat(page.getHasNext(), is(true));
+
+        // 2ページ目
+        page.next();
+        assertThat(page.getPage(), is(2));
+        assertThat(page.getPageKey().getTargetYm(), is(201609));
+        assertThat(page.getPageKey().getUserId(), is("user05"));
+        page.setKeysetResult(6, new PageKey(201608, "user03"));
+
+        // 3ページ目（2件取得＝最終ページ）
+        page.next();
+        assertThat(page.getPageKey().getUserId(), is("user03"));
+        page.setKeysetResult(2, new PageKey(201608, "user08"));
+        assertThat(page.getStartIndex(), is(11));
+        assertThat(page.getEndIndex(), is(12));
+        assertThat(page.getHasNext(), is(false));
+
+        // 最終ページより先には移動しない
+        page.next();
+        assertThat(page.getPage(), is(3));
+
+        // 開始キーを保持していないページは1ページ目として扱う
+        page.setPage(5);
+        assertThat(page.getPage(), is(1));
+        assertThat(page.getPageKey().isFirstPage(), is(true));
+
+        // クリアで総件数を再取得
+        page.clear();
+        assertThat(page.isCountRequired(), is(true));
+        assertThat(page.getTotalSize(), is(0));
+    }
+
     private void printLog(PageInfo page) {
         logger.debug("page.getPage() -> {}", page.getPage());
         logger.debug("page.getTotalPage() -> {}", page.getTotalPage());
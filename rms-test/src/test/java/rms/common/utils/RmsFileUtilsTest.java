@@ -1,22 +1,249 @@
 package rms.common.utils;
 
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import rms.common.storage.LocalReportStorage;
+import rms.common.storage.ReportStorage;
+import rms.common.storage.ReportStorageObject;
 
 public class RmsFileUtilsTest {
 
-    // TODO テスト未実装
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public final void test_fileDownload() throws IOException {
+        ReportStorage storage = createStorage("201609_user01.xlsx", "0123456789");
+        ReportStorageObject object = storage.stat("201609_user01.xlsx");
+        String eTag = RmsFileUtils.createDownloadETag(object, "月報.xlsx");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        RmsFileUtils.fileDownload(new MockHttpServletRequest("GET", "/"), response, storage, "201609_user01.xlsx",
+                                  "月報.xlsx");
+
+        assertThat(response.getStatus(), is(200));
+        assertThat(response.getContentAsString(), is("0123456789"));
+        assertThat(response.getContentLengthLong(), is(10L));
+        assertThat(response.getHeader("ETag"), is(eTag));
+        assertThat(response.getDateHeader("Last-Modified"), is(object.getLastModified() / 1000 * 1000));
+        assertThat(response.getHeader("Accept-Ranges"), is("bytes"));
+        assertThat(response.getHeader("Cache-Control"), is("private, no-cache"));
+        assertThat(response.getHeader("Content-Disposition"),
+                   is("attachment; filename*=UTF-8''%E6%9C%88%E5%A0%B1.xlsx"));
+    }
+
+    @Test
+    public final void test_fileDownload_条件付きGET_変更なし() throws IOException {
+        ReportStorage storage = createStorage("201609_user01.xlsx", "0123456789");
+        ReportStorageObject object = storage.stat("201609_user01.xlsx");
+        String eTag = RmsFileUtils.createDownloadETag(object, "月報.xlsx");
+
+        // If-None-Match
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("If-None-Match", eTag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RmsFileUtils.fileDownload(request, response, storage, "201609_user01.xlsx", "月報.xlsx");
+        assertThat(response.getStatus(), is(304));
+        assertThat(response.getContentAsByteArray().length, is(0));
+        assertThat(response.getHeader("ETag"), is(eTag));
+
+        // If-Modified-Since
+        request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("If-Modified-Since", object.getLastModified());
+        response = new MockHttpServletResponse();
+        RmsFileUtils.fileDownload(request, response, storage, "201609_user01.xlsx", "月報.xlsx");
+        assertThat(response.getStatus(), is(304));
+
+        // 更新後は全体を返却
+        Files.write(folder.getRoot().toPath().resolve("201609_user01.xlsx"),
+                    "changed".getBytes(StandardCharsets.UTF_8));
+        request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("If-None-Match", eTag);
+        response = new MockHttpServletResponse();
+        RmsFileUtils.fileDownload(request, response, storage, "201609_user01.xlsx", "月報.xlsx");
+        assertThat(response.getStatus(), is(200));
+        assertThat(response.getContentAsString(), is("changed"));
+    }
+
+    @Test
+    public final void test_fileDownload_条件付きGET_ファイル名が異なる() throws IOException {
+        ReportStorage storage = createStorage("201609_user01.xlsx", "0123456789");
+        ReportStorageObject object = storage.stat("201609_user01.xlsx");
+
+        // 同一内容でもファイル名が異なる場合はエンティティタグが異なる
+        String eTag = RmsFileUtils.createDownloadETag(object, "201609_user01_社員０１.xlsx");
+        String otherETag = RmsFileUtils.createDownloadETag(object, "201609_user02_社員０２.xlsx");
+        assertThat(eTag.equals(otherETag), is(false));
+        assertThat(eTag.startsWith(object.getETag().substring(0, object.getETag().length() - 1)), is(true));
+
+        // 別のファイル名のエンティティタグでは304にせず、ファイル名を含めて全体を返却
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("If-None-Match", otherETag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RmsFileUtils.fileDownload(request, response, storage, "201609_user01.xlsx", "201609_user01_社員０１.xlsx");
+        assertThat(response.getStatus(), is(200));
+        assertThat(response.getHeader("ETag"), is(eTag));
+        assertThat(response.getContentAsString(), is("0123456789"));
+        assertThat(response.getHeader("Content-Disposition").contains("201609_user01_"), is(true));
+    }
+
+    @Test
+    public final void test_fileDownload_範囲指定() throws IOException {
+        ReportStorage storage = createStorage("201609_user01.xlsx", "0123456789");
+        ReportStorageObject object = storage.stat("201609_user01.xlsx");
+        String eTag = RmsFileUtils.createDownloadETag(object, "月報.xlsx");
+
+        // 開始・終了
+        MockHttpServletResponse response = download(storage, "bytes=2-5", null);
+        assertThat(response.getStatus(), is(206));
+        assertThat(response.getHeader("Content-Range"), is("bytes 2-5/10"));
+        assertThat(response.getContentLengthLong(), is(4L));
+        assertThat(response.getContentAsString(), is("2345"));
+
+        // 開始のみ
+        response = download(storage, "bytes=7-", null);
+        assertThat(response.getHeader("Content-Range"), is("bytes 7-9/10"));
+        assertThat(response.getContentAsString(), is("789"));
+
+        // 末尾から
+        response = download(storage, "bytes=-4", eTag);
+        assertThat(response.getStatus(), is(206));
+        assertThat(response.getHeader("Content-Range"), is("bytes 6-9/10"));
+        assertThat(response.getContentAsString(), is("6789"));
+
+        // 範囲外
+        response = download(storage, "bytes=10-", null);
+        assertThat(response.getStatus(), is(416));
+        assertThat(response.getHeader("Content-Range"), is("bytes */10"));
+
+        // If-Range不一致・複数範囲・形式不正は全体を返却
+        for (String[] header : new String[][] { { "bytes=2-5", "\"other\"" }, { "bytes=0-1,4-5", null },
+                { "items=0-1", null } }) {
+            response = download(storage, header[0], header[1]);
+            assertThat(response.getStatus(), is(200));
+            assertThat(response.getContentAsString(), is("0123456789"));
+        }
+    }
+
     @Test
-    public final void test_fileDownload() {
+    public final void test_fileDownload_sendfile() throws IOException {
+        byte[] data = new byte[(int) RmsFileUtils.SENDFILE_MIN_SIZE * 2];
+        ReportStorage storage = createStorage("201609_user01.xlsx", new String(data, StandardCharsets.UTF_8));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.setAttribute(RmsFileUtils.SENDFILE_SUPPORT_ATTR, Boolean.TRUE);
+        request.addHeader("Range", "bytes=1024-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        RmsFileUtils.fileDownload(request, response, storage, "201609_user01.xlsx", "月報.xlsx");
+
+        // コンテナが送信する為、レスポンスへは出力しない
+        assertThat(response.getStatus(), is(206));
+        assertThat(response.getContentLengthLong(), is((long) data.length - 1024));
+        assertThat(response.getContentAsByteArray().length, is(0));
+        assertThat(request.getAttribute(RmsFileUtils.SENDFILE_FILENAME_ATTR),
+                   is(folder.getRoot().toPath().resolve("201609_user01.xlsx").toRealPath().toString()));
+        assertThat(request.getAttribute(RmsFileUtils.SENDFILE_START_ATTR), is(1024L));
+        assertThat(request.getAttribute(RmsFileUtils.SENDFILE_END_ATTR), is((long) data.length));
     }
 
-    // TODO テスト未実装
     @Test
-    public final void test_fileSaveInputStreamPath() {
+    public final void test_fileSaveInputStreamPath() throws IOException {
+        Path filePath = folder.getRoot().toPath().resolve("201609_user01.xlsx");
+
+        // 新規作成
+        RmsFileUtils.fileSave(new ByteArrayInputStream("old".getBytes(StandardCharsets.UTF_8)), filePath);
+        assertThat(new String(Files.readAllBytes(filePath), StandardCharsets.UTF_8), is("old"));
+
+        // 上書き
+        RmsFileUtils.fileSave(new ByteArrayInputStream("new".getBytes(StandardCharsets.UTF_8)), filePath);
+        assertThat(new String(Files.readAllBytes(filePath), StandardCharsets.UTF_8), is("new"));
+
+        // 一時ファイルが残らないこと
+        assertThat(listFileNm(), is("201609_user01.xlsx"));
     }
 
-    // TODO テスト未実装
     @Test
-    public final void test_fileSavePathPath() {
+    public final void test_fileSavePathPath() throws IOException {
+        Path fromFilePath = folder.newFile("from.xlsx").toPath();
+        Path toFilePath = folder.getRoot().toPath().resolve("201609_user01.xlsx");
+        Files.write(fromFilePath, "from".getBytes(StandardCharsets.UTF_8));
+        Files.write(toFilePath, "old".getBytes(StandardCharsets.UTF_8));
+
+        RmsFileUtils.fileSave(fromFilePath, toFilePath);
+
+        // コピー元は残す
+        assertThat(new String(Files.readAllBytes(toFilePath), StandardCharsets.UTF_8), is("from"));
+        assertThat(listFileNm(), is("201609_user01.xlsx,from.xlsx"));
+    }
+
+    @Test
+    public final void test_fileSave_書き込み失敗時は元のファイルを残す() throws IOException {
+        Path filePath = folder.getRoot().toPath().resolve("201609_user01.xlsx");
+        Files.write(filePath, "old".getBytes(StandardCharsets.UTF_8));
+
+        // 読み込み途中で失敗するストリーム
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(new byte[64 * 1024]) {
+            @Override
+            public synchronized int read(byte[] b,
+                                         int off,
+                                         int len) {
+                if (pos > 0) {
+                    throw new IllegalStateException("read error");
+                }
+                return super.read(b, off, len);
+            }
+        };
+        try {
+            RmsFileUtils.fileSave(inputStream, filePath);
+            fail();
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("read error"));
+        }
+
+        assertThat(new String(Files.readAllBytes(filePath), StandardCharsets.UTF_8), is("old"));
+        assertThat(listFileNm(), is("201609_user01.xlsx"));
+    }
+
+    private ReportStorage createStorage(String key,
+                                        String value) throws IOException {
+        ReportStorage storage = new LocalReportStorage(folder.getRoot().toPath());
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        storage.write(key, new ByteArrayInputStream(bytes), bytes.length);
+        return storage;
+    }
+
+    private MockHttpServletResponse download(ReportStorage storage,
+                                             String range,
+                                             String ifRange) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", range);
+        if (ifRange != null) {
+            request.addHeader("If-Range", ifRange);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RmsFileUtils.fileDownload(request, response, storage, "201609_user01.xlsx", "月報.xlsx");
+        return response;
+    }
+
+    private String listFileNm() throws IOException {
+        try (Stream<Path> stream = Files.list(folder.getRoot().toPath())) {
+            return stream.map(p -> p.getFileName().toString()).sorted().collect(Collectors.joining(","));
+        }
     }
 
 }
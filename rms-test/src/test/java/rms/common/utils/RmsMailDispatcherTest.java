@@ -0,0 +1,218 @@
+package rms.common.utils;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.mail.MessagingException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import rms.SpringWebApplication;
+import rms.common.consts.Const;
+import rms.common.dao.TMailOutboxDao;
+import rms.common.entity.TMailOutbox;
+import rms.testutil.mock.RmsMockSmtpServer;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = SpringWebApplication.class, properties = "spring.profiles.active=test")
+public class RmsMailDispatcherTest {
+
+    /* テスト対象 */
+    @Autowired
+    RmsMailDispatcher dispatcher;
+
+    @Autowired
+    RmsMailOutbox outbox;
+
+    @Autowired
+    TMailOutboxDao tMailOutboxDao;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ProjectProperties properties;
+
+    /** テスト用SMTPサーバ */
+    RmsMockSmtpServer server;
+
+    /** 差し替え前のJavaMailSender */
+    JavaMailSender mailSender;
+
+    @Before
+    public void before() throws IOException {
+        jdbcTemplate.update("delete from t_mail_outbox");
+        server = new RmsMockSmtpServer();
+        mailSender = dispatcher.mailSender;
+        dispatcher.mailSender = server.createMailSender();
+    }
+
+    @After
+    public void after() throws IOException {
+        dispatcher.mailSender = mailSender;
+        server.close();
+    }
+
+    @Test
+    public void test_dispatch_1回のSMTP接続で複数メールを送信() throws MessagingException {
+        long sentTotal = dispatcher.getStats().getSentTotal();
+        for (int i = 1; i <= 5; i++) {
+            outbox.enqueue(createMailInfo("to" + i + "@xxx.xx"));
+        }
+        assertThat(dispatcher.getStats().getWaitCount(), is(5L));
+
+        assertThat(dispatcher.dispatch(), is(5));
+
+        assertThat(server.getMessageList().size(), is(5));
+        assertThat(server.getConnectionCount(), is(1));
+        for (TMailOutbox mail : selectAll()) {
+            assertThat(mail.getSendStatus(), is(Const.MAIL_STATUS_SENT));
+            assertThat(mail.getSentDate(), is(notNullValue()));
+            assertThat(mail.getSendToken(), is(nullValue()));
+        }
+        RmsMailOutboxStats stats = dispatcher.getStats();
+        assertThat(stats.getWaitCount(), is(0L));
+        assertThat(stats.getSendingCount(), is(0L));
+        assertThat(stats.getSentTotal(), is(sentTotal + 5));
+
+        // 送信済みのメールは再送しない
+        assertThat(dispatcher.dispatch(), is(0));
+        assertThat(server.getMessageList().size(), is(5));
+    }
+
+    @Test
+    public void test_dispatch_送信元未指定はデフォルトの送信元で送信() throws MessagingException {
+        outbox.enqueue(new RmsMailInfo().addToAddr("to@xxx.xx").setSubject("件名").setText("本文"));
+
+        dispatcher.dispatch();
+
+        assertThat(selectAll().get(0).getFromAddr(), is(properties.getMailFrom()));
+        assertThat(server.getMessageList().get(0).getRcptList().get(0), is("to@xxx.xx"));
+    }
+
+    @Test
+    public void test_dispatch_一時エラーは間隔を空けて再送() throws MessagingException {
+        server.failTemporary(1);
+        outbox.enqueue(createMailInfo("to@xxx.xx"));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatch();
+
+        TMailOutbox mail = selectAll().get(0);
+        assertThat(mail.getSendStatus(), is(Const.MAIL_STATUS_WAIT));
+        assertThat(mail.getRetryCount(), is(1));
+        assertThat(mail.getLastError(), is(notNullValue()));
+        assertTrue(mail.getNextSendDate().isAfter(before.plusSeconds(properties.getMailOutboxRetryBackoffSeconds() - 1)));
+        assertThat(server.getMessageList().size(), is(0));
+
+        // 次回送信日時前は送信しない
+        assertThat(dispatcher.dispatch(), is(0));
+
+        // 次回送信日時を過ぎたら再送
+        mail.setNextSendDate(LocalDateTime.now().minusSeconds(1));
+        tMailOutboxDao.updateNoOptimisticLockException(mail);
+        assertThat(dispatcher.dispatch(), is(1));
+
+        assertThat(selectAll().get(0).getSendStatus(), is(Const.MAIL_STATUS_SENT));
+        assertThat(server.getMessageList().size(), is(1));
+    }
+
+    @Test
+    public void test_dispatch_再送上限を超えたメールは送信エラー() throws MessagingException {
+        long errorTotal = dispatcher.getStats().getErrorTotal();
+        server.reject("ng@xxx.xx");
+        outbox.enqueue(createMailInfo("ng@xxx.xx"));
+        outbox.enqueue(createMailInfo("ok@xxx.xx"));
+
+        TMailOutbox ng = selectAll().get(0);
+        ng.setRetryCount(properties.getMailOutboxRetryMax());
+        tMailOutboxDao.updateNoOptimisticLockException(ng);
+
+        dispatcher.dispatch();
+
+        // 同じ接続で送信した他のメールは送信済み
+        List<TMailOutbox> list = selectAll();
+        assertThat(list.get(0).getSendStatus(), is(Const.MAIL_STATUS_ERROR));
+        assertThat(list.get(1).getSendStatus(), is(Const.MAIL_STATUS_SENT));
+        assertThat(server.getConnectionCount(), is(1));
+        assertThat(dispatcher.getStats().getErrorCount(), is(1L));
+        assertThat(dispatcher.getStats().getErrorTotal(), is(errorTotal + 1));
+    }
+
+    @Test
+    public void test_dispatch_送信中のまま放置されたメールを再送() throws MessagingException {
+        outbox.enqueue(createMailInfo("to@xxx.xx"));
+        TMailOutbox mail = selectAll().get(0);
+        mail.setSendStatus(Const.MAIL_STATUS_SENDING);
+        mail.setSendToken("dummy");
+        mail.setUpdDate(LocalDateTime.now().minusSeconds(properties.getMailOutboxSendingTimeoutSeconds() + 1));
+        tMailOutboxDao.updateNoOptimisticLockException(mail);
+
+        assertThat(dispatcher.dispatch(), is(1));
+
+        assertThat(selectAll().get(0).getSendStatus(), is(Const.MAIL_STATUS_SENT));
+        assertThat(server.getMessageList().size(), is(1));
+    }
+
+    @Test
+    public void test_purgeSent_保持日数を過ぎた送信済みメールを削除() throws MessagingException {
+        for (int i = 1; i <= 4; i++) {
+            outbox.enqueue(createMailInfo("to" + i + "@xxx.xx"));
+        }
+        dispatcher.dispatch();
+        List<TMailOutbox> list = selectAll();
+        int retentionDays = properties.getMailOutboxSentRetentionDays();
+
+        // 保持日数を過ぎた送信済み
+        list.get(0).setSentDate(LocalDateTime.now().minusDays(retentionDays).minusMinutes(1));
+        // 保持日数内の送信済み
+        list.get(1).setSentDate(LocalDateTime.now().minusDays(retentionDays).plusMinutes(1));
+        // 保持日数を過ぎた送信エラー・未送信は削除しない
+        list.get(2).setSendStatus(Const.MAIL_STATUS_ERROR);
+        list.get(2).setSentDate(LocalDateTime.now().minusDays(retentionDays + 1));
+        list.get(3).setSendStatus(Const.MAIL_STATUS_WAIT);
+        list.get(3).setSentDate(LocalDateTime.now().minusDays(retentionDays + 1));
+        list.get(3).setNextSendDate(LocalDateTime.now().plusDays(1));
+        tMailOutboxDao.updateBatchNoOptimisticLockException(list);
+        long purgedTotal = dispatcher.getStats().getPurgedTotal();
+
+        // テスト実行
+        assertThat(dispatcher.purgeSent(), is(1));
+
+        // テスト結果確認
+        List<Long> mailIdList = selectAll().stream().map(TMailOutbox::getMailId).collect(Collectors.toList());
+        assertThat(mailIdList, is(list.subList(1, 4).stream().map(TMailOutbox::getMailId).collect(Collectors.toList())));
+        assertThat(dispatcher.getStats().getPurgedTotal(), is(purgedTotal + 1));
+
+        // 削除済みのため再実行しても削除しない
+        assertThat(dispatcher.purgeSent(), is(0));
+    }
+
+    private RmsMailInfo createMailInfo(String toAddr) throws MessagingException {
+        return new RmsMailInfo().setFromAddr("from@xxx.xx")
+                                .addToAddr(toAddr)
+                                .setSubject("メール送信テスト")
+                                .setText("送信待ちテーブルからの送信");
+    }
+
+    private List<TMailOutbox> selectAll() {
+        return jdbcTemplate.queryForList("select mail_id from t_mail_outbox order by mail_id", Long.class)
+                           .stream()
+                           .map(tMailOutboxDao::selectById)
+                           .collect(Collectors.toList());
+    }
+
+}
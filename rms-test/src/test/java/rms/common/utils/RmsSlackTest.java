@@ -1,18 +1,27 @@
 package rms.common.utils;
 
+import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import javax.mail.MessagingException;
 
+import org.junit.After;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import rms.SpringWebApplication;
+import rms.common.consts.Const.SlackQueueOverflow;
+import rms.testutil.mock.RmsMockSlackTransport;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest(classes = SpringWebApplication.class, properties = "spring.profiles.active=test")
@@ -21,6 +30,24 @@ public class RmsSlackTest {
     @Autowired
     RmsSlack slack;
 
+    @Autowired
+    ProjectProperties properties;
+
+    /** テスト用Slack接続 */
+    RmsMockSlackTransport transport;
+
+    @After
+    public void after() {
+        if (transport != null) {
+            transport.release();
+            slack.stop();
+            slack.transport = null;
+            ReflectionTestUtils.setField(properties, "slackQueueCapacity", 1000);
+            ReflectionTestUtils.setField(properties, "slackQueueOverflow", SlackQueueOverflow.DROP_OLDEST);
+            ReflectionTestUtils.setField(properties, "slackReconnectIntervalSeconds", 30L);
+        }
+    }
+
     @Test
     public void test_slack接続失敗() throws MessagingException, IOException {
         RmsSlackInfo info = new RmsSlackInfo();
@@ -29,4 +56,169 @@ public class RmsSlackTest {
         boolean b = slack.send(info);
         assertFalse(b);
     }
+
+    @Test
+    public void test_send_接続を保持して送信_ユーザーはキャッシュから取得() throws Exception {
+        start(10);
+
+        assertTrue(slack.send(createInfo("a@xxx.xx", "1")));
+        assertTrue(slack.send(createInfo("b@xxx.xx", "2")));
+        assertTrue(slack.send(createInfo("a@xxx.xx", "3")));
+
+        List<RmsMockSlackTransport.Message> messageList = transport.awaitMessageList(3, 5000);
+        assertThat(messageList.stream().map(m -> m.getUserId() + ":" + m.getText()).collect(Collectors.toList()),
+                   is(Arrays.asList("UA:1", "UB:2", "UA:3")));
+        assertThat(transport.getConnectCount(), is(1));
+        assertThat(transport.getFindUserCount(), is(2));
+        assertThat(slack.getUserCacheStats().getHitCount(), is(1L));
+    }
+
+    @Test
+    public void test_send_Slackユーザー不明は送信しない() throws Exception {
+        start(10);
+        long userNotFoundTotal = slack.getStats().getUserNotFoundTotal();
+
+        assertTrue(slack.send(createInfo("unknown@xxx.xx", "1")));
+        assertTrue(slack.send(createInfo("a@xxx.xx", "2")));
+
+        List<RmsMockSlackTransport.Message> messageList = transport.awaitMessageList(1, 5000);
+        assertThat(messageList.size(), is(1));
+        assertThat(messageList.get(0).getText(), is("2"));
+        assertThat(slack.getStats().getUserNotFoundTotal(), is(userNotFoundTotal + 1));
+    }
+
+    @Test
+    public void test_send_送信待ち溢れ_新しい通知を破棄() throws Exception {
+        ReflectionTestUtils.setField(properties, "slackQueueOverflow", SlackQueueOverflow.DROP_NEWEST);
+        start(2);
+        long droppedTotal = slack.getStats().getDroppedTotal();
+
+        fillQueue();
+        assertFalse(slack.send(createInfo("a@xxx.xx", "3")));
+        assertThat(slack.getStats().getDroppedTotal(), is(droppedTotal + 1));
+
+        transport.release();
+        assertThat(texts(transport.awaitMessageList(3, 5000)), is("0,1,2"));
+    }
+
+    @Test
+    public void test_send_送信待ち溢れ_古い通知を破棄() throws Exception {
+        ReflectionTestUtils.setField(properties, "slackQueueOverflow", SlackQueueOverflow.DROP_OLDEST);
+        start(2);
+        long droppedTotal = slack.getStats().getDroppedTotal();
+
+        fillQueue();
+        assertTrue(slack.send(createInfo("a@xxx.xx", "3")));
+        assertThat(slack.getStats().getDroppedTotal(), is(droppedTotal + 1));
+
+        transport.release();
+        assertThat(texts(transport.awaitMessageList(3, 5000)), is("0,2,3"));
+    }
+
+    @Test
+    public void test_send_送信待ち溢れ_待機時間まで待って破棄() throws Exception {
+        ReflectionTestUtils.setField(properties, "slackQueueOverflow", SlackQueueOverflow.BLOCK);
+        start(2);
+
+        fillQueue();
+        long start = System.currentTimeMillis();
+        assertFalse(slack.send(createInfo("a@xxx.xx", "3")));
+        long elapsed = System.currentTimeMillis() - start;
+
+        // Slackの応答ではなく待機時間で復帰する
+        assertTrue(elapsed >= properties.getSlackQueueOfferTimeoutMillis() - 10);
+        assertTrue(elapsed < 2000);
+        assertThat(slack.getStats().getQueueSize(), is(2));
+    }
+
+    @Test
+    public void test_send_接続失敗_再接続() throws Exception {
+        ReflectionTestUtils.setField(properties, "slackReconnectIntervalSeconds", 0L);
+        start(10);
+        long errorTotal = slack.getStats().getErrorTotal();
+
+        long droppedTotal = slack.getStats().getDroppedTotal();
+
+        // 接続失敗時は破棄せず送信待ちの先頭に戻す
+        transport.failConnect(true);
+        assertTrue(slack.send(createInfo("a@xxx.xx", "1")));
+        awaitStats(s -> s.getErrorTotal() >= errorTotal + 1);
+        assertTrue(slack.send(createInfo("a@xxx.xx", "2")));
+        assertThat(slack.getStats().getQueueSize(), is(2));
+
+        // 接続が回復したら保留した通知から順に送信
+        transport.failConnect(false);
+        assertThat(texts(transport.awaitMessageList(2, 5000)), is("1,2"));
+        assertThat(slack.getStats().getDroppedTotal(), is(droppedTotal));
+
+        // 切断された場合は再接続して送信
+        transport.drop();
+        assertTrue(slack.send(createInfo("a@xxx.xx", "3")));
+        assertThat(texts(transport.awaitMessageList(3, 5000)), is("1,2,3"));
+        assertThat(transport.getConnectCount(), is(2));
+    }
+
+    @Test
+    public void test_send_接続失敗中の送信待ち溢れ_古い通知を破棄() throws Exception {
+        ReflectionTestUtils.setField(properties, "slackQueueOverflow", SlackQueueOverflow.DROP_OLDEST);
+        ReflectionTestUtils.setField(properties, "slackReconnectIntervalSeconds", 0L);
+        start(2);
+        long droppedTotal = slack.getStats().getDroppedTotal();
+
+        // 接続失敗中は送信待ちに保留され、溢れた場合のみ破棄する
+        transport.failConnect(true);
+        assertTrue(slack.send(createInfo("a@xxx.xx", "1")));
+        awaitStats(s -> s.getErrorTotal() > 0);
+        assertTrue(slack.send(createInfo("a@xxx.xx", "2")));
+        assertTrue(slack.send(createInfo("a@xxx.xx", "3")));
+        awaitStats(s -> s.getDroppedTotal() == droppedTotal + 1);
+
+        transport.failConnect(false);
+        assertThat(texts(transport.awaitMessageList(2, 5000)), is("2,3"));
+    }
+
+    /**
+     * テスト用Slack接続で送信処理を開始
+     * @param capacity
+     */
+    private void start(int capacity) {
+        ReflectionTestUtils.setField(properties, "slackQueueCapacity", capacity);
+        transport = new RmsMockSlackTransport().addUser("a@xxx.xx", "UA").addUser("b@xxx.xx", "UB");
+        slack.stop();
+        slack.transport = transport;
+        slack.start();
+    }
+
+    /**
+     * 送信を停滞させ、送信待ちを上限（2件）まで登録
+     * @throws InterruptedException
+     */
+    private void fillQueue() throws InterruptedException {
+        transport.block();
+        assertTrue(slack.send(createInfo("a@xxx.xx", "0")));
+        assertTrue(transport.awaitBlocked(5000));
+        assertTrue(slack.send(createInfo("a@xxx.xx", "1")));
+        assertTrue(slack.send(createInfo("a@xxx.xx", "2")));
+    }
+
+    private void awaitStats(Predicate<RmsSlackStats> predicate) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!predicate.test(slack.getStats())) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private RmsSlackInfo createInfo(String mail,
+                                    String text) {
+        RmsSlackInfo info = new RmsSlackInfo();
+        info.setMail(mail);
+        info.setText(text);
+        return info;
+    }
+
+    private String texts(List<RmsMockSlackTransport.Message> messageList) {
+        return messageList.stream().map(RmsMockSlackTransport.Message::getText).collect(Collectors.joining(","));
+    }
+
 }
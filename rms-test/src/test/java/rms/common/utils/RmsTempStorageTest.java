@@ -0,0 +1,179 @@
+package rms.common.utils;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import rms.SpringWebApplication;
+import rms.common.exception.BusinessException;
+import rms.common.metrics.RmsTempStorageStats;
+import rms.domain.app.shared.service.SharedReportFileService;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = SpringWebApplication.class, properties = "spring.profiles.active=test")
+public class RmsTempStorageTest {
+
+    /* テスト対象 */
+    @Autowired
+    RmsTempStorage tempStorage;
+
+    @Autowired
+    ProjectProperties properties;
+
+    @Autowired
+    SharedReportFileService sharedReportFileService;
+
+    @Before
+    public void before() throws IOException {
+        // テスト実行時に設定されるリクエストは使用しない（リクエスト外の一時ファイルとする）
+        RequestContextHolder.resetRequestAttributes();
+        clean();
+    }
+
+    @After
+    public void after() throws IOException {
+        RequestContextHolder.resetRequestAttributes();
+        ReflectionTestUtils.setField(properties, "temporaryStorageQuotaSize", 10737418240L);
+        ReflectionTestUtils.setField(properties, "temporaryStorageMinFreeSize", 1073741824L);
+        clean();
+    }
+
+    @Test
+    public void test_リクエスト終了時に削除() throws Exception {
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        RmsTempStorageStats before = tempStorage.getStats();
+
+        // テスト実行
+        Path file = tempStorage.createFile("report", ".zip");
+        Path dir = tempStorage.createDirectory("unzip");
+        Files.write(dir.resolve("201701_user01.xlsx"), new byte[100]);
+
+        // テスト結果確認（リクエスト処理中は残す）
+        assertThat(Files.exists(file), is(true));
+        assertThat(Files.exists(dir), is(true));
+        assertThat(tempStorage.getStats().getOwnedCount(), is(before.getOwnedCount() + 2));
+
+        // テスト結果確認（リクエスト終了時に削除）
+        attributes.requestCompleted();
+        assertThat(Files.exists(file), is(false));
+        assertThat(Files.exists(dir), is(false));
+        RmsTempStorageStats stats = tempStorage.getStats();
+        assertThat(stats.getOwnedCount(), is(before.getOwnedCount()));
+        assertThat(stats.getDeletedCount(), is(before.getDeletedCount() + 2));
+    }
+
+    @Test
+    public void test_sweep_期限切れのみ削除() throws Exception {
+        long expired = System.currentTimeMillis()
+                - TimeUnit.SECONDS.toMillis(properties.getTemporaryStorageTtlSeconds()) - 60000;
+
+        // 期限切れ（リクエスト外で作成し削除漏れ）
+        Path orphanFile = tempStorage.createFile("report", ".zip");
+        Path orphanDir = tempStorage.createDirectory("unzip");
+        Files.write(orphanDir.resolve("201701_user01.xlsx"), new byte[100]);
+        Files.setLastModifiedTime(orphanFile, FileTime.fromMillis(expired));
+        Files.setLastModifiedTime(orphanDir, FileTime.fromMillis(expired));
+
+        // 期限内
+        Path newFile = tempStorage.createFile("content", ".tmp");
+
+        // 期限切れだがリクエスト処理中
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        Path ownedFile = tempStorage.createFile("report", ".zip");
+        Files.setLastModifiedTime(ownedFile, FileTime.fromMillis(expired));
+
+        try {
+            // テスト実行
+            int count = tempStorage.sweep();
+
+            // テスト結果確認
+            assertThat(count, is(2));
+            assertThat(Files.exists(orphanFile), is(false));
+            assertThat(Files.exists(orphanDir), is(false));
+            assertThat(Files.exists(newFile), is(true));
+            assertThat(Files.exists(ownedFile), is(true));
+            assertThat(tempStorage.getStats().getLastSweepTime() > 0, is(true));
+        } finally {
+            attributes.requestCompleted();
+        }
+    }
+
+    @Test
+    public void test_checkQuota_使用量の上限() throws Exception {
+        Path file = tempStorage.createFile("report", ".zip");
+        Files.write(file, new byte[1000]);
+        ReflectionTestUtils.setField(properties, "temporaryStorageQuotaSize", 1500L);
+        long rejectedCount = tempStorage.getStats().getRejectedCount();
+
+        // テスト実行・結果確認（上限以内）
+        tempStorage.checkQuota(500);
+        assertThat(tempStorage.getStats().getUsedSize(), is(1000L));
+
+        // テスト実行・結果確認（上限超過）
+        try {
+            tempStorage.checkQuota(501);
+            fail();
+        } catch (BusinessException e) {
+            assertThat(e.getErrorCode(), is("error020"));
+        }
+        assertThat(tempStorage.getStats().getRejectedCount(), is(rejectedCount + 1));
+    }
+
+    @Test
+    public void test_checkQuota_ディスクの空き容量() throws Exception {
+        ReflectionTestUtils.setField(properties, "temporaryStorageMinFreeSize", Long.MAX_VALUE);
+
+        try {
+            tempStorage.checkQuota(0);
+            fail();
+        } catch (BusinessException e) {
+            assertThat(e.getErrorCode(), is("error020"));
+        }
+    }
+
+    @Test
+    public void test_unZipReportFileInfo_容量不足は解凍しない() throws Exception {
+        ReflectionTestUtils.setField(properties, "temporaryStorageQuotaSize", 1L);
+        MockMultipartFile file = new MockMultipartFile("file", "report.zip", null, new byte[10]);
+
+        try {
+            sharedReportFileService.unZipReportFileInfo(file);
+            fail();
+        } catch (BusinessException e) {
+            assertThat(e.getErrorCode(), is("error020"));
+        }
+
+        // 一時ディレクトリを作成しないこと
+        try (Stream<Path> stream = Files.list(tempStorage.getRoot())) {
+            assertThat(stream.count(), is(0L));
+        }
+    }
+
+    private void clean() throws IOException {
+        try (Stream<Path> stream = Files.list(tempStorage.getRoot())) {
+            stream.forEach(RmsFileUtils::deleteDirectory);
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+package rms.domain.app.batch.reportinitregist;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import rms.SpringBatchApplication;
+import rms.common.consts.Const;
+import rms.common.consts.MCodeConst;
+import rms.common.consts.MessageEnum;
+import rms.common.dao.TReportApproveFlowDao;
+import rms.common.dao.TReportDao;
+import rms.common.entity.TReport;
+import rms.common.entity.TReportApproveFlow;
+import rms.common.exception.BusinessException;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = SpringBatchApplication.class, properties = "spring.profiles.active=test")
+public class ReportInitRegistServiceTest {
+
+    @Autowired
+    ReportInitRegistService service;
+    @Autowired
+    TReportDao tReportDao;
+    @Autowired
+    TReportApproveFlowDao tReportApproveFlowDao;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeClass
+    public static void beforeAll() {
+        SpringApplication application = new SpringApplication(SpringBatchApplication.class);
+        application.setWebEnvironment(false); // 内臓tomcatの起動を抑制
+    }
+
+    @After
+    public void after() {
+        // 登録した月報は他のテストに影響する為、削除する
+        jdbcTemplate.update("delete from t_report_approve_flow where target_ym = ?", 201701);
+        jdbcTemplate.update("delete from t_report where target_ym = ?", 201701);
+    }
+
+    @Test
+    public void test_registBulk_月報初期データ一括登録() throws Exception {
+        Integer targetYm = 201701;
+
+        ReportInitRegistResultDto resultDto = service.registBulk(targetYm);
+
+        assertThat(resultDto.getReportCount(), is(resultDto.getUserCount()));
+        assertTrue(resultDto.getApproveFlowCount() >= 10);
+
+        TReport report = tReportDao.selectById("user01", targetYm);
+        assertThat(report.getStatus(), is(MCodeConst.A001_AAA));
+        assertThat(report.getInsId(), is(Const.SYSTEM_USER_ID));
+
+        TReportApproveFlow flow = tReportApproveFlowDao.selectById("user05", targetYm, 3);
+        assertThat(flow.getApproveUserId(), is("user09"));
+
+        // 再実行時は登録対象なし
+        ReportInitRegistResultDto reResultDto = service.registBulk(targetYm);
+        assertThat(reResultDto.getUserCount(), is(0));
+        assertThat(reResultDto.getReportCount(), is(0));
+        assertThat(reResultDto.getApproveFlowCount(), is(0));
+    }
+
+    @Test
+    public void test_registBulk_月報初期データ一括登録_未来日付エラー() throws Exception {
+        try {
+            service.registBulk(209912);
+        } catch (BusinessException e) {
+            assertThat(e.getErrorCode(), is(MessageEnum.error017.name()));
+            return;
+        }
+
+        fail("エラーチェック失敗");
+    }
+
+}
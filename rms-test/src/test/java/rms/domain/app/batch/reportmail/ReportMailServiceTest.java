@@ -0,0 +1,245 @@
+package rms.domain.app.batch.reportmail;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import rms.SpringBatchApplication;
+import rms.common.dao.TBatchControlDao;
+import rms.common.entity.TBatchControl;
+import rms.common.utils.ProjectProperties;
+import rms.common.utils.RmsMailDispatcher;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = SpringBatchApplication.class, properties = "spring.profiles.active=test")
+public class ReportMailServiceTest {
+
+    /** 実行日時（既存の月報と重ならない日時とする） */
+    private static final LocalDateTime NOW = LocalDateTime.of(2099, 1, 1, 12, 0, 0);
+
+    /** 前回処理基準日時 */
+    private static final LocalDateTime LAST_EXEC_DATE = NOW.minusHours(1);
+
+    /** テスト用月報の対象年月（これ以降を削除する） */
+    private static final int TARGET_YM = 209901;
+
+    @Autowired
+    ReportMailService service;
+    @Autowired
+    TBatchControlDao tBatchControlDao;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    ProjectProperties properties;
+
+    /* SMTPサーバに接続しない */
+    @MockBean
+    RmsMailDispatcher rmsMailDispatcher;
+
+    /** テスト対象（実行日時の差し替え用） */
+    ReportMailServiceImpl target;
+
+    /** 処理対象期間の重複時間（秒） */
+    long overlapSeconds;
+
+    @BeforeClass
+    public static void beforeAll() {
+        SpringApplication application = new SpringApplication(SpringBatchApplication.class);
+        application.setWebEnvironment(false); // 内臓tomcatの起動を抑制
+    }
+
+    @Before
+    public void before() {
+        clean();
+        target = AopTestUtils.getTargetObject(service);
+        overlapSeconds = properties.getReportMailOverlapSeconds();
+        setClock(NOW);
+    }
+
+    @After
+    public void after() {
+        clean();
+        target.clock = Clock.systemDefaultZone();
+    }
+
+    @Test
+    public void test_sendmailApproved_初回実行時は基準日時のみ記録() throws Exception {
+        insertReport("user01", TARGET_YM, 1, NOW.minusDays(1));
+
+        ReportMailResultDto resultDto = service.sendmailApproved();
+
+        // 過去の承認分は通知しない
+        assertThat(resultDto.getReportCount(), is(0));
+        assertThat(resultDto.getMailCount(), is(0));
+        assertThat(countOutbox(), is(0));
+        TBatchControl control = tBatchControlDao.selectById(ReportMailServiceImpl.BATCH_ID);
+        assertThat(control.getLastExecDate(), is(NOW));
+        assertThat(control.getExecToDate(), is(nullValue()));
+
+        // 次回は基準日時以降の承認分が対象
+        insertReport("user02", TARGET_YM, 1, NOW.plusSeconds(10));
+        setClock(NOW.plusMinutes(1));
+        ReportMailResultDto nextResultDto = service.sendmailApproved();
+        assertThat(nextResultDto.getFromDate(), is(NOW));
+        assertThat(nextResultDto.getReportCount(), is(1));
+        assertThat(countOutbox(), is(1));
+    }
+
+    @Test
+    public void test_sendmailApproved_重複期間の承認分は送信済みを除いて配信() throws Exception {
+        insertBatchControl(null, null);
+        insertReport("user01", TARGET_YM, 1, LAST_EXEC_DATE.minusSeconds(overlapSeconds + 1)); // 重複期間より前
+        insertReport("user01", TARGET_YM + 1, 1, LAST_EXEC_DATE.minusSeconds(60)); // 前回の処理対象終了日時後にコミット
+        insertReport("user02", TARGET_YM, 1, LAST_EXEC_DATE.plusSeconds(60));
+        insertReport("user02", TARGET_YM + 1, 1, NOW.minusSeconds(120));
+        insertReport("user03", TARGET_YM, 1, NOW.plusSeconds(60)); // 処理対象終了日時より後
+
+        ReportMailResultDto resultDto = service.sendmailApproved();
+
+        assertThat(resultDto.getFromDate(), is(LAST_EXEC_DATE));
+        assertThat(resultDto.getToDate(), is(NOW));
+        assertThat(resultDto.getReportCount(), is(3));
+        assertThat(resultDto.getMailCount(), is(2));
+        assertThat(countOutbox(), is(2));
+        verify(rmsMailDispatcher).dispatchAll();
+
+        // 処理完了時は処理対象終了日時を前回処理基準日時として記録
+        TBatchControl control = tBatchControlDao.selectById(ReportMailServiceImpl.BATCH_ID);
+        assertThat(control.getLastExecDate(), is(NOW));
+        assertThat(control.getExecToDate(), is(nullValue()));
+        assertThat(control.getExecKey(), is(nullValue()));
+
+        // 次回の重複期間より前の送信済み記録は削除
+        assertThat(countSent(), is(1));
+
+        // 再実行時は送信済みを除き、前回の処理対象終了日時後の承認分と、それ以前の日時でコミットされた承認分が対象
+        insertReport("user03", TARGET_YM + 1, 1, NOW.minusSeconds(30));
+        setClock(NOW.plusMinutes(1));
+        ReportMailResultDto reResultDto = service.sendmailApproved();
+        assertThat(reResultDto.getFromDate(), is(NOW));
+        assertThat(reResultDto.getReportCount(), is(2));
+        assertThat(reResultDto.getMailCount(), is(1));
+        assertThat(countOutbox(), is(3));
+
+        // 再承認（月報バージョンの更新）は再度通知
+        jdbcTemplate.update("update t_report set version = version + 1, upd_date = ? where apply_user_id = 'user02' and target_ym = ?",
+                            Timestamp.valueOf(NOW.plusMinutes(1).plusSeconds(30)), TARGET_YM + 1);
+        setClock(NOW.plusMinutes(2));
+        assertThat(service.sendmailApproved().getReportCount(), is(1));
+        assertThat(countOutbox(), is(4));
+    }
+
+    @Test
+    public void test_sendmailApproved_途中で終了した場合は続きから処理() throws Exception {
+        insertBatchControl(NOW, "user01");
+        insertReport("user01", TARGET_YM, 1, NOW.minusSeconds(60));
+        insertReport("user02", TARGET_YM, 1, NOW.minusSeconds(60));
+        insertReport("user03", TARGET_YM, 1, NOW.minusSeconds(60));
+
+        ReportMailResultDto resultDto = service.sendmailApproved();
+
+        assertThat(resultDto.getToDate(), is(NOW));
+        assertThat(resultDto.getReportCount(), is(2));
+        assertThat(resultDto.getMailCount(), is(2));
+        assertThat(tBatchControlDao.selectById(ReportMailServiceImpl.BATCH_ID).getExecKey(), is(nullValue()));
+    }
+
+    @Test
+    public void test_sendmailApproved_申請者単位でコミット() throws Exception {
+        insertBatchControl(null, null);
+        insertReport("user01", TARGET_YM, 1, NOW.minusSeconds(60));
+        insertReport("user01", TARGET_YM + 1, 1, NOW.minusSeconds(60));
+        insertReport("user02", TARGET_YM, 1, NOW.minusSeconds(60));
+        insertReport("user03", TARGET_YM, 1, NOW.minusSeconds(60));
+
+        Integer chunkSize = properties.getReportMailChunkSize();
+        ReflectionTestUtils.setField(properties, "reportMailChunkSize", 1);
+        try {
+            ReportMailResultDto resultDto = service.sendmailApproved();
+
+            // 同じ申請者の月報はチャンクをまたがず1通にまとめる
+            assertThat(resultDto.getChunkCount(), is(3));
+            assertThat(resultDto.getMailCount(), is(3));
+            assertThat(resultDto.getReportCount(), is(4));
+            assertThat(jdbcTemplate.queryForObject("select subject from t_mail_outbox order by mail_id limit 1",
+                                                   String.class),
+                       is("【月報管理】月報の承認完了（2件）"));
+        } finally {
+            ReflectionTestUtils.setField(properties, "reportMailChunkSize", chunkSize);
+        }
+    }
+
+    /**
+     * 実行日時の設定
+     * @param now
+     */
+    private void setClock(LocalDateTime now) {
+        ZoneId zone = ZoneId.systemDefault();
+        target.clock = Clock.fixed(now.atZone(zone).toInstant(), zone);
+    }
+
+    /**
+     * バッチ管理情報の登録（前回処理基準日時はLAST_EXEC_DATE）
+     * @param execToDate
+     * @param execKey
+     */
+    private void insertBatchControl(LocalDateTime execToDate,
+                                    String execKey) {
+        TBatchControl control = new TBatchControl();
+        control.setBatchId(ReportMailServiceImpl.BATCH_ID);
+        control.setLastExecDate(LAST_EXEC_DATE);
+        control.setExecToDate(execToDate);
+        control.setExecKey(execKey);
+        tBatchControlDao.insert(control);
+    }
+
+    /**
+     * 承認済み月報の登録
+     * @param applyUserId
+     * @param targetYm
+     * @param version
+     * @param updDate 承認日時
+     */
+    private void insertReport(String applyUserId,
+                              int targetYm,
+                              int version,
+                              LocalDateTime updDate) {
+        jdbcTemplate.update("insert into t_report values (?, ?, null, '1', '', '', 'ZZZ', ?, 0, now(), 'system', ?, 'system')",
+                            applyUserId, targetYm, version, Timestamp.valueOf(updDate));
+    }
+
+    private void clean() {
+        jdbcTemplate.update("delete from t_batch_control where batch_id = ?", ReportMailServiceImpl.BATCH_ID);
+        jdbcTemplate.update("delete from t_report_mail_sent");
+        jdbcTemplate.update("delete from t_report where target_ym >= ?", TARGET_YM);
+        jdbcTemplate.update("delete from t_mail_outbox");
+    }
+
+    private int countOutbox() {
+        return jdbcTemplate.queryForObject("select count(*) from t_mail_outbox", Integer.class);
+    }
+
+    private int countSent() {
+        return jdbcTemplate.queryForObject("select count(*) from t_report_mail_sent", Integer.class);
+    }
+
+}
@@ -3,6 +3,10 @@ package rms.domain.app.mst.userlist;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -14,6 +18,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 import rms.SpringBatchApplication;
 import rms.SpringWebApplication;
 import rms.common.utils.PageInfo;
+import rms.common.utils.PageInfo.PagingMode;
 import rms.common.utils.SearchResultDto;
 
 @RunWith(SpringRunner.class)
@@ -58,4 +63,37 @@ public class UserListServiceTest {
         assertThat(resultDto.getCount(), is(Long.valueOf(0)));
     }
 
+    @Test
+    public void test_search_ユーザ検索_キーセット方式() {
+        UserListDto condition = new UserListDto();
+
+        // 全件（offset方式）
+        List<UserListResultEntity> expectedList = service.search(condition, new PageInfo(Integer.MAX_VALUE)).getResultList();
+
+        // キーセット方式で1ページ3件ずつ取得
+        PageInfo pageInfo = new PageInfo(3, PagingMode.KEYSET);
+        List<String> actualList = new ArrayList<>();
+        while (true) {
+            SearchResultDto<UserListResultEntity> resultDto = service.search(condition, pageInfo);
+            pageInfo.setTotalSize(resultDto.getCount());
+            resultDto.getResultList().forEach(e -> actualList.add(e.getUserId()));
+
+            // 総件数は初回検索時の値を保持
+            assertThat(resultDto.getCount(), is(Long.valueOf(expectedList.size())));
+            assertThat(pageInfo.getEndIndex(), is(actualList.size()));
+            if (!pageInfo.getHasNext()) {
+                break;
+            }
+            pageInfo.next();
+        }
+
+        assertThat(actualList, is(expectedList.stream().map(UserListResultEntity::getUserId).collect(Collectors.toList())));
+
+        // 前ページに戻る
+        pageInfo.prev();
+        SearchResultDto<UserListResultEntity> resultDto = service.search(condition, pageInfo);
+        assertThat(resultDto.getResultList().get(0).getUserId(), is(actualList.get(pageInfo.getStartIndex() - 1)));
+        assertThat(pageInfo.getHasNext(), is(true));
+    }
+
 }
@@ -0,0 +1,536 @@
+package rms.domain.app.shared.service;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.StreamUtils;
+
+import rms.SpringBatchApplication;
+import rms.SpringWebApplication;
+import rms.common.consts.Const.ReportNmPattern;
+import rms.common.consts.MessageEnum;
+import rms.common.entity.TReportRevision;
+import rms.common.entity.VMUser;
+import rms.common.exception.BusinessException;
+import rms.common.metrics.RmsTempStorageStats;
+import rms.common.storage.ReportStorage;
+import rms.common.utils.ProjectProperties;
+import rms.common.utils.RmsTempStorage;
+import rms.domain.app.shared.dto.SharedFileDto;
+import rms.domain.app.shared.dto.SharedSubmitReportFileDto;
+import rms.domain.app.shared.dto.SharedUnzipDto;
+import rms.domain.app.shared.dto.SharedZipFileDto;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = SpringWebApplication.class, properties = "spring.profiles.active=test")
+public class SharedReportFileServiceTest {
+
+    /** テスト用の対象年月 */
+    private static final Integer TARGET_YM = 209912;
+
+    /** 「rev1」のハッシュ値 */
+    private static final String REV1_HASH = "386706bf1f6ba515d60d6a3e5ab8e610177f518a162849c959431cd8535ec1df";
+
+    /** 「rev2」のハッシュ値 */
+    private static final String REV2_HASH = "5e3cf12147cca0b3d28c67be8bd1c482d2a84c03096cebbb57c83963cef60f46";
+
+    /* テスト対象 */
+    @Autowired
+    SharedReportFileServiceImpl service;
+
+    @Autowired
+    ProjectProperties properties;
+
+    @Autowired
+    RmsTempStorage tempStorage;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    /** 月報ファイル格納先（内容のハッシュ値で格納） */
+    @Autowired
+    ReportStorage reportBlobStorage;
+
+    /** 月報ファイル格納先（履歴管理前の月報ファイル） */
+    @Autowired
+    ReportStorage reportLegacyStorage;
+
+    /** テスト用月報ファイル */
+    private List<Path> reportFileList = new ArrayList<>();
+
+    @BeforeClass
+    public static void beforeAll() {
+        SpringApplication application = new SpringApplication(SpringBatchApplication.class);
+        application.setWebEnvironment(false); // 内臓tomcatの起動を抑制
+    }
+
+    @Before
+    public void before() throws IOException {
+        jdbcTemplate.update("delete from t_report_revision where target_ym = ?", TARGET_YM);
+
+        // テスト用月報ファイルの作成
+        for (String userId : new String[] { "user01", "user02" }) {
+            Path filePath = service.createReportFilePath(properties.getReportStorage(), userId, TARGET_YM);
+            Files.write(filePath, ("report-" + userId).getBytes(StandardCharsets.UTF_8));
+            reportFileList.add(filePath);
+        }
+    }
+
+    @After
+    public void after() throws IOException {
+        jdbcTemplate.update("delete from t_report_revision where target_ym = ?", TARGET_YM);
+        for (Path filePath : reportFileList) {
+            Files.deleteIfExists(filePath);
+        }
+        ReflectionTestUtils.setField(properties, "reportUnzipMaxTotalSize", 524288000L);
+    }
+
+    @Test
+    public void test_writeReportFileBulk_ストリーム出力() throws Exception {
+
+        // パラメータ
+        List<SharedSubmitReportFileDto> list = new ArrayList<>();
+        list.add(createDto("user01", TARGET_YM));
+        list.add(createDto("user02", TARGET_YM));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // テスト実行
+        SharedZipFileDto zipFileDto = service.createReportFileBulkInfo(list, ReportNmPattern.SUBMIT);
+        service.writeReportFileBulk(zipFileDto, out);
+
+        // テスト結果確認
+        assertThat(zipFileDto.getZipFileNm().endsWith(".zip"), is(true));
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()),
+                                                     Charset.forName("MS932"))) {
+            ZipEntry entry = zis.getNextEntry();
+            assertThat(entry.getName(), is("2099 12 作業月報【1SOL)申請者０１】.xlsx"));
+            assertThat(read(zis), is("report-user01"));
+            entry = zis.getNextEntry();
+            assertThat(entry.getName(), is("2099 12 作業月報【1SOL)申請者０２】.xlsx"));
+            assertThat(read(zis), is("report-user02"));
+            assertThat(zis.getNextEntry(), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void test_getReportFileInfo_申請者名取得() throws Exception {
+
+        // テスト実行
+        SharedFileDto dto = service.getReportFileInfo("user01", TARGET_YM);
+
+        // テスト結果確認（履歴が無い月報は月報格納フォルダ）
+        assertThat(dto.getStorage(), is(reportLegacyStorage));
+        assertThat(dto.getStorageKey(), is("209912_user01.xlsx"));
+        assertThat(readReport(dto), is("report-user01"));
+        assertThat(dto.getFileNm(), is(service.createReportDownloadFileNm1("user01", "申請者０１", TARGET_YM)));
+    }
+
+    @Test
+    public void test_createReportFileBulkInfo_月報ファイルなし() throws Exception {
+
+        // パラメータ
+        List<SharedSubmitReportFileDto> list = new ArrayList<>();
+        list.add(createDto("user01", TARGET_YM));
+        list.add(createDto("user03", TARGET_YM));
+
+        // テスト実行
+        try {
+            service.createReportFileBulkInfo(list, ReportNmPattern.NOMAL);
+        } catch (BusinessException e) {
+            // テスト結果確認
+            assertThat(e.getErrorCode(), is(MessageEnum.error012.name()));
+            return;
+        }
+
+        fail();
+    }
+
+    @Test
+    public void test_selectApplyUserMap_申請者情報一括取得() {
+
+        // パラメータ（同一申請者の複数月分を含む）
+        List<SharedSubmitReportFileDto> list = new ArrayList<>();
+        list.add(createDto("user01", 201607));
+        list.add(createDto("user01", 201608));
+        list.add(createDto("user02", 201609));
+
+        // テスト実行
+        Map<String, VMUser> result = service.selectApplyUserMap(list);
+
+        // テスト結果確認
+        assertThat(result.size(), is(2));
+        assertThat(result.get("user01").getUserNm(), is("申請者０１"));
+        assertThat(result.get("user01").getDepartmentRnm(), is("1SOL"));
+        assertThat(result.get("user02").getUserNm(), is("申請者０２"));
+        assertThat(result.get("user02").getApproveUserNm1(), is(nullValue()));
+    }
+
+    @Test
+    public void test_unZipReportFile_ストリーム解凍() throws Exception {
+
+        // パラメータ（ディレクトリ・ディレクトリ配下のファイルを含む）
+        MockMultipartFile file = createZipFile("201609_user01_申請者０１.xlsx",
+                                               "dir/",
+                                               "dir/201609_user02_申請者０２.xlsx",
+                                               "../201609_user03_申請者０３.xlsx");
+        Map<String, String> resultMap = new LinkedHashMap<>();
+
+        // テスト実行
+        int count = service.unZipReportFile(file, (fileNm, inputStream) -> resultMap.put(fileNm, read(inputStream)));
+
+        // テスト結果確認（ディレクトリは除外し、ファイル名のみで引き渡されること）
+        assertThat(count, is(3));
+        assertThat(new ArrayList<>(resultMap.keySet()),
+                   is(Arrays.asList("201609_user01_申請者０１.xlsx",
+                                    "201609_user02_申請者０２.xlsx",
+                                    "201609_user03_申請者０３.xlsx")));
+        assertThat(resultMap.get("201609_user02_申請者０２.xlsx"), is("dir/201609_user02_申請者０２.xlsx"));
+    }
+
+    @Test
+    public void test_unZipReportFile_ファイル数上限超過() throws Exception {
+
+        // パラメータ（上限+1件）
+        int maxEntries = properties.getReportUnzipMaxEntries();
+        String[] fileNms = new String[maxEntries + 1];
+        for (int i = 0; i < fileNms.length; i++) {
+            fileNms[i] = "201609_user" + i + "_x.xlsx";
+        }
+        MockMultipartFile file = createZipFile(fileNms);
+
+        // テスト実行
+        try {
+            service.unZipReportFile(file, (fileNm, inputStream) -> {
+            });
+        } catch (BusinessException e) {
+            // テスト結果確認
+            assertThat(e.getErrorCode(), is(MessageEnum.error019.name()));
+            return;
+        }
+
+        fail();
+    }
+
+    @Test
+    public void test_unZipReportFile_ファイル名重複() throws Exception {
+
+        // パラメータ（ディレクトリ部分の除去により同名となる）
+        MockMultipartFile file = createZipFile("a/201609_user01_申請者０１.xlsx", "b/201609_user01_申請者０１.xlsx");
+        List<String> fileNmList = new ArrayList<>();
+
+        // テスト実行
+        try {
+            service.unZipReportFile(file, (fileNm, inputStream) -> fileNmList.add(fileNm));
+        } catch (BusinessException e) {
+            // テスト結果確認（2件目は処理しないこと）
+            assertThat(e.getErrorCode(), is(MessageEnum.error021.name()));
+            assertThat(fileNmList, is(Arrays.asList("201609_user01_申請者０１.xlsx")));
+            return;
+        }
+
+        fail();
+    }
+
+    @Test
+    public void test_LimitedInputStream_サイズ上限超過() throws Exception {
+
+        // パラメータ（1ファイル10byte、合計100byte・残り20byte）
+        byte[] data = new byte[11];
+
+        // テスト実行・結果確認（1ファイルの上限）
+        try (InputStream is = new SharedReportFileServiceImpl.LimitedInputStream(new ByteArrayInputStream(data), 10, 100, 20)) {
+            read(is);
+            fail();
+        } catch (SharedReportFileServiceImpl.LimitExceededException e) {
+            assertThat(e.getLimitNm(), is("ファイルサイズ"));
+            assertThat(e.getLimitSize(), is(10L));
+        }
+
+        // テスト実行・結果確認（合計の上限 上限値は残りではなく設定値）
+        try (InputStream is = new SharedReportFileServiceImpl.LimitedInputStream(new ByteArrayInputStream(data), 20, 100, 10)) {
+            read(is);
+            fail();
+        } catch (SharedReportFileServiceImpl.LimitExceededException e) {
+            assertThat(e.getLimitNm(), is("合計ファイルサイズ"));
+            assertThat(e.getLimitSize(), is(100L));
+        }
+    }
+
+    @Test
+    public void test_unZipReportFile_合計サイズ上限超過_設定値を表示() throws Exception {
+
+        // パラメータ（1ファイル20byte、3件目で合計50byteを超過）
+        ReflectionTestUtils.setField(properties, "reportUnzipMaxTotalSize", 50L);
+        MockMultipartFile file = createZipFile("201609_user01_x.xlsx", "201609_user02_x.xlsx", "201609_user03_x.xlsx");
+
+        // テスト実行
+        try {
+            service.unZipReportFile(file, (fileNm, inputStream) -> read(inputStream));
+            fail();
+        } catch (BusinessException e) {
+            // テスト結果確認（残り10byteではなく設定値）
+            assertThat(e.getErrorCode(), is(MessageEnum.error019.name()));
+            assertThat(e.getErrorMessage(), containsString("合計ファイルサイズ：50 ]"));
+        }
+    }
+
+    @Test
+    public void test_unZipReportFileInfo_一時ディレクトリ削除() throws Exception {
+
+        // パラメータ
+        MockMultipartFile file = createZipFile("201609_user01_申請者０１.xlsx", "201609_user02_申請者０２.xlsx");
+        RmsTempStorageStats before = tempStorage.getStats();
+
+        // テスト実行
+        Path unzipDir;
+        try (SharedUnzipDto unzipDto = service.unZipReportFileInfo(file)) {
+            unzipDir = unzipDto.getUnzipDir();
+
+            // テスト結果確認（解凍中）
+            assertThat(unzipDto.getFileList().size(), is(2));
+            SharedFileDto fileDto = unzipDto.getFileList().get(1);
+            assertThat(fileDto.getFileNm(), is("201609_user02_申請者０２.xlsx"));
+            assertThat(new String(Files.readAllBytes(fileDto.getFilePath()), StandardCharsets.UTF_8),
+                       is("201609_user02_申請者０２.xlsx"));
+        }
+
+        // テスト結果確認（クローズ後 一時フォルダの管理から外れること）
+        assertThat(Files.exists(unzipDir), is(false));
+        RmsTempStorageStats after = tempStorage.getStats();
+        assertThat(after.getOwnedCount(), is(before.getOwnedCount()));
+        assertThat(after.getDeletedCount(), is(before.getDeletedCount() + 1));
+    }
+
+    @Test
+    public void test_saveReportFile_履歴の登録_同じ内容は共有() throws Exception {
+
+        // テスト実行
+        service.saveReportFile(new MockMultipartFile("file", "rev1".getBytes(StandardCharsets.UTF_8)), "user01", TARGET_YM);
+        service.saveReportFile(new MockMultipartFile("file", "rev2".getBytes(StandardCharsets.UTF_8)), "user01", TARGET_YM);
+        service.saveReportFile(new MockMultipartFile("file", "rev1".getBytes(StandardCharsets.UTF_8)), "user02", TARGET_YM);
+
+        // テスト結果確認（履歴は新しい順、ハッシュ値はSHA-256）
+        List<TReportRevision> revisionList = service.getReportRevisionList("user01", TARGET_YM);
+        assertThat(revisionList.size(), is(2));
+        assertThat(revisionList.get(0).getContentHash(), is(REV2_HASH));
+        assertThat(revisionList.get(0).getFileSize(), is(4L));
+        assertThat(revisionList.get(1).getContentHash(), is(REV1_HASH));
+
+        // テスト結果確認（ダウンロードは最新の履歴、キーはハッシュ値）
+        SharedFileDto dto = service.getReportFileInfo("user01", TARGET_YM);
+        assertThat(dto.getStorage(), is(reportBlobStorage));
+        assertThat(dto.getStorageKey(), is(REV2_HASH));
+        assertThat(readReport(dto), is("rev2"));
+
+        // テスト結果確認（格納先はハッシュ値の先頭2文字・次の2文字で2階層に分割）
+        assertThat(Files.exists(Paths.get(properties.getReportBlobStorage(), "5e", "3c", REV2_HASH)), is(true));
+
+        // テスト結果確認（同じ内容のファイルは共有）
+        assertThat(service.getReportFileInfo("user02", TARGET_YM).getStorageKey(), is(REV1_HASH));
+    }
+
+    @Test
+    public void test_createReportFileBulkInfo_最新の履歴_履歴が無い月報は月報格納フォルダ() throws Exception {
+        service.saveReportFile(new MockMultipartFile("file", "rev1".getBytes(StandardCharsets.UTF_8)), "user01", TARGET_YM);
+        service.saveReportFile(new MockMultipartFile("file", "rev2".getBytes(StandardCharsets.UTF_8)), "user01", TARGET_YM);
+
+        // テスト実行
+        SharedZipFileDto zipFileDto = service.createReportFileBulkInfo(Arrays.asList(createDto("user01", TARGET_YM),
+                                                                                     createDto("user02", TARGET_YM)),
+                                                                       ReportNmPattern.NOMAL);
+
+        // テスト結果確認
+        assertThat(zipFileDto.getFileList().get(0).getStorage(), is(reportBlobStorage));
+        assertThat(zipFileDto.getFileList().get(0).getStorageKey(), is(REV2_HASH));
+        assertThat(zipFileDto.getFileList().get(1).getStorage(), is(reportLegacyStorage));
+        assertThat(readReport(zipFileDto.getFileList().get(1)), is("report-user02"));
+    }
+
+    @Test
+    public void test_saveReportFile_同時書き込み_読み込み側は常に完全なファイル() throws Exception {
+        int writerCount = 4;
+        int saveCount = 20;
+        int fileSize = 256 * 1024;
+        service.saveReportFile(new MockMultipartFile("file", createReport((byte) 0, fileSize)), "user01", TARGET_YM);
+
+        ExecutorService executor = Executors.newFixedThreadPool(writerCount + 1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            // 書き込み（申請者ごとに異なる内容で同じ月報を上書き）
+            List<Future<?>> writerList = new ArrayList<>();
+            for (int i = 1; i <= writerCount; i++) {
+                byte value = (byte) i;
+                writerList.add(executor.submit(() -> {
+                    for (int j = 0; j < saveCount; j++) {
+                        service.saveReportFile(new MockMultipartFile("file", createReport(value, fileSize)), "user01", TARGET_YM);
+                    }
+                    return null;
+                }));
+            }
+
+            // 読み込み（途中まで書かれた・混ざったファイルが見えないこと）
+            Future<Integer> reader = executor.submit(() -> {
+                int readCount = 0;
+                while (writing.get()) {
+                    SharedFileDto dto = service.getReportFileInfo("user01", TARGET_YM);
+                    byte[] bytes;
+                    try (InputStream is = dto.getStorage().read(dto.getStorageKey())) {
+                        bytes = StreamUtils.copyToByteArray(is);
+                    }
+                    assertThat(bytes.length, is(fileSize));
+                    assertThat(Arrays.equals(bytes, createReport(bytes[0], fileSize)), is(true));
+                    readCount++;
+                }
+                return readCount;
+            });
+
+            for (Future<?> writer : writerList) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            assertThat(reader.get(60, TimeUnit.SECONDS) > 0, is(true));
+        } finally {
+            writing.set(false);
+            executor.shutdownNow();
+        }
+
+        // 全ての保存が履歴に残り、同じ内容のファイルは1つのみ格納されること
+        List<TReportRevision> revisionList = service.getReportRevisionList("user01", TARGET_YM);
+        assertThat(revisionList.size(), is(writerCount * saveCount + 1));
+        assertThat(revisionList.stream().map(TReportRevision::getContentHash).distinct().count(),
+                   is((long) writerCount + 1));
+
+        // 一時ファイルが残らないこと
+        try (Stream<Path> stream = Files.walk(Paths.get(properties.getReportBlobStorage()))) {
+            assertThat(stream.filter(p -> p.getFileName().toString().endsWith(".tmp")).count(), is(0L));
+        }
+        try (Stream<Path> stream = Files.list(Paths.get(properties.getTemporaryStorage()))) {
+            assertThat(stream.filter(p -> p.getFileName().toString().matches("content.*\\.tmp")).count(), is(0L));
+        }
+    }
+
+    @Test
+    public void test_saveReportFile_別の月報はロックを待たない() throws Exception {
+        // 異なるロックとなる月報
+        assertThat(service.getReportFileLock("user01", TARGET_YM) != service.getReportFileLock("user02", TARGET_YM),
+                   is(true));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Lock lock = service.getReportFileLock("user01", TARGET_YM);
+        lock.lock();
+        try {
+            // user01の保存中もuser02は保存できる
+            Future<?> other = executor.submit(() -> {
+                service.saveReportFile(new MockMultipartFile("file", "other".getBytes(StandardCharsets.UTF_8)), "user02", TARGET_YM);
+                return null;
+            });
+            other.get(10, TimeUnit.SECONDS);
+            assertThat(service.getReportRevisionList("user02", TARGET_YM).size(), is(1));
+
+            // user01は保存中の処理の完了を待つ
+            Future<?> same = executor.submit(() -> {
+                service.saveReportFile(new MockMultipartFile("file", "same".getBytes(StandardCharsets.UTF_8)), "user01", TARGET_YM);
+                return null;
+            });
+            try {
+                same.get(200, TimeUnit.MILLISECONDS);
+                fail();
+            } catch (TimeoutException e) {
+                // 待機中
+            }
+            lock.unlock();
+            lock = null;
+            same.get(10, TimeUnit.SECONDS);
+            assertThat(service.getReportRevisionList("user01", TARGET_YM).size(), is(1));
+        } finally {
+            if (lock != null) {
+                lock.unlock();
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    private MockMultipartFile createZipFile(String... fileNms) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(out, Charset.forName("MS932"))) {
+            for (String fileNm : fileNms) {
+                zos.putNextEntry(new ZipEntry(fileNm));
+                if (!fileNm.endsWith("/")) {
+                    zos.write(fileNm.getBytes(StandardCharsets.UTF_8));
+                }
+                zos.closeEntry();
+            }
+        }
+        return new MockMultipartFile("file", "report.zip", null, out.toByteArray());
+    }
+
+    private byte[] createReport(byte value,
+                                int size) {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, value);
+        return bytes;
+    }
+
+    private SharedSubmitReportFileDto createDto(String applyUserId,
+                                                Integer targetYm) {
+        SharedSubmitReportFileDto dto = new SharedSubmitReportFileDto();
+        dto.setApplyUserId(applyUserId);
+        dto.setTargetYm(targetYm);
+        return dto;
+    }
+
+    private String readReport(SharedFileDto dto) throws IOException {
+        try (InputStream is = dto.getStorage().read(dto.getStorageKey())) {
+            return read(is);
+        }
+    }
+
+    private String read(InputStream is) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[1024];
+        int size;
+        while ((size = is.read(buf)) > 0) {
+            out.write(buf, 0, size);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,83 @@
+package rms.domain.app.shared.service;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import rms.SpringWebApplication;
+import rms.common.consts.MCodeConst;
+import rms.common.entity.VTReport;
+import rms.common.utils.RmsMailInfo;
+import rms.common.utils.RmsMailOutbox;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = SpringWebApplication.class, properties = "spring.profiles.active=test")
+public class SharedReportMailServiceTest {
+
+    /* テスト対象 */
+    @Autowired
+    SharedReportMailServiceImpl service;
+
+    @MockBean
+    RmsMailOutbox rmsMailOutbox;
+
+    @Test
+    public void test_getToUserId_承認状況ごとの宛先() {
+        VTReport report = createReport(MCodeConst.A001_Y02);
+        assertThat(service.getToUserId(report), is("user07"));
+
+        report.setStatus(MCodeConst.A001_AAA);
+        assertThat(service.getToUserId(report), is("user01"));
+
+        report.setStatus(MCodeConst.A001_N03);
+        assertThat(service.getToUserId(report), is("user01"));
+
+        // 承認済みは承認完了メール送信バッチで通知
+        report.setStatus(MCodeConst.A001_ZZZ);
+        assertThat(service.getToUserId(report), is(nullValue()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_enqueueStatusMail_承認依頼と差戻を一括登録() {
+        service.enqueueStatusMail(Arrays.asList(createReport(MCodeConst.A001_Y01),
+                                                createReport(MCodeConst.A001_AAA),
+                                                createReport(MCodeConst.A001_ZZZ)));
+
+        ArgumentCaptor<List<RmsMailInfo>> captor = ArgumentCaptor.forClass((Class<List<RmsMailInfo>>) (Class<?>) List.class);
+        verify(rmsMailOutbox).enqueue(captor.capture());
+        List<RmsMailInfo> mailInfoList = captor.getValue();
+        assertThat(mailInfoList.size(), is(2));
+
+        RmsMailInfo approve = mailInfoList.get(0);
+        assertThat(approve.getToAddrs()[0].getAddress(), is("xxx@xxx.xx"));
+        assertThat(approve.getSubject(), is("【月報管理】月報の承認依頼（申請者０１ 2016/08）"));
+        assertThat(approve.getText(), containsString("承認者０１ 様"));
+
+        RmsMailInfo remand = mailInfoList.get(1);
+        assertThat(remand.getSubject(), is("【月報管理】月報の差戻（2016/08）"));
+        assertThat(remand.getText(), containsString("申請者０１ 様"));
+    }
+
+    private VTReport createReport(String status) {
+        VTReport report = new VTReport();
+        report.setApplyUserId("user01");
+        report.setTargetYm(201608);
+        report.setApproveUserId1("user06");
+        report.setApproveUserId2("user07");
+        report.setStatus(status);
+        return report;
+    }
+
+}
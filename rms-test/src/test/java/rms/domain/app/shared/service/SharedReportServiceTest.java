@@ -39,6 +39,8 @@ public class SharedReportServiceTest {
                           new Fixture(5, APPLY, A001_AAA, null, null, null, null, A001_ZZZ),
                           new Fixture(6, APPLY, A001_AAA, "xx", null, null, "xx", A001_Y01),
                           new Fixture(7, APPLY, A001_AAA, null, "xx", null, "xx", A001_Y02),
+                          new Fixture(8, APPLY, A001_N02, "xx", "xx", null, null, A001_Y01),
+                          new Fixture(9, APPLY, null, null, null, "", "xx", A001_Y04),
                           new Fixture(11, APPROVE, A001_Y01, null, "xx", null, null, A001_Y02),
                           new Fixture(12, APPROVE, A001_Y01, null, null, "xx", null, A001_Y03),
                           new Fixture(13, APPROVE, A001_Y01, null, null, null, "xx", A001_Y04),
@@ -51,6 +53,8 @@ public class SharedReportServiceTest {
                           new Fixture(31, APPROVE, A001_Y03, null, null, null, "xx", A001_Y04),
                           new Fixture(32, APPROVE, A001_Y03, null, null, null, null, A001_ZZZ),
                           new Fixture(41, APPROVE, A001_Y04, null, null, null, null, A001_ZZZ),
+                          new Fixture(42, APPROVE, A001_ZZZ, "xx", "xx", "xx", "xx", null),
+                          new Fixture(43, APPROVE, A001_N01, "xx", null, null, null, null),
                           new Fixture(51, REMAND, A001_Y01, null, null, null, null, A001_N01),
                           new Fixture(61, REMAND, A001_Y02, null, null, null, null, A001_N02),
                           new Fixture(62, REMAND, A001_Y02, "xx", null, null, null, A001_Y01),
@@ -64,7 +68,9 @@ public class SharedReportServiceTest {
                           new Fixture(91, DENY, A001_Y01, null, null, null, null, A001_N01),
                           new Fixture(92, DENY, A001_Y02, null, null, null, null, A001_N02),
                           new Fixture(93, DENY, A001_Y03, null, null, null, null, A001_N03),
-                          new Fixture(94, DENY, A001_Y04, null, null, null, null, A001_N04), };
+                          new Fixture(94, DENY, A001_Y04, null, null, null, null, A001_N04),
+                          new Fixture(95, DENY, A001_ZZZ, "xx", null, null, null, null),
+                          new Fixture(96, REMAND, A001_AAA, "xx", null, null, null, null), };
 
     @BeforeClass
     public static void beforeAll() {
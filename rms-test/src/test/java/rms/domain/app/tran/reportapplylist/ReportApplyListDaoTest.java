@@ -17,6 +17,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 import rms.SpringBatchApplication;
 import rms.SpringWebApplication;
 import rms.common.utils.PageInfo;
+import rms.common.utils.PageKey;
 import rms.common.utils.SelectOptionsUtils;
 
 @RunWith(SpringRunner.class)
@@ -42,7 +43,7 @@ public class ReportApplyListDaoTest {
         final SelectOptions options = SelectOptionsUtils.get(new PageInfo());
 
         // テスト実行
-        List<ReportApplyListResultEntity> resultList = dao.reportApplyListByCondition(condition, options);
+        List<ReportApplyListResultEntity> resultList = dao.reportApplyListByCondition(condition, PageKey.FIRST_PAGE, options);
 
         // テスト結果確認
         assertThat(resultList.get(0).getApplyUserId(), is("user01"));
@@ -51,4 +52,25 @@ public class ReportApplyListDaoTest {
         assertThat(resultList.get(1).getTargetYm(), is(201608));
     }
 
+    @Test
+    public void test_reportApplyListByCondition_ページ開始キー指定() {
+
+        // パラメータ
+        final ReportApplyListDto condition = new ReportApplyListDto();
+        final SelectOptions options = SelectOptionsUtils.get(new PageInfo(PageInfo.LIMIT_MAX));
+        List<ReportApplyListResultEntity> allList = dao.reportApplyListByCondition(condition, PageKey.FIRST_PAGE, options);
+        ReportApplyListResultEntity keyEntity = allList.get(3);
+        final PageKey pageKey = new PageKey(keyEntity.getTargetYm(), keyEntity.getApplyUserId());
+
+        // テスト実行
+        List<ReportApplyListResultEntity> resultList = dao.reportApplyListByCondition(condition, pageKey, options);
+
+        // テスト結果確認（開始キーの次の行から取得される）
+        assertThat(resultList.size(), is(allList.size() - 4));
+        for (int i = 0; i < resultList.size(); i++) {
+            assertThat(resultList.get(i).getApplyUserId(), is(allList.get(i + 4).getApplyUserId()));
+            assertThat(resultList.get(i).getTargetYm(), is(allList.get(i + 4).getTargetYm()));
+        }
+    }
+
 }
@@ -56,7 +56,7 @@ public class ReportApplyListServiceTest {
             mockEntity.setApplyUserId("ユーザID2");
             mockResultList.add(mockEntity);
         }
-        doReturn(mockResultList).when(reportApplyListDao).reportApplyListByCondition(any(), any());
+        doReturn(mockResultList).when(reportApplyListDao).reportApplyListByCondition(any(), any(), any());
         // ----------------------------------------------------------
 
         // テスト実行
@@ -0,0 +1,115 @@
+package rms.domain.app.tran.reportapprovelist;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.seasar.doma.jdbc.SelectOptions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import rms.SpringBatchApplication;
+import rms.SpringWebApplication;
+import rms.common.utils.PageInfo;
+import rms.common.utils.PageKey;
+import rms.common.utils.SelectOptionsUtils;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = SpringWebApplication.class, properties = "spring.profiles.active=test")
+public class ReportApproveListDaoTest {
+
+    /* テスト対象 */
+    @Autowired
+    ReportApproveListDao dao;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeClass
+    public static void beforeAll() {
+        SpringApplication application = new SpringApplication(SpringBatchApplication.class);
+        application.setWebEnvironment(false); // 内臓tomcatの起動を抑制
+    }
+
+    @Test
+    public void test_reportApproveListByCondition() {
+
+        // パラメータ
+        final ReportApproveListDto condition = new ReportApproveListDto();
+        condition.setApproveUserId("user07");
+        condition.setTargetYm(201609);
+        final SelectOptions options = SelectOptionsUtils.get(new PageInfo());
+
+        // テスト実行
+        List<ReportApproveListResultEntity> resultList = dao.reportApproveListByCondition(condition, PageKey.FIRST_PAGE, options);
+
+        // テスト結果確認
+        assertThat(resultList.size(), is(2));
+        assertThat(resultList.get(0).getApplyUserId(), is("user01"));
+        assertThat(resultList.get(0).getApproveUserId(), is("user07"));
+        assertThat(resultList.get(0).getApproveUserId2(), is("user07"));
+        assertThat(resultList.get(1).getApplyUserId(), is("user02"));
+        assertThat(resultList.get(1).getApproveUserId1(), is(""));
+        assertThat(resultList.get(1).getApproveUserId2(), is("user07"));
+    }
+
+    @Test
+    @Transactional
+    public void test_reportApproveListByCondition_対象年月指定なし() {
+
+        // テストデータ（承認者：user10、テスト終了時にロールバック）
+        insertReport("user01", 201802, "user06", "user10");
+        insertReport("user02", 201801, "user10");
+        insertReport("user03", 201801, "", "", "user10");
+        insertReport("user04", 201801, "user06"); // 承認者に含まれない
+
+        // パラメータ
+        final ReportApproveListDto condition = new ReportApproveListDto();
+        condition.setApproveUserId("user10");
+        final SelectOptions options = SelectOptionsUtils.get(new PageInfo());
+
+        // テスト実行
+        List<ReportApproveListResultEntity> resultList = dao.reportApproveListByCondition(condition, PageKey.FIRST_PAGE, options);
+
+        // テスト結果確認（承認者に含まれる月報のみ、対象年月の降順・申請者IDの昇順）
+        assertThat(resultList.size(), is(3));
+        for (ReportApproveListResultEntity result : resultList) {
+            assertThat(Arrays.asList(result.getApproveUserId1(), result.getApproveUserId2(),
+                                     result.getApproveUserId3(), result.getApproveUserId4()),
+                       hasItem("user10"));
+        }
+        assertThat(resultList.get(0).getApplyUserId(), is("user01"));
+        assertThat(resultList.get(0).getTargetYm(), is(201802));
+        assertThat(resultList.get(1).getApplyUserId(), is("user02"));
+        assertThat(resultList.get(1).getTargetYm(), is(201801));
+        assertThat(resultList.get(2).getApplyUserId(), is("user03"));
+        assertThat(resultList.get(2).getTargetYm(), is(201801));
+    }
+
+    /**
+     * 月報・月報承認フローの登録
+     * @param applyUserId
+     * @param targetYm
+     * @param approveUserIds 承認SEQ順の承認者ID
+     */
+    private void insertReport(String applyUserId,
+                              int targetYm,
+                              String... approveUserIds) {
+        jdbcTemplate.update("insert into t_report values (?, ?, null, '1', '', '', 'N01', 0, 0, now(), 'system', now(), 'system')",
+                            applyUserId, targetYm);
+        for (int i = 0; i < approveUserIds.length; i++) {
+            jdbcTemplate.update("insert into t_report_approve_flow values (?, ?, ?, ?, null, '', 0, 0, now(), 'system', now(), 'system')",
+                                applyUserId, targetYm, i + 1, approveUserIds[i]);
+        }
+    }
+
+}
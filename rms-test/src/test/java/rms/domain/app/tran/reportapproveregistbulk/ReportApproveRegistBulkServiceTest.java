@@ -0,0 +1,165 @@
+package rms.domain.app.tran.reportapproveregistbulk;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StreamUtils;
+
+import rms.SpringBatchApplication;
+import rms.SpringWebApplication;
+import rms.common.auth.UserInfo;
+import rms.common.consts.MCodeConst;
+import rms.common.dao.TReportApproveFlowDao;
+import rms.common.dao.VTReportDao;
+import rms.common.entity.MUser;
+import rms.common.utils.ProjectProperties;
+import rms.domain.app.shared.dto.SharedFileDto;
+import rms.domain.app.shared.service.SharedReportFileService;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = SpringWebApplication.class, properties = "spring.profiles.active=test")
+public class ReportApproveRegistBulkServiceTest {
+
+    /* テスト対象 */
+    @Autowired
+    ReportApproveRegistBulkService service;
+
+    @Autowired
+    VTReportDao vTReportDao;
+
+    @Autowired
+    TReportApproveFlowDao tReportApproveFlowDao;
+
+    @Autowired
+    SharedReportFileService sharedReportFileService;
+
+    @Autowired
+    ProjectProperties properties;
+
+    @BeforeClass
+    public static void beforeAll() {
+        SpringApplication application = new SpringApplication(SpringBatchApplication.class);
+        application.setWebEnvironment(false); // 内臓tomcatの起動を抑制
+    }
+
+    @After
+    public void after() throws IOException {
+        SecurityContextHolder.clearContext();
+        Files.deleteIfExists(Paths.get(properties.getReportStorage(), "201608_user01.xlsx"));
+        Files.deleteIfExists(Paths.get(properties.getReportStorage(), "201609_user03.xlsx"));
+    }
+
+    @Test
+    @Transactional
+    public void test_approveBulk_一括承認() throws Exception {
+
+        // パラメータ（承認者：user08）
+        UserInfo userInfo = login("user08");
+        MockMultipartFile file = createZipFile("201608_user01_申請者０１.xlsx",
+                                               "201609_user03_申請者０３.xlsx",
+                                               "201609_user02_申請者０２.xlsx",
+                                               "report.xlsx",
+                                               "201001_user01_申請者０１.xlsx");
+        List<ReportApproveRegistBulkDto> notifyList = Collections.synchronizedList(new ArrayList<>());
+
+        // テスト実行
+        List<ReportApproveRegistBulkDto> resultList = service.approveBulk(file, userInfo, notifyList::add);
+
+        // テスト結果確認（処理結果はzipファイル内の格納順）
+        assertThat(resultList.size(), is(5));
+        assertThat(resultList.get(0).getStatus(), is(ReportApproveRegistBulkConst.RESULT_OK));
+        assertThat(resultList.get(0).getApplyUserNm(), is("申請者０１"));
+        assertThat(resultList.get(1).getStatus(), is(ReportApproveRegistBulkConst.RESULT_OK));
+        assertThat(resultList.get(2).getStatus(), is(ReportApproveRegistBulkConst.RESULT_NG));
+        assertThat(resultList.get(2).getComment(), is("承認権限がありません"));
+        assertThat(resultList.get(3).getStatus(), is(ReportApproveRegistBulkConst.RESULT_NG));
+        assertThat(resultList.get(4).getStatus(), is(ReportApproveRegistBulkConst.RESULT_NG));
+        assertThat(resultList.get(4).getComment(), is("月報情報が見つかりません"));
+
+        // テスト結果確認（全件通知されていること、成功は最後に通知されること）
+        assertThat(notifyList.size(), is(5));
+        assertThat(notifyList.containsAll(resultList), is(true));
+        assertThat(notifyList.get(3).getStatus(), is(ReportApproveRegistBulkConst.RESULT_OK));
+        assertThat(notifyList.get(4).getStatus(), is(ReportApproveRegistBulkConst.RESULT_OK));
+
+        // テスト結果確認（データベース）
+        assertThat(vTReportDao.selectById("user01", 201608).getStatus(), is(MCodeConst.A001_ZZZ));
+        assertThat(vTReportDao.selectById("user03", 201609).getStatus(), is(MCodeConst.A001_ZZZ));
+        assertThat(vTReportDao.selectById("user02", 201609).getStatus(), is(MCodeConst.A001_ZZZ));
+        assertThat(tReportApproveFlowDao.selectById("user01", 201608, 3).getApproveDate(), is(notNullValue()));
+        assertThat(tReportApproveFlowDao.selectById("user03", 201609, 3).getApproveDate(), is(notNullValue()));
+
+        // テスト結果確認（月報ファイル・月報ファイル履歴）
+        SharedFileDto reportFile = sharedReportFileService.getReportFileInfo("user01", 201608);
+        byte[] bytes;
+        try (InputStream is = reportFile.getStorage().read(reportFile.getStorageKey())) {
+            bytes = StreamUtils.copyToByteArray(is);
+        }
+        assertThat(new String(bytes, StandardCharsets.UTF_8), is("201608_user01_申請者０１.xlsx"));
+        assertThat(sharedReportFileService.getReportRevisionList("user01", 201608).get(0).getFileSize(),
+                   is((long) bytes.length));
+    }
+
+    /**
+     * 承認者のログイン状態を設定
+     * @param userId
+     * @return
+     */
+    private UserInfo login(String userId) {
+        MUser user = new MUser();
+        user.setUserId(userId);
+        user.setPassword("pass");
+        UserInfo userInfo = new UserInfo(user, AuthorityUtils.createAuthorityList("ROLE_APPROVE"));
+        SecurityContextHolder.getContext()
+                             .setAuthentication(new UsernamePasswordAuthenticationToken(userInfo,
+                                                                                        null,
+                                                                                        userInfo.getAuthorities()));
+        return userInfo;
+    }
+
+    /**
+     * 月報zipファイルの生成（ファイルの内容はファイル名）
+     * @param fileNms
+     * @return
+     * @throws IOException
+     */
+    private MockMultipartFile createZipFile(String... fileNms) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(out, Charset.forName("MS932"))) {
+            for (String fileNm : Arrays.asList(fileNms)) {
+                zos.putNextEntry(new ZipEntry(fileNm));
+                zos.write(fileNm.getBytes(StandardCharsets.UTF_8));
+                zos.closeEntry();
+            }
+        }
+        return new MockMultipartFile("file", "report.zip", null, out.toByteArray());
+    }
+
+}
@@ -0,0 +1,264 @@
+package rms.testutil.mock;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.util.StreamUtils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import rms.common.storage.S3ReportStorage;
+import rms.common.utils.RmsDigestUtils;
+
+/**
+ * テスト用S3互換オブジェクトストレージ<br>
+ * ローカルの空きポートで待ち受け、PUT/GET/HEAD/DELETEをメモリ上のオブジェクトで処理する。
+ * GETは単一範囲のRangeヘッダに対応する。
+ * 署名バージョン4の署名を検証し、不一致の場合は403を返却する
+ * @author
+ */
+public class RmsMockS3Server implements AutoCloseable {
+
+    /** バケット */
+    public static final String BUCKET = "rms-test";
+
+    /** リージョン */
+    public static final String REGION = "us-east-1";
+
+    /** アクセスキー */
+    public static final String ACCESS_KEY = "rms-access";
+
+    /** シークレットキー */
+    public static final String SECRET_KEY = "rms-secret";
+
+    /** Authorizationヘッダの形式 */
+    private static final Pattern AUTHORIZATION_PATTERN = Pattern.compile(
+            "AWS4-HMAC-SHA256 Credential=([^/]+)/(\\d{8})/([^/]+)/s3/aws4_request, SignedHeaders=([^,]+), Signature=([0-9a-f]{64})");
+
+    /** Rangeヘッダの形式 */
+    private static final Pattern RANGE_PATTERN = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+    /** Last-Modifiedの形式 */
+    private static final DateTimeFormatter HTTP_DATE_FORMAT = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+
+    /** HTTPサーバ */
+    private final HttpServer server;
+
+    /** オブジェクト[key:バケット/キー] */
+    private final Map<String, StoredObject> objectMap = new ConcurrentHashMap<>();
+
+    /** 署名不一致の件数 */
+    private final AtomicInteger signatureErrorCount = new AtomicInteger();
+
+    /**
+     * コンストラクタ（起動）
+     * @throws IOException
+     */
+    public RmsMockS3Server() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 50);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * 本サーバに接続する月報ファイル格納先の生成
+     * @param secretKey
+     * @param tmpDir
+     * @return
+     */
+    public S3ReportStorage createStorage(String secretKey,
+                                         Path tmpDir) {
+        return new S3ReportStorage(getEndpoint(), BUCKET, REGION, ACCESS_KEY, secretKey, tmpDir);
+    }
+
+    public String getEndpoint() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * オブジェクトの取得
+     * @param key
+     * @return 内容（存在しない場合はnull）
+     */
+    public byte[] getObject(String key) {
+        StoredObject object = objectMap.get(BUCKET + "/" + key);
+        return object == null ? null : object.data;
+    }
+
+    public int getSignatureErrorCount() {
+        return signatureErrorCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    /**
+     * リクエスト処理
+     * @param exchange
+     * @throws IOException
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!verifySignature(exchange)) {
+                signatureErrorCount.incrementAndGet();
+                send(exchange, 403, "<Error><Code>SignatureDoesNotMatch</Code></Error>");
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath().substring(1);
+            StoredObject object = objectMap.get(path);
+            switch (exchange.getRequestMethod()) {
+            case "PUT":
+                byte[] data;
+                try (InputStream is = exchange.getRequestBody()) {
+                    data = StreamUtils.copyToByteArray(is);
+                }
+                objectMap.put(path, new StoredObject(data, Instant.now().truncatedTo(ChronoUnit.SECONDS)));
+                send(exchange, 200, null);
+                break;
+            case "GET":
+            case "HEAD":
+                if (object == null) {
+                    send(exchange, 404, "<Error><Code>NoSuchKey</Code></Error>");
+                    break;
+                }
+                exchange.getResponseHeaders().set("Last-Modified", HTTP_DATE_FORMAT.format(object.lastModified));
+                exchange.getResponseHeaders().set("ETag", object.eTag);
+                if (exchange.getRequestMethod().equals("HEAD")) {
+                    exchange.getResponseHeaders().set("Connection", "close");
+                    exchange.getResponseHeaders().set("Content-Length", String.valueOf(object.data.length));
+                    exchange.sendResponseHeaders(200, -1);
+                    break;
+                }
+                String range = exchange.getRequestHeaders().getFirst("Range");
+                Matcher rangeMatcher = range == null ? null : RANGE_PATTERN.matcher(range);
+                if (rangeMatcher != null && rangeMatcher.matches()) {
+                    int start = Integer.parseInt(rangeMatcher.group(1));
+                    int end = Math.min(Integer.parseInt(rangeMatcher.group(2)), object.data.length - 1);
+                    exchange.getResponseHeaders().set("Content-Range",
+                                                      "bytes " + start + "-" + end + "/" + object.data.length);
+                    exchange.sendResponseHeaders(206, end - start + 1);
+                    try (OutputStream os = exchange.getResponseBody()) {
+                        os.write(object.data, start, end - start + 1);
+                    }
+                    break;
+                }
+                exchange.sendResponseHeaders(200, object.data.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(object.data);
+                }
+                break;
+            case "DELETE":
+                objectMap.remove(path);
+                send(exchange, 204, null);
+                break;
+            default:
+                send(exchange, 405, null);
+                break;
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * 署名の検証
+     * @param exchange
+     * @return
+     */
+    private boolean verifySignature(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        String amzDate = exchange.getRequestHeaders().getFirst("x-amz-date");
+        Matcher matcher = authorization == null ? null : AUTHORIZATION_PATTERN.matcher(authorization);
+        if (matcher == null || !matcher.matches() || amzDate == null || !ACCESS_KEY.equals(matcher.group(1))) {
+            return false;
+        }
+
+        // 正規リクエスト
+        StringBuilder canonicalHeaders = new StringBuilder();
+        for (String name : matcher.group(4).split(";")) {
+            String value = exchange.getRequestHeaders().getFirst(name);
+            canonicalHeaders.append(name).append(':').append(value == null ? "" : value.trim()).append('\n');
+        }
+        String canonicalRequest = exchange.getRequestMethod() + "\n" + exchange.getRequestURI().getRawPath() + "\n"
+                + "\n" + canonicalHeaders + "\n" + matcher.group(4) + "\n"
+                + exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+
+        // 署名
+        String scope = matcher.group(2) + "/" + matcher.group(3) + "/s3/aws4_request";
+        String stringToSign = "AWS4-HMAC-SHA256\n" + amzDate + "\n" + scope + "\n"
+                + RmsDigestUtils.sha256Hex(canonicalRequest);
+        byte[] key = ("AWS4" + SECRET_KEY).getBytes(StandardCharsets.UTF_8);
+        for (String value : new String[] { matcher.group(2), matcher.group(3), "s3", "aws4_request" }) {
+            key = RmsDigestUtils.hmacSha256(key, value);
+        }
+        return RmsDigestUtils.toHex(RmsDigestUtils.hmacSha256(key, stringToSign)).equals(matcher.group(5));
+    }
+
+    /**
+     * 応答<br>
+     * HEAD・DELETEの応答後はHttpServerが接続を切断する為、クライアントが接続を再利用しないよう通知する
+     * @param exchange
+     * @param status
+     * @param body
+     * @throws IOException
+     */
+    private void send(HttpExchange exchange,
+                      int status,
+                      String body) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (method.equals("HEAD") || method.equals("DELETE")) {
+            exchange.getResponseHeaders().set("Connection", "close");
+        }
+        byte[] bytes = body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length == 0 || method.equals("HEAD")) {
+            exchange.getResponseHeaders().set("Content-Length", String.valueOf(bytes.length));
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    /**
+     * 格納オブジェクト
+     */
+    private static class StoredObject {
+
+        /** 内容 */
+        private final byte[] data;
+
+        /** 最終更新日時 */
+        private final Instant lastModified;
+
+        /** ETag */
+        private final String eTag;
+
+        StoredObject(byte[] data,
+                     Instant lastModified) {
+            this.data = data;
+            this.lastModified = lastModified;
+            this.eTag = "\"" + RmsDigestUtils.toHex(RmsDigestUtils.createSha256().digest(data)).substring(0, 32) + "\"";
+        }
+    }
+
+}
@@ -0,0 +1,200 @@
+package rms.testutil.mock;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import rms.common.utils.RmsSlackTransport;
+
+/**
+ * テスト用Slack接続<br>
+ * Slackに接続せず、送信したメッセージを記録する。接続失敗・送信の停滞を指定して再現できる
+ * @author
+ */
+public class RmsMockSlackTransport implements RmsSlackTransport {
+
+    /** メールアドレス→SlackユーザーID */
+    private final Map<String, String> userMap = new ConcurrentHashMap<>();
+
+    /** 送信メッセージ */
+    private final List<Message> messageList = new ArrayList<>();
+
+    /** 接続回数 */
+    private final AtomicInteger connectCount = new AtomicInteger();
+
+    /** ユーザー検索回数 */
+    private final AtomicInteger findUserCount = new AtomicInteger();
+
+    /** 接続中フラグ */
+    private volatile boolean connected;
+
+    /** 接続失敗フラグ */
+    private volatile boolean connectFail;
+
+    /** 送信の停滞（解除されるまで送信を待機させる） */
+    private volatile CountDownLatch blockLatch;
+
+    /** 送信の停滞開始の通知 */
+    private volatile CountDownLatch blockedLatch;
+
+    /**
+     * Slackユーザーの登録
+     * @param mail
+     * @param userId
+     * @return
+     */
+    public RmsMockSlackTransport addUser(String mail,
+                                         String userId) {
+        userMap.put(mail, userId);
+        return this;
+    }
+
+    /**
+     * 接続失敗の設定
+     * @param connectFail
+     */
+    public void failConnect(boolean connectFail) {
+        this.connectFail = connectFail;
+    }
+
+    /**
+     * 送信の停滞開始（{@link #release()}まで送信を待機させる）
+     */
+    public void block() {
+        blockLatch = new CountDownLatch(1);
+        blockedLatch = new CountDownLatch(1);
+    }
+
+    /**
+     * 送信が停滞するまで待機
+     * @param timeoutMillis
+     * @return [true:停滞中 false:タイムアウト]
+     * @throws InterruptedException
+     */
+    public boolean awaitBlocked(long timeoutMillis) throws InterruptedException {
+        return blockedLatch.await(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 送信の停滞解除
+     */
+    public void release() {
+        CountDownLatch latch = blockLatch;
+        blockLatch = null;
+        if (latch != null) {
+            latch.countDown();
+        }
+    }
+
+    /**
+     * 接続断の再現
+     */
+    public void drop() {
+        connected = false;
+    }
+
+    @Override
+    public void connect() throws IOException {
+        if (connectFail) {
+            throw new IOException("mock slack connect error");
+        }
+        connectCount.incrementAndGet();
+        connected = true;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public void disconnect() {
+        connected = false;
+    }
+
+    @Override
+    public String findUserIdByEmail(String mail) {
+        findUserCount.incrementAndGet();
+        return userMap.get(mail);
+    }
+
+    @Override
+    public void sendMessage(String userId,
+                            String text) {
+        if (!connected) {
+            throw new IllegalStateException("mock slack not connected");
+        }
+        CountDownLatch latch = blockLatch;
+        if (latch != null) {
+            blockedLatch.countDown();
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (messageList) {
+            messageList.add(new Message(userId, text));
+            messageList.notifyAll();
+        }
+    }
+
+    /**
+     * 指定件数のメッセージが送信されるまで待機
+     * @param count
+     * @param timeoutMillis
+     * @return 送信メッセージ
+     * @throws InterruptedException
+     */
+    public List<Message> awaitMessageList(int count,
+                                          long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (messageList) {
+            long wait;
+            while (messageList.size() < count && (wait = deadline - System.currentTimeMillis()) > 0) {
+                messageList.wait(wait);
+            }
+            return new ArrayList<>(messageList);
+        }
+    }
+
+    public int getConnectCount() {
+        return connectCount.get();
+    }
+
+    public int getFindUserCount() {
+        return findUserCount.get();
+    }
+
+    /**
+     * 送信メッセージ
+     */
+    public static class Message {
+
+        /** SlackユーザーID */
+        private final String userId;
+
+        /** メッセージ */
+        private final String text;
+
+        Message(String userId,
+                String text) {
+            this.userId = userId;
+            this.text = text;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+
+}
@@ -0,0 +1,213 @@
+package rms.testutil.mock;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * テスト用SMTPサーバ<br>
+ * ローカルの空きポートで待ち受け、受信したメールを記録する。宛先拒否・一時エラーを指定して送信失敗を再現できる
+ * @author
+ */
+public class RmsMockSmtpServer implements AutoCloseable {
+
+    /** logger */
+    private static final Logger logger = LoggerFactory.getLogger(RmsMockSmtpServer.class);
+
+    /** 待ち受けソケット */
+    private final ServerSocket serverSocket;
+
+    /** 受信メール（宛先・本文） */
+    private final List<Message> messageList = Collections.synchronizedList(new ArrayList<>());
+
+    /** 接続数 */
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    /** 拒否する宛先アドレス */
+    private final Set<String> rejectAddrSet = ConcurrentHashMap.newKeySet();
+
+    /** 一時エラーとする残り件数 */
+    private final AtomicInteger temporaryFailCount = new AtomicInteger();
+
+    /**
+     * コンストラクタ（起動）
+     * @throws IOException
+     */
+    public RmsMockSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread thread = new Thread(this::accept, "mock-smtp");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 本サーバに接続するJavaMailSenderの生成
+     * @return
+     */
+    public JavaMailSenderImpl createMailSender() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(serverSocket.getInetAddress().getHostAddress());
+        mailSender.setPort(serverSocket.getLocalPort());
+        mailSender.setDefaultEncoding("UTF-8");
+        Properties properties = new Properties();
+        properties.setProperty("mail.smtp.connectiontimeout", "5000");
+        properties.setProperty("mail.smtp.timeout", "5000");
+        mailSender.setJavaMailProperties(properties);
+        return mailSender;
+    }
+
+    /**
+     * 宛先拒否（恒久エラー）の設定
+     * @param addr
+     */
+    public void reject(String addr) {
+        rejectAddrSet.add(addr);
+    }
+
+    /**
+     * 一時エラーの設定（指定件数のメールをDATA応答で失敗させる）
+     * @param count
+     */
+    public void failTemporary(int count) {
+        temporaryFailCount.set(count);
+    }
+
+    public List<Message> getMessageList() {
+        synchronized (messageList) {
+            return new ArrayList<>(messageList);
+        }
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    /**
+     * 接続待ち受け
+     */
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connectionCount.incrementAndGet();
+                Thread thread = new Thread(() -> handle(socket), "mock-smtp-session");
+                thread.setDaemon(true);
+                thread.start();
+            } catch (SocketException e) {
+                // close
+            } catch (IOException e) {
+                logger.warn("mock smtp accept error", e);
+            }
+        }
+    }
+
+    /**
+     * SMTPセッション処理
+     * @param socket
+     */
+    private void handle(Socket socket) {
+        try (Socket s = socket;
+                BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+                Writer out = new OutputStreamWriter(s.getOutputStream(), StandardCharsets.US_ASCII)) {
+            reply(out, "220 localhost ESMTP mock");
+            List<String> rcptList = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase();
+                if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                    reply(out, "250 localhost");
+                } else if (command.startsWith("MAIL FROM:")) {
+                    rcptList.clear();
+                    reply(out, "250 OK");
+                } else if (command.startsWith("RCPT TO:")) {
+                    String addr = line.substring(line.indexOf('<') + 1, line.lastIndexOf('>'));
+                    if (rejectAddrSet.contains(addr)) {
+                        reply(out, "550 mailbox unavailable");
+                    } else {
+                        rcptList.add(addr);
+                        reply(out, "250 OK");
+                    }
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    StringBuilder data = new StringBuilder();
+                    while ((line = in.readLine()) != null && !line.equals(".")) {
+                        data.append(line).append("\n");
+                    }
+                    if (temporaryFailCount.getAndUpdate(c -> Math.max(c - 1, 0)) > 0) {
+                        reply(out, "451 temporary failure");
+                    } else {
+                        messageList.add(new Message(new ArrayList<>(rcptList), data.toString()));
+                        reply(out, "250 OK");
+                    }
+                    rcptList.clear();
+                } else if (command.equals("RSET") || command.equals("NOOP")) {
+                    rcptList.clear();
+                    reply(out, "250 OK");
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 Bye");
+                    break;
+                } else {
+                    reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("mock smtp session error", e);
+        }
+    }
+
+    private void reply(Writer out,
+                       String message) throws IOException {
+        out.write(message + "\r\n");
+        out.flush();
+    }
+
+    /**
+     * 受信メール
+     */
+    public static class Message {
+
+        /** 宛先 */
+        private final List<String> rcptList;
+
+        /** 本文（ヘッダを含む） */
+        private final String data;
+
+        Message(List<String> rcptList,
+                String data) {
+            this.rcptList = rcptList;
+            this.data = data;
+        }
+
+        public List<String> getRcptList() {
+            return rcptList;
+        }
+
+        public String getData() {
+            return data;
+        }
+    }
+
+}
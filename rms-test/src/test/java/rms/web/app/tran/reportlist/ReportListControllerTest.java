@@ -0,0 +1,94 @@
+package rms.web.app.tran.reportlist;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import rms.SpringWebApplication;
+import rms.common.consts.MessageTypeConst;
+import rms.common.dao.TReportRevisionDao;
+import rms.common.storage.ReportStorage;
+import rms.common.utils.PageKey;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = SpringWebApplication.class, properties = "spring.profiles.active=test")
+@AutoConfigureMockMvc
+public class ReportListControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ReportStorage reportLegacyStorage;
+
+    @Autowired
+    TReportRevisionDao tReportRevisionDao;
+
+    @Test
+    @WithUserDetails(value = "user11", userDetailsServiceBeanName = "userDetailsServiceImpl") // 管理者
+    public void test_月報DL_対象年月と申請者IDで指定() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+
+        // 検索
+        mockMvc.perform(post(ReportListController.MAPPING_URL).param("search", "")
+                                                              .session(session)
+                                                              .with(csrf()))
+               .andExpect(status().isOk());
+        ReportListForm form = (ReportListForm) session.getAttribute("reportListForm");
+        PageKey key = form.getResultKeyList()
+                          .stream()
+                          .filter(k -> tReportRevisionDao.selectLatestByReport(k.getUserId(), k.getTargetYm()) == null)
+                          .findFirst()
+                          .get();
+
+        // 月報ファイル（履歴管理前）の作成
+        String storageKey = key.getTargetYm() + "_" + key.getUserId() + ".xlsx";
+        byte[] data = "report".getBytes(StandardCharsets.UTF_8);
+        reportLegacyStorage.write(storageKey, new ByteArrayInputStream(data), data.length);
+        try {
+            // テスト実行（表示中の月報）
+            String url = ReportListController.MAPPING_URL + "/" + key.getTargetYm() + "/" + key.getUserId();
+            mockMvc.perform(get(url).param("download", "").session(session))
+                   .andExpect(status().isOk())
+                   .andExpect(header().string("Content-Disposition",
+                                              containsString(key.getTargetYm() + "_" + key.getUserId() + "_")))
+                   .andExpect(header().string("ETag", notNullValue()))
+                   .andExpect(content().bytes(data));
+
+            // テスト実行（再検索後も同じURLは同じ月報を指す）
+            mockMvc.perform(post(ReportListController.MAPPING_URL).param("search", "")
+                                                                  .session(session)
+                                                                  .with(csrf()))
+                   .andExpect(status().isOk());
+            mockMvc.perform(get(url).param("download", "").session(session))
+                   .andExpect(status().isOk())
+                   .andExpect(content().bytes(data));
+        } finally {
+            reportLegacyStorage.delete(storageKey);
+        }
+
+        // テスト実行（表示中のページに無い月報はダウンロードしない）
+        mockMvc.perform(get(ReportListController.MAPPING_URL + "/209912/" + key.getUserId()).param("download", "")
+                                                                                             .session(session))
+               .andExpect(status().isOk())
+               .andExpect(header().doesNotExist("Content-Disposition"))
+               .andExpect(model().attribute(MessageTypeConst.ERROR, is("月報情報が見つかりません")));
+        assertThat(form.getResultKeyList().contains(key), is(true));
+    }
+
+}
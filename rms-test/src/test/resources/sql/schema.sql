@@ -115,6 +115,9 @@ create table T_REPORT (
   , constraint T_REPORT_PKC primary key (apply_user_id,target_ym)
 ) comment '月報テーブル' ;
 
+create index T_REPORT_IX1 on T_REPORT(target_ym,apply_user_id);
+create index T_REPORT_IX2 on T_REPORT(status,upd_date);
+
 
 --
 -- 月報承認フローテーブル
@@ -137,6 +140,8 @@ create table T_REPORT_APPROVE_FLOW (
   , constraint T_REPORT_APPROVE_FLOW_PKC primary key (apply_user_id,target_ym,approve_seq)
 ) comment '月報承認フローテーブル' ;
 
+create index T_REPORT_APPROVE_FLOW_IX1 on T_REPORT_APPROVE_FLOW(approve_user_id,target_ym);
+
 --
 -- お知らせテーブル
 --
@@ -153,6 +158,98 @@ create table T_INFOMATION (
   , constraint T_INFOMATION_PKC primary key (seq)
 ) comment 'お知らせテーブル' ;
 
+--
+-- メール送信待ちテーブル
+--
+drop table if exists T_MAIL_OUTBOX cascade;
+create table T_MAIL_OUTBOX (
+  mail_id bigint not null auto_increment comment 'メールID'
+  , from_addr varchar(255) not null comment '送信元アドレス'
+  , to_addrs varchar(1000) not null comment '宛先アドレス  カンマ区切り'
+  , cc_addrs varchar(1000) comment 'CCアドレス  カンマ区切り'
+  , bcc_addrs varchar(1000) comment 'BCCアドレス  カンマ区切り'
+  , subject varchar(255) comment '件名'
+  , body text comment '本文'
+  , file_nm varchar(255) comment '添付ファイル名'
+  , file_path varchar(1000) comment '添付ファイルパス'
+  , send_status varchar(1) not null comment '送信状況  0:未送信 1:送信中 2:送信済み 9:送信エラー'
+  , retry_count int not null comment '再送回数'
+  , next_send_date datetime not null comment '次回送信日時'
+  , sent_date datetime comment '送信日時'
+  , send_token varchar(36) comment '送信トークン'
+  , last_error varchar(1000) comment '最終エラー内容'
+  , version int not null comment 'バージョン'
+  , del_flg int not null comment '削除フラグ'
+  , ins_date datetime not null comment '登録日時'
+  , ins_id varchar(20) not null comment '登録ID'
+  , upd_date datetime not null comment '更新日時'
+  , upd_id varchar(20) not null comment '更新ID'
+  , constraint T_MAIL_OUTBOX_PKC primary key (mail_id)
+) comment 'メール送信待ちテーブル' ;
+
+create index T_MAIL_OUTBOX_IX1 on T_MAIL_OUTBOX(send_status,next_send_date);
+create index T_MAIL_OUTBOX_IX2 on T_MAIL_OUTBOX(send_token);
+create index T_MAIL_OUTBOX_IX3 on T_MAIL_OUTBOX(send_status,sent_date);
+
+--
+-- バッチ管理テーブル
+--
+drop table if exists T_BATCH_CONTROL cascade;
+create table T_BATCH_CONTROL (
+  batch_id varchar(10) not null comment 'バッチID'
+  , last_exec_date datetime comment '前回処理基準日時  前回完了時の処理対象終了日時'
+  , exec_to_date datetime comment '処理対象終了日時  処理中のみ設定'
+  , exec_key varchar(255) comment '処理済みキー  処理中のみ設定'
+  , version int not null comment 'バージョン'
+  , del_flg int not null comment '削除フラグ'
+  , ins_date datetime not null comment '登録日時'
+  , ins_id varchar(20) not null comment '登録ID'
+  , upd_date datetime not null comment '更新日時'
+  , upd_id varchar(20) not null comment '更新ID'
+  , constraint T_BATCH_CONTROL_PKC primary key (batch_id)
+) comment 'バッチ管理テーブル' ;
+
+--
+-- 月報メール送信済みテーブル
+--
+drop table if exists T_REPORT_MAIL_SENT cascade;
+create table T_REPORT_MAIL_SENT (
+  apply_user_id varchar(20) not null comment '申請者ID'
+  , target_ym int not null comment '対象年月'
+  , report_version int not null comment '月報バージョン  通知時の月報テーブルのバージョン'
+  , report_upd_date datetime not null comment '月報更新日時  通知時の月報テーブルの更新日時'
+  , version int not null comment 'バージョン'
+  , del_flg int not null comment '削除フラグ'
+  , ins_date datetime not null comment '登録日時'
+  , ins_id varchar(20) not null comment '登録ID'
+  , upd_date datetime not null comment '更新日時'
+  , upd_id varchar(20) not null comment '更新ID'
+  , constraint T_REPORT_MAIL_SENT_PKC primary key (apply_user_id,target_ym,report_version)
+) comment '月報メール送信済みテーブル' ;
+
+create index T_REPORT_MAIL_SENT_IX1 on T_REPORT_MAIL_SENT(report_upd_date);
+
+--
+-- 月報ファイル履歴テーブル
+--
+drop table if exists T_REPORT_REVISION cascade;
+create table T_REPORT_REVISION (
+  revision_id bigint not null auto_increment comment '履歴ID'
+  , apply_user_id varchar(20) not null comment '申請者ID'
+  , target_ym int not null comment '対象年月'
+  , content_hash varchar(64) not null comment 'ファイルハッシュ値  SHA-256（16進数） 格納先のファイル名'
+  , file_size bigint not null comment 'ファイルサイズ'
+  , version int not null comment 'バージョン'
+  , del_flg int not null comment '削除フラグ'
+  , ins_date datetime not null comment '登録日時'
+  , ins_id varchar(20) not null comment '登録ID'
+  , upd_date datetime not null comment '更新日時'
+  , upd_id varchar(20) not null comment '更新ID'
+  , constraint T_REPORT_REVISION_PKC primary key (revision_id)
+) comment '月報ファイル履歴テーブル' ;
+
+create index T_REPORT_REVISION_IX1 on T_REPORT_REVISION(apply_user_id,target_ym,revision_id);
+
 
 --
 -- ユーザマスタビュー
@@ -236,16 +333,16 @@ select
   , A.publish_flg                                 -- 公開有無
   , B001.code_nm as publish_flg_nm                -- 公開有無名称
   , F1.approve_user_id as approve_user_id1        -- 承認者ID1
-  , (select X.user_nm from M_USER X where X.user_id = F1.approve_user_id) as approve_user_nm1 -- 承認者名1
+  , U1.user_nm as approve_user_nm1               -- 承認者名1
   , F1.approve_date as approve_date1              -- 承認日1
   , F2.approve_user_id as approve_user_id2        -- 承認者ID2
-  , (select X.user_nm from M_USER X where X.user_id = F2.approve_user_id) as approve_user_nm2 -- 承認者名2
+  , U2.user_nm as approve_user_nm2               -- 承認者名2
   , F2.approve_date as approve_date2              -- 承認日2
   , F3.approve_user_id as approve_user_id3        -- 承認者ID3
-  , (select X.user_nm from M_USER X where X.user_id = F3.approve_user_id) as approve_user_nm3 -- 承認者名3
+  , U3.user_nm as approve_user_nm3               -- 承認者名3
   , F3.approve_date as approve_date3              -- 承認日3
   , F4.approve_user_id as approve_user_id4        -- 承認者ID4
-  , (select X.user_nm from M_USER X where X.user_id = F4.approve_user_id) as approve_user_nm4 -- 承認者名4
+  , U4.user_nm as approve_user_nm4               -- 承認者名4
   , F4.approve_date as approve_date4              -- 承認日4
   , A.file_path                                   -- 月報ファイルパス
   , A.comment as apply_user_comment               -- 申請者コメント
@@ -265,18 +362,26 @@ from
     on A.apply_user_id = F1.apply_user_id
     and A.target_ym = F1.target_ym
     and F1.approve_seq = 1
+  left join M_USER U1
+    on U1.user_id = F1.approve_user_id
   left join T_REPORT_APPROVE_FLOW F2
     on A.apply_user_id = F2.apply_user_id
     and A.target_ym = F2.target_ym
     and F2.approve_seq = 2
+  left join M_USER U2
+    on U2.user_id = F2.approve_user_id
   left join T_REPORT_APPROVE_FLOW F3
     on A.apply_user_id = F3.apply_user_id
     and A.target_ym = F3.target_ym
     and F3.approve_seq = 3
+  left join M_USER U3
+    on U3.user_id = F3.approve_user_id
   left join T_REPORT_APPROVE_FLOW F4
     on A.apply_user_id = F4.apply_user_id
     and A.target_ym = F4.target_ym
     and F4.approve_seq = 4
+  left join M_USER U4
+    on U4.user_id = F4.approve_user_id
   inner join M_CODE A001
     on A001.code_kbn = 'A001'
     and A.status = A001.code
@@ -11,6 +11,9 @@ import rms.common.validator.NotSymbol;
  */
 public class UserListConditionForm extends rms.common.abstracts.AbstractForm {
 
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
+
     /** ユーザID */
     @Size(max = 10, message = "ユーザID：{Size.message}")
     @HalfWidthAlphaNumeric(message = "ユーザID：{HalfWidthAlphaNumeric.message}")
@@ -1,5 +1,7 @@
 package rms.web.app.mst.userlist;
 
+import java.util.function.Function;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +20,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import rms.common.consts.MRoleConst;
 import rms.common.consts.MessageEnum;
 import rms.common.consts.MessageTypeConst;
+import rms.common.utils.PageKey;
 import rms.common.utils.RmsBeanUtils;
 import rms.common.utils.SearchResultDto;
 import rms.domain.app.mst.userlist.UserListDto;
@@ -48,6 +51,9 @@ public class UserListController extends rms.common.abstracts.AbstractController
     /** 画面ID */
     public static final String SCREEN_ID = "M001";
 
+    /** 検索結果行のキー（ユーザID） */
+    private static final Function<UserListResultEntity, PageKey> RESULT_KEY = e -> new PageKey(null, e.getUserId());
+
     /** ユーザ情報取得サービス */
     @Autowired
     UserListService service;
@@ -86,25 +92,25 @@ public class UserListController extends rms.common.abstracts.AbstractController
                          Model model) {
         logger.debug("入力フォーム情報 -> {}", form);
 
-        // 入力チェック
+        // 入力チェック（直前の検索結果を再表示）
         if (bindingResult.hasErrors()) {
             logger.debug("入力チェックエラー -> {}", bindingResult.getAllErrors());
-            return PAGE_URL;
+            return reSearch(form, model);
         }
 
         // ページ情報の初期化
         form.getPageInfo().clear();
+        form.setSearchCondition(RmsBeanUtils.createCopyProperties(form.getCondition(), UserListConditionForm.class));
 
         // 検索条件の生成
-        UserListDto condition = RmsBeanUtils.createCopyProperties(form.getCondition(),
+        UserListDto condition = RmsBeanUtils.createCopyProperties(form.getSearchCondition(),
                                                                            UserListDto.class);
 
         // 検索処理
         SearchResultDto<UserListResultEntity> resultDto = service.search(condition, form.getPageInfo());
 
         // 検索結果をフォームに反映
-        form.setResultList(resultDto.getResultList());
-        form.getPageInfo().setTotalSize(resultDto.getCount());
+        setSearchResult(form, resultDto, RESULT_KEY, model);
 
         if (resultDto.getResultList().isEmpty()) {
             // 「検索結果が見つかりません」
@@ -131,16 +137,15 @@ public class UserListController extends rms.common.abstracts.AbstractController
             return PAGE_URL;
         }
 
-        // 検索条件の生成
-        UserListDto condition = RmsBeanUtils.createCopyProperties(form.getCondition(),
+        // 検索条件の生成（検索実行時の検索条件）
+        UserListDto condition = RmsBeanUtils.createCopyProperties(form.getSearchCondition(),
                                                                            UserListDto.class);
 
         // 検索処理
         SearchResultDto<UserListResultEntity> resultDto = service.search(condition, form.getPageInfo());
 
         // 検索結果をフォームに反映
-        form.setResultList(resultDto.getResultList());
-        form.getPageInfo().setTotalSize(resultDto.getCount());
+        setSearchResult(form, resultDto, RESULT_KEY, model);
 
         return PAGE_URL;
 
@@ -212,11 +217,11 @@ public class UserListController extends rms.common.abstracts.AbstractController
                          Model model) {
         logger.debug("選択値 -> {}", index);
 
-        // 選択したユーザ情報
-        UserListResultEntity userEntity = form.getResultList().get(index);
-        logger.debug("選択ユーザ情報 -> {}", userEntity);
+        // 選択したユーザのキー
+        PageKey key = form.getResultKeyList().get(index);
+        logger.debug("選択ユーザキー -> {}", key);
 
-        attributes.addFlashAttribute("userId", userEntity.getUserId());
+        attributes.addFlashAttribute("userId", key.getUserId());
         return urlHelper.redirect(UserRegistController.MAPPING_URL, "initUpdate");
     }
 
@@ -17,6 +17,9 @@ import rms.common.validator.NotSymbol;
  */
 public class UserRegistForm extends rms.common.abstracts.AbstractForm {
 
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
+
     /* 入力チェック宣言 ----------------------------------------------------- */
     //@formatter:off
     /** 入力チェック：新規 */
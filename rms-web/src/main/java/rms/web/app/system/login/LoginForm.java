@@ -10,6 +10,9 @@ import org.hibernate.validator.constraints.NotEmpty;
  */
 public class LoginForm extends rms.common.abstracts.AbstractForm {
 
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
+
     /** ユーザID */
     @NotEmpty(message = "ユーザID：{NotEmpty.message}")
     @Size(max = 10, message = "ユーザID：{Size.message}")
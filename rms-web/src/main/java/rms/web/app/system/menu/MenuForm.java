@@ -6,4 +6,7 @@ package rms.web.app.system.menu;
  */
 public class MenuForm extends rms.common.abstracts.AbstractForm {
 
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
+
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package rms.web.app.system.metrics;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import rms.common.consts.MRoleConst;
+import rms.common.metrics.RmsRequestMetrics;
+import rms.common.metrics.RmsRequestStats;
+import rms.common.metrics.RmsSqlMetrics;
+import rms.common.metrics.RmsTempStorageStats;
+import rms.common.utils.ProjectProperties;
+import rms.common.utils.RmsMailDispatcher;
+import rms.common.utils.RmsMailOutboxStats;
+import rms.common.utils.RmsTempStorage;
+
+/**
+ * 稼働統計コントローラー<br>
+ * 画面ID・処理ごとのリクエスト処理時間、DaoメソッドごとのSQL実行時間、一時フォルダの使用状況、
+ * メール送信待ちの状況をJSONで返却する<br>
+ * 役割：管理者
+ * @author
+ */
+@RestController
+@Secured(value = { MRoleConst.ADMIN })
+public class MetricsController {
+
+    /** マッピングURL */
+    public static final String MAPPING_URL = "/system/metrics";
+
+    @Autowired
+    ProjectProperties properties;
+
+    /** リクエスト処理時間集計 */
+    @Autowired
+    RmsRequestMetrics requestMetrics;
+
+    /** SQL実行時間集計 */
+    @Autowired
+    RmsSqlMetrics sqlMetrics;
+
+    /** 一時フォルダ */
+    @Autowired
+    RmsTempStorage tempStorage;
+
+    /** メール送信処理 */
+    @Autowired
+    RmsMailDispatcher mailDispatcher;
+
+    /**
+     * リクエスト処理時間統計の取得<br>
+     * 起動後の累計と、区間（前回ログ出力以降）の集計を返却する
+     * @return
+     */
+    @RequestMapping(value = MAPPING_URL + "/requests", method = RequestMethod.GET)
+    public Map<String, Object> requests() {
+        List<RmsRequestStats> statsList = requestMetrics.getStatsList();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("inFlight", statsList.stream().mapToInt(RmsRequestStats::getInFlight).sum());
+        result.put("windowStartTime", requestMetrics.getWindowStartTime());
+        result.put("requests", statsList);
+        return result;
+    }
+
+    /**
+     * SQL実行時間統計の取得（合計実行時間の降順）
+     * @return
+     */
+    @RequestMapping(value = MAPPING_URL + "/sql", method = RequestMethod.GET)
+    public Map<String, Object> sql() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("slowThresholdMillis", properties.getMetricsSqlSlowThresholdMillis());
+        result.put("sql", sqlMetrics.getStatsList());
+        return result;
+    }
+
+    /**
+     * 一時フォルダの使用状況の取得
+     * @return
+     * @throws IOException
+     */
+    @RequestMapping(value = MAPPING_URL + "/temp", method = RequestMethod.GET)
+    public RmsTempStorageStats temp() throws IOException {
+        return tempStorage.getStats();
+    }
+
+    /**
+     * メール送信待ちの状況の取得
+     * @return
+     */
+    @RequestMapping(value = MAPPING_URL + "/mail", method = RequestMethod.GET)
+    public RmsMailOutboxStats mail() {
+        return mailDispatcher.getStats();
+    }
+
+}
@@ -1,7 +1,9 @@
 package rms.web.app.tran.reportapplylist;
 
 import java.io.IOException;
+import java.util.function.Function;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.slf4j.Logger;
@@ -22,6 +24,7 @@ import rms.common.auth.UserInfo;
 import rms.common.consts.MRoleConst;
 import rms.common.consts.MessageTypeConst;
 import rms.common.exception.BusinessException;
+import rms.common.utils.PageKey;
 import rms.common.utils.RmsFileUtils;
 import rms.common.utils.SearchResultDto;
 import rms.domain.app.shared.dto.SharedFileDto;
@@ -54,6 +57,10 @@ public class ReportApplyListController extends rms.common.abstracts.AbstractCont
     /** 画面ID */
     public static final String SCREEN_ID = "T003";
 
+    /** 検索結果行のキー（対象年月, 申請者ID） */
+    private static final Function<ReportApplyListResultEntity, PageKey> RESULT_KEY =
+            e -> new PageKey(e.getTargetYm(), e.getApplyUserId());
+
     /** 月報申請状況一覧画面サービス */
     @Autowired
     ReportApplyListService service;
@@ -107,8 +114,33 @@ public class ReportApplyListController extends rms.common.abstracts.AbstractCont
         SearchResultDto<ReportApplyListResultEntity> resultDto = service.search(condition, form.getPageInfo());
 
         // 検索結果をフォームに反映
-        form.setResultList(resultDto.getResultList());
-        form.getPageInfo().setTotalSize(resultDto.getCount());
+        setSearchResult(form, resultDto, RESULT_KEY, model);
+
+        return PAGE_URL;
+    }
+
+    /**
+     * 再検索処理
+     * @param form
+     * @param userInfo
+     * @param model
+     * @return
+     */
+    @RequestMapping(value = MAPPING_URL, params = "reSearch")
+    public String reSearch(ReportApplyListForm form,
+                           @AuthenticationPrincipal UserInfo userInfo,
+                           Model model) {
+        logger.debug("フォーム情報 -> {}", form);
+
+        // 検索条件の生成
+        ReportApplyListDto condition = new ReportApplyListDto();
+        condition.setApplyUserId(userInfo.getUserId());
+
+        // 検索処理
+        SearchResultDto<ReportApplyListResultEntity> resultDto = service.search(condition, form.getPageInfo());
+
+        // 検索結果をフォームに反映
+        setSearchResult(form, resultDto, RESULT_KEY, model);
 
         return PAGE_URL;
     }
@@ -125,7 +157,7 @@ public class ReportApplyListController extends rms.common.abstracts.AbstractCont
         // ページング設定
         form.getPageInfo().prev();
 
-        return urlHelper.redirect(MAPPING_URL, "search");
+        return urlHelper.redirect(MAPPING_URL, "reSearch");
     }
 
     /**
@@ -140,13 +172,15 @@ public class ReportApplyListController extends rms.common.abstracts.AbstractCont
         // ページング設定
         form.getPageInfo().next();
 
-        return urlHelper.redirect(MAPPING_URL, "search");
+        return urlHelper.redirect(MAPPING_URL, "reSearch");
     }
 
     /**
      * 月報DL処理
      * @param form
      * @param index
+     * @param userInfo
+     * @param request
      * @param response
      * @param model
      * @return
@@ -155,25 +189,25 @@ public class ReportApplyListController extends rms.common.abstracts.AbstractCont
     @RequestMapping(value = MAPPING_URL + "/{index}", params = "download")
     public String download(ReportApplyListForm form,
                            @PathVariable int index,
+                           @AuthenticationPrincipal UserInfo userInfo,
+                           HttpServletRequest request,
                            HttpServletResponse response,
                            Model model) throws IOException {
         logger.debug("選択値 -> {}", index);
 
-        // 選択した月報情報
-        ReportApplyListResultEntity entity = form.getResultList().get(index);
-        logger.debug("選択月報情報 -> {}", entity);
+        // 選択した月報のキー
+        PageKey key = form.getResultKeyList().get(index);
+        logger.debug("選択月報キー -> {}", key);
 
         try {
             // 月報ファイルダウンロード情報生成
-            SharedFileDto dto = sharedReportFileService.getReportFileInfo(entity.getApplyUserId(),
-                                                                          entity.getApplyUserNm(),
-                                                                          entity.getTargetYm());
+            SharedFileDto dto = sharedReportFileService.getReportFileInfo(key.getUserId(), key.getTargetYm());
             // 月報ダウンロード
-            RmsFileUtils.fileDownload(response, dto.getFilePath(), dto.getFileNm());
+            RmsFileUtils.fileDownload(request, response, dto.getStorage(), dto.getStorageKey(), dto.getFileNm());
         } catch (BusinessException e) {
             logger.debug("業務エラー -> {}", e.toString());
             model.addAttribute(MessageTypeConst.ERROR, e.getErrorMessage());
-            return PAGE_URL;
+            return reSearch(form, userInfo, model);
         }
 
         return null;
@@ -194,13 +228,13 @@ public class ReportApplyListController extends rms.common.abstracts.AbstractCont
                          Model model) {
         logger.debug("選択値 -> {}", index);
 
-        // 選択した月報情報
-        ReportApplyListResultEntity entity = form.getResultList().get(index);
-        logger.debug("選択月報情報 -> {}", entity);
+        // 選択した月報のキー
+        PageKey key = form.getResultKeyList().get(index);
+        logger.debug("選択月報キー -> {}", key);
 
         // 月報申請画面へ遷移
-        attributes.addFlashAttribute("applyUserId", entity.getApplyUserId());
-        attributes.addFlashAttribute("targetYm", entity.getTargetYm());
+        attributes.addFlashAttribute("applyUserId", key.getUserId());
+        attributes.addFlashAttribute("targetYm", key.getTargetYm());
         return urlHelper.redirect(ReportApplyRegistController.MAPPING_URL, "initReApply");
     }
 
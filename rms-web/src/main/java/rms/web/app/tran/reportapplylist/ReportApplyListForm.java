@@ -1,35 +1,21 @@
 package rms.web.app.tran.reportapplylist;
 
-import java.util.List;
-
 import rms.common.utils.PageInfo;
-import rms.domain.app.tran.reportapplylist.ReportApplyListResultEntity;
+import rms.common.utils.PageInfo.PagingMode;
 
 /**
  * 月報一覧画面フォーム
  * @author
  */
-public class ReportApplyListForm extends rms.common.abstracts.AbstractForm {
-
-    /* 変数宣言 ------------------------------------------------------------- */
-    /** ページ情報 */
-    private PageInfo pageInfo = new PageInfo();
-    /** 検索結果リスト */
-    private List<ReportApplyListResultEntity> resultList;
-
-    public PageInfo getPageInfo() {
-        return pageInfo;
-    }
+public class ReportApplyListForm extends rms.common.abstracts.AbstractListForm {
 
-    public void setPageInfo(PageInfo pageInfo) {
-        this.pageInfo = pageInfo;
-    }
-
-    public List<ReportApplyListResultEntity> getResultList() {
-        return resultList;
-    }
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
 
-    public void setResultList(List<ReportApplyListResultEntity> resultList) {
-        this.resultList = resultList;
+    /**
+     * コンストラクタ
+     */
+    public ReportApplyListForm() {
+        super(new PageInfo(PageInfo.LIMIT_DEFAULT, PagingMode.KEYSET));
     }
 }
\ No newline at end of file
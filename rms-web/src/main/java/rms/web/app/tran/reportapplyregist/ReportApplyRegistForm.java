@@ -12,6 +12,9 @@ import rms.common.validator.NotNullUploadFile;
  */
 public class ReportApplyRegistForm extends rms.common.abstracts.AbstractForm {
 
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
+
     /* 入力チェック宣言 ----------------------------------------------------- */
     //@formatter:off
     /** 入力チェック：申請 */
@@ -42,7 +45,7 @@ public class ReportApplyRegistForm extends rms.common.abstracts.AbstractForm {
     private Integer targetYm;
     /** 月報ファイル */
     @NotNullUploadFile(message = "月報：{NotNullUploadFile.message}", groups = { Apply.class, ReApply.class })
-    private MultipartFile file;
+    private transient MultipartFile file; // アップロードファイルはリクエスト毎（セッションに保持しない）
     /** 承認者ID1 */
     private String approveUserId1;
     /** 承認者ID2 */
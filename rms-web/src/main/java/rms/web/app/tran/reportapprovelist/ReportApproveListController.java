@@ -3,7 +3,9 @@ package rms.web.app.tran.reportapprovelist;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.slf4j.Logger;
@@ -28,11 +30,13 @@ import rms.common.consts.MRoleConst;
 import rms.common.consts.MessageEnum;
 import rms.common.consts.MessageTypeConst;
 import rms.common.exception.BusinessException;
+import rms.common.utils.PageKey;
 import rms.common.utils.RmsBeanUtils;
 import rms.common.utils.RmsFileUtils;
 import rms.common.utils.SearchResultDto;
 import rms.domain.app.shared.dto.SharedFileDto;
 import rms.domain.app.shared.dto.SharedSubmitReportFileDto;
+import rms.domain.app.shared.dto.SharedZipFileDto;
 import rms.domain.app.shared.service.SharedReportFileService;
 import rms.domain.app.tran.reportapprovelist.ReportApproveListDto;
 import rms.domain.app.tran.reportapprovelist.ReportApproveListResultEntity;
@@ -65,6 +69,10 @@ public class ReportApproveListController extends rms.common.abstracts.AbstractCo
     /** 画面ID */
     public static final String SCREEN_ID = "T006";
 
+    /** 検索結果行のキー（対象年月, 申請者ID） */
+    private static final Function<ReportApproveListResultEntity, PageKey> RESULT_KEY =
+            e -> new PageKey(e.getTargetYm(), e.getApplyUserId());
+
     /** 月報情報取得サービス */
     @Autowired
     ReportApproveListService service;
@@ -115,26 +123,27 @@ public class ReportApproveListController extends rms.common.abstracts.AbstractCo
                          Model model) {
         logger.debug("入力フォーム情報 -> {}", form);
 
-        // 入力チェック
+        // 入力チェック（直前の検索結果を再表示）
         if (bindingResult.hasErrors()) {
             logger.debug("入力チェックエラー -> {}", bindingResult.getAllErrors());
-            return PAGE_URL;
+            return reSearch(form, userInfo, model);
         }
 
         // ページ情報の初期化
         form.getPageInfo().clear();
+        form.setSearchCondition(RmsBeanUtils.createCopyProperties(form.getCondition(),
+                                                                  ReportApproveListConditionForm.class));
 
         // 検索条件の生成
         ReportApproveListDto condition = new ReportApproveListDto();
-        RmsBeanUtils.copyProperties(form.getCondition(), condition);
+        RmsBeanUtils.copyProperties(form.getSearchCondition(), condition);
         condition.setApproveUserId(userInfo.getUserId());
 
         // 検索処理
         SearchResultDto<ReportApproveListResultEntity> resultDto = service.search(condition, form.getPageInfo());
 
         // 検索結果をフォームに反映
-        form.setResultList(resultDto.getResultList());
-        form.getPageInfo().setTotalSize(resultDto.getCount());
+        setSearchResult(form, resultDto, RESULT_KEY, model);
 
         if (resultDto.getResultList().isEmpty()) {
             // 「検索結果が見つかりません」
@@ -163,17 +172,16 @@ public class ReportApproveListController extends rms.common.abstracts.AbstractCo
             return PAGE_URL;
         }
 
-        // 検索条件の生成
+        // 検索条件の生成（検索実行時の検索条件）
         ReportApproveListDto condition = new ReportApproveListDto();
-        RmsBeanUtils.copyProperties(form.getCondition(), condition);
+        RmsBeanUtils.copyProperties(form.getSearchCondition(), condition);
         condition.setApproveUserId(userInfo.getUserId());
 
         // 検索処理
         SearchResultDto<ReportApproveListResultEntity> resultDto = service.search(condition, form.getPageInfo());
 
         // 検索結果をフォームに反映
-        form.setResultList(resultDto.getResultList());
-        form.getPageInfo().setTotalSize(resultDto.getCount());
+        setSearchResult(form, resultDto, RESULT_KEY, model);
 
         return PAGE_URL;
     }
@@ -218,36 +226,45 @@ public class ReportApproveListController extends rms.common.abstracts.AbstractCo
     }
 
     /**
-     * 月報DL処理
+     * 月報DL処理<br>
+     * 再検索で表示内容が変わっても同じ月報を指すよう、対象年月・申請者IDで指定する<br>
+     * （表示中ページの検索結果に含まれる月報のみダウンロード可）
      * @param form
-     * @param index
+     * @param targetYm
+     * @param applyUserId
+     * @param userInfo
+     * @param request
      * @param response
      * @param model
      * @return
      * @throws IOException
      */
-    @RequestMapping(value = MAPPING_URL + "/{index}", params = "download")
+    @RequestMapping(value = MAPPING_URL + "/{targetYm}/{applyUserId:.+}", params = "download")
     public String download(ReportApproveListForm form,
-                           @PathVariable int index,
+                           @PathVariable int targetYm,
+                           @PathVariable String applyUserId,
+                           @AuthenticationPrincipal UserInfo userInfo,
+                           HttpServletRequest request,
                            HttpServletResponse response,
                            Model model) throws IOException {
-        logger.debug("選択値 -> {}", index);
-
-        // 選択した月報情報
-        ReportApproveListResultEntity entity = form.getResultList().get(index);
-        logger.debug("選択月報情報 -> {}", entity);
+        // 選択した月報のキー
+        PageKey key = new PageKey(targetYm, applyUserId);
+        logger.debug("選択月報キー -> {}", key);
 
         try {
+            // 表示中ページの検索結果に含まれること（検索条件外の月報は対象外）
+            if (form.getResultKeyList() == null || !form.getResultKeyList().contains(key)) {
+                // 「月報情報が見つかりません」
+                throw new BusinessException(MessageEnum.error009);
+            }
             // 月報ファイルダウンロード情報生成
-            SharedFileDto dto = sharedReportFileService.getReportFileInfo(entity.getApplyUserId(),
-                                                                          entity.getApplyUserNm(),
-                                                                          entity.getTargetYm());
+            SharedFileDto dto = sharedReportFileService.getReportFileInfo(key.getUserId(), key.getTargetYm());
             // 月報ダウンロード
-            RmsFileUtils.fileDownload(response, dto.getFilePath(), dto.getFileNm());
+            RmsFileUtils.fileDownload(request, response, dto.getStorage(), dto.getStorageKey(), dto.getFileNm());
         } catch (BusinessException e) {
             logger.debug("業務エラー -> {}", e.toString());
             model.addAttribute(MessageTypeConst.ERROR, e.getErrorMessage());
-            return PAGE_URL;
+            return reSearch(form, userInfo, model);
         }
 
         return null;
@@ -257,6 +274,7 @@ public class ReportApproveListController extends rms.common.abstracts.AbstractCo
      * 月報一括DL処理
      * @param form
      * @param bindingResult
+     * @param userInfo
      * @param response
      * @param model
      * @return
@@ -265,12 +283,13 @@ public class ReportApproveListController extends rms.common.abstracts.AbstractCo
     @RequestMapping(value = MAPPING_URL, params = "bulkDownload")
     public String bulkDownload(@Validated(BulkDownload.class) ReportApproveListForm form,
                                BindingResult bindingResult,
+                               @AuthenticationPrincipal UserInfo userInfo,
                                HttpServletResponse response,
                                Model model) throws IOException {
         // 入力チェック
         if (bindingResult.hasErrors()) {
             logger.debug("入力チェックエラー -> {}", bindingResult.getAllErrors());
-            return PAGE_URL;
+            return reSearch(form, userInfo, model);
         }
 
         // ダウンロードする月報情報リストの生成
@@ -279,24 +298,25 @@ public class ReportApproveListController extends rms.common.abstracts.AbstractCo
         // 選択した月報indexの取得
         Integer[] checks = form.getReportDLCheck();
         for (int i : checks) {
-            ReportApproveListResultEntity entity = form.getResultList().get(i);
+            PageKey key = form.getResultKeyList().get(i);
 
             SharedSubmitReportFileDto dto = new SharedSubmitReportFileDto();
-            dto.setApplyUserId(entity.getApplyUserId());
-            dto.setTargetYm(entity.getTargetYm());
+            dto.setApplyUserId(key.getUserId());
+            dto.setTargetYm(key.getTargetYm());
 
             list.add(dto);
         }
 
         try {
-            // 月報一括ダウンロードファイルの生成
-            SharedFileDto dto = sharedReportFileService.createReportFileBulk(list, ReportNmPattern.NOMAL);
-            // 月報ダウンロード
-            RmsFileUtils.fileDownload(response, dto.getFilePath(), dto.getFileNm());
+            // 月報一括ダウンロード情報の生成
+            SharedZipFileDto dto = sharedReportFileService.createReportFileBulkInfo(list, ReportNmPattern.NOMAL);
+            // 月報一括ダウンロード（zipファイルを作成せず、レスポンスへ直接出力）
+            sharedReportFileService.writeReportFileBulk(dto,
+                                                        RmsFileUtils.fileDownloadStream(response, dto.getZipFileNm()));
         } catch (BusinessException e) {
             logger.debug("業務エラー -> {}", e.toString());
             model.addAttribute(MessageTypeConst.ERROR, e.getErrorMessage());
-            return PAGE_URL;
+            return reSearch(form, userInfo, model);
         }
 
         return null;
@@ -317,13 +337,13 @@ public class ReportApproveListController extends rms.common.abstracts.AbstractCo
                          Model model) {
         logger.debug("選択値 -> {}", index);
 
-        // 選択した月報情報
-        ReportApproveListResultEntity entity = form.getResultList().get(index);
-        logger.debug("選択月報情報 -> {}", entity);
+        // 選択した月報のキー
+        PageKey key = form.getResultKeyList().get(index);
+        logger.debug("選択月報キー -> {}", key);
 
         // 月報承認画面に遷移
-        attributes.addFlashAttribute("applyUserId", entity.getApplyUserId());
-        attributes.addFlashAttribute("targetYm", entity.getTargetYm());
+        attributes.addFlashAttribute("applyUserId", key.getUserId());
+        attributes.addFlashAttribute("targetYm", key.getTargetYm());
         return urlHelper.redirect(ReportApproveRegistController.MAPPING_URL, "init");
     }
 
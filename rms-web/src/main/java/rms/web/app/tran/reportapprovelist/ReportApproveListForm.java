@@ -1,18 +1,19 @@
 package rms.web.app.tran.reportapprovelist;
 
-import java.util.List;
-
 import javax.validation.Valid;
 
 import rms.common.utils.PageInfo;
+import rms.common.utils.PageInfo.PagingMode;
 import rms.common.validator.NotNullArray;
-import rms.domain.app.tran.reportapprovelist.ReportApproveListResultEntity;
 
 /**
  * 月報承認状況一覧画面フォーム
  * @author
  */
-public class ReportApproveListForm extends rms.common.abstracts.AbstractForm {
+public class ReportApproveListForm extends rms.common.abstracts.AbstractListForm {
+
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
 
     /* 入力チェック宣言 ----------------------------------------------------- */
     //@formatter:off
@@ -26,14 +27,17 @@ public class ReportApproveListForm extends rms.common.abstracts.AbstractForm {
     /** 検索条件 */
     @Valid
     private ReportApproveListConditionForm condition = new ReportApproveListConditionForm();
-    /** ページ情報 */
-    private PageInfo pageInfo = new PageInfo(PageInfo.LIMIT_100);
-    /** 検索結果リスト */
-    private List<ReportApproveListResultEntity> resultList;
     /** 検索結果チェックボックス選択リスト */
     @NotNullArray(message = "ダウンロードする月報を選択して下さい", groups = { BulkDownload.class })
     private Integer[] reportDLCheck;
 
+    /**
+     * コンストラクタ
+     */
+    public ReportApproveListForm() {
+        super(new PageInfo(PageInfo.LIMIT_100, PagingMode.KEYSET));
+    }
+
     public ReportApproveListConditionForm getCondition() {
         return condition;
     }
@@ -42,22 +46,6 @@ public class ReportApproveListForm extends rms.common.abstracts.AbstractForm {
         this.condition = condition;
     }
 
-    public PageInfo getPageInfo() {
-        return pageInfo;
-    }
-
-    public void setPageInfo(PageInfo pageInfo) {
-        this.pageInfo = pageInfo;
-    }
-
-    public List<ReportApproveListResultEntity> getResultList() {
-        return resultList;
-    }
-
-    public void setResultList(List<ReportApproveListResultEntity> resultList) {
-        this.resultList = resultList;
-    }
-
     public Integer[] getReportDLCheck() {
         return reportDLCheck;
     }
@@ -2,6 +2,7 @@ package rms.web.app.tran.reportapproveregist;
 
 import java.io.IOException;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.slf4j.Logger;
@@ -218,6 +219,7 @@ public class ReportApproveRegistController extends rms.common.abstracts.Abstract
     /**
      * 月報DL処理
      * @param form
+     * @param request
      * @param response
      * @param model
      * @return
@@ -225,6 +227,7 @@ public class ReportApproveRegistController extends rms.common.abstracts.Abstract
      */
     @RequestMapping(value = MAPPING_URL, params = "download")
     public String download(ReportApproveRegistForm form,
+                           HttpServletRequest request,
                            HttpServletResponse response,
                            Model model) throws IOException {
 
@@ -234,7 +237,7 @@ public class ReportApproveRegistController extends rms.common.abstracts.Abstract
                                                                           form.getApplyUserNm(),
                                                                           form.getTargetYm());
             // 月報ダウンロード
-            RmsFileUtils.fileDownload(response, dto.getFilePath(), dto.getFileNm());
+            RmsFileUtils.fileDownload(request, response, dto.getStorage(), dto.getStorageKey(), dto.getFileNm());
         } catch (BusinessException e) {
             logger.debug("業務エラー -> {}", e.toString());
             model.addAttribute(MessageTypeConst.ERROR, e.getErrorMessage());
@@ -10,6 +10,9 @@ import rms.common.validator.NotNullUploadFile;
  */
 public class ReportApproveRegistForm extends rms.common.abstracts.AbstractForm {
 
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
+
     /* 入力チェック宣言 ----------------------------------------------------- */
     //@formatter:off
     /** 入力チェック：承認 */
@@ -31,7 +34,7 @@ public class ReportApproveRegistForm extends rms.common.abstracts.AbstractForm {
     private Integer targetYm;
     /** 承認者月報ファイル */
     @NotNullUploadFile(message = "月報：{NotNullUploadFile.message}", groups = { Approve.class })
-    private MultipartFile file;
+    private transient MultipartFile file; // アップロードファイルはリクエスト毎（セッションに保持しない）
     /** 承認者ID1 */
     private String approveUserId1;
     /** 承認者ID2 */
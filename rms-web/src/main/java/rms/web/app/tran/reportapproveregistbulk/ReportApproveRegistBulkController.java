@@ -98,7 +98,7 @@ public class ReportApproveRegistBulkController extends rms.common.abstracts.Abst
         }
 
         try {
-            // 月報情報の一括承認処理
+            // 月報情報の一括承認処理（処理結果はコミット後にまとめて表示する為、途中経過の通知は受け取らない）
             List<ReportApproveRegistBulkDto> resultList = service.approveBulk(form.getFile(), userInfo);
             // 実行結果の反映
             form.setResultList(resultList);
@@ -13,9 +13,12 @@ import rms.domain.app.tran.reportapproveregistbulk.ReportApproveRegistBulkDto;
  */
 public class ReportApproveRegistBulkForm extends rms.common.abstracts.AbstractForm {
 
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
+
     /** 承認者月報ファイル */
     @NotNullUploadFile(message = "月報：{NotNullUploadFile.message}")
-    private MultipartFile file;
+    private transient MultipartFile file; // アップロードファイルはリクエスト毎（セッションに保持しない）
     /** 実行結果リスト */
     private List<ReportApproveRegistBulkDto> resultList;
 
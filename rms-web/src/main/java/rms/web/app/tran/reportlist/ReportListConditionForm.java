@@ -6,6 +6,9 @@ package rms.web.app.tran.reportlist;
  */
 public class ReportListConditionForm extends rms.common.abstracts.AbstractForm {
 
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
+
     /* 変数宣言 ------------------------------------------------------------- */
     /** 対象年月 */
     private Integer targetYm;
@@ -41,13 +41,14 @@ $(function() {
 
 	/**
 	 * 月報DLボタン押下<br>
-	 * (テーブル明細内)
+	 * (テーブル明細内)<br>
+	 * ブラウザの再検証・中断再開が効くようGETで遷移する<br>
+	 * (再検索後も同じ月報を指すよう、対象年月・申請者IDで指定する)
 	 */
 	$("#resultTable button[name='download']").on("click", function() {
-		var index = $(this).val();
-		var url = defaultUrl + "/" + index + "?download";
-		fmMain.attr("action", url);
-		return true;
+		var url = defaultUrl + "/" + $(this).attr("data-target-ym") + "/" + encodeURIComponent($(this).attr("data-apply-user-id")) + "?download";
+		location.href = url;
+		return false;
 	});
 
 	/**
@@ -8,8 +8,18 @@ mydate=`date +"%Y%m%d"`
 backup_dir="/data/rms/rmsweb/backup"
 
 # 月報ファイル
+# blob配下（app.report.blob.storage）はファイル内容のハッシュ値をファイル名として格納し、格納後は変更・削除しない為、
+# 前回以降に追加されたファイルのみコピーする（差分バックアップ）
 report_dir="/data/rms/rmsweb/report"
-backup_report_path="${backup_dir}/rmsfile${mydate}.tar.gz"
+backup_report_dir="${backup_dir}/report"
+
+# 月報ファイル格納先の種類（app.report.blob.storage.typeと合わせる LOCAL/SHARDED/S3）
+blob_storage_type="SHARDED"
+# S3の場合の接続先（app.report.s3.endpoint/app.report.s3.bucketと合わせる）
+# 認証情報はawsコマンドの設定（環境変数AWS_ACCESS_KEY_ID/AWS_SECRET_ACCESS_KEY、またはプロファイル）を使用する
+s3_endpoint=""
+s3_bucket=""
+backup_blob_dir="${backup_dir}/blob"
 
 # DB
 db_schema="rmsdb"
@@ -17,12 +27,52 @@ db_user="rms_prod"
 db_pass="rms_prod"
 backup_db_path="${backup_dir}/rmsdb${mydate}.sql"
 
-# ファイルバックアップ
-tar -zcvf ${backup_report_path} ${report_dir} > /dev/null
-ls -l ${backup_report_path}
-
 # データベースバックアップ
-mysqldump -u${db_user} -p${db_pass} ${db_schema} > ${backup_db_path}
+# 月報ファイル履歴（T_REPORT_REVISION）が参照するファイルを必ず含めるよう、ファイルより先に取得する
+# 取得時点の最大履歴IDを記録し、ファイルバックアップ後に参照先の有無を確認する
+max_revision_id=`mysql -u${db_user} -p${db_pass} ${db_schema} -N -e "select coalesce(max(revision_id), 0) from T_REPORT_REVISION"`
+mysqldump --single-transaction -u${db_user} -p${db_pass} ${db_schema} > ${backup_db_path}
 ls -l ${backup_db_path}
 
+# ファイルバックアップ（追加・変更されたファイルのみ、書き込み中の一時ファイルは除く）
+# 履歴管理前の月報ファイル（report直下）はいずれの種類でもローカルに格納する
+mkdir -p ${backup_report_dir}
+rsync -a --exclude='.*.tmp' --stats ${report_dir}/ ${backup_report_dir}/ | grep -E "Number of (regular )?files transferred|Total transferred file size"
+
+# 月報ファイル（blob）のバックアップ先・格納パス
+case "${blob_storage_type}" in
+S3)
+    # blobはオブジェクトストレージに格納されrsyncの対象外の為、バケットから追加分をコピーする
+    echo "WARN: app.report.blob.storage.type=S3 -> blobをバケット（${s3_bucket}）から${backup_blob_dir}へコピーします"
+    if ! type aws > /dev/null 2>&1 || [ -z "${s3_endpoint}" ] || [ -z "${s3_bucket}" ]; then
+        echo "ERROR: awsコマンドまたはs3_endpoint/s3_bucketの設定が無い為、blobをバックアップできません（DBのみ取得済み）"
+        exit 1
+    fi
+    mkdir -p ${backup_blob_dir}
+    # 格納後は変更しない為、サイズ比較のみで追加分を判定する
+    aws s3 sync --endpoint-url ${s3_endpoint} --size-only --only-show-errors s3://${s3_bucket}/ ${backup_blob_dir}/ || exit 1
+    blob_path() { echo "${backup_blob_dir}/$1"; }
+    ;;
+LOCAL)
+    blob_path() { echo "${backup_report_dir}/blob/$1"; }
+    ;;
+*)
+    # SHARDEDはハッシュ値の先頭2文字・次の2文字で2階層に分割（ShardedReportStorageと同じ階層）
+    blob_path() { echo "${backup_report_dir}/blob/${1:0:2}/${1:2:2}/$1"; }
+    ;;
+esac
+
+# 整合性確認（DBバックアップ時点の月報ファイル履歴が参照するファイルがバックアップに存在すること）
+missing=0
+for hash in `mysql -u${db_user} -p${db_pass} ${db_schema} -N -e "select distinct content_hash from T_REPORT_REVISION where revision_id <= ${max_revision_id}"`; do
+    if [ ! -f "`blob_path ${hash}`" ]; then
+        echo "ERROR: 月報ファイルがバックアップに存在しません -> ${hash}"
+        missing=$((missing + 1))
+    fi
+done
+if [ ${missing} -gt 0 ]; then
+    echo "ERROR: 参照先の無い月報ファイル履歴 ${missing}件"
+    exit 1
+fi
+
 exit 0
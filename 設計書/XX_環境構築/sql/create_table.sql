@@ -115,6 +115,9 @@ create table T_REPORT (
   , constraint T_REPORT_PKC primary key (apply_user_id,target_ym)
 ) comment '月報テーブル' ;
 
+create index T_REPORT_IX1 on T_REPORT(target_ym,apply_user_id);
+create index T_REPORT_IX2 on T_REPORT(status,upd_date);
+
 
 --
 -- 月報承認フローテーブル
@@ -137,3 +140,96 @@ create table T_REPORT_APPROVE_FLOW (
   , constraint T_REPORT_APPROVE_FLOW_PKC primary key (apply_user_id,target_ym,approve_seq)
 ) comment '月報承認フローテーブル' ;
 
+create index T_REPORT_APPROVE_FLOW_IX1 on T_REPORT_APPROVE_FLOW(approve_user_id,target_ym);
+
+--
+-- メール送信待ちテーブル
+--
+drop table if exists T_MAIL_OUTBOX cascade;
+create table T_MAIL_OUTBOX (
+  mail_id bigint not null auto_increment comment 'メールID'
+  , from_addr varchar(255) not null comment '送信元アドレス'
+  , to_addrs varchar(1000) not null comment '宛先アドレス  カンマ区切り'
+  , cc_addrs varchar(1000) comment 'CCアドレス  カンマ区切り'
+  , bcc_addrs varchar(1000) comment 'BCCアドレス  カンマ区切り'
+  , subject varchar(255) comment '件名'
+  , body text comment '本文'
+  , file_nm varchar(255) comment '添付ファイル名'
+  , file_path varchar(1000) comment '添付ファイルパス'
+  , send_status varchar(1) not null comment '送信状況  0:未送信 1:送信中 2:送信済み 9:送信エラー'
+  , retry_count int not null comment '再送回数'
+  , next_send_date datetime not null comment '次回送信日時'
+  , sent_date datetime comment '送信日時'
+  , send_token varchar(36) comment '送信トークン'
+  , last_error varchar(1000) comment '最終エラー内容'
+  , version int not null comment 'バージョン'
+  , del_flg int not null comment '削除フラグ'
+  , ins_date datetime not null comment '登録日時'
+  , ins_id varchar(20) not null comment '登録ID'
+  , upd_date datetime not null comment '更新日時'
+  , upd_id varchar(20) not null comment '更新ID'
+  , constraint T_MAIL_OUTBOX_PKC primary key (mail_id)
+) comment 'メール送信待ちテーブル' ;
+
+create index T_MAIL_OUTBOX_IX1 on T_MAIL_OUTBOX(send_status,next_send_date);
+create index T_MAIL_OUTBOX_IX2 on T_MAIL_OUTBOX(send_token);
+create index T_MAIL_OUTBOX_IX3 on T_MAIL_OUTBOX(send_status,sent_date);
+
+--
+-- バッチ管理テーブル
+--
+drop table if exists T_BATCH_CONTROL cascade;
+create table T_BATCH_CONTROL (
+  batch_id varchar(10) not null comment 'バッチID'
+  , last_exec_date datetime comment '前回処理基準日時  前回完了時の処理対象終了日時'
+  , exec_to_date datetime comment '処理対象終了日時  処理中のみ設定'
+  , exec_key varchar(255) comment '処理済みキー  処理中のみ設定'
+  , version int not null comment 'バージョン'
+  , del_flg int not null comment '削除フラグ'
+  , ins_date datetime not null comment '登録日時'
+  , ins_id varchar(20) not null comment '登録ID'
+  , upd_date datetime not null comment '更新日時'
+  , upd_id varchar(20) not null comment '更新ID'
+  , constraint T_BATCH_CONTROL_PKC primary key (batch_id)
+) comment 'バッチ管理テーブル' ;
+
+--
+-- 月報メール送信済みテーブル
+--
+drop table if exists T_REPORT_MAIL_SENT cascade;
+create table T_REPORT_MAIL_SENT (
+  apply_user_id varchar(20) not null comment '申請者ID'
+  , target_ym int not null comment '対象年月'
+  , report_version int not null comment '月報バージョン  通知時の月報テーブルのバージョン'
+  , report_upd_date datetime not null comment '月報更新日時  通知時の月報テーブルの更新日時'
+  , version int not null comment 'バージョン'
+  , del_flg int not null comment '削除フラグ'
+  , ins_date datetime not null comment '登録日時'
+  , ins_id varchar(20) not null comment '登録ID'
+  , upd_date datetime not null comment '更新日時'
+  , upd_id varchar(20) not null comment '更新ID'
+  , constraint T_REPORT_MAIL_SENT_PKC primary key (apply_user_id,target_ym,report_version)
+) comment '月報メール送信済みテーブル' ;
+
+create index T_REPORT_MAIL_SENT_IX1 on T_REPORT_MAIL_SENT(report_upd_date);
+
+--
+-- 月報ファイル履歴テーブル
+--
+drop table if exists T_REPORT_REVISION cascade;
+create table T_REPORT_REVISION (
+  revision_id bigint not null auto_increment comment '履歴ID'
+  , apply_user_id varchar(20) not null comment '申請者ID'
+  , target_ym int not null comment '対象年月'
+  , content_hash varchar(64) not null comment 'ファイルハッシュ値  SHA-256（16進数） 格納先のファイル名'
+  , file_size bigint not null comment 'ファイルサイズ'
+  , version int not null comment 'バージョン'
+  , del_flg int not null comment '削除フラグ'
+  , ins_date datetime not null comment '登録日時'
+  , ins_id varchar(20) not null comment '登録ID'
+  , upd_date datetime not null comment '更新日時'
+  , upd_id varchar(20) not null comment '更新ID'
+  , constraint T_REPORT_REVISION_PKC primary key (revision_id)
+) comment '月報ファイル履歴テーブル' ;
+
+create index T_REPORT_REVISION_IX1 on T_REPORT_REVISION(apply_user_id,target_ym,revision_id);
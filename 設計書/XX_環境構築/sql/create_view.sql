@@ -69,17 +69,23 @@ select
   , U.user_nm   as apply_user_nm                  -- 申請者名
   , A.target_ym                                   -- 年月
   , A.apply_date                                  -- 申請日
+  , U.department_id                               -- 部署ID
+  , D001.code_nm as department_nm                 -- 部署名
+  , D001.attr1 as department_rnm                  -- 部署略称
   , A.publish_flg                                 -- 公開有無
   , B001.code_nm as publish_flg_nm                -- 公開有無名称
   , F1.approve_user_id as approve_user_id1        -- 承認者ID1
-  , (select X.user_nm from m_user X where X.user_id = F1.approve_user_id) as approve_user_nm1 -- 承認者名1
+  , U1.user_nm as approve_user_nm1               -- 承認者名1
   , F1.approve_date as approve_date1              -- 承認日1
   , F2.approve_user_id as approve_user_id2        -- 承認者ID2
-  , (select X.user_nm from m_user X where X.user_id = F2.approve_user_id) as approve_user_nm2 -- 承認者名2
+  , U2.user_nm as approve_user_nm2               -- 承認者名2
   , F2.approve_date as approve_date2              -- 承認日2
   , F3.approve_user_id as approve_user_id3        -- 承認者ID3
-  , (select X.user_nm from m_user X where X.user_id = F3.approve_user_id) as approve_user_nm3 -- 承認者名3
+  , U3.user_nm as approve_user_nm3               -- 承認者名3
   , F3.approve_date as approve_date3              -- 承認日3
+  , F4.approve_user_id as approve_user_id4        -- 承認者ID4
+  , U4.user_nm as approve_user_nm4               -- 承認者名4
+  , F4.approve_date as approve_date4              -- 承認日4
   , A.file_path                                   -- 月報ファイルパス
   , A.comment as apply_user_comment               -- 申請者コメント
   , A.status                                      -- 承認状況
@@ -98,18 +104,33 @@ from
     on A.apply_user_id = F1.apply_user_id
     and A.target_ym = F1.target_ym
     and F1.approve_seq = 1
+  left join m_user U1
+    on U1.user_id = F1.approve_user_id
   left join t_report_approve_flow F2
     on A.apply_user_id = F2.apply_user_id
     and A.target_ym = F2.target_ym
     and F2.approve_seq = 2
+  left join m_user U2
+    on U2.user_id = F2.approve_user_id
   left join t_report_approve_flow F3
     on A.apply_user_id = F3.apply_user_id
     and A.target_ym = F3.target_ym
     and F3.approve_seq = 3
+  left join m_user U3
+    on U3.user_id = F3.approve_user_id
+  left join t_report_approve_flow F4
+    on A.apply_user_id = F4.apply_user_id
+    and A.target_ym = F4.target_ym
+    and F4.approve_seq = 4
+  left join m_user U4
+    on U4.user_id = F4.approve_user_id
   inner join m_code A001
     on A001.code_kbn = 'A001'
     and A.status = A001.code
   left join m_code B001
     on B001.code_kbn = 'B001'
     and A.publish_flg = B001.code
+  left join m_code D001
+    on D001.code_kbn = 'D001'
+    and D001.code = U.department_id
 ;
\ No newline at end of file
@@ -0,0 +1,174 @@
+--
+-- 月報承認状況一覧 性能比較スクリプト（旧：承認者IDのIN検索 / 新：承認フロー起点＋T_REPORT_APPROVE_FLOW_IX1）
+--
+-- 前提：空の検証用DBに create_table.sql / create_view.sql / insert_M_CODE.sql を実行済みであること
+-- 実行：mysql -u root rmsdb_perf < compare_approve_inbox.sql > compare_approve_inbox.log
+-- 内容：
+--   1. 検証データの作成（compare_v_t_report.sql と同一：月報100,000件、承認フロー400,000件）
+--   2. 旧SQL（V_T_REPORT の approve_user_id1～4 に対する IN 検索）＋索引なしで実行計画・処理時間を取得
+--   3. 新SQL（承認フローを起点に V_T_REPORT を結合）＋索引ありで同一条件の実行計画・処理時間を取得
+--   4. 処理時間（各5回実行）の比較結果を出力
+-- ※検証データ（perfで始まるユーザ）は本スクリプトの最後で削除する
+--
+
+set @perf_repeat = 5;
+
+--
+-- 1. 検証データ作成
+--
+drop table if exists PERF_SEQ;
+create table PERF_SEQ (n int not null primary key);
+insert into PERF_SEQ values (0),(1),(2),(3),(4),(5),(6),(7),(8),(9);
+
+-- ユーザ：perf00000～perf01999（perf00000～perf00099は承認者）
+insert into M_USER
+select
+    concat('perf', lpad(a.n * 1000 + b.n * 100 + c.n * 10 + d.n, 5, '0'))
+  , concat('検証ユーザ', a.n * 1000 + b.n * 100 + c.n * 10 + d.n)
+  , 'pass'
+  , 'perf@example.com'
+  , (a.n * 1000 + b.n * 100 + c.n * 10 + d.n) % 4 + 1
+  , 0, 0, now(), 'system', now(), 'system'
+from
+  PERF_SEQ a, PERF_SEQ b, PERF_SEQ c, PERF_SEQ d
+where
+  a.n < 2;
+
+-- 月報：各ユーザ × 201301～201702（50ヶ月）
+insert into T_REPORT
+select
+    u.user_id
+  , 201301 + floor(m.n / 12) * 100 + m.n % 12
+  , now()
+  , '1'
+  , ''
+  , ''
+  , elt(m.n % 5 + 1, 'AAA', 'Y01', 'Y02', 'Y03', 'ZZZ')
+  , 0, 0, now(), 'system', now(), 'system'
+from
+  M_USER u
+  , (select a.n * 10 + b.n as n from PERF_SEQ a, PERF_SEQ b where a.n < 5) m
+where
+  u.user_id like 'perf%';
+
+-- 月報承認フロー：各月報 × 承認SEQ1～4
+insert into T_REPORT_APPROVE_FLOW
+select
+    r.apply_user_id
+  , r.target_ym
+  , s.n
+  , concat('perf', lpad((cast(substr(r.apply_user_id, 5) as unsigned) + s.n * 7) % 100, 5, '0'))
+  , null
+  , ''
+  , 0, 0, now(), 'system', now(), 'system'
+from
+  T_REPORT r
+  , PERF_SEQ s
+where
+  r.apply_user_id like 'perf%'
+  and s.n between 1 and 4;
+
+analyze table M_USER, T_REPORT, T_REPORT_APPROVE_FLOW;
+
+
+--
+-- 計測用テーブル・プロシージャ
+--
+drop table if exists PERF_TIMING;
+create table PERF_TIMING (
+  query_id varchar(10) not null
+  , phase varchar(10) not null
+  , seq int not null
+  , elapsed_ms decimal(12,3) not null
+);
+
+drop procedure if exists perf_run;
+delimiter //
+create procedure perf_run(in p_query_id varchar(10), in p_phase varchar(10), in p_select text)
+begin
+  declare i int default 1;
+  declare t datetime(6);
+  set @perf_sql = concat('create temporary table PERF_RESULT as ', p_select);
+  while i <= @perf_repeat do
+    drop temporary table if exists PERF_RESULT;
+    set t = now(6);
+    prepare stmt from @perf_sql;
+    execute stmt;
+    deallocate prepare stmt;
+    insert into PERF_TIMING values (p_query_id, p_phase, i, timestampdiff(microsecond, t, now(6)) / 1000);
+    set i = i + 1;
+  end while;
+  drop temporary table if exists PERF_RESULT;
+end//
+delimiter ;
+
+-- 検索条件（ReportApproveListDao.reportApproveListByCondition に準拠）
+--   Q1:承認者・対象年月指定
+--   Q2:承認者のみ指定（先頭50件）
+set @cols = "A.apply_user_id, A.apply_user_nm, A.target_ym, A.apply_date, A.department_rnm, A.status, A.status_nm, A.approve_user_id1, A.approve_user_nm1, A.approve_user_id2, A.approve_user_nm2, A.approve_user_id3, A.approve_user_nm3, A.approve_user_id4, A.approve_user_nm4";
+set @old_from = "from V_T_REPORT A where A.del_flg = 0 and 'perf00007' in (A.approve_user_id1, A.approve_user_id2, A.approve_user_id3, A.approve_user_id4)";
+set @new_from = "from (select distinct F.apply_user_id, F.target_ym from T_REPORT_APPROVE_FLOW F where F.approve_user_id = 'perf00007' and F.approve_seq between 1 and 4 {ym}) X inner join V_T_REPORT A on A.apply_user_id = X.apply_user_id and A.target_ym = X.target_ym where A.del_flg = 0";
+set @order = " order by A.target_ym desc, A.apply_user_id";
+set @q1_old = concat("select ", @cols, " ", @old_from, " and A.target_ym = 201612", @order);
+set @q2_old = concat("select ", @cols, " ", @old_from, @order, " limit 0, 50");
+set @q1_new = concat("select ", @cols, " ", replace(@new_from, "{ym}", "and F.target_ym = 201612"), @order);
+set @q2_new = concat("select ", @cols, " ", replace(@new_from, "{ym}", ""), @order, " limit 0, 50");
+
+
+--
+-- 2. 変更前：IN検索＋索引なし
+--
+drop index T_REPORT_APPROVE_FLOW_IX1 on T_REPORT_APPROVE_FLOW;
+
+select '---------- BEFORE : Q2 ----------' as plan;
+set @explain = concat('explain ', @q2_old);
+prepare stmt from @explain;
+execute stmt;
+deallocate prepare stmt;
+
+call perf_run('Q1', 'before', @q1_old);
+call perf_run('Q2', 'before', @q2_old);
+
+
+--
+-- 3. 変更後：承認フロー起点＋索引あり
+--
+create index T_REPORT_APPROVE_FLOW_IX1 on T_REPORT_APPROVE_FLOW(approve_user_id,target_ym);
+analyze table T_REPORT_APPROVE_FLOW;
+
+select '---------- AFTER : Q2 ----------' as plan;
+set @explain = concat('explain ', @q2_new);
+prepare stmt from @explain;
+execute stmt;
+deallocate prepare stmt;
+
+call perf_run('Q1', 'after', @q1_new);
+call perf_run('Q2', 'after', @q2_new);
+
+
+--
+-- 4. 比較結果（1回目はキャッシュ暖機の為除外）
+--
+select
+    b.query_id
+  , b.avg_ms as before_avg_ms
+  , a.avg_ms as after_avg_ms
+  , round(b.avg_ms / a.avg_ms, 1) as ratio
+from
+  (select query_id, round(avg(elapsed_ms), 2) as avg_ms from PERF_TIMING where phase = 'before' and seq > 1 group by query_id) b
+  inner join (select query_id, round(avg(elapsed_ms), 2) as avg_ms from PERF_TIMING where phase = 'after' and seq > 1 group by query_id) a
+    on b.query_id = a.query_id
+order by
+  b.query_id;
+
+
+--
+-- 後片付け
+--
+drop procedure if exists perf_run;
+drop table if exists PERF_TIMING;
+drop table if exists PERF_SEQ;
+delete from T_REPORT_APPROVE_FLOW where apply_user_id like 'perf%';
+delete from T_REPORT where apply_user_id like 'perf%';
+delete from M_USER where user_id like 'perf%';
+commit;
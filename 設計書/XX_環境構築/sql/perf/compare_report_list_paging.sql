@@ -0,0 +1,178 @@
+--
+-- 月報一覧 ページング性能比較スクリプト（旧：offset/limit＋件数取得 / 新：キーセット方式）
+--
+-- 前提：空の検証用DBに create_table.sql / create_view.sql / insert_M_CODE.sql を実行済みであること
+-- 実行：mysql -u root rmsdb_perf < compare_report_list_paging.sql > compare_report_list_paging.log
+-- 内容：
+--   1. 検証データの作成（compare_v_t_report.sql と同一：月報100,000件、承認フロー400,000件）
+--   2. 旧方式（offset/limit＋SQL_CALC_FOUND_ROWS：Doma SelectOptions.offset().limit().count()）で各ページを取得
+--   3. 新方式（直前ページ最終行の (target_ym, apply_user_id) からシーク、limit＋1件、件数取得なし）で同じページを取得
+--   4. 処理時間（各5回実行）の比較結果を出力
+-- ※検証データ（perfで始まるユーザ）は本スクリプトの最後で削除する
+--
+
+set @perf_repeat = 5;
+
+--
+-- 1. 検証データ作成
+--
+drop table if exists PERF_SEQ;
+create table PERF_SEQ (n int not null primary key);
+insert into PERF_SEQ values (0),(1),(2),(3),(4),(5),(6),(7),(8),(9);
+
+-- ユーザ：perf00000～perf01999（perf00000～perf00099は承認者）
+insert into M_USER
+select
+    concat('perf', lpad(a.n * 1000 + b.n * 100 + c.n * 10 + d.n, 5, '0'))
+  , concat('検証ユーザ', a.n * 1000 + b.n * 100 + c.n * 10 + d.n)
+  , 'pass'
+  , 'perf@example.com'
+  , (a.n * 1000 + b.n * 100 + c.n * 10 + d.n) % 4 + 1
+  , 0, 0, now(), 'system', now(), 'system'
+from
+  PERF_SEQ a, PERF_SEQ b, PERF_SEQ c, PERF_SEQ d
+where
+  a.n < 2;
+
+-- 月報：各ユーザ × 201301～201702（50ヶ月）
+insert into T_REPORT
+select
+    u.user_id
+  , 201301 + floor(m.n / 12) * 100 + m.n % 12
+  , now()
+  , '1'
+  , ''
+  , ''
+  , elt(m.n % 5 + 1, 'AAA', 'Y01', 'Y02', 'Y03', 'ZZZ')
+  , 0, 0, now(), 'system', now(), 'system'
+from
+  M_USER u
+  , (select a.n * 10 + b.n as n from PERF_SEQ a, PERF_SEQ b where a.n < 5) m
+where
+  u.user_id like 'perf%';
+
+-- 月報承認フロー：各月報 × 承認SEQ1～4
+insert into T_REPORT_APPROVE_FLOW
+select
+    r.apply_user_id
+  , r.target_ym
+  , s.n
+  , concat('perf', lpad((cast(substr(r.apply_user_id, 5) as unsigned) + s.n * 7) % 100, 5, '0'))
+  , null
+  , ''
+  , 0, 0, now(), 'system', now(), 'system'
+from
+  T_REPORT r
+  , PERF_SEQ s
+where
+  r.apply_user_id like 'perf%'
+  and s.n between 1 and 4;
+
+analyze table M_USER, T_REPORT, T_REPORT_APPROVE_FLOW;
+
+
+--
+-- 計測用テーブル・プロシージャ
+--
+drop table if exists PERF_TIMING;
+create table PERF_TIMING (
+  query_id varchar(10) not null
+  , phase varchar(10) not null
+  , seq int not null
+  , elapsed_ms decimal(12,3) not null
+);
+
+drop procedure if exists perf_run;
+delimiter //
+create procedure perf_run(in p_query_id varchar(10), in p_phase varchar(10), in p_select text)
+begin
+  declare i int default 1;
+  declare t datetime(6);
+  set @perf_sql = concat('create temporary table PERF_RESULT as ', p_select);
+  while i <= @perf_repeat do
+    drop temporary table if exists PERF_RESULT;
+    set t = now(6);
+    prepare stmt from @perf_sql;
+    execute stmt;
+    deallocate prepare stmt;
+    insert into PERF_TIMING values (p_query_id, p_phase, i, timestampdiff(microsecond, t, now(6)) / 1000);
+    set i = i + 1;
+  end while;
+  drop temporary table if exists PERF_RESULT;
+end//
+delimiter ;
+
+-- 検索条件（ReportListDao.reportListByCondition に準拠、1ページ100件）
+--   P1  :1ページ目（新方式も初回検索のみ件数を取得する）
+--   P500:500ページ目（49,901件目～）
+--   P1000:最終ページ（99,901件目～）
+set @cols = "A.apply_user_id, A.apply_user_nm, A.target_ym, A.apply_date, A.department_rnm, A.approve_user_id1, A.approve_user_nm1, A.approve_user_id2, A.approve_user_nm2, A.approve_user_id3, A.approve_user_nm3, A.approve_user_id4, A.approve_user_nm4, A.status, A.status_nm";
+set @from = "from V_T_REPORT A where A.del_flg = 0";
+set @order = " order by A.target_ym desc, A.apply_user_id";
+
+-- 各ページの開始キー（直前ページの最終行）
+select target_ym, apply_user_id into @ym500, @id500 from T_REPORT order by target_ym desc, apply_user_id limit 49899, 1;
+select target_ym, apply_user_id into @ym1000, @id1000 from T_REPORT order by target_ym desc, apply_user_id limit 99899, 1;
+set @seek = " and (A.target_ym < {ym} or (A.target_ym = {ym} and A.apply_user_id > '{id}'))";
+
+set @p1_old = concat("select SQL_CALC_FOUND_ROWS ", @cols, " ", @from, @order, " limit 0, 100");
+set @p500_old = concat("select SQL_CALC_FOUND_ROWS ", @cols, " ", @from, @order, " limit 49900, 100");
+set @p1000_old = concat("select SQL_CALC_FOUND_ROWS ", @cols, " ", @from, @order, " limit 99900, 100");
+set @p1_new = concat("select SQL_CALC_FOUND_ROWS ", @cols, " ", @from, @order, " limit 0, 101");
+set @p500_new = concat("select ", @cols, " ", @from, replace(replace(@seek, "{ym}", @ym500), "{id}", @id500), @order, " limit 0, 101");
+set @p1000_new = concat("select ", @cols, " ", @from, replace(replace(@seek, "{ym}", @ym1000), "{id}", @id1000), @order, " limit 0, 101");
+
+
+--
+-- 2. 変更前：offset/limit＋件数取得
+--
+select '---------- BEFORE : P500 ----------' as plan;
+set @explain = concat('explain ', @p500_old);
+prepare stmt from @explain;
+execute stmt;
+deallocate prepare stmt;
+
+call perf_run('P1', 'before', @p1_old);
+call perf_run('P500', 'before', @p500_old);
+call perf_run('P1000', 'before', @p1000_old);
+
+
+--
+-- 3. 変更後：キーセット方式
+--
+select '---------- AFTER : P500 ----------' as plan;
+set @explain = concat('explain ', @p500_new);
+prepare stmt from @explain;
+execute stmt;
+deallocate prepare stmt;
+
+call perf_run('P1', 'after', @p1_new);
+call perf_run('P500', 'after', @p500_new);
+call perf_run('P1000', 'after', @p1000_new);
+
+--
+-- 4. 比較結果（1回目はキャッシュ暖機の為除外）
+--
+select
+    b.query_id
+  , b.avg_ms as before_avg_ms
+  , a.avg_ms as after_avg_ms
+  , round(b.avg_ms / a.avg_ms, 1) as ratio
+from
+  (select query_id, round(avg(elapsed_ms), 2) as avg_ms from PERF_TIMING where phase = 'before' and seq > 1 group by query_id) b
+  inner join (select query_id, round(avg(elapsed_ms), 2) as avg_ms from PERF_TIMING where phase = 'after' and seq > 1 group by query_id) a
+    on b.query_id = a.query_id
+order by
+  cast(substr(b.query_id, 2) as unsigned);
+
+
+--
+-- 後片付け
+--
+drop procedure if exists perf_run;
+drop table if exists PERF_TIMING;
+drop table if exists PERF_SEQ;
+delete from T_REPORT_APPROVE_FLOW where apply_user_id like 'perf%';
+delete from T_REPORT where apply_user_id like 'perf%';
+delete from M_USER where user_id like 'perf%';
+commit;
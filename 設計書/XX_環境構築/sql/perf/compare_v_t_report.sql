@@ -0,0 +1,244 @@
+--
+-- V_T_REPORT 性能比較スクリプト（旧：承認者名の相関サブクエリ / 新：M_USER結合＋T_REPORT_IX1）
+--
+-- 前提：空の検証用DBに create_table.sql / create_view.sql / insert_M_CODE.sql を実行済みであること
+-- 実行：mysql -u root rmsdb_perf < compare_v_t_report.sql > compare_v_t_report.log
+-- 内容：
+--   1. 検証データの作成（ユーザ2,000件 × 50ヶ月 = 月報100,000件、承認フロー400,000件）
+--   2. 旧ビュー（V_T_REPORT_OLD）＋索引なしで各一覧検索の実行計画・処理時間を取得
+--   3. 新ビュー（V_T_REPORT）＋索引ありで同一の検索の実行計画・処理時間を取得
+--   4. 処理時間（各5回実行）の比較結果を出力
+-- ※検証データ（perfで始まるユーザ）は本スクリプトの最後で削除する
+--
+
+set @perf_repeat = 5;
+
+--
+-- 1. 検証データ作成
+--
+drop table if exists PERF_SEQ;
+create table PERF_SEQ (n int not null primary key);
+insert into PERF_SEQ values (0),(1),(2),(3),(4),(5),(6),(7),(8),(9);
+
+-- ユーザ：perf00000～perf01999（perf00000～perf00099は承認者）
+insert into M_USER
+select
+    concat('perf', lpad(a.n * 1000 + b.n * 100 + c.n * 10 + d.n, 5, '0'))
+  , concat('検証ユーザ', a.n * 1000 + b.n * 100 + c.n * 10 + d.n)
+  , 'pass'
+  , 'perf@example.com'
+  , (a.n * 1000 + b.n * 100 + c.n * 10 + d.n) % 4 + 1
+  , 0, 0, now(), 'system', now(), 'system'
+from
+  PERF_SEQ a, PERF_SEQ b, PERF_SEQ c, PERF_SEQ d
+where
+  a.n < 2;
+
+-- 月報：各ユーザ × 201301～201702（50ヶ月）
+insert into T_REPORT
+select
+    u.user_id
+  , 201301 + floor(m.n / 12) * 100 + m.n % 12
+  , now()
+  , '1'
+  , ''
+  , ''
+  , elt(m.n % 5 + 1, 'AAA', 'Y01', 'Y02', 'Y03', 'ZZZ')
+  , 0, 0, now(), 'system', now(), 'system'
+from
+  M_USER u
+  , (select a.n * 10 + b.n as n from PERF_SEQ a, PERF_SEQ b where a.n < 5) m
+where
+  u.user_id like 'perf%';
+
+-- 月報承認フロー：各月報 × 承認SEQ1～4
+insert into T_REPORT_APPROVE_FLOW
+select
+    r.apply_user_id
+  , r.target_ym
+  , s.n
+  , concat('perf', lpad((cast(substr(r.apply_user_id, 5) as unsigned) + s.n * 7) % 100, 5, '0'))
+  , null
+  , ''
+  , 0, 0, now(), 'system', now(), 'system'
+from
+  T_REPORT r
+  , PERF_SEQ s
+where
+  r.apply_user_id like 'perf%'
+  and s.n between 1 and 4;
+
+analyze table M_USER, T_REPORT, T_REPORT_APPROVE_FLOW;
+
+
+--
+-- 計測用テーブル・プロシージャ
+--
+drop table if exists PERF_TIMING;
+create table PERF_TIMING (
+  query_id varchar(10) not null
+  , phase varchar(10) not null
+  , seq int not null
+  , elapsed_ms decimal(12,3) not null
+);
+
+drop procedure if exists perf_run;
+delimiter //
+create procedure perf_run(in p_query_id varchar(10), in p_phase varchar(10), in p_view varchar(30), in p_where text)
+begin
+  declare i int default 1;
+  declare t datetime(6);
+  -- 全項目を一時テーブルへ出力し、ビューの全列を評価させる
+  set @perf_sql = concat('create temporary table PERF_RESULT as select * from ', p_view, ' A where ', p_where);
+  while i <= @perf_repeat do
+    drop temporary table if exists PERF_RESULT;
+    set t = now(6);
+    prepare stmt from @perf_sql;
+    execute stmt;
+    deallocate prepare stmt;
+    insert into PERF_TIMING values (p_query_id, p_phase, i, timestampdiff(microsecond, t, now(6)) / 1000);
+    set i = i + 1;
+  end while;
+  drop temporary table if exists PERF_RESULT;
+end//
+delimiter ;
+
+-- 検索条件（各一覧画面のSQLに準拠）
+--   Q1:月報一覧（対象年月指定）        ReportListDao.reportListByCondition
+--   Q2:月報一覧（条件なし・先頭50件）  ReportListDao.reportListByCondition + SelectOptions
+--   Q3:月報申請状況一覧（申請者指定）  ReportApplyListDao.reportApplyListByCondition
+--   Q4:月報承認状況一覧（承認者・対象年月指定） ReportApproveListDao.reportApproveListByCondition
+--   Q5:月報1件取得                     VTReportDao.selectById
+set @q1 = "A.del_flg = 0 and A.target_ym = 201612 order by A.target_ym desc, A.apply_user_id";
+set @q2 = "A.del_flg = 0 order by A.target_ym desc, A.apply_user_id limit 0, 50";
+set @q3 = "A.del_flg = 0 and A.apply_user_id = 'perf01500' order by A.target_ym desc";
+set @q4 = "A.del_flg = 0 and A.target_ym = 201612 and 'perf00007' in (A.approve_user_id1, A.approve_user_id2, A.approve_user_id3, A.approve_user_id4) order by A.target_ym desc, A.apply_user_id";
+set @q5 = "A.apply_user_id = 'perf01500' and A.target_ym = 201612";
+
+
+--
+-- 2. 変更前：旧ビュー＋索引なし
+--
+drop index T_REPORT_IX1 on T_REPORT;
+
+create or replace view V_T_REPORT_OLD as
+select
+    A.apply_user_id
+  , U.user_nm   as apply_user_nm
+  , A.target_ym
+  , A.apply_date
+  , U.department_id
+  , D001.code_nm as department_nm
+  , D001.attr1 as department_rnm
+  , A.publish_flg
+  , B001.code_nm as publish_flg_nm
+  , F1.approve_user_id as approve_user_id1
+  , (select X.user_nm from m_user X where X.user_id = F1.approve_user_id) as approve_user_nm1
+  , F1.approve_date as approve_date1
+  , F2.approve_user_id as approve_user_id2
+  , (select X.user_nm from m_user X where X.user_id = F2.approve_user_id) as approve_user_nm2
+  , F2.approve_date as approve_date2
+  , F3.approve_user_id as approve_user_id3
+  , (select X.user_nm from m_user X where X.user_id = F3.approve_user_id) as approve_user_nm3
+  , F3.approve_date as approve_date3
+  , F4.approve_user_id as approve_user_id4
+  , (select X.user_nm from m_user X where X.user_id = F4.approve_user_id) as approve_user_nm4
+  , F4.approve_date as approve_date4
+  , A.file_path
+  , A.comment as apply_user_comment
+  , A.status
+  , A001.code_nm as status_nm
+  , A.version
+  , A.del_flg
+  , A.ins_date
+  , A.ins_id
+  , A.upd_date
+  , A.upd_id
+from
+  t_report A
+  inner join m_user U
+    on A.apply_user_id = U.user_id
+  left join t_report_approve_flow F1
+    on A.apply_user_id = F1.apply_user_id
+    and A.target_ym = F1.target_ym
+    and F1.approve_seq = 1
+  left join t_report_approve_flow F2
+    on A.apply_user_id = F2.apply_user_id
+    and A.target_ym = F2.target_ym
+    and F2.approve_seq = 2
+  left join t_report_approve_flow F3
+    on A.apply_user_id = F3.apply_user_id
+    and A.target_ym = F3.target_ym
+    and F3.approve_seq = 3
+  left join t_report_approve_flow F4
+    on A.apply_user_id = F4.apply_user_id
+    and A.target_ym = F4.target_ym
+    and F4.approve_seq = 4
+  inner join m_code A001
+    on A001.code_kbn = 'A001'
+    and A.status = A001.code
+  left join m_code B001
+    on B001.code_kbn = 'B001'
+    and A.publish_flg = B001.code
+  left join m_code D001
+    on D001.code_kbn = 'D001'
+    and D001.code = U.department_id
+;
+
+select '---------- BEFORE : Q1 ----------' as plan;
+explain select * from V_T_REPORT_OLD A where A.del_flg = 0 and A.target_ym = 201612 order by A.target_ym desc, A.apply_user_id;
+select '---------- BEFORE : Q4 ----------' as plan;
+explain select * from V_T_REPORT_OLD A where A.del_flg = 0 and A.target_ym = 201612 and 'perf00007' in (A.approve_user_id1, A.approve_user_id2, A.approve_user_id3, A.approve_user_id4) order by A.target_ym desc, A.apply_user_id;
+
+call perf_run('Q1', 'before', 'V_T_REPORT_OLD', @q1);
+call perf_run('Q2', 'before', 'V_T_REPORT_OLD', @q2);
+call perf_run('Q3', 'before', 'V_T_REPORT_OLD', @q3);
+call perf_run('Q4', 'before', 'V_T_REPORT_OLD', @q4);
+call perf_run('Q5', 'before', 'V_T_REPORT_OLD', @q5);
+
+
+--
+-- 3. 変更後：新ビュー（create_view.sql）＋索引あり
+--
+create index T_REPORT_IX1 on T_REPORT(target_ym,apply_user_id);
+analyze table T_REPORT;
+
+select '---------- AFTER : Q1 ----------' as plan;
+explain select * from V_T_REPORT A where A.del_flg = 0 and A.target_ym = 201612 order by A.target_ym desc, A.apply_user_id;
+select '---------- AFTER : Q4 ----------' as plan;
+explain select * from V_T_REPORT A where A.del_flg = 0 and A.target_ym = 201612 and 'perf00007' in (A.approve_user_id1, A.approve_user_id2, A.approve_user_id3, A.approve_user_id4) order by A.target_ym desc, A.apply_user_id;
+
+call perf_run('Q1', 'after', 'V_T_REPORT', @q1);
+call perf_run('Q2', 'after', 'V_T_REPORT', @q2);
+call perf_run('Q3', 'after', 'V_T_REPORT', @q3);
+call perf_run('Q4', 'after', 'V_T_REPORT', @q4);
+call perf_run('Q5', 'after', 'V_T_REPORT', @q5);
+
+
+--
+-- 4. 比較結果（1回目はキャッシュ暖機の為除外）
+--
+select
+    b.query_id
+  , b.avg_ms as before_avg_ms
+  , a.avg_ms as after_avg_ms
+  , round(b.avg_ms / a.avg_ms, 1) as ratio
+from
+  (select query_id, round(avg(elapsed_ms), 2) as avg_ms from PERF_TIMING where phase = 'before' and seq > 1 group by query_id) b
+  inner join (select query_id, round(avg(elapsed_ms), 2) as avg_ms from PERF_TIMING where phase = 'after' and seq > 1 group by query_id) a
+    on b.query_id = a.query_id
+order by
+  b.query_id;
+
+
+--
+-- 後片付け
+--
+drop procedure if exists perf_run;
+drop view if exists V_T_REPORT_OLD;
+drop table if exists PERF_TIMING;
+drop table if exists PERF_SEQ;
+delete from T_REPORT_APPROVE_FLOW where apply_user_id like 'perf%';
+delete from T_REPORT where apply_user_id like 'perf%';
+delete from M_USER where user_id like 'perf%';
+commit;